@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.codegen;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requests generating a Gson type adapter for the annotated class at compile time. The adapter is
+ * generated by {@link TypeAdapterProcessor} and reads and writes the fields of the class directly,
+ * without using reflection.
+ *
+ * <p>The annotated class must be a non-generic, non-abstract top-level or static nested class with
+ * a non-private no-args constructor. All its instance fields, including the ones of its
+ * superclasses, must be accessible from the package of the class, and must not be {@code final}
+ * unless they are {@code transient}. The generated adapter cannot assign {@code final} fields; if
+ * Gson is configured to deserialize {@code transient} fields, the reflection-based adapter is used
+ * instead.
+ *
+ * <p>The generated adapters are used by Gson instances created with {@link
+ * com.google.gson.GsonBuilder#registerTypeAdapterFactoryServices()}. Example:
+ *
+ * <pre>
+ * &#64;GenerateTypeAdapter
+ * class Point {
+ *   int x;
+ *   int y;
+ * }
+ *
+ * Gson gson = new GsonBuilder().registerTypeAdapterFactoryServices().create();
+ * String json = gson.toJson(point);
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateTypeAdapter {}
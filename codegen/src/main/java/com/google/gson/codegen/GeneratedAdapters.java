@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.codegen;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.internal.bind.TreeTypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Type;
+
+/**
+ * Runtime support for the type adapters generated by {@link TypeAdapterProcessor}. This class is
+ * only public so that generated code in other packages can use it; it should not be used directly.
+ */
+public final class GeneratedAdapters {
+  /** Dummy factory used as 'skipPast' factory for {@link TreeTypeAdapter}. */
+  private static final TypeAdapterFactory TREE_TYPE_DUMMY_FACTORY =
+      new TypeAdapterFactory() {
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+          throw new AssertionError("Factory should not be used");
+        }
+      };
+
+  private GeneratedAdapters() {}
+
+  /**
+   * Returns whether a generated adapter can be used for the configuration of the given Gson
+   * instance. Exclusion strategies and field naming strategies inspect the reflective {@code
+   * Field}, so the reflection-based adapter has to be used if they are configured.
+   *
+   * @param usesFieldNames whether the class has fields without {@code @SerializedName}, whose JSON
+   *     name is determined by the field naming strategy
+   */
+  @SuppressWarnings("deprecation") // for Gson.excluder()
+  public static boolean isApplicable(Gson gson, boolean usesFieldNames) {
+    if (gson.excluder().hasExclusionStrategies()) {
+      return false;
+    }
+    return !usesFieldNames || gson.fieldNamingStrategy() == FieldNamingPolicy.IDENTITY;
+  }
+
+  /**
+   * Returns whether a field is excluded from serialization or deserialization by the configuration
+   * of the given Gson instance.
+   */
+  @SuppressWarnings("deprecation") // for Gson.excluder()
+  public static boolean isExcluded(
+      Gson gson,
+      Class<?> fieldType,
+      int modifiers,
+      double since,
+      double until,
+      boolean exposed,
+      boolean serialize) {
+    return gson.excluder().excludeField(fieldType, modifiers, since, until, exposed, serialize);
+  }
+
+  /** Returns the adapter for a field of the given type. */
+  @SuppressWarnings("unchecked")
+  public static TypeAdapter<Object> getAdapter(Gson gson, Type fieldType) {
+    return (TypeAdapter<Object>) gson.getAdapter(TypeToken.get(fieldType));
+  }
+
+  /**
+   * Returns the adapter for a field annotated with {@code @JsonAdapter}, using the given instance
+   * of the class specified by the annotation. Behaves the same way as the {@code @JsonAdapter}
+   * support of the reflection-based adapter.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public static TypeAdapter<Object> getAnnotationAdapter(
+      Gson gson, Type fieldType, Object instance, boolean nullSafe) {
+    TypeToken<?> type = TypeToken.get(fieldType);
+    TypeAdapter<?> typeAdapter;
+    if (instance instanceof TypeAdapter) {
+      typeAdapter = (TypeAdapter<?>) instance;
+    } else if (instance instanceof TypeAdapterFactory) {
+      typeAdapter = ((TypeAdapterFactory) instance).create(gson, type);
+    } else if (instance instanceof JsonSerializer || instance instanceof JsonDeserializer) {
+      JsonSerializer<?> serializer =
+          instance instanceof JsonSerializer ? (JsonSerializer<?>) instance : null;
+      JsonDeserializer<?> deserializer =
+          instance instanceof JsonDeserializer ? (JsonDeserializer<?>) instance : null;
+      // TreeTypeAdapter handles nullSafe itself
+      return new TreeTypeAdapter(
+          serializer, deserializer, gson, type, TREE_TYPE_DUMMY_FACTORY, nullSafe);
+    } else {
+      throw new IllegalArgumentException(
+          "Invalid attempt to bind an instance of "
+              + instance.getClass().getName()
+              + " as a @JsonAdapter for "
+              + fieldType
+              + ". @JsonAdapter value must be a TypeAdapter, TypeAdapterFactory,"
+              + " JsonSerializer or JsonDeserializer.");
+    }
+
+    if (typeAdapter == null) {
+      // Same as for the reflection-based adapter, fall back to the regular adapter
+      typeAdapter = gson.getAdapter(type);
+    } else if (nullSafe) {
+      typeAdapter = typeAdapter.nullSafe();
+    }
+    return (TypeAdapter<Object>) typeAdapter;
+  }
+}
@@ -0,0 +1,872 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.codegen;
+
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.annotations.Since;
+import com.google.gson.annotations.Until;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor generating Gson type adapters for classes annotated with {@link
+ * GenerateTypeAdapter}.
+ *
+ * <p>For an annotated class {@code Outer.Foo} the processor generates a package-private class
+ * {@code Outer_Foo_GsonTypeAdapter} in the same package, which reads and writes the fields of the
+ * class directly and matches JSON property names with a {@code switch} statement. For every package
+ * it additionally generates a public {@code GsonGeneratedTypeAdapterFactory} which creates the
+ * adapters of that package, and registers all these factories in {@code
+ * META-INF/services/com.google.gson.TypeAdapterFactory}.
+ */
+public final class TypeAdapterProcessor extends AbstractProcessor {
+  private static final String ADAPTER_SUFFIX = "_GsonTypeAdapter";
+  private static final String FACTORY_NAME = "GsonGeneratedTypeAdapterFactory";
+  private static final String SERVICE_FILE = "META-INF/services/com.google.gson.TypeAdapterFactory";
+  private static final String SUPPORT = GeneratedAdapters.class.getCanonicalName();
+
+  /** Qualified names of the generated factories, written to the service file. */
+  private final Set<String> factoryNames = new TreeSet<>();
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton(GenerateTypeAdapter.class.getCanonicalName());
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    Map<String, List<ClassModel>> modelsByPackage = new LinkedHashMap<>();
+    for (Element element : roundEnv.getElementsAnnotatedWith(GenerateTypeAdapter.class)) {
+      ClassModel model = new ClassAnalyzer().analyze(element);
+      if (model != null) {
+        modelsByPackage.computeIfAbsent(model.packageName, k -> new ArrayList<>()).add(model);
+      }
+    }
+
+    try {
+      for (Map.Entry<String, List<ClassModel>> entry : modelsByPackage.entrySet()) {
+        String packageName = entry.getKey();
+        String factoryName = qualify(packageName, FACTORY_NAME);
+        if (!factoryNames.add(factoryName)) {
+          error(
+              "Classes annotated with @GenerateTypeAdapter in package '"
+                  + packageName
+                  + "' must all be processed in the same round",
+              entry.getValue().get(0).type);
+          continue;
+        }
+        for (ClassModel model : entry.getValue()) {
+          writeSource(qualify(packageName, model.adapterName), generateAdapter(model), model.type);
+        }
+        writeSource(factoryName, generateFactory(packageName, entry.getValue()), null);
+      }
+
+      if (roundEnv.processingOver() && !factoryNames.isEmpty()) {
+        writeServiceFile();
+      }
+    } catch (IOException e) {
+      error("Failed writing generated file: " + e, null);
+    }
+    // Don't claim the annotation, other processors might be interested in it as well
+    return false;
+  }
+
+  private static String qualify(String packageName, String simpleName) {
+    return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+  }
+
+  private void error(String message, Element element) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+
+  private void writeSource(String qualifiedName, String source, Element originatingElement)
+      throws IOException {
+    Filer filer = processingEnv.getFiler();
+    Element[] originatingElements =
+        originatingElement == null ? new Element[0] : new Element[] {originatingElement};
+    try (Writer writer = filer.createSourceFile(qualifiedName, originatingElements).openWriter()) {
+      writer.write(source);
+    }
+  }
+
+  private void writeServiceFile() throws IOException {
+    FileObject file =
+        processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+    try (Writer writer = file.openWriter()) {
+      for (String factoryName : factoryNames) {
+        writer.write(factoryName);
+        writer.write('\n');
+      }
+    }
+  }
+
+  private String generatedAnnotation() {
+    // Only available in Java >= 9
+    if (processingEnv.getElementUtils().getTypeElement("javax.annotation.processing.Generated")
+        == null) {
+      return "";
+    }
+    return "@javax.annotation.processing.Generated(\""
+        + TypeAdapterProcessor.class.getCanonicalName()
+        + "\")\n";
+  }
+
+  private String fileHeader(String packageName) {
+    StringBuilder source = new StringBuilder();
+    source.append("// Generated by the Gson annotation processor, do not edit\n");
+    if (!packageName.isEmpty()) {
+      source.append("package ").append(packageName).append(";\n");
+    }
+    source.append('\n').append(generatedAnnotation());
+    return source.toString();
+  }
+
+  private String generateFactory(String packageName, List<ClassModel> models) {
+    StringBuilder source = new StringBuilder(fileHeader(packageName));
+    source
+        .append("public final class ")
+        .append(FACTORY_NAME)
+        .append(" implements com.google.gson.TypeAdapterFactory {\n")
+        .append("  @java.lang.Override\n")
+        .append("  @java.lang.SuppressWarnings(\"unchecked\")\n")
+        .append("  public <T> com.google.gson.TypeAdapter<T> create(\n")
+        .append("      com.google.gson.Gson gson, com.google.gson.reflect.TypeToken<T> type) {\n")
+        .append("    java.lang.Class<? super T> rawType = type.getRawType();\n");
+    for (ClassModel model : models) {
+      source
+          .append("    if (rawType == ")
+          .append(model.typeName)
+          .append(".class) {\n")
+          .append("      return (com.google.gson.TypeAdapter<T>) ")
+          .append(model.adapterName)
+          .append(".create(gson);\n")
+          .append("    }\n");
+    }
+    source.append("    return null;\n").append("  }\n").append("}\n");
+    return source.toString();
+  }
+
+  private String generateAdapter(ClassModel model) {
+    StringBuilder source = new StringBuilder(fileHeader(model.packageName));
+    String adapter = model.adapterName;
+    String type = model.typeName;
+    source
+        .append("final class ")
+        .append(adapter)
+        .append(" extends com.google.gson.TypeAdapter<")
+        .append(type)
+        .append("> {\n");
+
+    List<FieldModel> fields = model.fields;
+    for (int i = 0; i < fields.size(); i++) {
+      source
+          .append("  private final boolean serialize")
+          .append(i)
+          .append(";\n")
+          .append("  private final boolean deserialize")
+          .append(i)
+          .append(";\n")
+          .append("  private final com.google.gson.TypeAdapter<java.lang.Object> adapter")
+          .append(i)
+          .append(";\n");
+    }
+
+    // Constructor
+    source.append("\n  private ").append(adapter).append("(com.google.gson.Gson gson) {\n");
+    for (int i = 0; i < fields.size(); i++) {
+      FieldModel field = fields.get(i);
+      for (boolean serialize : new boolean[] {true, false}) {
+        source
+            .append("    ")
+            .append(serialize ? "serialize" : "deserialize")
+            .append(i)
+            .append(" =\n        !");
+        appendIsExcluded(source, field, serialize);
+        source.append(";\n");
+      }
+      source
+          .append("    adapter")
+          .append(i)
+          .append(" =\n        serialize")
+          .append(i)
+          .append(" || deserialize")
+          .append(i)
+          .append("\n            ? ");
+      if (field.jsonAdapterName == null) {
+        source.append(SUPPORT).append(".getAdapter(gson, ").append(field.typeExpression);
+      } else {
+        source
+            .append(SUPPORT)
+            .append(".getAnnotationAdapter(\n                gson, ")
+            .append(field.typeExpression)
+            .append(", new ")
+            .append(field.jsonAdapterName)
+            .append("(), ")
+            .append(field.jsonAdapterNullSafe);
+      }
+      source.append(")\n            : null;\n");
+    }
+    source.append("  }\n");
+
+    // Factory method
+    source
+        .append("\n  static com.google.gson.TypeAdapter<")
+        .append(type)
+        .append("> create(com.google.gson.Gson gson) {\n")
+        .append("    if (!")
+        .append(SUPPORT)
+        .append(".isApplicable(gson, ")
+        .append(model.usesFieldNames)
+        .append(")) {\n")
+        .append("      return null;\n")
+        .append("    }\n");
+    for (FieldModel field : fields) {
+      if (field.isFinal) {
+        // The generated code cannot assign final fields, but the reflection-based adapter can
+        source.append("    if (!");
+        appendIsExcluded(source, field, false);
+        source.append(") {\n").append("      return null;\n").append("    }\n");
+      }
+    }
+    source.append("    return new ").append(adapter).append("(gson);\n").append("  }\n");
+
+    // write
+    source
+        .append("\n  @java.lang.Override\n")
+        .append("  public void write(com.google.gson.stream.JsonWriter out, ")
+        .append(type)
+        .append(" value)\n")
+        .append("      throws java.io.IOException {\n")
+        .append("    if (value == null) {\n")
+        .append("      out.nullValue();\n")
+        .append("      return;\n")
+        .append("    }\n");
+    appendHiddenFieldOwners(source, model);
+    source.append("    out.beginObject();\n");
+    for (int i = 0; i < fields.size(); i++) {
+      FieldModel field = fields.get(i);
+      source
+          .append("    if (serialize")
+          .append(i)
+          .append(") {\n")
+          .append("      java.lang.Object fieldValue = ")
+          .append(field.owner)
+          .append('.')
+          .append(field.name)
+          .append(";\n")
+          // Avoid recursion, same as the reflection-based adapter
+          .append("      if (fieldValue != value) {\n")
+          .append("        out.name(")
+          .append(javaString(field.serializedName))
+          .append(");\n")
+          .append("        adapter")
+          .append(i)
+          .append(".write(out, fieldValue);\n")
+          .append("      }\n")
+          .append("    }\n");
+    }
+    source.append("    out.endObject();\n").append("  }\n");
+
+    // read
+    source
+        .append("\n  @java.lang.Override\n")
+        .append("  @java.lang.SuppressWarnings(\"unchecked\")\n")
+        .append("  public ")
+        .append(type)
+        .append(" read(com.google.gson.stream.JsonReader in) throws java.io.IOException {\n")
+        .append("    if (in.peek() == com.google.gson.stream.JsonToken.NULL) {\n")
+        .append("      in.nextNull();\n")
+        .append("      return null;\n")
+        .append("    }\n")
+        .append("    ")
+        .append(type)
+        .append(" value = new ")
+        .append(type)
+        .append("();\n");
+    appendHiddenFieldOwners(source, model);
+    source
+        .append("    try {\n")
+        .append("      in.beginObject();\n")
+        .append("      while (in.hasNext()) {\n")
+        .append("        switch (in.nextName()) {\n");
+    for (int i = 0; i < fields.size(); i++) {
+      FieldModel field = fields.get(i);
+      if (field.isFinal) {
+        // Never deserialized by this adapter, see create(Gson)
+        continue;
+      }
+      source.append("          case ").append(javaString(field.serializedName)).append(":\n");
+      for (String alternate : field.alternates) {
+        source.append("          case ").append(javaString(alternate)).append(":\n");
+      }
+      source.append("            if (deserialize").append(i).append(") {\n");
+      String target = field.owner + "." + field.name;
+      String cast = field.castType == null ? "" : "(" + field.castType + ") ";
+      if (field.primitive) {
+        // Same as the reflection-based adapter, ignore JSON null for primitive fields
+        source
+            .append("              java.lang.Object fieldValue = adapter")
+            .append(i)
+            .append(".read(in);\n")
+            .append("              if (fieldValue != null) {\n")
+            .append("                ")
+            .append(target)
+            .append(" = ")
+            .append(cast)
+            .append("fieldValue;\n")
+            .append("              }\n");
+      } else {
+        source
+            .append("              ")
+            .append(target)
+            .append(" = ")
+            .append(cast)
+            .append("adapter")
+            .append(i)
+            .append(".read(in);\n");
+      }
+      source
+          .append("              continue;\n")
+          .append("            }\n")
+          .append("            break;\n");
+    }
+    source
+        .append("          default:\n")
+        .append("            break;\n")
+        .append("        }\n")
+        .append("        in.skipValue();\n")
+        .append("      }\n")
+        .append("    } catch (java.lang.IllegalStateException e) {\n")
+        .append("      throw new com.google.gson.JsonSyntaxException(e);\n")
+        .append("    }\n")
+        .append("    in.endObject();\n")
+        .append("    return value;\n")
+        .append("  }\n")
+        .append("}\n");
+    return source.toString();
+  }
+
+  /** Appends a call of {@code isExcluded} for the field to the generated source. */
+  private static void appendIsExcluded(StringBuilder source, FieldModel field, boolean serialize) {
+    source
+        .append(SUPPORT)
+        .append(".isExcluded(\n            gson, ")
+        .append(field.rawTypeName)
+        .append(".class, ")
+        .append(field.modifiers)
+        .append(", ")
+        .append(doubleLiteral(field.since))
+        .append(", ")
+        .append(doubleLiteral(field.until))
+        .append(", ")
+        .append(serialize ? field.exposeSerialize : field.exposeDeserialize)
+        .append(", ")
+        .append(serialize)
+        .append(")");
+  }
+
+  /**
+   * Declares local variables for accessing fields of superclasses which are hidden by a field with
+   * the same name in a subclass. Uses variables instead of casts to avoid 'redundant cast'
+   * warnings.
+   */
+  private static void appendHiddenFieldOwners(StringBuilder source, ClassModel model) {
+    for (Map.Entry<String, String> entry : model.hiddenFieldOwners.entrySet()) {
+      source
+          .append("    ")
+          .append(entry.getValue())
+          .append(' ')
+          .append(entry.getKey())
+          .append(" = value;\n");
+    }
+  }
+
+  private static String doubleLiteral(double value) {
+    if (value == Double.NEGATIVE_INFINITY) {
+      return "java.lang.Double.NEGATIVE_INFINITY";
+    } else if (value == Double.POSITIVE_INFINITY) {
+      return "java.lang.Double.POSITIVE_INFINITY";
+    } else {
+      return Double.toString(value);
+    }
+  }
+
+  /** Returns a Java string literal for the value, using only ASCII characters. */
+  static String javaString(String value) {
+    StringBuilder literal = new StringBuilder(value.length() + 2);
+    literal.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        literal.append('\\').append(c);
+      } else if (c < 0x20 || c > 0x7e) {
+        literal.append(String.format("\\u%04x", (int) c));
+      } else {
+        literal.append(c);
+      }
+    }
+    return literal.append('"').toString();
+  }
+
+  /** Information about an annotated class needed for generating its adapter. */
+  private static final class ClassModel {
+    final TypeElement type;
+    final String packageName;
+    final String typeName;
+    final String adapterName;
+    final List<FieldModel> fields;
+
+    /** Maps variable names to the types of the superclasses declaring hidden fields. */
+    final Map<String, String> hiddenFieldOwners;
+
+    /** Whether the JSON name of some fields is determined by the field naming strategy. */
+    final boolean usesFieldNames;
+
+    ClassModel(
+        TypeElement type,
+        String packageName,
+        String adapterName,
+        List<FieldModel> fields,
+        Map<String, String> hiddenFieldOwners,
+        boolean usesFieldNames) {
+      this.type = type;
+      this.packageName = packageName;
+      this.typeName = type.getQualifiedName().toString();
+      this.adapterName = adapterName;
+      this.fields = fields;
+      this.hiddenFieldOwners = hiddenFieldOwners;
+      this.usesFieldNames = usesFieldNames;
+    }
+  }
+
+  /** Information about a field of an annotated class. */
+  private static final class FieldModel {
+    String name;
+
+    /** Expression for the object declaring the field; {@code value} or a variable of a supertype */
+    String owner;
+
+    String serializedName;
+    List<String> alternates;
+
+    /** Expression of type {@link java.lang.reflect.Type} for the field type */
+    String typeExpression;
+
+    String rawTypeName;
+
+    /** Type the adapter result has to be cast to, or {@code null} if no cast is needed */
+    String castType;
+
+    boolean primitive;
+
+    /**
+     * Whether the field is final; only allowed for transient fields, which are excluded by default
+     */
+    boolean isFinal;
+
+    String modifiers;
+    double since;
+    double until;
+    boolean exposeSerialize;
+    boolean exposeDeserialize;
+
+    /** Qualified name of the class specified by {@code @JsonAdapter}, or {@code null} */
+    String jsonAdapterName;
+
+    boolean jsonAdapterNullSafe;
+  }
+
+  /** Validates an annotated class and creates its {@link ClassModel}. */
+  private final class ClassAnalyzer {
+    private final Elements elements = processingEnv.getElementUtils();
+    private final Types types = processingEnv.getTypeUtils();
+    private final Messager messager = processingEnv.getMessager();
+    private boolean hasErrors;
+
+    private void error(String message, Element element) {
+      hasErrors = true;
+      messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    ClassModel analyze(Element element) {
+      if (element.getKind() != ElementKind.CLASS) {
+        error("@GenerateTypeAdapter is only supported for classes", element);
+        return null;
+      }
+      TypeElement type = (TypeElement) element;
+      checkClass(type);
+
+      PackageElement packageElement = elements.getPackageOf(type);
+      String packageName = packageElement.getQualifiedName().toString();
+      List<FieldModel> fields = new ArrayList<>();
+      Map<String, String> hiddenFieldOwners = new LinkedHashMap<>();
+      Map<String, VariableElement> jsonNames = new HashMap<>();
+      Set<String> javaNames = new TreeSet<>();
+      boolean usesFieldNames = false;
+
+      DeclaredType declaredType = (DeclaredType) type.asType();
+      // Type of the current class or superclass, with resolved type arguments
+      DeclaredType currentType = declaredType;
+      TypeElement current = type;
+      int superclassIndex = 0;
+      while (current != null
+          && !current.getQualifiedName().contentEquals(Object.class.getCanonicalName())) {
+        boolean samePackage = elements.getPackageOf(current).equals(packageElement);
+        if (!samePackage && !current.getModifiers().contains(Modifier.PUBLIC)) {
+          error(
+              "Superclass "
+                  + current.getQualifiedName()
+                  + " has to be public because it is in a different package",
+              type);
+        }
+
+        String owner = "value";
+        for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+          Set<Modifier> modifiers = field.getModifiers();
+          if (modifiers.contains(Modifier.STATIC)) {
+            continue;
+          }
+          String fieldName = field.getSimpleName().toString();
+          if (!javaNames.add(fieldName) && owner.equals("value")) {
+            // Field hides a field of a subclass, access it through a variable of the superclass
+            owner = "valueAs" + current.getSimpleName() + superclassIndex;
+            hiddenFieldOwners.put(owner, currentType.toString());
+          }
+          FieldModel model = analyzeField(field, declaredType, samePackage);
+          if (model == null) {
+            continue;
+          }
+          model.owner = owner;
+          if (field.getAnnotation(SerializedName.class) == null) {
+            usesFieldNames = true;
+          }
+
+          List<String> names = new ArrayList<>();
+          names.add(model.serializedName);
+          names.addAll(model.alternates);
+          for (String name : names) {
+            VariableElement previous = jsonNames.put(name, field);
+            if (previous != null) {
+              error(
+                  "Class "
+                      + type.getQualifiedName()
+                      + " declares multiple JSON fields named '"
+                      + name
+                      + "'; conflict is caused by fields "
+                      + previous.getEnclosingElement()
+                      + "#"
+                      + previous.getSimpleName()
+                      + " and "
+                      + current.getQualifiedName()
+                      + "#"
+                      + fieldName,
+                  field);
+            }
+          }
+          fields.add(model);
+        }
+
+        // For classes the first direct supertype is the superclass
+        List<? extends TypeMirror> supertypes = types.directSupertypes(currentType);
+        if (supertypes.isEmpty()) {
+          current = null;
+        } else {
+          currentType = (DeclaredType) supertypes.get(0);
+          current = (TypeElement) currentType.asElement();
+        }
+        superclassIndex++;
+      }
+
+      if (hasErrors) {
+        return null;
+      }
+      return new ClassModel(
+          type, packageName, adapterName(type), fields, hiddenFieldOwners, usesFieldNames);
+    }
+
+    private String adapterName(TypeElement type) {
+      StringBuilder name = new StringBuilder(type.getSimpleName());
+      Element enclosing = type.getEnclosingElement();
+      while (enclosing.getKind() != ElementKind.PACKAGE) {
+        name.insert(0, enclosing.getSimpleName() + "_");
+        enclosing = enclosing.getEnclosingElement();
+      }
+      return name.append(ADAPTER_SUFFIX).toString();
+    }
+
+    private void checkClass(TypeElement type) {
+      Set<Modifier> modifiers = type.getModifiers();
+      if (modifiers.contains(Modifier.ABSTRACT)) {
+        error("@GenerateTypeAdapter is not supported for abstract classes", type);
+      }
+      if (!type.getTypeParameters().isEmpty()) {
+        error("@GenerateTypeAdapter is not supported for generic classes", type);
+      }
+      if (type.getNestingKind().isNested() && !modifiers.contains(Modifier.STATIC)) {
+        error("@GenerateTypeAdapter is not supported for non-static nested classes", type);
+      }
+      for (Element e = type; e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+        if (e.getModifiers().contains(Modifier.PRIVATE)) {
+          error("@GenerateTypeAdapter is not supported for private classes", type);
+          break;
+        }
+      }
+      if (getAnnotation(type, "com.google.gson.annotations.JsonAdapter") != null) {
+        error("@GenerateTypeAdapter cannot be combined with @JsonAdapter on the same class", type);
+      }
+      if (!hasAccessibleNoArgsConstructor(type)) {
+        error(
+            "Class annotated with @GenerateTypeAdapter needs a non-private no-args constructor",
+            type);
+      }
+    }
+
+    private boolean hasAccessibleNoArgsConstructor(TypeElement type) {
+      for (ExecutableElement constructor :
+          ElementFilter.constructorsIn(type.getEnclosedElements())) {
+        if (constructor.getParameters().isEmpty()) {
+          return !constructor.getModifiers().contains(Modifier.PRIVATE);
+        }
+      }
+      return false;
+    }
+
+    private FieldModel analyzeField(
+        VariableElement field, DeclaredType containing, boolean samePackage) {
+      Set<Modifier> modifiers = field.getModifiers();
+      if (modifiers.contains(Modifier.PRIVATE)) {
+        error("Field must not be private, the generated adapter cannot access it", field);
+        return null;
+      }
+      if (!samePackage && !modifiers.contains(Modifier.PUBLIC)) {
+        error(
+            "Field must be public because it is declared in a superclass in a different package",
+            field);
+        return null;
+      }
+      if (modifiers.contains(Modifier.FINAL) && !modifiers.contains(Modifier.TRANSIENT)) {
+        error("Field must not be final, the generated adapter cannot assign it", field);
+        return null;
+      }
+
+      FieldModel model = new FieldModel();
+      model.name = field.getSimpleName().toString();
+      model.isFinal = modifiers.contains(Modifier.FINAL);
+      model.modifiers = modifiersExpression(modifiers);
+
+      // Resolves type variables of generic superclasses
+      TypeMirror fieldType = types.asMemberOf(containing, field);
+      String typeExpression = typeExpression(fieldType, field);
+      if (typeExpression == null) {
+        return null;
+      }
+      model.typeExpression = typeExpression;
+      model.primitive = fieldType.getKind().isPrimitive();
+      TypeMirror erasure = types.erasure(fieldType);
+      model.rawTypeName = erasure.toString();
+      if (model.primitive) {
+        model.castType = types.boxedClass((PrimitiveType) fieldType).getQualifiedName().toString();
+      } else if (!erasure.toString().equals(Object.class.getCanonicalName())) {
+        model.castType = fieldType.toString();
+      }
+
+      SerializedName serializedName = field.getAnnotation(SerializedName.class);
+      if (serializedName == null) {
+        model.serializedName = model.name;
+        model.alternates = Collections.emptyList();
+      } else {
+        model.serializedName = serializedName.value();
+        model.alternates = Arrays.asList(serializedName.alternate());
+      }
+
+      Since since = field.getAnnotation(Since.class);
+      model.since = since == null ? Double.NEGATIVE_INFINITY : since.value();
+      Until until = field.getAnnotation(Until.class);
+      model.until = until == null ? Double.POSITIVE_INFINITY : until.value();
+      Expose expose = field.getAnnotation(Expose.class);
+      model.exposeSerialize = expose != null && expose.serialize();
+      model.exposeDeserialize = expose != null && expose.deserialize();
+
+      AnnotationMirror jsonAdapter =
+          getAnnotation(field, "com.google.gson.annotations.JsonAdapter");
+      if (jsonAdapter != null) {
+        TypeMirror adapterType = null;
+        model.jsonAdapterNullSafe = true;
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+            elements.getElementValuesWithDefaults(jsonAdapter).entrySet()) {
+          String name = entry.getKey().getSimpleName().toString();
+          Object value = entry.getValue().getValue();
+          if (name.equals("value")) {
+            adapterType = (TypeMirror) value;
+          } else if (name.equals("nullSafe")) {
+            model.jsonAdapterNullSafe = (Boolean) value;
+          }
+        }
+        TypeElement adapterElement = (TypeElement) types.asElement(adapterType);
+        if (adapterElement.getModifiers().contains(Modifier.ABSTRACT)
+            || !adapterElement.getTypeParameters().isEmpty()
+            || (adapterElement.getNestingKind().isNested()
+                && !adapterElement.getModifiers().contains(Modifier.STATIC))
+            || !hasAccessibleNoArgsConstructor(adapterElement)) {
+          error(
+              "@JsonAdapter class "
+                  + adapterElement.getQualifiedName()
+                  + " must be a non-abstract, non-generic, static class with a non-private no-args"
+                  + " constructor",
+              field);
+          return null;
+        }
+        model.jsonAdapterName = adapterElement.getQualifiedName().toString();
+      }
+      return model;
+    }
+
+    private AnnotationMirror getAnnotation(Element element, String annotationName) {
+      for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+        TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+        if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+          return annotation;
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Returns a Java expression creating the {@link java.lang.reflect.Type} for the given type
+     * without using reflection, or {@code null} if the type is not supported.
+     */
+    private String typeExpression(TypeMirror type, Element field) {
+      switch (type.getKind()) {
+        case BOOLEAN:
+        case BYTE:
+        case SHORT:
+        case INT:
+        case LONG:
+        case CHAR:
+        case FLOAT:
+        case DOUBLE:
+          return type + ".class";
+        case ARRAY:
+          {
+            TypeMirror componentType = ((ArrayType) type).getComponentType();
+            if (types.isSameType(componentType, types.erasure(componentType))) {
+              return types.erasure(type) + ".class";
+            }
+            String componentExpression = typeExpression(componentType, field);
+            return componentExpression == null
+                ? null
+                : "com.google.gson.reflect.TypeToken.getArray("
+                    + componentExpression
+                    + ").getType()";
+          }
+        case DECLARED:
+          {
+            DeclaredType declaredType = (DeclaredType) type;
+            String rawType = ((TypeElement) declaredType.asElement()).getQualifiedName() + ".class";
+            if (declaredType.getTypeArguments().isEmpty()) {
+              return rawType;
+            }
+            StringBuilder expression =
+                new StringBuilder("com.google.gson.reflect.TypeToken.getParameterized(")
+                    .append(rawType);
+            for (TypeMirror typeArgument : declaredType.getTypeArguments()) {
+              String argumentExpression = typeExpression(typeArgument, field);
+              if (argumentExpression == null) {
+                return null;
+              }
+              expression.append(", ").append(argumentExpression);
+            }
+            return expression.append(").getType()").toString();
+          }
+        case WILDCARD:
+          {
+            // Same as Gson's handling of wildcards, only the upper bound is relevant
+            TypeMirror upperBound = ((WildcardType) type).getExtendsBound();
+            return upperBound == null
+                ? "java.lang.Object.class"
+                : typeExpression(upperBound, field);
+          }
+        default:
+          error("Unsupported field type " + type + "; type variables cannot be resolved", field);
+          return null;
+      }
+    }
+
+    private String modifiersExpression(Set<Modifier> modifiers) {
+      StringBuilder expression = new StringBuilder();
+      for (Modifier modifier : modifiers) {
+        String name;
+        switch (modifier) {
+          case PUBLIC:
+          case PROTECTED:
+          case PRIVATE:
+          case FINAL:
+          case TRANSIENT:
+          case VOLATILE:
+            name = modifier.name();
+            break;
+          default:
+            continue;
+        }
+        if (expression.length() > 0) {
+          expression.append(" | ");
+        }
+        expression.append("java.lang.reflect.Modifier.").append(name);
+      }
+      return expression.length() == 0 ? "0" : expression.toString();
+    }
+  }
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.codegen;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for {@link TypeAdapterProcessor}. Compiles source code with the processor and verifies that
+ * the generated adapters produce the same JSON data as the reflection-based adapter.
+ */
+public class TypeAdapterProcessorTest {
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static final Pattern CLASS_NAME_PATTERN = Pattern.compile("public class (\\w+)");
+
+  private static final String BASE_SOURCE =
+      String.join(
+          "\n",
+          "package test;",
+          "public class Base<T> {",
+          "  public T generic;",
+          "  public int hidden = 1;",
+          "}");
+
+  private static final String POINT_SOURCE =
+      String.join(
+          "\n",
+          "package test;",
+          "import com.google.gson.annotations.*;",
+          "import com.google.gson.codegen.GenerateTypeAdapter;",
+          "import java.util.List;",
+          "import java.util.Map;",
+          "@GenerateTypeAdapter",
+          "public class Point extends Base<String> {",
+          "  @Expose int x = 1;",
+          "  @Expose(serialize = false) @SerializedName(value = \"why\", alternate = \"y2\")",
+          "  long y = 2;",
+          "  @Since(2.0) boolean b;",
+          "  @Until(2.0) char c = 'c';",
+          "  double d = 1.5;",
+          "  String s;",
+          "  Object o = 3;",
+          "  List<? extends Number> numbers;",
+          "  Map<String, int[]> map;",
+          "  List<String>[] listArray;",
+          "  transient int skipped = 5;",
+          "  Point nested;",
+          "  @SerializedName(\"hidden\\u00e9\\\"\") String hidden = \"h\";",
+          "  @JsonAdapter(UpperCaseAdapter.class) String upper = \"u\";",
+          "  static int staticField = 4;",
+          "  @GenerateTypeAdapter",
+          "  static class Nested {",
+          "    int n;",
+          "  }",
+          "}");
+
+  private static final String ADAPTER_SOURCE =
+      String.join(
+          "\n",
+          "package test;",
+          "import com.google.gson.TypeAdapter;",
+          "import com.google.gson.stream.*;",
+          "import java.io.IOException;",
+          "public class UpperCaseAdapter extends TypeAdapter<String> {",
+          "  @Override public void write(JsonWriter out, String value) throws IOException {",
+          "    out.value(value.toUpperCase(java.util.Locale.ROOT));",
+          "  }",
+          "  @Override public String read(JsonReader in) throws IOException {",
+          "    return in.nextString().toLowerCase(java.util.Locale.ROOT);",
+          "  }",
+          "}");
+
+  private static final String POINT_JSON =
+      "{\"x\":3,\"why\":4,\"b\":true,\"c\":\"d\",\"d\":null,\"s\":\"str\",\"o\":{\"k\":[1]},"
+          + "\"numbers\":[1.5,2],\"map\":{\"a\":[1,2]},\"listArray\":[[\"a\"],null],"
+          + "\"skipped\":6,\"nested\":{\"x\":5,\"y2\":6},\"hidden\\u00e9\\\"\":\"h2\","
+          + "\"upper\":\"ABC\",\"generic\":\"g\",\"hidden\":7,\"unknown\":[{}]}";
+
+  private static class CompilationResult {
+    final boolean success;
+    final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+    final File outputDir;
+
+    CompilationResult(
+        boolean success, List<Diagnostic<? extends JavaFileObject>> diagnostics, File outputDir) {
+      this.success = success;
+      this.diagnostics = diagnostics;
+      this.outputDir = outputDir;
+    }
+
+    List<String> messages() {
+      List<String> messages = new ArrayList<>();
+      for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+        messages.add(diagnostic.getKind() + ": " + diagnostic.getMessage(null));
+      }
+      return messages;
+    }
+
+    List<String> errors() {
+      List<String> errors = new ArrayList<>();
+      for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics) {
+        if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+          errors.add(diagnostic.getMessage(null));
+        }
+      }
+      return errors;
+    }
+  }
+
+  private CompilationResult compile(String... sources) throws IOException {
+    File sourceDir = temporaryFolder.newFolder();
+    File outputDir = temporaryFolder.newFolder();
+    List<File> sourceFiles = new ArrayList<>();
+    for (String source : sources) {
+      Matcher matcher = CLASS_NAME_PATTERN.matcher(source);
+      assertThat(matcher.find()).isTrue();
+      String className = matcher.group(1);
+      File file = new File(sourceDir, className + ".java");
+      Files.write(file.toPath(), source.getBytes(UTF_8));
+      sourceFiles.add(file);
+    }
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(diagnostics, null, UTF_8)) {
+      List<String> options =
+          Arrays.asList(
+              // Other annotations such as @SerializedName are not claimed by any processor
+              "-Xlint:all,-processing",
+              "-Werror",
+              "-classpath",
+              System.getProperty("java.class.path"),
+              "-d",
+              outputDir.getPath(),
+              "-s",
+              sourceDir.getPath());
+      JavaCompiler.CompilationTask task =
+          compiler.getTask(
+              null,
+              fileManager,
+              diagnostics,
+              options,
+              null,
+              fileManager.getJavaFileObjectsFromFiles(sourceFiles));
+      task.setProcessors(Arrays.asList(new TypeAdapterProcessor()));
+      boolean success = task.call();
+      return new CompilationResult(success, diagnostics.getDiagnostics(), outputDir);
+    }
+  }
+
+  /**
+   * Runs the action with the context class loader set to a class loader for the compiled classes,
+   * so that {@link GsonBuilder#registerTypeAdapterFactoryServices()} finds the generated factories.
+   */
+  private interface CompiledClassesAction {
+    void run(ClassLoader classLoader) throws Exception;
+  }
+
+  private static void withCompiledClasses(File outputDir, CompiledClassesAction action)
+      throws Exception {
+    Thread thread = Thread.currentThread();
+    ClassLoader oldClassLoader = thread.getContextClassLoader();
+    try (URLClassLoader classLoader =
+        new URLClassLoader(
+            new URL[] {outputDir.toURI().toURL()},
+            TypeAdapterProcessorTest.class.getClassLoader())) {
+      thread.setContextClassLoader(classLoader);
+      action.run(classLoader);
+    } finally {
+      thread.setContextClassLoader(oldClassLoader);
+    }
+  }
+
+  private static void assertSameJson(Gson reflectionGson, Gson generatedGson, Class<?> c) {
+    Object value = reflectionGson.fromJson(POINT_JSON, c);
+    String expectedJson = reflectionGson.toJson(value);
+    assertThat(generatedGson.toJson(value)).isEqualTo(expectedJson);
+    assertThat(generatedGson.toJson(generatedGson.fromJson(POINT_JSON, c))).isEqualTo(expectedJson);
+  }
+
+  private static String adapterName(Gson gson, Class<?> c) {
+    TypeAdapter<?> adapter = gson.getAdapter(c);
+    return adapter.getClass().getSimpleName();
+  }
+
+  @Test
+  public void testGeneratedAdapter() throws Exception {
+    CompilationResult result = compile(BASE_SOURCE, POINT_SOURCE, ADAPTER_SOURCE);
+    assertThat(result.messages()).isEmpty();
+    assertThat(result.success).isTrue();
+
+    withCompiledClasses(
+        result.outputDir,
+        classLoader -> {
+          Class<?> pointClass = classLoader.loadClass("test.Point");
+          Class<?> nestedClass = classLoader.loadClass("test.Point$Nested");
+          Gson gson = new GsonBuilder().registerTypeAdapterFactoryServices().create();
+          assertThat(adapterName(gson, pointClass)).isEqualTo("Point_GsonTypeAdapter");
+          assertThat(adapterName(gson, nestedClass)).isEqualTo("Point_Nested_GsonTypeAdapter");
+
+          Gson reflectionGson = new Gson();
+          assertSameJson(reflectionGson, gson, pointClass);
+          assertThat(gson.toJson(gson.fromJson("{\"n\":2}", nestedClass))).isEqualTo("{\"n\":2}");
+          assertThat(gson.toJson(null, pointClass)).isEqualTo("null");
+          assertThat(gson.fromJson("null", pointClass)).isNull();
+
+          // Exclusion settings which can be evaluated without reflection
+          assertSameJson(
+              new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create(),
+              new GsonBuilder()
+                  .excludeFieldsWithoutExposeAnnotation()
+                  .registerTypeAdapterFactoryServices()
+                  .create(),
+              pointClass);
+          assertSameJson(
+              new GsonBuilder()
+                  .setVersion(1.0)
+                  .excludeFieldsWithModifiers(Modifier.STATIC)
+                  .create(),
+              new GsonBuilder()
+                  .setVersion(1.0)
+                  .excludeFieldsWithModifiers(Modifier.STATIC)
+                  .registerTypeAdapterFactoryServices()
+                  .create(),
+              pointClass);
+          assertSameJson(
+              new GsonBuilder().setVersion(2.0).serializeNulls().create(),
+              new GsonBuilder()
+                  .setVersion(2.0)
+                  .serializeNulls()
+                  .registerTypeAdapterFactoryServices()
+                  .create(),
+              pointClass);
+        });
+  }
+
+  @Test
+  public void testFallbackToReflection() throws Exception {
+    CompilationResult result = compile(BASE_SOURCE, POINT_SOURCE, ADAPTER_SOURCE);
+    assertThat(result.messages()).isEmpty();
+
+    withCompiledClasses(
+        result.outputDir,
+        classLoader -> {
+          Class<?> pointClass = classLoader.loadClass("test.Point");
+          String reflectionAdapterName = adapterName(new Gson(), pointClass);
+          Gson namingGson =
+              new GsonBuilder()
+                  .setFieldNamingPolicy(FieldNamingPolicy.UPPER_CAMEL_CASE)
+                  .registerTypeAdapterFactoryServices()
+                  .create();
+          assertThat(adapterName(namingGson, pointClass)).isEqualTo(reflectionAdapterName);
+
+          Gson strategyGson =
+              new GsonBuilder()
+                  .addSerializationExclusionStrategy(
+                      new ExclusionStrategy() {
+                        @Override
+                        public boolean shouldSkipField(FieldAttributes f) {
+                          return false;
+                        }
+
+                        @Override
+                        public boolean shouldSkipClass(Class<?> clazz) {
+                          return false;
+                        }
+                      })
+                  .registerTypeAdapterFactoryServices()
+                  .create();
+          assertThat(adapterName(strategyGson, pointClass)).isEqualTo(reflectionAdapterName);
+        });
+  }
+
+  @Test
+  public void testFinalTransientField() throws Exception {
+    String source =
+        String.join(
+            "\n",
+            "package test;",
+            "import com.google.gson.codegen.GenerateTypeAdapter;",
+            "@GenerateTypeAdapter",
+            "public class FinalTransient {",
+            "  int i;",
+            "  final transient String cached = \"c\";",
+            "}");
+    CompilationResult result = compile(source);
+    assertThat(result.messages()).isEmpty();
+    assertThat(result.success).isTrue();
+
+    withCompiledClasses(
+        result.outputDir,
+        classLoader -> {
+          Class<?> c = classLoader.loadClass("test.FinalTransient");
+          String json = "{\"i\":1,\"cached\":\"d\"}";
+          Gson gson = new GsonBuilder().registerTypeAdapterFactoryServices().create();
+          assertThat(adapterName(gson, c)).isEqualTo("FinalTransient_GsonTypeAdapter");
+          assertThat(gson.toJson(gson.fromJson(json, c))).isEqualTo("{\"i\":1}");
+
+          // Deserializing the final field requires reflection
+          Gson transientGson =
+              new GsonBuilder()
+                  .excludeFieldsWithModifiers(Modifier.STATIC)
+                  .registerTypeAdapterFactoryServices()
+                  .create();
+          assertThat(adapterName(transientGson, c)).isEqualTo(adapterName(new Gson(), c));
+          assertThat(transientGson.toJson(transientGson.fromJson(json, c))).isEqualTo(json);
+        });
+  }
+
+  @Test
+  public void testErrors() throws IOException {
+    String source =
+        String.join(
+            "\n",
+            "package test;",
+            "import com.google.gson.codegen.GenerateTypeAdapter;",
+            "import com.google.gson.annotations.SerializedName;",
+            "public class Invalid {",
+            "  @GenerateTypeAdapter static class PrivateField { private int i; }",
+            "  @GenerateTypeAdapter static class FinalField { final int i = 1; }",
+            "  @GenerateTypeAdapter static class Generic<T> { }",
+            "  @GenerateTypeAdapter static class NoConstructor { NoConstructor(int i) { } }",
+            "  @GenerateTypeAdapter class Inner { }",
+            "  @GenerateTypeAdapter interface Interface { }",
+            "  @GenerateTypeAdapter static class Duplicate {",
+            "    int a;",
+            "    @SerializedName(\"a\") int b;",
+            "  }",
+            "}");
+    CompilationResult result = compile(source);
+    assertThat(result.success).isFalse();
+    assertThat(result.errors())
+        .containsExactly(
+            "Field must not be private, the generated adapter cannot access it",
+            "Field must not be final, the generated adapter cannot assign it",
+            "@GenerateTypeAdapter is not supported for generic classes",
+            "Class annotated with @GenerateTypeAdapter needs a non-private no-args constructor",
+            "@GenerateTypeAdapter is not supported for non-static nested classes",
+            "@GenerateTypeAdapter is only supported for classes",
+            "Class test.Invalid.Duplicate declares multiple JSON fields named 'a'; conflict is"
+                + " caused by fields test.Invalid.Duplicate#a and test.Invalid.Duplicate#b");
+  }
+
+  @Test
+  public void testJavaString() {
+    assertThat(TypeAdapterProcessor.javaString("a\"\\\n\u00e9"))
+        .isEqualTo("\"a\\\"\\\\\\u000a\\u00e9\"");
+  }
+}
@@ -21,10 +21,13 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.InstanceCreator;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.internal.ConstructorConstructor;
 import com.google.gson.internal.ObjectConstructor;
+import com.google.gson.internal.bind.JsonTreeReader;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
@@ -46,9 +49,10 @@ import java.util.Queue;
  *
  * <p>The builder maintains a mapping between types and their corresponding {@link InstanceCreator}
  * instances. When a type is registered, it will be serialized using a graph adapter that assigns a
- * unique identifier to each object instance. During deserialization, the graph adapter first builds
- * a mapping from these identifiers to their JSON representations and then reconstructs the object
- * graph.
+ * unique identifier to each object instance. Nodes are written one after another as they are
+ * discovered. During deserialization, the graph adapter reads the nodes one after another as well;
+ * for a reference to a node which has not been read yet it creates an empty placeholder instance,
+ * which is populated once the node is read.
  *
  * <p>Example usage:
  *
@@ -219,55 +223,84 @@ public final class GraphAdapterBuilder {
           /*
            * Again we have one of two cases:
            *  1. We've encountered the first known object in this graph. Read
-           *     the entire graph in as a map from names to their JsonElements.
-           *     Then convert the first JsonElement to its Java object.
+           *     the graph node by node; the first node is the result.
            *  2. We've encountered another graph object in the course of #1.
-           *     Read in its name, then deserialize its value from the
-           *     JsonElement in our map. We need to do this lazily because we
-           *     don't know which TypeAdapter to use until a value is
-           *     encountered in the wild.
+           *     Read in its name and return the instance for that name. If
+           *     its node has not been read yet, create an empty placeholder
+           *     instance which is populated once the node is encountered.
            */
 
-          String currentName = null;
           Graph graph = graphThreadLocal.get();
-          boolean readEntireGraph = false;
-
-          if (graph == null) {
-            graph = new Graph(new HashMap<Object, Element<?>>());
-            readEntireGraph = true;
+          if (graph != null) {
+            return readReference(graph, in.nextString());
+          }
 
-            // read the entire tree into memory
+          graph = new Graph(new HashMap<Object, Element<?>>());
+          graphThreadLocal.set(graph);
+          try {
+            T result = null;
             in.beginObject();
             while (in.hasNext()) {
               String name = in.nextName();
-              if (currentName == null) {
-                currentName = name;
+              @SuppressWarnings("unchecked") // graph.map guarantees consistency between value and T
+              Element<T> element = (Element<T>) graph.map.get(name);
+              if (result == null) {
+                element = newPlaceholder(graph, name);
+                result = element.value;
+              }
+
+              if (element == null) {
+                // The type of a node is only known once it is referenced, so buffer its JSON;
+                // this does not happen for graphs written by this adapter, since they reference
+                // nodes before writing them
+                graph.map.put(name, new Element<>(null, name, null, elementAdapter.read(in)));
+              } else if (element.populated || element.element != null) {
+                throw new JsonParseException("Duplicate graph node: " + name);
+              } else {
+                element.read(graph, in);
               }
-              JsonElement element = elementAdapter.read(in);
-              graph.map.put(name, new Element<>(null, name, typeAdapter, element));
             }
             in.endObject();
-          } else {
-            currentName = in.nextString();
-          }
 
-          if (readEntireGraph) {
-            graphThreadLocal.set(graph);
-          }
-          try {
-            @SuppressWarnings("unchecked") // graph.map guarantees consistency between value and T
-            Element<T> element = (Element<T>) graph.map.get(currentName);
-            // now that we know the typeAdapter for this name, go from JsonElement to 'T'
-            if (element.value == null) {
-              element.typeAdapter = typeAdapter;
-              element.read(graph);
+            if (graph.placeholderCount > 0) {
+              for (Element<?> element : graph.map.values()) {
+                if (!element.populated && element.element == null) {
+                  throw new JsonParseException("Missing graph node: " + element.id);
+                }
+              }
             }
-            return element.value;
+            return result;
           } finally {
-            if (readEntireGraph) {
-              graphThreadLocal.remove();
-            }
+            graphThreadLocal.remove();
+          }
+        }
+
+        private T readReference(Graph graph, String name) {
+          @SuppressWarnings("unchecked") // graph.map guarantees consistency between value and T
+          Element<T> element = (Element<T>) graph.map.get(name);
+          if (element == null) {
+            element = newPlaceholder(graph, name);
+          } else if (element.value == null) {
+            // Node was buffered before it was referenced; now that its type adapter is known read
+            // it from the buffered JSON
+            element.typeAdapter = typeAdapter;
+            element.value = createPlaceholder();
+            element.readBuffered(graph);
           }
+          return element.value;
+        }
+
+        private Element<T> newPlaceholder(Graph graph, String name) {
+          Element<T> element = new Element<>(createPlaceholder(), name, typeAdapter, null);
+          graph.map.put(name, element);
+          graph.placeholderCount++;
+          return element;
+        }
+
+        private T createPlaceholder() {
+          @SuppressWarnings("unchecked") // instance creators are registered for their type
+          T placeholder = (T) instanceCreators.get(type.getType()).createInstance(type.getType());
+          return placeholder;
         }
       };
     }
@@ -286,9 +319,8 @@ public final class GraphAdapterBuilder {
       if (graph == null || graph.nextCreate == null) {
         throw new IllegalStateException("Unexpected call to createInstance() for " + type);
       }
-      InstanceCreator<?> creator = instanceCreators.get(type);
-      Object result = creator.createInstance(type);
-      graph.nextCreate.value = result;
+      // Hand out the placeholder which might already be referenced by other objects
+      Object result = graph.nextCreate.value;
       graph.nextCreate = null;
       return result;
     }
@@ -310,6 +342,9 @@ public final class GraphAdapterBuilder {
      */
     private Element<Object> nextCreate;
 
+    /** The number of placeholders created during deserialization which are not populated yet. */
+    private int placeholderCount;
+
     private Graph(Map<Object, Element<?>> map) {
       this.map = map;
     }
@@ -325,14 +360,23 @@ public final class GraphAdapterBuilder {
     /** This element's name in the top level graph object. */
     private final String id;
 
-    /** The value if known. During deserialization this is lazily populated. */
+    /**
+     * The value if known. During deserialization this is an empty placeholder instance until the
+     * element has been {@linkplain #populated populated}.
+     */
     private T value;
 
     /** This element's type adapter if known. During deserialization this is lazily populated. */
     private TypeAdapter<T> typeAdapter;
 
-    /** The element to deserialize. Unused in serialization. */
-    private final JsonElement element;
+    /**
+     * The buffered JSON of a node which has been read before its first reference. Unused in
+     * serialization.
+     */
+    private JsonElement element;
+
+    /** Whether the value has been deserialized. Unused in serialization. */
+    private boolean populated;
 
     Element(T value, String id, TypeAdapter<T> typeAdapter, JsonElement element) {
       this.value = value;
@@ -345,15 +389,43 @@ public final class GraphAdapterBuilder {
       typeAdapter.write(out, value);
     }
 
+    /** Populates the placeholder value from the node JSON at the current position of {@code in}. */
+    void read(Graph graph, JsonReader in) throws IOException {
+      T result = populate(graph, in);
+      graph.placeholderCount--;
+      checkPopulated(result);
+    }
+
+    /** Populates the placeholder value from the buffered node JSON. */
+    void readBuffered(Graph graph) {
+      JsonElement json = element;
+      element = null;
+      T result;
+      try {
+        result = populate(graph, new JsonTreeReader(json));
+      } catch (IOException e) {
+        throw new JsonIOException(e);
+      }
+      checkPopulated(result);
+    }
+
     @SuppressWarnings("unchecked")
-    void read(Graph graph) {
+    private T populate(Graph graph, JsonReader in) throws IOException {
       if (graph.nextCreate != null) {
         throw new IllegalStateException("Unexpected recursive call to read() for " + id);
       }
       graph.nextCreate = (Element<Object>) this;
-      value = typeAdapter.fromJsonTree(element);
-      if (value == null) {
-        throw new IllegalStateException("non-null value deserialized to null: " + element);
+      populated = true;
+      return typeAdapter.read(in);
+    }
+
+    private void checkPopulated(T result) {
+      if (result == null) {
+        throw new IllegalStateException("non-null value deserialized to null: " + id);
+      }
+      if (result != value) {
+        throw new IllegalStateException(
+            "Value of " + id + " was not created by the graph InstanceCreator");
       }
     }
   }
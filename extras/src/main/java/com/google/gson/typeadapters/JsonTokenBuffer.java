@@ -0,0 +1,562 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.typeadapters;
+
+import com.google.gson.internal.JsonReaderInternalAccess;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Compact buffer for the tokens at the start of a JSON object which have already been consumed from
+ * a {@link JsonReader}, for example while looking ahead for a specific property. The buffer
+ * implicitly starts with {@link JsonToken#BEGIN_OBJECT}; {@link #replay(JsonReader)} creates a
+ * reader which first returns the buffered tokens and then continues with the remainder of the
+ * object from the original reader.
+ *
+ * <p>Unlike reading the object as {@code JsonElement} tree this does not create a tree; tokens are
+ * stored in flat arrays, and the remainder of the object is not buffered at all.
+ */
+final class JsonTokenBuffer {
+  private static final byte BEGIN_ARRAY = 0;
+  private static final byte END_ARRAY = 1;
+  private static final byte BEGIN_OBJECT = 2;
+  private static final byte END_OBJECT = 3;
+  private static final byte NAME = 4;
+  private static final byte STRING = 5;
+  private static final byte NUMBER = 6;
+  private static final byte TRUE = 7;
+  private static final byte FALSE = 8;
+  private static final byte NULL = 9;
+
+  private byte[] tokens = new byte[16];
+
+  /** Names, strings and numbers of the tokens at the same index; {@code null} for other tokens. */
+  private String[] values = new String[16];
+
+  private int size;
+
+  /** Path of the buffered object, as reported by the original reader in front of the object. */
+  private final String path;
+
+  private final String previousPath;
+
+  /**
+   * Creates a buffer containing only the {@code BEGIN_OBJECT} token of the object at the current
+   * position of {@code in}. Must be called before the object is begun on {@code in}, so that the
+   * replaying reader can report the paths of the buffered tokens.
+   */
+  JsonTokenBuffer(JsonReader in) {
+    path = in.getPath();
+    previousPath = in.getPreviousPath();
+    add(BEGIN_OBJECT, null);
+  }
+
+  private void add(byte token, String value) {
+    if (size == tokens.length) {
+      tokens = Arrays.copyOf(tokens, size * 2);
+      values = Arrays.copyOf(values, size * 2);
+    }
+    tokens[size] = token;
+    values[size] = value;
+    size++;
+  }
+
+  /** Adds the name of a property of the buffered object. */
+  void name(String name) {
+    add(NAME, name);
+  }
+
+  /**
+   * Consumes the next value from {@code in}, including all nested values if it is a JSON array or
+   * object, and adds its tokens to this buffer.
+   */
+  void copyValue(JsonReader in) throws IOException {
+    int depth = 0;
+    do {
+      JsonToken token = in.peek();
+      switch (token) {
+        case BEGIN_ARRAY:
+          in.beginArray();
+          add(BEGIN_ARRAY, null);
+          depth++;
+          break;
+        case END_ARRAY:
+          in.endArray();
+          add(END_ARRAY, null);
+          depth--;
+          break;
+        case BEGIN_OBJECT:
+          in.beginObject();
+          add(BEGIN_OBJECT, null);
+          depth++;
+          break;
+        case END_OBJECT:
+          in.endObject();
+          add(END_OBJECT, null);
+          depth--;
+          break;
+        case NAME:
+          add(NAME, in.nextName());
+          break;
+        case STRING:
+          add(STRING, in.nextString());
+          break;
+        case NUMBER:
+          add(NUMBER, in.nextString());
+          break;
+        case BOOLEAN:
+          add(in.nextBoolean() ? TRUE : FALSE, null);
+          break;
+        case NULL:
+          in.nextNull();
+          add(NULL, null);
+          break;
+        default:
+          throw new IllegalStateException("Unexpected token " + token + " at path " + in.getPath());
+      }
+    } while (depth > 0);
+  }
+
+  /**
+   * Returns a reader which first returns the buffered tokens and afterwards continues reading from
+   * {@code in}. {@code in} must be positioned inside the object whose start has been buffered,
+   * directly after the last buffered value. The returned reader uses the strictness and nesting
+   * limit of {@code in}.
+   */
+  JsonReader replay(JsonReader in) {
+    return new ReplayingJsonReader(this, in);
+  }
+
+  /** Reader which replays the tokens of a {@link JsonTokenBuffer}. */
+  private static final class ReplayingJsonReader extends JsonReader
+      implements JsonReaderInternalAccess.NamePromotingReader {
+    private static final Reader UNREADABLE_READER =
+        new Reader() {
+          @Override
+          public int read(char[] buffer, int offset, int count) {
+            throw new AssertionError();
+          }
+
+          @Override
+          public void close() {
+            throw new AssertionError();
+          }
+        };
+
+    private final JsonReader in;
+    private final byte[] tokens;
+    private final String[] values;
+    private final int size;
+    private int position;
+
+    private final String basePath;
+    private final String basePreviousPath;
+
+    /*
+     * Path of the replayed tokens relative to the buffered object, tracked the same way JsonReader
+     * does; only used while replaying, afterwards the original reader reports the path
+     */
+    private boolean[] pathIsArray = new boolean[8];
+    private String[] pathNames = new String[8];
+    private int[] pathIndices = new int[8];
+    private int pathSize;
+
+    /** Whether the buffered name at {@link #position} has been promoted to a string value. */
+    private boolean promotedName;
+
+    ReplayingJsonReader(JsonTokenBuffer buffer, JsonReader in) {
+      super(UNREADABLE_READER);
+      this.in = in;
+      this.tokens = buffer.tokens;
+      this.values = buffer.values;
+      this.size = buffer.size;
+      this.basePath = buffer.path;
+      this.basePreviousPath = buffer.previousPath;
+      setStrictness(in.getStrictness());
+      setNestingLimit(in.getNestingLimit());
+    }
+
+    private boolean isReplaying() {
+      return position < size;
+    }
+
+    private void pushPath(boolean isArray) {
+      if (pathSize == pathIsArray.length) {
+        int newLength = pathSize * 2;
+        pathIsArray = Arrays.copyOf(pathIsArray, newLength);
+        pathNames = Arrays.copyOf(pathNames, newLength);
+        pathIndices = Arrays.copyOf(pathIndices, newLength);
+      }
+      pathIsArray[pathSize] = isArray;
+      pathNames[pathSize] = null;
+      pathIndices[pathSize] = 0;
+      pathSize++;
+    }
+
+    private void popPath() {
+      pathSize--;
+      pathNames[pathSize] = null;
+      valueConsumed();
+    }
+
+    private void valueConsumed() {
+      if (pathSize > 0) {
+        pathIndices[pathSize - 1]++;
+      }
+    }
+
+    private void expect(byte expected) throws IOException {
+      byte token = tokens[position];
+      if (token != expected || promotedName) {
+        throw new IllegalStateException(
+            "Expected " + toJsonToken(expected) + " but was " + peek() + locationString());
+      }
+    }
+
+    private static JsonToken toJsonToken(byte token) {
+      switch (token) {
+        case BEGIN_ARRAY:
+          return JsonToken.BEGIN_ARRAY;
+        case END_ARRAY:
+          return JsonToken.END_ARRAY;
+        case BEGIN_OBJECT:
+          return JsonToken.BEGIN_OBJECT;
+        case END_OBJECT:
+          return JsonToken.END_OBJECT;
+        case NAME:
+          return JsonToken.NAME;
+        case STRING:
+          return JsonToken.STRING;
+        case NUMBER:
+          return JsonToken.NUMBER;
+        case TRUE:
+        case FALSE:
+          return JsonToken.BOOLEAN;
+        case NULL:
+          return JsonToken.NULL;
+        default:
+          throw new AssertionError("Unknown token " + token);
+      }
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+      if (isReplaying()) {
+        expect(BEGIN_ARRAY);
+        position++;
+        pushPath(true);
+      } else {
+        in.beginArray();
+      }
+    }
+
+    @Override
+    public void endArray() throws IOException {
+      if (isReplaying()) {
+        expect(END_ARRAY);
+        position++;
+        popPath();
+      } else {
+        in.endArray();
+      }
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+      if (isReplaying()) {
+        expect(BEGIN_OBJECT);
+        position++;
+        pushPath(false);
+      } else {
+        in.beginObject();
+      }
+    }
+
+    @Override
+    public void endObject() throws IOException {
+      if (isReplaying()) {
+        expect(END_OBJECT);
+        position++;
+        popPath();
+      } else {
+        in.endObject();
+      }
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+      if (isReplaying()) {
+        byte token = tokens[position];
+        return token != END_ARRAY && token != END_OBJECT;
+      }
+      return in.hasNext();
+    }
+
+    @Override
+    public JsonToken peek() throws IOException {
+      if (isReplaying()) {
+        return promotedName ? JsonToken.STRING : toJsonToken(tokens[position]);
+      }
+      return in.peek();
+    }
+
+    @Override
+    public String nextName() throws IOException {
+      if (isReplaying()) {
+        expect(NAME);
+        String name = values[position++];
+        pathNames[pathSize - 1] = name;
+        return name;
+      }
+      return in.nextName();
+    }
+
+    /** Returns the buffered string, number or promoted name, without consuming it. */
+    private String peekStringValue(JsonToken expected) throws IOException {
+      byte token = tokens[position];
+      if (token != STRING && token != NUMBER && !promotedName) {
+        throw new IllegalStateException(
+            "Expected " + expected + " but was " + peek() + locationString());
+      }
+      return values[position];
+    }
+
+    private void consumeValue() {
+      promotedName = false;
+      position++;
+      valueConsumed();
+    }
+
+    @Override
+    public String nextString() throws IOException {
+      if (isReplaying()) {
+        String result = peekStringValue(JsonToken.STRING);
+        consumeValue();
+        return result;
+      }
+      return in.nextString();
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+      if (isReplaying()) {
+        byte token = tokens[position];
+        if ((token != TRUE && token != FALSE) || promotedName) {
+          throw new IllegalStateException(
+              "Expected a boolean but was " + peek() + locationString());
+        }
+        position++;
+        valueConsumed();
+        return token == TRUE;
+      }
+      return in.nextBoolean();
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+      if (isReplaying()) {
+        expect(NULL);
+        position++;
+        valueConsumed();
+      } else {
+        in.nextNull();
+      }
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+      if (isReplaying()) {
+        double result = Double.parseDouble(peekStringValue(JsonToken.NUMBER));
+        if (!isLenient() && (Double.isNaN(result) || Double.isInfinite(result))) {
+          throw new MalformedJsonException("JSON forbids NaN and infinities: " + result);
+        }
+        consumeValue();
+        return result;
+      }
+      return in.nextDouble();
+    }
+
+    @Override
+    public float nextFloat() throws IOException {
+      if (isReplaying()) {
+        String value = peekStringValue(JsonToken.NUMBER);
+        float result = Float.parseFloat(value);
+        if (!isLenient() && (Float.isNaN(result) || Float.isInfinite(result))) {
+          // Only reject values which are not finite as double either, consistent with nextDouble()
+          double doubleResult = Double.parseDouble(value);
+          if (Double.isNaN(doubleResult) || Double.isInfinite(doubleResult)) {
+            throw new MalformedJsonException("JSON forbids NaN and infinities: " + doubleResult);
+          }
+        }
+        consumeValue();
+        return result;
+      }
+      return in.nextFloat();
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+      if (isReplaying()) {
+        String value = peekStringValue(JsonToken.NUMBER);
+        try {
+          long result = Long.parseLong(value);
+          consumeValue();
+          return result;
+        } catch (NumberFormatException ignored) {
+          // Fall back to parse as a double below
+        }
+        double asDouble = Double.parseDouble(value);
+        long result = (long) asDouble;
+        if (result != asDouble) {
+          throw new NumberFormatException("Expected a long but was " + value + locationString());
+        }
+        consumeValue();
+        return result;
+      }
+      return in.nextLong();
+    }
+
+    @Override
+    public int nextInt() throws IOException {
+      if (isReplaying()) {
+        String value = peekStringValue(JsonToken.NUMBER);
+        try {
+          int result = Integer.parseInt(value);
+          consumeValue();
+          return result;
+        } catch (NumberFormatException ignored) {
+          // Fall back to parse as a double below
+        }
+        double asDouble = Double.parseDouble(value);
+        int result = (int) asDouble;
+        if (result != asDouble) {
+          throw new NumberFormatException("Expected an int but was " + value + locationString());
+        }
+        consumeValue();
+        return result;
+      }
+      return in.nextInt();
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+      if (!isReplaying()) {
+        in.skipValue();
+        return;
+      }
+
+      byte token = tokens[position];
+      if (token == NAME && !promotedName) {
+        position++;
+        pathNames[pathSize - 1] = "<skipped>";
+        return;
+      }
+      if (position == 0) {
+        // Skips the complete object; the buffer only contains its start
+        position = size;
+        while (in.hasNext()) {
+          in.skipValue();
+        }
+        in.endObject();
+        return;
+      }
+
+      if (token == END_ARRAY || token == END_OBJECT) {
+        // Only skips the end token
+        position++;
+        popPath();
+        return;
+      }
+
+      int depth = 0;
+      do {
+        token = tokens[position];
+        if (token == BEGIN_ARRAY || token == BEGIN_OBJECT) {
+          depth++;
+        } else if (token == END_ARRAY || token == END_OBJECT) {
+          depth--;
+        }
+        promotedName = false;
+        position++;
+      } while (depth > 0);
+      valueConsumed();
+    }
+
+    @Override
+    public void promoteNameToValue() throws IOException {
+      if (isReplaying()) {
+        expect(NAME);
+        promotedName = true;
+      } else {
+        JsonReaderInternalAccess.INSTANCE.promoteNameToValue(in);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      position = size;
+      in.close();
+    }
+
+    @Override
+    public String getPath() {
+      return isReplaying() ? getReplayPath(false) : in.getPath();
+    }
+
+    @Override
+    public String getPreviousPath() {
+      return isReplaying() ? getReplayPath(true) : in.getPreviousPath();
+    }
+
+    private String getReplayPath(boolean usePreviousPath) {
+      if (pathSize == 0) {
+        return usePreviousPath ? basePreviousPath : basePath;
+      }
+
+      StringBuilder result = new StringBuilder(basePath);
+      for (int i = 0; i < pathSize; i++) {
+        if (pathIsArray[i]) {
+          int pathIndex = pathIndices[i];
+          // If index is last path element it points to next array element; have to decrement
+          if (usePreviousPath && pathIndex > 0 && i == pathSize - 1) {
+            pathIndex--;
+          }
+          result.append('[').append(pathIndex).append(']');
+        } else {
+          result.append('.');
+          if (pathNames[i] != null) {
+            result.append(pathNames[i]);
+          }
+        }
+      }
+      return result.toString();
+    }
+
+    @Override
+    public String toString() {
+      return getClass().getSimpleName() + locationString();
+    }
+
+    private String locationString() {
+      return " at path " + getPath();
+    }
+  }
+}
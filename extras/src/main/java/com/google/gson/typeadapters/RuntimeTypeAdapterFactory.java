@@ -1,21 +1,30 @@
 package com.google.gson.typeadapters;
 
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
-import com.google.gson.internal.Streams;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
-/** A factory for creating type adapters that support polymorphism. */
+/**
+ * A factory for creating type adapters that support polymorphism.
+ *
+ * <p>The type adapters stream the JSON data: when serializing, the type field is written as first
+ * property, followed by the properties written by the subtype adapter. When deserializing, if the
+ * type field is the first property the subtype adapter directly reads the remainder of the JSON
+ * object; otherwise only the properties in front of the type field are buffered.
+ *
+ * <p>Serializing a subtype which itself writes a property with the name of the type field fails
+ * with a {@link JsonParseException}, because the type field has already been written at that point.
+ */
 public final class RuntimeTypeAdapterFactory<T> implements TypeAdapterFactory {
   private final Class<?> baseType;
   private final String typeFieldName;
@@ -84,31 +93,229 @@ public final class RuntimeTypeAdapterFactory<T> implements TypeAdapterFactory {
               "Cannot serialize unregistered subtype: " + srcType.getName());
         }
 
-        JsonObject jsonObject = delegate.toJsonTree(value).getAsJsonObject();
-        jsonObject.addProperty(typeFieldName, label);
-        Streams.write(jsonObject, out);
+        delegate.write(new LabelingJsonWriter(out, typeFieldName, label, srcType), value);
       }
 
       @Override
       public R read(JsonReader in) throws IOException {
-        JsonElement jsonElement = Streams.parse(in);
-        JsonObject jsonObject = jsonElement.getAsJsonObject();
-        JsonElement labelElement = jsonObject.remove(typeFieldName);
+        // Only the properties in front of the type field are buffered; if the type field is the
+        // first property, the subtype adapter reads the complete object from `in`
+        JsonTokenBuffer prefix = new JsonTokenBuffer(in);
+        in.beginObject();
+        while (in.hasNext()) {
+          String name = in.nextName();
+          if (!name.equals(typeFieldName)) {
+            prefix.name(name);
+            prefix.copyValue(in);
+            continue;
+          }
 
-        if (labelElement == null) {
-          throw new JsonParseException("Missing type field: " + typeFieldName);
-        }
+          String label = in.nextString();
+          @SuppressWarnings("unchecked")
+          TypeAdapter<R> delegate = (TypeAdapter<R>) labelToAdapter.get(label);
 
-        String label = labelElement.getAsString();
-        @SuppressWarnings("unchecked")
-        TypeAdapter<R> delegate = (TypeAdapter<R>) labelToAdapter.get(label);
+          if (delegate == null) {
+            throw new JsonParseException("Unregistered subtype label: " + label);
+          }
 
-        if (delegate == null) {
-          throw new JsonParseException("Unregistered subtype label: " + label);
+          return delegate.read(prefix.replay(in));
         }
-
-        return delegate.fromJsonTree(jsonObject);
+        throw new JsonParseException("Missing type field: " + typeFieldName);
       }
     };
   }
+
+  /**
+   * Writer which writes the type field as first property of the object written by the subtype
+   * adapter, and forwards everything else to the actual writer.
+   */
+  private static final class LabelingJsonWriter extends JsonWriter {
+    private static final Writer UNWRITABLE_WRITER =
+        new Writer() {
+          @Override
+          public void write(char[] buffer, int offset, int counter) {
+            throw new AssertionError();
+          }
+
+          @Override
+          public void flush() {
+            throw new AssertionError();
+          }
+
+          @Override
+          public void close() {
+            throw new AssertionError();
+          }
+        };
+
+    private final JsonWriter out;
+    private final String typeFieldName;
+    private final String label;
+    private final Class<?> srcType;
+
+    /** Nesting depth of the values written so far; 1 is the object containing the type field. */
+    private int depth;
+
+    LabelingJsonWriter(JsonWriter out, String typeFieldName, String label, Class<?> srcType) {
+      super(UNWRITABLE_WRITER);
+      this.out = out;
+      this.typeFieldName = typeFieldName;
+      this.label = label;
+      this.srcType = srcType;
+      setStrictness(out.getStrictness());
+      setHtmlSafe(out.isHtmlSafe());
+      setSerializeNulls(out.getSerializeNulls());
+    }
+
+    private JsonParseException notAnObject() {
+      return new JsonParseException(
+          "Cannot serialize " + srcType.getName() + " because it is not a JSON object");
+    }
+
+    private void beforeValue() {
+      if (depth == 0) {
+        throw notAnObject();
+      }
+    }
+
+    @CanIgnoreReturnValue
+    @Override
+    public JsonWriter beginArray() throws IOException {
+      beforeValue();
+      depth++;
+      out.beginArray();
+      return this;
+    }
+
+    @CanIgnoreReturnValue
+    @Override
+    public JsonWriter endArray() throws IOException {
+      depth--;
+      out.endArray();
+      return this;
+    }
+
+    @CanIgnoreReturnValue
+    @Override
+    public JsonWriter beginObject() throws IOException {
+      out.beginObject();
+      if (depth == 0) {
+        out.name(typeFieldName);
+        out.value(label);
+      }
+      depth++;
+      return this;
+    }
+
+    @CanIgnoreReturnValue
+    @Override
+    public JsonWriter endObject() throws IOException {
+      depth--;
+      out.endObject();
+      return this;
+    }
+
+    @CanIgnoreReturnValue
+    @Override
+    public JsonWriter name(String name) throws IOException {
+      if (depth == 1 && name.equals(typeFieldName)) {
+        throw new JsonParseException(
+            "Cannot serialize "
+                + srcType.getName()
+                + " because it already defines a field named "
+                + typeFieldName);
+      }
+      out.name(name);
+      return this;
+    }
+
+    @CanIgnoreReturnValue
+    @Override
+    public JsonWriter value(String value) throws IOException {
+      beforeValue();
+      out.value(value);
+      return this;
+    }
+
+    @CanIgnoreReturnValue
+    @Override
+    public JsonWriter value(boolean value) throws IOException {
+      beforeValue();
+      out.value(value);
+      return this;
+    }
+
+    @CanIgnoreReturnValue
+    @Override
+    public JsonWriter value(Boolean value) throws IOException {
+      beforeValue();
+      out.value(value);
+      return this;
+    }
+
+    @CanIgnoreReturnValue
+    @Override
+    public JsonWriter value(float value) throws IOException {
+      beforeValue();
+      out.value(value);
+      return this;
+    }
+
+    @CanIgnoreReturnValue
+    @Override
+    public JsonWriter value(double value) throws IOException {
+      beforeValue();
+      out.value(value);
+      return this;
+    }
+
+    @CanIgnoreReturnValue
+    @Override
+    public JsonWriter value(long value) throws IOException {
+      beforeValue();
+      out.value(value);
+      return this;
+    }
+
+    @CanIgnoreReturnValue
+    @Override
+    public JsonWriter value(Number value) throws IOException {
+      beforeValue();
+      out.value(value);
+      return this;
+    }
+
+    @CanIgnoreReturnValue
+    @Override
+    public JsonWriter nullValue() throws IOException {
+      beforeValue();
+      // Subtype adapters may temporarily change whether nulls are serialized
+      boolean serializeNulls = out.getSerializeNulls();
+      out.setSerializeNulls(getSerializeNulls());
+      try {
+        out.nullValue();
+      } finally {
+        out.setSerializeNulls(serializeNulls);
+      }
+      return this;
+    }
+
+    @CanIgnoreReturnValue
+    @Override
+    public JsonWriter jsonValue(String value) throws IOException {
+      beforeValue();
+      out.jsonValue(value);
+      return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      out.flush();
+    }
+
+    @Override
+    public void close() {
+      // The actual writer is owned by the caller of the type adapter
+    }
+  }
 }
@@ -34,7 +34,7 @@ public final class UtcDateTypeAdapter extends TypeAdapter<Date> {
           });
 
   @Override
-  public synchronized void write(JsonWriter out, Date value) throws IOException {
+  public void write(JsonWriter out, Date value) throws IOException {
     if (value == null) {
       out.nullValue();
       return;
@@ -43,7 +43,7 @@ public final class UtcDateTypeAdapter extends TypeAdapter<Date> {
   }
 
   @Override
-  public synchronized Date read(JsonReader in) throws IOException {
+  public Date read(JsonReader in) throws IOException {
     if (in.peek() == JsonToken.NULL) {
       in.nextNull();
       return null;
@@ -17,9 +17,11 @@
 package com.google.gson.graph;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 import com.google.gson.reflect.TypeToken;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -80,6 +82,68 @@ public final class GraphAdapterBuilderTest {
     assertThat(suicide.beats).isSameInstanceAs(suicide);
   }
 
+  @Test
+  public void testDeserializationNodeBeforeReference() {
+    // Node 0x3 appears before any reference to it, so its JSON has to be buffered
+    String json =
+        "{'0x1':{'name':'ROCK','beats':'0x2'},"
+            + "'0x3':{'name':'PAPER','beats':'0x1'},"
+            + "'0x2':{'name':'SCISSORS','beats':'0x3'}}";
+
+    GsonBuilder gsonBuilder = new GsonBuilder();
+    new GraphAdapterBuilder().addType(Roshambo.class).registerOn(gsonBuilder);
+    Gson gson = gsonBuilder.create();
+
+    Roshambo rock = gson.fromJson(json, Roshambo.class);
+    Roshambo paper = rock.beats.beats;
+    assertThat(paper.name).isEqualTo("PAPER");
+    assertThat(paper.beats).isSameInstanceAs(rock);
+  }
+
+  @Test
+  public void testDeserializationMalformedGraph() {
+    GsonBuilder gsonBuilder = new GsonBuilder();
+    new GraphAdapterBuilder().addType(Roshambo.class).registerOn(gsonBuilder);
+    Gson gson = gsonBuilder.create();
+
+    var e =
+        assertThrows(
+            JsonParseException.class,
+            () -> gson.fromJson("{'0x1':{'name':'ROCK','beats':'0x2'}}", Roshambo.class));
+    assertThat(e).hasMessageThat().isEqualTo("Missing graph node: 0x2");
+
+    e =
+        assertThrows(
+            JsonParseException.class,
+            () ->
+                gson.fromJson(
+                    "{'0x1':{'name':'ROCK','beats':'0x2'},'0x2':{},'0x2':{}}", Roshambo.class));
+    assertThat(e).hasMessageThat().isEqualTo("Duplicate graph node: 0x2");
+  }
+
+  @Test
+  public void testRoundTripLongChain() {
+    GsonBuilder gsonBuilder = new GsonBuilder();
+    new GraphAdapterBuilder().addType(Roshambo.class).registerOn(gsonBuilder);
+    Gson gson = gsonBuilder.create();
+
+    Roshambo first = new Roshambo("0");
+    Roshambo last = first;
+    for (int i = 1; i < 10_000; i++) {
+      last.beats = new Roshambo(Integer.toString(i));
+      last = last.beats;
+    }
+    last.beats = first;
+
+    Roshambo deserialized = gson.fromJson(gson.toJson(first), Roshambo.class);
+    Roshambo current = deserialized;
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(current.name).isEqualTo(Integer.toString(i));
+      current = current.beats;
+    }
+    assertThat(current).isSameInstanceAs(deserialized);
+  }
+
   @Test
   public void testAddTypeCustomInstanceCreator() {
     GsonBuilder gsonBuilder = new GsonBuilder();
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.typeadapters;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gson.internal.JsonReaderInternalAccess;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.Test;
+
+public class JsonTokenBufferTest {
+  /**
+   * Buffers the properties in front of the property named {@code stop}, and skips that property.
+   */
+  private static JsonReader bufferUntil(JsonReader in, String stop) throws IOException {
+    JsonTokenBuffer buffer = new JsonTokenBuffer(in);
+    in.beginObject();
+    while (in.hasNext()) {
+      String name = in.nextName();
+      if (name.equals(stop)) {
+        in.skipValue();
+        break;
+      }
+      buffer.name(name);
+      buffer.copyValue(in);
+    }
+    return buffer.replay(in);
+  }
+
+  @Test
+  public void testReplay() throws IOException {
+    JsonReader in =
+        new JsonReader(
+            new StringReader(
+                "{\"a\":[1,2.5,\"s\",true,false,null],\"b\":{\"c\":{}},\"stop\":1,\"d\":\"e\"}"));
+    JsonReader reader = bufferUntil(in, "stop");
+
+    reader.beginObject();
+    assertThat(reader.nextName()).isEqualTo("a");
+    reader.beginArray();
+    assertThat(reader.peek()).isEqualTo(JsonToken.NUMBER);
+    assertThat(reader.nextLong()).isEqualTo(1);
+    assertThat(reader.nextDouble()).isEqualTo(2.5);
+    assertThat(reader.nextString()).isEqualTo("s");
+    assertThat(reader.nextBoolean()).isTrue();
+    assertThat(reader.nextBoolean()).isFalse();
+    reader.nextNull();
+    assertThat(reader.hasNext()).isFalse();
+    reader.endArray();
+    assertThat(reader.nextName()).isEqualTo("b");
+    reader.beginObject();
+    assertThat(reader.nextName()).isEqualTo("c");
+    reader.beginObject();
+    reader.endObject();
+    reader.endObject();
+    // Continues with the original reader
+    assertThat(reader.hasNext()).isTrue();
+    assertThat(reader.nextName()).isEqualTo("d");
+    assertThat(reader.getPath()).isEqualTo("$.d");
+    assertThat(reader.nextString()).isEqualTo("e");
+    reader.endObject();
+    assertThat(in.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+  }
+
+  @Test
+  public void testPath() throws IOException {
+    JsonReader in =
+        new JsonReader(new StringReader("[0,{\"a\":[1,{\"b\":2}],\"c\":3,\"stop\":4,\"d\":5}]"));
+    in.beginArray();
+    in.skipValue();
+    JsonReader reader = bufferUntil(in, "stop");
+
+    assertThat(reader.getPath()).isEqualTo("$[1]");
+    reader.beginObject();
+    assertThat(reader.getPath()).isEqualTo("$[1].");
+    assertThat(reader.nextName()).isEqualTo("a");
+    assertThat(reader.getPath()).isEqualTo("$[1].a");
+    reader.beginArray();
+    assertThat(reader.getPath()).isEqualTo("$[1].a[0]");
+    assertThat(reader.nextInt()).isEqualTo(1);
+    assertThat(reader.getPath()).isEqualTo("$[1].a[1]");
+    assertThat(reader.getPreviousPath()).isEqualTo("$[1].a[0]");
+    reader.beginObject();
+    reader.skipValue();
+    assertThat(reader.getPath()).isEqualTo("$[1].a[1].<skipped>");
+    var e = assertThrows(IllegalStateException.class, () -> reader.nextBoolean());
+    assertThat(e)
+        .hasMessageThat()
+        .isEqualTo("Expected a boolean but was NUMBER at path $[1].a[1].<skipped>");
+    reader.skipValue();
+    reader.endObject();
+    assertThat(reader.getPath()).isEqualTo("$[1].a[2]");
+    reader.endArray();
+    assertThat(reader.nextName()).isEqualTo("c");
+    assertThat(reader.nextInt()).isEqualTo(3);
+    // Continues with the path of the original reader
+    assertThat(reader.getPath()).isEqualTo("$[1].stop");
+    assertThat(reader.nextName()).isEqualTo("d");
+    assertThat(reader.getPath()).isEqualTo("$[1].d");
+  }
+
+  @Test
+  public void testTypeMismatch() throws IOException {
+    JsonReader reader = bufferUntil(new JsonReader(new StringReader("{\"a\":1,\"stop\":2}")), "");
+    reader.beginObject();
+    var e = assertThrows(IllegalStateException.class, () -> reader.nextString());
+    assertThat(e).hasMessageThat().startsWith("Expected STRING but was NAME");
+    assertThat(reader.nextName()).isEqualTo("a");
+    var e2 = assertThrows(IllegalStateException.class, () -> reader.beginArray());
+    assertThat(e2).hasMessageThat().startsWith("Expected BEGIN_ARRAY but was NUMBER");
+  }
+
+  @Test
+  public void testSkipValue() throws IOException {
+    JsonReader reader =
+        bufferUntil(
+            new JsonReader(new StringReader("{\"a\":[1,{\"b\":2}],\"c\":3,\"stop\":4,\"d\":5}")),
+            "stop");
+    reader.beginObject();
+    reader.skipValue(); // name
+    reader.skipValue(); // nested value
+    assertThat(reader.nextName()).isEqualTo("c");
+    assertThat(reader.nextInt()).isEqualTo(3);
+    assertThat(reader.nextName()).isEqualTo("d");
+
+    JsonReader in = new JsonReader(new StringReader("[{\"a\":1,\"stop\":2,\"b\":{}},3]"));
+    in.beginArray();
+    reader = bufferUntil(in, "stop");
+    // Skips the complete object, including the part which has not been buffered
+    reader.skipValue();
+    assertThat(in.nextInt()).isEqualTo(3);
+    in.endArray();
+  }
+
+  @Test
+  public void testPromoteNameToValue() throws IOException {
+    JsonReader reader =
+        bufferUntil(new JsonReader(new StringReader("{\"1\":2,\"stop\":3,\"4\":5}")), "stop");
+    reader.beginObject();
+    JsonReaderInternalAccess.INSTANCE.promoteNameToValue(reader);
+    assertThat(reader.peek()).isEqualTo(JsonToken.STRING);
+    assertThat(reader.nextInt()).isEqualTo(1);
+    assertThat(reader.nextInt()).isEqualTo(2);
+    JsonReaderInternalAccess.INSTANCE.promoteNameToValue(reader);
+    assertThat(reader.nextString()).isEqualTo("4");
+    assertThat(reader.nextInt()).isEqualTo(5);
+    reader.endObject();
+  }
+}
@@ -24,6 +24,8 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonParser;
 import com.google.gson.TypeAdapterFactory;
+import java.util.List;
+import java.util.Map;
 import org.junit.Test;
 
 public final class RuntimeTypeAdapterFactoryTest {
@@ -125,6 +127,90 @@ public final class RuntimeTypeAdapterFactoryTest {
     assertThat(deserialized.instrument).isNull();
   }
 
+  @Test
+  public void testSerializeTypeFieldFirst() {
+    TypeAdapterFactory billingAdapter =
+        RuntimeTypeAdapterFactory.of(BillingInstrument.class).registerSubtype(CreditCard.class);
+    Gson gson = new GsonBuilder().registerTypeAdapterFactory(billingAdapter).create();
+    assertThat(gson.toJson(new CreditCard("Jesse", 234), BillingInstrument.class))
+        .isEqualTo("{\"type\":\"CreditCard\",\"cvv\":234,\"ownerName\":\"Jesse\"}");
+  }
+
+  @Test
+  public void testSerializeConflictingTypeField() {
+    TypeAdapterFactory billingAdapter =
+        RuntimeTypeAdapterFactory.of(BillingInstrument.class, "cvv")
+            .registerSubtype(CreditCard.class);
+    Gson gson = new GsonBuilder().registerTypeAdapterFactory(billingAdapter).create();
+    var e =
+        assertThrows(
+            JsonParseException.class,
+            () -> gson.toJson(new CreditCard("Jesse", 456), BillingInstrument.class));
+    assertThat(e)
+        .hasMessageThat()
+        .isEqualTo(
+            "Cannot serialize "
+                + CreditCard.class.getName()
+                + " because it already defines a field named cvv");
+  }
+
+  @Test
+  public void testDeserializeTypeFieldNotFirst() {
+    TypeAdapterFactory billingAdapter =
+        RuntimeTypeAdapterFactory.of(BillingInstrument.class)
+            .registerSubtype(CreditCard.class)
+            .registerSubtype(Account.class);
+    Gson gson = new GsonBuilder().registerTypeAdapterFactory(billingAdapter).create();
+
+    CreditCard creditCard =
+        (CreditCard)
+            gson.fromJson(
+                "{\"cvv\":234,\"unknown\":{\"a\":[1,{\"b\":null}]},\"type\":\"CreditCard\","
+                    + "\"ownerName\":\"Jesse\"}",
+                BillingInstrument.class);
+    assertThat(creditCard.cvv).isEqualTo(234);
+    assertThat(((BillingInstrument) creditCard).ownerName).isEqualTo("Jesse");
+
+    creditCard =
+        (CreditCard)
+            gson.fromJson(
+                    "[{\"ownerName\":\"Jesse\",\"cvv\":\"234\",\"type\":\"CreditCard\"}]",
+                    BillingInstrument[].class)[0];
+    assertThat(creditCard.cvv).isEqualTo(234);
+    assertThat(((BillingInstrument) creditCard).ownerName).isEqualTo("Jesse");
+
+    // Map keys in the buffered prefix and afterwards
+    Account account =
+        (Account)
+            gson.fromJson(
+                "{\"balances\":{\"1\":2.5,\"3\":4},\"tags\":[true,false],\"type\":\"Account\","
+                    + "\"limits\":{\"5\":6}}",
+                BillingInstrument.class);
+    assertThat(account.balances).containsExactly(1, 2.5, 3, 4.0).inOrder();
+    assertThat(account.tags).containsExactly(true, false).inOrder();
+    assertThat(account.limits).containsExactly(5, 6.0);
+  }
+
+  @Test
+  public void testDeserializeMalformedPrefix() {
+    TypeAdapterFactory billingAdapter =
+        RuntimeTypeAdapterFactory.of(BillingInstrument.class).registerSubtype(CreditCard.class);
+    Gson gson = new GsonBuilder().registerTypeAdapterFactory(billingAdapter).create();
+    var e =
+        assertThrows(
+            JsonParseException.class,
+            () ->
+                gson.fromJson(
+                    "{\"cvv\":\"abc\",\"type\":\"CreditCard\"}", BillingInstrument.class));
+    assertThat(e).hasCauseThat().isInstanceOf(NumberFormatException.class);
+
+    e =
+        assertThrows(
+            JsonParseException.class,
+            () -> gson.fromJson("{\"cvv\":[1],\"type\":\"CreditCard\"}", BillingInstrument.class));
+    assertThat(e).hasCauseThat().isInstanceOf(IllegalStateException.class);
+  }
+
   static class BillingInstrumentWrapper {
     BillingInstrument instrument;
 
@@ -150,6 +236,16 @@ public final class RuntimeTypeAdapterFactoryTest {
     }
   }
 
+  static class Account extends BillingInstrument {
+    Map<Integer, Double> balances;
+    List<Boolean> tags;
+    Map<Integer, Double> limits;
+
+    Account(String ownerName) {
+      super(ownerName);
+    }
+  }
+
   static class BankTransfer extends BillingInstrument {
     int bankAccount;
 
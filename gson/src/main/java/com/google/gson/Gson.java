@@ -23,6 +23,8 @@ import com.google.gson.internal.GsonBuildConfig;
 import com.google.gson.internal.LazilyParsedNumber;
 import com.google.gson.internal.Primitives;
 import com.google.gson.internal.Streams;
+import com.google.gson.internal.Utf8Reader;
+import com.google.gson.internal.Utf8Writer;
 import com.google.gson.internal.bind.ArrayTypeAdapter;
 import com.google.gson.internal.bind.CollectionTypeAdapterFactory;
 import com.google.gson.internal.bind.DefaultDateTypeAdapter;
@@ -43,21 +45,28 @@ import com.google.gson.stream.JsonWriter;
 import com.google.gson.stream.MalformedJsonException;
 import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.Writer;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.text.DateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicLongArray;
 
@@ -158,6 +167,9 @@ public final class Gson {
   static final boolean DEFAULT_COMPLEX_MAP_KEYS = false;
   static final boolean DEFAULT_SPECIALIZE_FLOAT_VALUES = false;
   static final boolean DEFAULT_USE_JDK_UNSAFE = true;
+  static final boolean DEFAULT_METHOD_HANDLE_FIELD_ACCESS = false;
+  static final boolean DEFAULT_PRIMITIVE_COLLECTIONS = false;
+  static final boolean DEFAULT_BASE64_BYTE_ARRAYS = false;
   static final String DEFAULT_DATE_PATTERN = null;
   static final FieldNamingStrategy DEFAULT_FIELD_NAMING_STRATEGY = FieldNamingPolicy.IDENTITY;
   static final ToNumberStrategy DEFAULT_OBJECT_TO_NUMBER_STRATEGY = ToNumberPolicy.DOUBLE;
@@ -166,24 +178,36 @@ public final class Gson {
 
   private static final String JSON_NON_EXECUTABLE_PREFIX = ")]}'\n";
 
+  private final ConcurrentMap<TypeToken<?>, TypeAdapter<?>> typeTokenCache =
+      new ConcurrentHashMap<>();
+
   /**
-   * This thread local guards against reentrant calls to {@link #getAdapter(TypeToken)}. In certain
-   * object graphs, creating an adapter for a type may recursively require an adapter for the same
-   * type! Without intervention, the recursive lookup would stack overflow. We cheat by returning a
-   * proxy type adapter, {@link FutureTypeAdapter}, which is wired up once the initial adapter has
-   * been created.
-   *
-   * <p>The map stores the type adapters for ongoing {@code getAdapter} calls, with the type token
-   * provided to {@code getAdapter} as key and either {@code FutureTypeAdapter} or a regular {@code
-   * TypeAdapter} as value.
+   * Ongoing {@link #getAdapter(TypeToken)} calls, keyed by the thread performing them. A thread
+   * only has an entry here while it is resolving adapters, so unlike a {@code ThreadLocal} no state
+   * is retained for threads which are done (or which only ever hit {@link #typeTokenCache}).
+   *
+   * <p>In certain object graphs, creating an adapter for a type may recursively require an adapter
+   * for the same type! Without intervention, the recursive lookup would stack overflow. We cheat by
+   * returning a proxy type adapter, {@link FutureTypeAdapter}, which is wired up once the initial
+   * adapter has been created.
    */
-  @SuppressWarnings("ThreadLocalUsage")
-  private final ThreadLocal<Map<TypeToken<?>, TypeAdapter<?>>> threadLocalAdapterResults =
-      new ThreadLocal<>();
+  private final ConcurrentMap<Thread, AdapterResolution> activeResolutions =
+      new ConcurrentHashMap<>();
 
-  private final ConcurrentMap<TypeToken<?>, TypeAdapter<?>> typeTokenCache =
+  /**
+   * Adapters which are currently being created, keyed by type. The value is the resolution creating
+   * the adapter and acts as future for it: other threads requesting the same type wait for that
+   * resolution to publish its adapters instead of creating a duplicate adapter.
+   */
+  private final ConcurrentMap<TypeToken<?>, AdapterResolution> pendingAdapters =
       new ConcurrentHashMap<>();
 
+  /**
+   * Guards {@link AdapterResolution#waitingFor} of all resolutions, so that no two threads can
+   * start waiting for each other at the same time.
+   */
+  private final Object waitGraphLock = new Object();
+
   private final ConstructorConstructor constructorConstructor;
   private final JsonAdapterAnnotationTypeAdapterFactory jsonAdapterFactory;
 
@@ -200,6 +224,9 @@ public final class Gson {
   final Strictness strictness;
   final boolean serializeSpecialFloatingPointValues;
   final boolean useJdkUnsafe;
+  final boolean methodHandleFieldAccess;
+  final boolean primitiveCollections;
+  final boolean base64ByteArrays;
   final String datePattern;
   final int dateStyle;
   final int timeStyle;
@@ -262,6 +289,9 @@ public final class Gson {
         DEFAULT_STRICTNESS,
         DEFAULT_SPECIALIZE_FLOAT_VALUES,
         DEFAULT_USE_JDK_UNSAFE,
+        DEFAULT_METHOD_HANDLE_FIELD_ACCESS,
+        DEFAULT_PRIMITIVE_COLLECTIONS,
+        DEFAULT_BASE64_BYTE_ARRAYS,
         LongSerializationPolicy.DEFAULT,
         DEFAULT_DATE_PATTERN,
         DateFormat.DEFAULT,
@@ -286,6 +316,9 @@ public final class Gson {
       Strictness strictness,
       boolean serializeSpecialFloatingPointValues,
       boolean useJdkUnsafe,
+      boolean methodHandleFieldAccess,
+      boolean primitiveCollections,
+      boolean base64ByteArrays,
       LongSerializationPolicy longSerializationPolicy,
       String datePattern,
       int dateStyle,
@@ -309,6 +342,9 @@ public final class Gson {
     this.strictness = strictness;
     this.serializeSpecialFloatingPointValues = serializeSpecialFloatingPointValues;
     this.useJdkUnsafe = useJdkUnsafe;
+    this.methodHandleFieldAccess = methodHandleFieldAccess;
+    this.primitiveCollections = primitiveCollections;
+    this.base64ByteArrays = base64ByteArrays;
     this.longSerializationPolicy = longSerializationPolicy;
     this.datePattern = datePattern;
     this.dateStyle = dateStyle;
@@ -368,6 +404,7 @@ public final class Gson {
     factories.add(TypeAdapters.LOCALE_FACTORY);
     factories.add(TypeAdapters.INET_ADDRESS_FACTORY);
     factories.add(TypeAdapters.BIT_SET_FACTORY);
+    factories.add(TypeAdapters.RAW_JSON_FACTORY);
     factories.add(DefaultDateTypeAdapter.DEFAULT_STYLE_FACTORY);
     factories.add(TypeAdapters.CALENDAR_FACTORY);
 
@@ -377,12 +414,17 @@ public final class Gson {
       factories.add(SqlTypesSupport.TIMESTAMP_FACTORY);
     }
 
+    if (base64ByteArrays) {
+      factories.add(TypeAdapters.BYTE_ARRAY_BASE64_FACTORY);
+    }
     factories.add(ArrayTypeAdapter.FACTORY);
     factories.add(TypeAdapters.CLASS_FACTORY);
 
     // type adapters for composite and user-defined types
-    factories.add(new CollectionTypeAdapterFactory(constructorConstructor));
-    factories.add(new MapTypeAdapterFactory(constructorConstructor, complexMapKeySerialization));
+    factories.add(new CollectionTypeAdapterFactory(constructorConstructor, primitiveCollections));
+    factories.add(
+        new MapTypeAdapterFactory(
+            constructorConstructor, complexMapKeySerialization, primitiveCollections));
     this.jsonAdapterFactory = new JsonAdapterAnnotationTypeAdapterFactory(constructorConstructor);
     factories.add(jsonAdapterFactory);
     factories.add(TypeAdapters.ENUM_FACTORY);
@@ -392,7 +434,8 @@ public final class Gson {
             fieldNamingStrategy,
             excluder,
             jsonAdapterFactory,
-            reflectionFilters));
+            reflectionFilters,
+            methodHandleFieldAccess));
 
     this.factories = Collections.unmodifiableList(factories);
   }
@@ -446,70 +489,12 @@ public final class Gson {
     return htmlSafe;
   }
 
-  private TypeAdapter<Number> doubleAdapter(boolean serializeSpecialFloatingPointValues) {
-    if (serializeSpecialFloatingPointValues) {
-      return TypeAdapters.DOUBLE;
-    }
-    return new TypeAdapter<Number>() {
-      @Override
-      public Double read(JsonReader in) throws IOException {
-        if (in.peek() == JsonToken.NULL) {
-          in.nextNull();
-          return null;
-        }
-        return in.nextDouble();
-      }
-
-      @Override
-      public void write(JsonWriter out, Number value) throws IOException {
-        if (value == null) {
-          out.nullValue();
-          return;
-        }
-        double doubleValue = value.doubleValue();
-        checkValidFloatingPoint(doubleValue);
-        out.value(doubleValue);
-      }
-    };
+  private static TypeAdapter<Number> doubleAdapter(boolean serializeSpecialFloatingPointValues) {
+    return serializeSpecialFloatingPointValues ? TypeAdapters.DOUBLE : TypeAdapters.FINITE_DOUBLE;
   }
 
-  private TypeAdapter<Number> floatAdapter(boolean serializeSpecialFloatingPointValues) {
-    if (serializeSpecialFloatingPointValues) {
-      return TypeAdapters.FLOAT;
-    }
-    return new TypeAdapter<Number>() {
-      @Override
-      public Float read(JsonReader in) throws IOException {
-        if (in.peek() == JsonToken.NULL) {
-          in.nextNull();
-          return null;
-        }
-        return (float) in.nextDouble();
-      }
-
-      @Override
-      public void write(JsonWriter out, Number value) throws IOException {
-        if (value == null) {
-          out.nullValue();
-          return;
-        }
-        float floatValue = value.floatValue();
-        checkValidFloatingPoint(floatValue);
-        // For backward compatibility don't call `JsonWriter.value(float)` because that method has
-        // been newly added and not all custom JsonWriter implementations might override it yet
-        Number floatNumber = value instanceof Float ? value : floatValue;
-        out.value(floatNumber);
-      }
-    };
-  }
-
-  static void checkValidFloatingPoint(double value) {
-    if (Double.isNaN(value) || Double.isInfinite(value)) {
-      throw new IllegalArgumentException(
-          value
-              + " is not a valid double value as per JSON specification. To override this"
-              + " behavior, use GsonBuilder.serializeSpecialFloatingPointValues() method.");
-    }
+  private static TypeAdapter<Number> floatAdapter(boolean serializeSpecialFloatingPointValues) {
+    return serializeSpecialFloatingPointValues ? TypeAdapters.FLOAT : TypeAdapters.FINITE_FLOAT;
   }
 
   private static TypeAdapter<Number> longAdapter(LongSerializationPolicy longSerializationPolicy) {
@@ -587,9 +572,12 @@ public final class Gson {
    * Returns the type adapter for {@code type}.
    *
    * <p>When calling this method concurrently from multiple threads and requesting an adapter for
-   * the same type this method may return different {@code TypeAdapter} instances. However, that
-   * should normally not be an issue because {@code TypeAdapter} implementations are supposed to be
-   * stateless.
+   * the same type, the adapter is normally only created once; the other threads wait for it and
+   * then return the same {@code TypeAdapter} instance. A thread only creates its own instance if
+   * waiting could deadlock: when the thread creating the adapter is itself waiting for the calling
+   * thread (for example because two types depend on each other), or when it makes no progress for a
+   * while (for example because a type adapter factory waits for another thread). All calls still
+   * return the adapter which was published first.
    *
    * @throws IllegalArgumentException if this Gson instance cannot serialize and deserialize {@code
    *     type}.
@@ -603,16 +591,17 @@ public final class Gson {
       return adapter;
     }
 
-    Map<TypeToken<?>, TypeAdapter<?>> threadCalls = threadLocalAdapterResults.get();
+    Thread thread = Thread.currentThread();
+    AdapterResolution resolution = activeResolutions.get(thread);
     boolean isInitialAdapterRequest = false;
-    if (threadCalls == null) {
-      threadCalls = new HashMap<>();
-      threadLocalAdapterResults.set(threadCalls);
+    if (resolution == null) {
+      resolution = new AdapterResolution();
+      activeResolutions.put(thread, resolution);
       isInitialAdapterRequest = true;
     } else {
       // the key and value type parameters always agree
       @SuppressWarnings("unchecked")
-      TypeAdapter<T> ongoingCall = (TypeAdapter<T>) threadCalls.get(type);
+      TypeAdapter<T> ongoingCall = (TypeAdapter<T>) resolution.adapters.get(type);
       if (ongoingCall != null) {
         return ongoingCall;
       }
@@ -620,21 +609,40 @@ public final class Gson {
 
     TypeAdapter<T> candidate = null;
     try {
+      // Wait in case another thread is already creating the adapter
+      TypeAdapter<T> otherThreadAdapter = claimOrAwait(type, resolution);
+      if (otherThreadAdapter != null) {
+        candidate = otherThreadAdapter;
+        return candidate;
+      }
+
       FutureTypeAdapter<T> call = new FutureTypeAdapter<>();
-      threadCalls.put(type, call);
+      resolution.adapters.put(type, call);
+      resolution.progress.incrementAndGet();
 
       for (TypeAdapterFactory factory : factories) {
         candidate = factory.create(this, type);
         if (candidate != null) {
           call.setDelegate(candidate);
           // Replace future adapter with actual adapter
-          threadCalls.put(type, candidate);
+          resolution.adapters.put(type, candidate);
           break;
         }
       }
+      if (candidate == null) {
+        resolution.adapters.remove(type);
+      }
+      resolution.progress.incrementAndGet();
     } finally {
       if (isInitialAdapterRequest) {
-        threadLocalAdapterResults.remove();
+        activeResolutions.remove(thread);
+        /*
+         * Publish resolved adapters to all threads
+         * Can only do this for the initial request because cyclic dependency TypeA -> TypeB -> TypeA
+         * would otherwise publish adapter for TypeB which uses not yet resolved adapter for TypeA
+         * See https://github.com/google/gson/issues/625
+         */
+        resolution.complete(candidate != null);
       }
     }
 
@@ -644,13 +652,10 @@ public final class Gson {
     }
 
     if (isInitialAdapterRequest) {
-      /*
-       * Publish resolved adapters to all threads
-       * Can only do this for the initial request because cyclic dependency TypeA -> TypeB -> TypeA
-       * would otherwise publish adapter for TypeB which uses not yet resolved adapter for TypeA
-       * See https://github.com/google/gson/issues/625
-       */
-      typeTokenCache.putAll(threadCalls);
+      // Another thread which did not wait for this one might have published its adapter first
+      @SuppressWarnings("unchecked")
+      TypeAdapter<T> published = (TypeAdapter<T>) typeTokenCache.get(type);
+      candidate = published;
     }
     return candidate;
   }
@@ -665,6 +670,42 @@ public final class Gson {
     return getAdapter(TypeToken.get(type));
   }
 
+  /**
+   * Claims the creation of the adapter for {@code type} for the given resolution, or waits for the
+   * resolution of another thread which has already claimed it.
+   *
+   * @return the adapter created by the other thread, or {@code null} if the adapter has to be
+   *     created by the caller
+   */
+  private <T> TypeAdapter<T> claimOrAwait(TypeToken<T> type, AdapterResolution resolution) {
+    while (true) {
+      AdapterResolution other = pendingAdapters.putIfAbsent(type, resolution);
+      if (other == null) {
+        // Resolutions publish their adapters before releasing their claims, so check again in case
+        // the adapter was published after the initial cache lookup
+        @SuppressWarnings("unchecked")
+        TypeAdapter<T> cached = (TypeAdapter<T>) typeTokenCache.get(type);
+        if (cached != null) {
+          pendingAdapters.remove(type, resolution);
+          return cached;
+        }
+        resolution.claimedTypes.add(type);
+        return null;
+      }
+      // Can be the own resolution if a previous attempt for the type failed
+      if (other == resolution || !other.awaitCompletion(resolution)) {
+        return null;
+      }
+
+      @SuppressWarnings("unchecked")
+      TypeAdapter<T> cached = (TypeAdapter<T>) typeTokenCache.get(type);
+      if (cached != null) {
+        return cached;
+      }
+      // Otherwise the other thread failed creating the adapter; try again
+    }
+  }
+
   /**
    * This method is used to get an alternate type adapter for the specified type. This is used to
    * access a type adapter that is overridden by a {@link TypeAdapterFactory} that you may have
@@ -901,6 +942,65 @@ public final class Gson {
     }
   }
 
+  /**
+   * This method serializes the specified object into its equivalent JSON representation and writes
+   * it as UTF-8 encoded bytes to the stream. This method should be used when the specified object
+   * is not a generic type, see {@link #toJson(Object, Appendable)} for details; use {@link
+   * #toJson(Object, Type, OutputStream)} otherwise.
+   *
+   * <p>The JSON is encoded directly into a byte buffer, which is more efficient than wrapping the
+   * stream with an {@link java.io.OutputStreamWriter}. Once the JSON has been written the stream is
+   * flushed, but it is not closed.
+   *
+   * @param src the object for which JSON representation is to be created
+   * @param out the stream to which the UTF-8 encoded JSON representation needs to be written
+   * @throws JsonIOException if there was a problem writing to the stream
+   * @since $next-version$
+   * @see #toJson(Object, Appendable)
+   * @see #toJson(Object, Type, OutputStream)
+   * @see #toJsonBytes(Object)
+   */
+  public void toJson(Object src, OutputStream out) throws JsonIOException {
+    if (src != null) {
+      toJson(src, src.getClass(), out);
+    } else {
+      toJson(JsonNull.INSTANCE, JsonNull.class, out);
+    }
+  }
+
+  /**
+   * This method serializes the specified object, including those of generic types, into its
+   * equivalent JSON representation and writes it as UTF-8 encoded bytes to the stream. This method
+   * must be used if the specified object is a generic type. For non-generic objects, use {@link
+   * #toJson(Object, OutputStream)} instead.
+   *
+   * <p>The JSON is encoded directly into a byte buffer, which is more efficient than wrapping the
+   * stream with an {@link java.io.OutputStreamWriter}. Once the JSON has been written the stream is
+   * flushed, but it is not closed.
+   *
+   * @param src the object for which JSON representation is to be created
+   * @param typeOfSrc The specific genericized type of src. You can obtain this type by using the
+   *     {@link com.google.gson.reflect.TypeToken} class.
+   * @param out the stream to which the UTF-8 encoded JSON representation needs to be written
+   * @throws JsonIOException if there was a problem writing to the stream
+   * @since $next-version$
+   * @see #toJson(Object, Type, Appendable)
+   * @see #toJson(Object, OutputStream)
+   * @see #toJsonBytes(Object, Type)
+   */
+  public void toJson(Object src, Type typeOfSrc, OutputStream out) throws JsonIOException {
+    Utf8Writer writer = new Utf8Writer(out);
+    try {
+      JsonWriter jsonWriter = newJsonWriter(writer);
+      toJson(src, typeOfSrc, jsonWriter);
+      writer.flush();
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    } finally {
+      writer.release();
+    }
+  }
+
   /**
    * Writes the JSON representation of {@code src} of type {@code typeOfSrc} to {@code writer}.
    *
@@ -1032,6 +1132,58 @@ public final class Gson {
     }
   }
 
+  /**
+   * This method serializes the specified object into its equivalent JSON representation and returns
+   * it as UTF-8 encoded bytes. This method should be used when the specified object is not a
+   * generic type, see {@link #toJson(Object)} for details; use {@link #toJsonBytes(Object, Type)}
+   * otherwise.
+   *
+   * <p>The JSON is encoded directly into a byte buffer, without first creating a {@code String} of
+   * the complete JSON data.
+   *
+   * @param src the object for which JSON representation is to be created
+   * @return UTF-8 encoded JSON representation of {@code src}.
+   * @since $next-version$
+   * @see #toJson(Object)
+   * @see #toJsonBytes(Object, Type)
+   */
+  public byte[] toJsonBytes(Object src) {
+    if (src == null) {
+      return toJsonBytes(JsonNull.INSTANCE, JsonNull.class);
+    }
+    return toJsonBytes(src, src.getClass());
+  }
+
+  /**
+   * This method serializes the specified object, including those of generic types, into its
+   * equivalent JSON representation and returns it as UTF-8 encoded bytes. This method must be used
+   * if the specified object is a generic type. For non-generic objects, use {@link
+   * #toJsonBytes(Object)} instead.
+   *
+   * <p>The JSON is encoded directly into a byte buffer, without first creating a {@code String} of
+   * the complete JSON data.
+   *
+   * @param src the object for which JSON representation is to be created
+   * @param typeOfSrc The specific genericized type of src. You can obtain this type by using the
+   *     {@link com.google.gson.reflect.TypeToken} class.
+   * @return UTF-8 encoded JSON representation of {@code src}.
+   * @since $next-version$
+   * @see #toJson(Object, Type)
+   * @see #toJsonBytes(Object)
+   */
+  public byte[] toJsonBytes(Object src, Type typeOfSrc) {
+    Utf8Writer writer = new Utf8Writer();
+    try {
+      JsonWriter jsonWriter = newJsonWriter(writer);
+      toJson(src, typeOfSrc, jsonWriter);
+      return writer.toByteArray();
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    } finally {
+      writer.release();
+    }
+  }
+
   /**
    * Returns a new JSON writer configured for the settings on this Gson instance.
    *
@@ -1261,6 +1413,185 @@ public final class Gson {
     return object;
   }
 
+  /**
+   * This method deserializes the UTF-8 encoded JSON read from the specified stream into an object
+   * of the specified class. It is not suitable to use if the specified class is a generic type, see
+   * {@link #fromJson(Reader, Class)} for details; use {@link #fromJson(InputStream, TypeToken)} in
+   * that case.
+   *
+   * <p>The bytes are decoded as UTF-8 (as required by RFC 8259) directly into the buffer of the
+   * {@link JsonReader}, which is more efficient than wrapping the stream with an {@link
+   * java.io.InputStreamReader}. Malformed UTF-8 sequences are replaced with {@code U+FFFD}. The
+   * stream is not closed by this method.
+   *
+   * <p>An exception is thrown if the JSON data has multiple top-level JSON elements, or if there is
+   * trailing data. Use {@link #fromJson(JsonReader, Type)} if this behavior is not desired.
+   *
+   * @param <T> the type of the desired object
+   * @param json the stream producing the UTF-8 encoded JSON from which the object is to be
+   *     deserialized
+   * @param classOfT the class of T
+   * @return an object of type T from the stream. Returns {@code null} if {@code json} is at EOF.
+   * @throws JsonIOException if there was a problem reading from the stream
+   * @throws JsonSyntaxException if json is not a valid representation for an object of type
+   *     classOfT
+   * @since $next-version$
+   * @see #fromJson(Reader, Class)
+   * @see #fromJson(InputStream, TypeToken)
+   */
+  public <T> T fromJson(InputStream json, Class<T> classOfT)
+      throws JsonIOException, JsonSyntaxException {
+    return fromJson(json, TypeToken.get(classOfT));
+  }
+
+  /**
+   * This method deserializes the UTF-8 encoded JSON read from the specified stream into an object
+   * of the specified type. This method is useful if the specified object is a generic type. For
+   * non-generic objects, use {@link #fromJson(InputStream, Class)} instead.
+   *
+   * <p>The bytes are decoded as UTF-8 (as required by RFC 8259) directly into the buffer of the
+   * {@link JsonReader}, which is more efficient than wrapping the stream with an {@link
+   * java.io.InputStreamReader}. Malformed UTF-8 sequences are replaced with {@code U+FFFD}. The
+   * stream is not closed by this method.
+   *
+   * <p>An exception is thrown if the JSON data has multiple top-level JSON elements, or if there is
+   * trailing data. Use {@link #fromJson(JsonReader, TypeToken)} if this behavior is not desired.
+   *
+   * @param <T> the type of the desired object
+   * @param json the stream producing the UTF-8 encoded JSON from which the object is to be
+   *     deserialized
+   * @param typeOfT The specific genericized type of src.
+   * @return an object of type T from the stream. Returns {@code null} if {@code json} is at EOF.
+   * @throws JsonIOException if there was a problem reading from the stream
+   * @throws JsonSyntaxException if json is not a valid representation for an object of type of
+   *     typeOfT
+   * @since $next-version$
+   * @see #fromJson(Reader, TypeToken)
+   * @see #fromJson(InputStream, Class)
+   */
+  public <T> T fromJson(InputStream json, TypeToken<T> typeOfT)
+      throws JsonIOException, JsonSyntaxException {
+    return fromJson(new Utf8Reader(json), typeOfT);
+  }
+
+  /**
+   * This method deserializes the specified UTF-8 encoded JSON into an object of the specified
+   * class. It is not suitable to use if the specified class is a generic type, see {@link
+   * #fromJson(String, Class)} for details; use {@link #fromJson(byte[], TypeToken)} in that case.
+   *
+   * <p>The bytes are decoded directly into the buffer of the {@link JsonReader}, without first
+   * creating a {@code String} of the complete JSON data. Malformed UTF-8 sequences are replaced
+   * with {@code U+FFFD}.
+   *
+   * <p>An exception is thrown if the JSON data has multiple top-level JSON elements, or if there is
+   * trailing data. Use {@link #fromJson(JsonReader, Type)} if this behavior is not desired.
+   *
+   * @param <T> the type of the desired object
+   * @param json the UTF-8 encoded JSON from which the object is to be deserialized
+   * @param classOfT the class of T
+   * @return an object of type T from the bytes. Returns {@code null} if {@code json} is {@code
+   *     null} or if {@code json} is empty.
+   * @throws JsonSyntaxException if json is not a valid representation for an object of type
+   *     classOfT
+   * @since $next-version$
+   * @see #fromJson(String, Class)
+   * @see #fromJson(byte[], TypeToken)
+   */
+  public <T> T fromJson(byte[] json, Class<T> classOfT) throws JsonSyntaxException {
+    return fromJson(json, TypeToken.get(classOfT));
+  }
+
+  /**
+   * This method deserializes the specified UTF-8 encoded JSON into an object of the specified type.
+   * This method is useful if the specified object is a generic type. For non-generic objects, use
+   * {@link #fromJson(byte[], Class)} instead.
+   *
+   * <p>The bytes are decoded directly into the buffer of the {@link JsonReader}, without first
+   * creating a {@code String} of the complete JSON data. Malformed UTF-8 sequences are replaced
+   * with {@code U+FFFD}.
+   *
+   * <p>An exception is thrown if the JSON data has multiple top-level JSON elements, or if there is
+   * trailing data. Use {@link #fromJson(JsonReader, TypeToken)} if this behavior is not desired.
+   *
+   * @param <T> the type of the desired object
+   * @param json the UTF-8 encoded JSON from which the object is to be deserialized
+   * @param typeOfT The specific genericized type of src.
+   * @return an object of type T from the bytes. Returns {@code null} if {@code json} is {@code
+   *     null} or if {@code json} is empty.
+   * @throws JsonSyntaxException if json is not a valid representation for an object of the type
+   *     typeOfT
+   * @since $next-version$
+   * @see #fromJson(String, TypeToken)
+   * @see #fromJson(byte[], Class)
+   */
+  public <T> T fromJson(byte[] json, TypeToken<T> typeOfT) throws JsonSyntaxException {
+    if (json == null) {
+      return null;
+    }
+    return fromJson(new Utf8Reader(json, 0, json.length), typeOfT);
+  }
+
+  /**
+   * This method deserializes the {@linkplain ByteBuffer#remaining() remaining} UTF-8 encoded bytes
+   * of the specified buffer into an object of the specified class. It is not suitable to use if the
+   * specified class is a generic type, see {@link #fromJson(String, Class)} for details; use {@link
+   * #fromJson(ByteBuffer, TypeToken)} in that case.
+   *
+   * <p>The bytes are decoded directly into the buffer of the {@link JsonReader}; for buffers backed
+   * by an accessible array the bytes are not copied. Malformed UTF-8 sequences are replaced with
+   * {@code U+FFFD}. The position of the buffer is not modified.
+   *
+   * <p>An exception is thrown if the JSON data has multiple top-level JSON elements, or if there is
+   * trailing data. Use {@link #fromJson(JsonReader, Type)} if this behavior is not desired.
+   *
+   * @param <T> the type of the desired object
+   * @param json the buffer containing the UTF-8 encoded JSON from which the object is to be
+   *     deserialized
+   * @param classOfT the class of T
+   * @return an object of type T from the buffer. Returns {@code null} if {@code json} is {@code
+   *     null} or if it has no remaining bytes.
+   * @throws JsonSyntaxException if json is not a valid representation for an object of type
+   *     classOfT
+   * @since $next-version$
+   * @see #fromJson(byte[], Class)
+   * @see #fromJson(ByteBuffer, TypeToken)
+   */
+  public <T> T fromJson(ByteBuffer json, Class<T> classOfT) throws JsonSyntaxException {
+    return fromJson(json, TypeToken.get(classOfT));
+  }
+
+  /**
+   * This method deserializes the {@linkplain ByteBuffer#remaining() remaining} UTF-8 encoded bytes
+   * of the specified buffer into an object of the specified type. This method is useful if the
+   * specified object is a generic type. For non-generic objects, use {@link #fromJson(ByteBuffer,
+   * Class)} instead.
+   *
+   * <p>The bytes are decoded directly into the buffer of the {@link JsonReader}; for buffers backed
+   * by an accessible array the bytes are not copied. Malformed UTF-8 sequences are replaced with
+   * {@code U+FFFD}. The position of the buffer is not modified.
+   *
+   * <p>An exception is thrown if the JSON data has multiple top-level JSON elements, or if there is
+   * trailing data. Use {@link #fromJson(JsonReader, TypeToken)} if this behavior is not desired.
+   *
+   * @param <T> the type of the desired object
+   * @param json the buffer containing the UTF-8 encoded JSON from which the object is to be
+   *     deserialized
+   * @param typeOfT The specific genericized type of src.
+   * @return an object of type T from the buffer. Returns {@code null} if {@code json} is {@code
+   *     null} or if it has no remaining bytes.
+   * @throws JsonSyntaxException if json is not a valid representation for an object of the type
+   *     typeOfT
+   * @since $next-version$
+   * @see #fromJson(byte[], TypeToken)
+   * @see #fromJson(ByteBuffer, Class)
+   */
+  public <T> T fromJson(ByteBuffer json, TypeToken<T> typeOfT) throws JsonSyntaxException {
+    if (json == null) {
+      return null;
+    }
+    return fromJson(new Utf8Reader(json), typeOfT);
+  }
+
   // fromJson(JsonReader, Class) is unfortunately missing and cannot be added now without breaking
   // source compatibility in certain cases, see
   // https://github.com/google/gson/pull/1700#discussion_r973764414
@@ -1471,6 +1802,84 @@ public final class Gson {
     return fromJson(new JsonTreeReader(json), typeOfT);
   }
 
+  /**
+   * Returns an iterator over the elements of the JSON array read from the specified reader,
+   * converting each element to an object of the specified class as it is read. Unlike {@link
+   * #fromJson(Reader, TypeToken)} with a {@code List} type this does not read the complete array
+   * upfront; only the current element is held in memory, which makes this method suitable for very
+   * large arrays. For generic element types, use {@link #fromJsonArray(Reader, TypeToken)} instead.
+   *
+   * <p>The start of the array is read when this method is called; the remaining data is read lazily
+   * by the returned iterator. Once the iterator has reached the end of the array, an exception is
+   * thrown if there is trailing data. The caller is responsible for closing {@code json}.
+   *
+   * @param <T> the type of the array elements
+   * @param json the reader producing the JSON array
+   * @param classOfT the class of the array elements
+   * @return an iterator over the converted array elements; not thread-safe
+   * @throws JsonIOException if there was a problem reading from the Reader
+   * @throws JsonSyntaxException if the JSON data is not a JSON array
+   * @see #fromJsonArray(JsonReader, TypeToken)
+   * @since $next-version$
+   */
+  public <T> Iterator<T> fromJsonArray(Reader json, Class<T> classOfT)
+      throws JsonIOException, JsonSyntaxException {
+    return fromJsonArray(json, TypeToken.get(classOfT));
+  }
+
+  /**
+   * Returns an iterator over the elements of the JSON array read from the specified reader,
+   * converting each element to an object of the specified type as it is read. This method is useful
+   * if the element type is a generic type.
+   *
+   * <p>The start of the array is read when this method is called; the remaining data is read lazily
+   * by the returned iterator. Once the iterator has reached the end of the array, an exception is
+   * thrown if there is trailing data. The caller is responsible for closing {@code json}.
+   *
+   * @param <T> the type of the array elements
+   * @param json the reader producing the JSON array
+   * @param elementType the type of the array elements
+   * @return an iterator over the converted array elements; not thread-safe
+   * @throws JsonIOException if there was a problem reading from the Reader
+   * @throws JsonSyntaxException if the JSON data is not a JSON array
+   * @see #fromJsonArray(Reader, Class)
+   * @see #fromJsonArray(JsonReader, TypeToken)
+   * @since $next-version$
+   */
+  public <T> Iterator<T> fromJsonArray(Reader json, TypeToken<T> elementType)
+      throws JsonIOException, JsonSyntaxException {
+    return new JsonArrayIterator<>(
+        newJsonReader(json), elementType, getAdapter(elementType), strictness, true);
+  }
+
+  /**
+   * Returns an iterator over the elements of the next JSON value of {@code reader}, which must be a
+   * JSON array, converting each element to an object of the specified type as it is read. Only the
+   * current element is held in memory.
+   *
+   * <p>To iterate over an array nested inside the JSON data, position the reader before that array
+   * first, for example by calling {@link JsonReader#beginObject()} and {@link
+   * JsonReader#nextName()} until the name of the array property has been read. Once the returned
+   * iterator has reached the end of the array, the reader is positioned directly after the array
+   * and can be used to read the remaining JSON data.
+   *
+   * <p>The strictness is handled the same way as for {@link #fromJson(JsonReader, TypeToken)}; the
+   * old strictness setting of the reader is restored after every method call of the iterator.
+   *
+   * @param <T> the type of the array elements
+   * @param reader the reader whose next JSON value is the array
+   * @param elementType the type of the array elements
+   * @return an iterator over the converted array elements; not thread-safe
+   * @throws JsonIOException if there was a problem reading from the JsonReader
+   * @throws JsonSyntaxException if the next JSON value is not a JSON array
+   * @see #fromJsonArray(Reader, TypeToken)
+   * @since $next-version$
+   */
+  public <T> Iterator<T> fromJsonArray(JsonReader reader, TypeToken<T> elementType)
+      throws JsonIOException, JsonSyntaxException {
+    return new JsonArrayIterator<>(reader, elementType, getAdapter(elementType), strictness, false);
+  }
+
   private static void assertFullConsumption(Object obj, JsonReader reader) {
     try {
       if (obj != null && reader.peek() != JsonToken.END_DOCUMENT) {
@@ -1483,13 +1892,118 @@ public final class Gson {
     }
   }
 
+  /**
+   * State of the outermost {@link #getAdapter(TypeToken)} call of a thread, including all nested
+   * calls made by the type adapter factories. The resolution is completed once the outermost call
+   * returns; only then are the created adapters published to other threads.
+   */
+  private final class AdapterResolution {
+    /**
+     * How long a waiting thread tolerates a resolution not making any progress before it stops
+     * waiting and creates the adapter itself.
+     */
+    private static final long PROGRESS_TIMEOUT_MILLIS = 100;
+
+    /**
+     * Adapters created by this resolution, with the type token provided to {@code getAdapter} as
+     * key and either {@code FutureTypeAdapter} or a regular {@code TypeAdapter} as value. Only
+     * accessed by the owner thread.
+     */
+    final Map<TypeToken<?>, TypeAdapter<?>> adapters = new HashMap<>();
+
+    /** Types claimed in {@link #pendingAdapters}. Only accessed by the owner thread. */
+    final List<TypeToken<?>> claimedTypes = new ArrayList<>();
+
+    /** Incremented whenever the owner starts or finishes creating an adapter. */
+    final AtomicInteger progress = new AtomicInteger();
+
+    private final CountDownLatch completed = new CountDownLatch(1);
+
+    /**
+     * Resolution of another thread this resolution is currently waiting for, if any. Guarded by
+     * {@link #waitGraphLock}, which guarantees that the waiting resolutions never form a cycle.
+     */
+    private AdapterResolution waitingFor;
+
+    /**
+     * Waits until this resolution has completed.
+     *
+     * @param waiter resolution of the calling thread
+     * @return {@code true} if this resolution has completed; {@code false} if the caller should not
+     *     wait because this resolution is waiting for the caller, or has stopped making progress
+     */
+    boolean awaitCompletion(AdapterResolution waiter) {
+      long lastProgress;
+      synchronized (waitGraphLock) {
+        for (AdapterResolution current = this; current != null; current = current.waitingFor) {
+          if (current == waiter) {
+            // Waiting would deadlock
+            return false;
+          }
+        }
+        waiter.waitingFor = this;
+        lastProgress = chainProgress();
+      }
+      try {
+        while (!completed.await(PROGRESS_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+          long currentProgress;
+          synchronized (waitGraphLock) {
+            currentProgress = chainProgress();
+          }
+          if (currentProgress == lastProgress) {
+            // Check `completed` again in case the owner completed in the meantime
+            return completed.getCount() == 0;
+          }
+          lastProgress = currentProgress;
+        }
+        return true;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return false;
+      } finally {
+        synchronized (waitGraphLock) {
+          waiter.waitingFor = null;
+        }
+      }
+    }
+
+    /**
+     * Returns the combined progress of this resolution and the resolutions it is transitively
+     * waiting for. Must be called while holding {@link #waitGraphLock}.
+     */
+    private long chainProgress() {
+      long sum = 0;
+      for (AdapterResolution current = this; current != null; current = current.waitingFor) {
+        sum += current.progress.get();
+      }
+      return sum;
+    }
+
+    /**
+     * Publishes the created adapters if {@code successful}, and wakes up threads waiting for this
+     * resolution.
+     */
+    void complete(boolean successful) {
+      if (successful) {
+        for (Map.Entry<TypeToken<?>, TypeAdapter<?>> entry : adapters.entrySet()) {
+          // Don't replace adapter of another thread which did not wait for this resolution
+          typeTokenCache.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+      }
+      for (TypeToken<?> type : claimedTypes) {
+        pendingAdapters.remove(type, this);
+      }
+      completed.countDown();
+    }
+  }
+
   /**
    * Proxy type adapter for cyclic type graphs.
    *
    * <p><b>Important:</b> Setting the delegate adapter is not thread-safe; instances of {@code
    * FutureTypeAdapter} must only be published to other threads after the delegate has been set.
    *
-   * @see Gson#threadLocalAdapterResults
+   * @see Gson#activeResolutions
    */
   static class FutureTypeAdapter<T> extends SerializationDelegatingTypeAdapter<T> {
     private TypeAdapter<T> delegate = null;
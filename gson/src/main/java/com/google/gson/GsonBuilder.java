@@ -16,13 +16,16 @@
 
 package com.google.gson;
 
+import static com.google.gson.Gson.DEFAULT_BASE64_BYTE_ARRAYS;
 import static com.google.gson.Gson.DEFAULT_COMPLEX_MAP_KEYS;
 import static com.google.gson.Gson.DEFAULT_DATE_PATTERN;
 import static com.google.gson.Gson.DEFAULT_ESCAPE_HTML;
 import static com.google.gson.Gson.DEFAULT_FORMATTING_STYLE;
 import static com.google.gson.Gson.DEFAULT_JSON_NON_EXECUTABLE;
+import static com.google.gson.Gson.DEFAULT_METHOD_HANDLE_FIELD_ACCESS;
 import static com.google.gson.Gson.DEFAULT_NUMBER_TO_NUMBER_STRATEGY;
 import static com.google.gson.Gson.DEFAULT_OBJECT_TO_NUMBER_STRATEGY;
+import static com.google.gson.Gson.DEFAULT_PRIMITIVE_COLLECTIONS;
 import static com.google.gson.Gson.DEFAULT_SERIALIZE_NULLS;
 import static com.google.gson.Gson.DEFAULT_SPECIALIZE_FLOAT_VALUES;
 import static com.google.gson.Gson.DEFAULT_STRICTNESS;
@@ -52,6 +55,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 
 /**
  * Use this builder to construct a {@link Gson} instance when you need to set configuration options
@@ -111,6 +116,9 @@ public final class GsonBuilder {
   private boolean generateNonExecutableJson = DEFAULT_JSON_NON_EXECUTABLE;
   private Strictness strictness = DEFAULT_STRICTNESS;
   private boolean useJdkUnsafe = DEFAULT_USE_JDK_UNSAFE;
+  private boolean methodHandleFieldAccess = DEFAULT_METHOD_HANDLE_FIELD_ACCESS;
+  private boolean primitiveCollections = DEFAULT_PRIMITIVE_COLLECTIONS;
+  private boolean base64ByteArrays = DEFAULT_BASE64_BYTE_ARRAYS;
   private ToNumberStrategy objectToNumberStrategy = DEFAULT_OBJECT_TO_NUMBER_STRATEGY;
   private ToNumberStrategy numberToNumberStrategy = DEFAULT_NUMBER_TO_NUMBER_STRATEGY;
   private final ArrayDeque<ReflectionAccessFilter> reflectionFilters = new ArrayDeque<>();
@@ -146,6 +154,9 @@ public final class GsonBuilder {
     this.factories.addAll(gson.builderFactories);
     this.hierarchyFactories.addAll(gson.builderHierarchyFactories);
     this.useJdkUnsafe = gson.useJdkUnsafe;
+    this.methodHandleFieldAccess = gson.methodHandleFieldAccess;
+    this.primitiveCollections = gson.primitiveCollections;
+    this.base64ByteArrays = gson.base64ByteArrays;
     this.objectToNumberStrategy = gson.objectToNumberStrategy;
     this.numberToNumberStrategy = gson.numberToNumberStrategy;
     this.reflectionFilters.addAll(gson.reflectionFilters);
@@ -759,6 +770,30 @@ public final class GsonBuilder {
     return this;
   }
 
+  /**
+   * Registers all {@link TypeAdapterFactory} implementations provided as services, as found by
+   * {@link ServiceLoader#load(Class)}. The factories are registered in the order in which the
+   * service loader returns them, as if {@link #registerTypeAdapterFactory(TypeAdapterFactory)} had
+   * been called for each of them.
+   *
+   * <p>This is mainly intended for factories created by an annotation processor at compile time,
+   * which register themselves in a {@code META-INF/services/com.google.gson.TypeAdapterFactory}
+   * file. Such factories allow serializing and deserializing classes without using reflection, for
+   * example in environments where reflection is restricted or has to be configured explicitly, such
+   * as GraalVM Native Image.
+   *
+   * @return a reference to this {@code GsonBuilder} object to fulfill the "Builder" pattern
+   * @throws ServiceConfigurationError if loading or instantiating a service provider fails
+   * @since $next-version$
+   */
+  @CanIgnoreReturnValue
+  public GsonBuilder registerTypeAdapterFactoryServices() {
+    for (TypeAdapterFactory factory : ServiceLoader.load(TypeAdapterFactory.class)) {
+      factories.add(factory);
+    }
+    return this;
+  }
+
   /**
    * Configures Gson for custom serialization or deserialization for an inheritance type hierarchy.
    * This method combines the registration of a {@link TypeAdapter}, {@link JsonSerializer} and a
@@ -841,6 +876,81 @@ public final class GsonBuilder {
     return this;
   }
 
+  /**
+   * Enables accessing fields through {@link java.lang.invoke.MethodHandle}s instead of {@link
+   * java.lang.reflect.Field#get(Object)} and {@link java.lang.reflect.Field#set(Object, Object)}
+   * when Gson uses reflection to serialize and deserialize a class.
+   *
+   * <p>Method handles avoid the access checks performed for every reflective access. Additionally
+   * fields of type {@code int}, {@code long}, {@code double} and {@code boolean} for which no
+   * custom adapter is used are read and written without boxing their values. The serialized and
+   * deserialized JSON data is the same as without this setting.
+   *
+   * <p>Gson falls back to regular reflection for fields for which no method handles can be created,
+   * for static fields, and for classes for which a {@link ReflectionAccessFilter} returns {@link
+   * ReflectionAccessFilter.FilterResult#BLOCK_INACCESSIBLE BLOCK_INACCESSIBLE}, because the filter
+   * requires checking the access for every usage.
+   *
+   * @return a reference to this {@code GsonBuilder} object to fulfill the "Builder" pattern
+   * @since $next-version$
+   */
+  @CanIgnoreReturnValue
+  public GsonBuilder enableMethodHandleFieldAccess() {
+    this.methodHandleFieldAccess = true;
+    return this;
+  }
+
+  /**
+   * Configures Gson to deserialize collections and maps of boxed numbers into implementations which
+   * store their values as primitives.
+   *
+   * <p>When this setting is enabled, a {@code List<Integer>}, {@code List<Long>} or {@code
+   * List<Double>} (or {@code Collection} of these types) is deserialized as a list backed by an
+   * {@code int[]}, {@code long[]} or {@code double[]} array. Such a list does not permit {@code
+   * null} elements; if the JSON data contains a {@code null} element, Gson falls back to creating
+   * an {@link java.util.ArrayList}. A {@code Map<Long, V>} is deserialized as a map which preserves
+   * insertion order, similar to {@link java.util.LinkedHashMap}, but stores its keys as primitive
+   * {@code long} values. The created collections are mutable.
+   *
+   * <p>This setting only applies when Gson's built-in adapters are used for the element and key
+   * types, and when no {@link InstanceCreator} has been registered for the collection or map type.
+   * The serialized and deserialized JSON data is the same as without this setting. Arrays such as
+   * {@code int[]} are always read and written without boxing their elements when the built-in
+   * adapters are used, regardless of this setting.
+   *
+   * @return a reference to this {@code GsonBuilder} object to fulfill the "Builder" pattern
+   * @since $next-version$
+   */
+  @CanIgnoreReturnValue
+  public GsonBuilder enablePrimitiveCollections() {
+    this.primitiveCollections = true;
+    return this;
+  }
+
+  /**
+   * Configures Gson to serialize {@code byte[]} as Base64 encoded JSON string instead of as JSON
+   * array of numbers. For example the array {@code {1, 2, 3}} is serialized as {@code "AQID"}
+   * instead of {@code [1,2,3]}, which is considerably more compact for large arrays. The standard
+   * Base64 alphabet as specified by <a href="https://www.rfc-editor.org/rfc/rfc4648#section-4">RFC
+   * 4648</a> is used, including {@code '='} padding. Unless {@link #disableHtmlEscaping()} is used,
+   * the padding is escaped like all {@code '='} characters in JSON strings.
+   *
+   * <p>During deserialization Base64 strings, with or without padding, are accepted for {@code
+   * byte[]}. For compatibility with data written without this setting, JSON arrays of numbers are
+   * accepted as well.
+   *
+   * <p>This setting has no effect if a custom adapter has been registered for {@code byte[]}. It
+   * does not affect {@code Byte[]} or collections of {@code Byte}.
+   *
+   * @return a reference to this {@code GsonBuilder} object to fulfill the "Builder" pattern
+   * @since $next-version$
+   */
+  @CanIgnoreReturnValue
+  public GsonBuilder serializeByteArraysAsBase64() {
+    this.base64ByteArrays = true;
+    return this;
+  }
+
   /**
    * Adds a reflection access filter. A reflection access filter prevents Gson from using reflection
    * for the serialization and deserialization of certain classes. The logic in the filter specifies
@@ -898,6 +1008,9 @@ public final class GsonBuilder {
         strictness,
         serializeSpecialFloatingPointValues,
         useJdkUnsafe,
+        methodHandleFieldAccess,
+        primitiveCollections,
+        base64ByteArrays,
         longSerializationPolicy,
         datePattern,
         dateStyle,
@@ -17,10 +17,10 @@
 package com.google.gson;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
-import com.google.gson.internal.NonNullElementWrapperList;
+import com.google.gson.internal.JsonElementList;
+import com.google.gson.internal.LazilyParsedNumber;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -33,6 +33,10 @@ import java.util.List;
  * <p>{@code JsonArray} only implements the {@link Iterable} interface but not the {@link List}
  * interface. A {@code List} view of it can be obtained with {@link #asList()}.
  *
+ * <p>Arrays which only consist of numbers parsed from JSON store them as primitive values and
+ * create the {@link JsonPrimitive} for an element each time it is retrieved; the array switches to
+ * storing the elements themselves once any other element is added.
+ *
  * <p>See the {@link JsonElement} documentation for details on how to convert {@code JsonArray} and
  * generally any {@code JsonElement} from and to JSON.
  *
@@ -40,12 +44,17 @@ import java.util.List;
  * @author Joel Leitch
  */
 public final class JsonArray extends JsonElement implements Iterable<JsonElement> {
-  private final ArrayList<JsonElement> elements;
+  /**
+   * Either the {@link JsonElementList} of elements, or for a lazily parsed array the {@link
+   * LazyJsonSource.LazyElements} from which they are read when first accessed. Using a single field
+   * keeps arrays which are not lazily parsed as small as before.
+   */
+  private final Object elements;
 
   /** Creates an empty JsonArray. */
   @SuppressWarnings("deprecation") // superclass constructor
   public JsonArray() {
-    elements = new ArrayList<>();
+    elements = new JsonElementList();
   }
 
   /**
@@ -57,7 +66,26 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    */
   @SuppressWarnings("deprecation") // superclass constructor
   public JsonArray(int capacity) {
-    elements = new ArrayList<>(capacity);
+    elements = new JsonElementList(capacity);
+  }
+
+  @SuppressWarnings("deprecation") // superclass constructor
+  private JsonArray(JsonElementList elements) {
+    this.elements = elements;
+  }
+
+  /** Creates an array whose elements are read from {@code source} when first accessed. */
+  @SuppressWarnings("deprecation") // superclass constructor
+  JsonArray(LazyJsonSource source, int index) {
+    elements = new LazyJsonSource.LazyElements(source, index);
+  }
+
+  private JsonElementList elements() {
+    Object elements = this.elements;
+    if (elements instanceof LazyJsonSource.LazyElements) {
+      return ((LazyJsonSource.LazyElements) elements).get();
+    }
+    return (JsonElementList) elements;
   }
 
   /**
@@ -67,14 +95,7 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    */
   @Override
   public JsonArray deepCopy() {
-    if (!elements.isEmpty()) {
-      JsonArray result = new JsonArray(elements.size());
-      for (JsonElement element : elements) {
-        result.add(element.deepCopy());
-      }
-      return result;
-    }
-    return new JsonArray();
+    return new JsonArray(elements().deepCopy());
   }
 
   /**
@@ -84,7 +105,7 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    * @since 2.4
    */
   public void add(Boolean bool) {
-    elements.add(bool == null ? JsonNull.INSTANCE : new JsonPrimitive(bool));
+    elements().add(bool == null ? JsonNull.INSTANCE : new JsonPrimitive(bool));
   }
 
   /**
@@ -94,7 +115,7 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    * @since 2.4
    */
   public void add(Character character) {
-    elements.add(character == null ? JsonNull.INSTANCE : new JsonPrimitive(character));
+    elements().add(character == null ? JsonNull.INSTANCE : new JsonPrimitive(character));
   }
 
   /**
@@ -104,7 +125,12 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    * @since 2.4
    */
   public void add(Number number) {
-    elements.add(number == null ? JsonNull.INSTANCE : new JsonPrimitive(number));
+    if (number instanceof LazilyParsedNumber) {
+      // Allows storing numbers parsed from JSON compactly
+      elements().addNumber(number.toString());
+    } else {
+      elements().add(number == null ? JsonNull.INSTANCE : new JsonPrimitive(number));
+    }
   }
 
   /**
@@ -114,7 +140,7 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    * @since 2.4
    */
   public void add(String string) {
-    elements.add(string == null ? JsonNull.INSTANCE : new JsonPrimitive(string));
+    elements().add(string == null ? JsonNull.INSTANCE : new JsonPrimitive(string));
   }
 
   /**
@@ -126,7 +152,7 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
     if (element == null) {
       element = JsonNull.INSTANCE;
     }
-    elements.add(element);
+    elements().add(element);
   }
 
   /**
@@ -135,7 +161,7 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    * @param array the array whose elements need to be added to the array.
    */
   public void addAll(JsonArray array) {
-    elements.addAll(array.elements);
+    elements().addAll(array.elements());
   }
 
   /**
@@ -148,7 +174,7 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    */
   @CanIgnoreReturnValue
   public JsonElement set(int index, JsonElement element) {
-    return elements.set(index, element == null ? JsonNull.INSTANCE : element);
+    return elements().set(index, element == null ? JsonNull.INSTANCE : element);
   }
 
   /**
@@ -161,7 +187,7 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    */
   @CanIgnoreReturnValue
   public boolean remove(JsonElement element) {
-    return elements.remove(element);
+    return elements().remove(element);
   }
 
   /**
@@ -176,7 +202,7 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    */
   @CanIgnoreReturnValue
   public JsonElement remove(int index) {
-    return elements.remove(index);
+    return elements().remove(index);
   }
 
   /**
@@ -187,7 +213,7 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    * @since 2.3
    */
   public boolean contains(JsonElement element) {
-    return elements.contains(element);
+    return elements().contains(element);
   }
 
   /**
@@ -196,7 +222,7 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    * @return the number of elements in the array.
    */
   public int size() {
-    return elements.size();
+    return elements().size();
   }
 
   /**
@@ -206,7 +232,7 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    * @since 2.8.7
    */
   public boolean isEmpty() {
-    return elements.isEmpty();
+    return elements().isEmpty();
   }
 
   /**
@@ -217,7 +243,7 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    */
   @Override
   public Iterator<JsonElement> iterator() {
-    return elements.iterator();
+    return elements().iterator();
   }
 
   /**
@@ -229,13 +255,13 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    *     {@link #size()} of the array.
    */
   public JsonElement get(int i) {
-    return elements.get(i);
+    return elements().get(i);
   }
 
   private JsonElement getAsSingleElement() {
-    int size = elements.size();
+    int size = elements().size();
     if (size == 1) {
-      return elements.get(0);
+      return elements().get(0);
     }
     throw new IllegalStateException("Array must have size 1, but has size " + size);
   }
@@ -413,7 +439,7 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    * @since 2.10
    */
   public List<JsonElement> asList() {
-    return new NonNullElementWrapperList<>(elements);
+    return elements();
   }
 
   /**
@@ -422,7 +448,7 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    */
   @Override
   public boolean equals(Object o) {
-    return (o == this) || (o instanceof JsonArray && ((JsonArray) o).elements.equals(elements));
+    return (o == this) || (o instanceof JsonArray && ((JsonArray) o).elements().equals(elements()));
   }
 
   /**
@@ -431,6 +457,6 @@ public final class JsonArray extends JsonElement implements Iterable<JsonElement
    */
   @Override
   public int hashCode() {
-    return elements.hashCode();
+    return elements().hashCode();
   }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson;
+
+import com.google.gson.internal.Primitives;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator over the elements of a JSON array, converting each element with the type adapter of the
+ * element type while it is read. Only the current element is held in memory.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @see Gson#fromJsonArray(JsonReader, TypeToken)
+ */
+final class JsonArrayIterator<T> implements Iterator<T> {
+  private final JsonReader reader;
+  private final TypeToken<T> elementType;
+  private final TypeAdapter<T> adapter;
+
+  /** Explicit strictness of the {@code Gson} instance; {@code null} if none was set. */
+  private final Strictness strictness;
+
+  /** Whether the array must be the only top-level value, followed by the end of the document. */
+  private final boolean requireEndOfDocument;
+
+  private boolean finished;
+
+  JsonArrayIterator(
+      JsonReader reader,
+      TypeToken<T> elementType,
+      TypeAdapter<T> adapter,
+      Strictness strictness,
+      boolean requireEndOfDocument) {
+    this.reader = reader;
+    this.elementType = elementType;
+    this.adapter = adapter;
+    this.strictness = strictness;
+    this.requireEndOfDocument = requireEndOfDocument;
+
+    Strictness oldStrictness = applyStrictness();
+    try {
+      reader.beginArray();
+    } catch (IOException e) {
+      throw wrap(e);
+    } catch (IllegalStateException e) {
+      throw new JsonSyntaxException(e);
+    } finally {
+      reader.setStrictness(oldStrictness);
+    }
+  }
+
+  /**
+   * Applies the strictness the same way {@link Gson#fromJson(JsonReader, TypeToken)} does, and
+   * returns the previous strictness of the reader.
+   */
+  private Strictness applyStrictness() {
+    Strictness oldStrictness = reader.getStrictness();
+    if (strictness != null) {
+      reader.setStrictness(strictness);
+    } else if (oldStrictness == Strictness.LEGACY_STRICT) {
+      reader.setStrictness(Strictness.LENIENT);
+    }
+    return oldStrictness;
+  }
+
+  private static JsonParseException wrap(IOException e) {
+    if (e instanceof EOFException || e instanceof MalformedJsonException) {
+      return new JsonSyntaxException(e);
+    }
+    return new JsonIOException(e);
+  }
+
+  /**
+   * Returns whether the array has more elements. Once the end of the array has been reached, it is
+   * consumed from the reader.
+   *
+   * @throws JsonSyntaxException if the JSON data is malformed, or if there is trailing data after
+   *     the array and the iterator was created for a complete JSON document.
+   * @throws JsonIOException if there was a problem reading from the underlying reader.
+   */
+  @Override
+  public boolean hasNext() {
+    if (finished) {
+      return false;
+    }
+
+    Strictness oldStrictness = applyStrictness();
+    try {
+      if (reader.hasNext()) {
+        return true;
+      }
+      reader.endArray();
+      finished = true;
+      if (requireEndOfDocument && reader.peek() != JsonToken.END_DOCUMENT) {
+        throw new JsonSyntaxException("JSON document was not fully consumed.");
+      }
+      return false;
+    } catch (IOException e) {
+      throw wrap(e);
+    } catch (IllegalStateException e) {
+      throw new JsonSyntaxException(e);
+    } finally {
+      reader.setStrictness(oldStrictness);
+    }
+  }
+
+  /**
+   * Reads the next element of the array and converts it to an object of the element type.
+   *
+   * @throws JsonSyntaxException if the JSON data is malformed, or if the element is not a valid
+   *     representation of the element type.
+   * @throws JsonIOException if there was a problem reading from the underlying reader.
+   * @throws NoSuchElementException if the end of the array has been reached.
+   */
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    Strictness oldStrictness = applyStrictness();
+    try {
+      T element = adapter.read(reader);
+      Class<?> expectedTypeWrapped = Primitives.wrap(elementType.getRawType());
+      if (element != null && !expectedTypeWrapped.isInstance(element)) {
+        throw new ClassCastException(
+            "Type adapter '"
+                + adapter
+                + "' returned wrong type; requested "
+                + elementType.getRawType()
+                + " but got instance of "
+                + element.getClass()
+                + "\nVerify that the adapter was registered for the correct type.");
+      }
+      return element;
+    } catch (IOException e) {
+      throw wrap(e);
+    } catch (IllegalStateException e) {
+      throw new JsonSyntaxException(e);
+    } finally {
+      reader.setStrictness(oldStrictness);
+    }
+  }
+}
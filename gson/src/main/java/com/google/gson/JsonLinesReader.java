@@ -0,0 +1,315 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson;
+
+import com.google.gson.reflect.TypeToken;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Reader for <a href="https://jsonlines.org/">JSON Lines</a> (also known as newline-delimited JSON
+ * or NDJSON) data, where every line contains a separate JSON value. Each value is converted to an
+ * object of type {@code T} using the type adapter of the {@link Gson} instance, and with its
+ * {@linkplain GsonBuilder#setStrictness(Strictness) strictness}. Blank lines are ignored.
+ *
+ * <p>Every line is parsed independently: a malformed line, or a line which is not a valid
+ * representation of {@code T}, causes a {@link JsonSyntaxException} mentioning the line number, but
+ * reading can continue with the next line afterwards. Alternatively an {@link ErrorHandler} can be
+ * {@linkplain #setErrorHandler(ErrorHandler) set} which is notified about invalid lines instead,
+ * for example to collect them in a separate location. Other exceptions, such as a {@link
+ * JsonIOException} thrown by a type adapter, are not treated as invalid line and are propagated.
+ *
+ * <p>Values can either be read one at a time using the {@link Iterator} methods, or in batches of
+ * {@linkplain #setBatchSize(int) configurable size} using {@link #nextBatch()}, for example to hand
+ * them off to worker threads.
+ *
+ * <p>Example:
+ *
+ * <pre>{@code
+ * try (JsonLinesReader<LogEntry> reader =
+ *     new JsonLinesReader<>(gson, Files.newBufferedReader(path), LogEntry.class)) {
+ *   reader.setErrorHandler((lineNumber, line, e) -> invalidLines.add(lineNumber));
+ *   List<LogEntry> batch;
+ *   while (!(batch = reader.nextBatch()).isEmpty()) {
+ *     executor.submit(() -> process(batch));
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @param <T> the type of the values
+ * @see JsonLinesWriter
+ * @since $next-version$
+ */
+public final class JsonLinesReader<T> implements Iterator<T>, Closeable {
+  /**
+   * Handler which is notified about lines which cannot be converted to a value.
+   *
+   * @since $next-version$
+   */
+  public interface ErrorHandler {
+    /**
+     * Called for a line which is malformed JSON or which is not a valid representation of the value
+     * type. The line is skipped afterwards, unless this method throws an exception.
+     *
+     * @param lineNumber the 1-based number of the line
+     * @param line the content of the line, without the line terminator
+     * @param e the exception describing the problem
+     */
+    void onError(long lineNumber, String line, JsonSyntaxException e);
+  }
+
+  private final Gson gson;
+  private final Reader in;
+  private final TypeToken<T> type;
+
+  private final char[] buffer = new char[8192];
+  private int pos;
+  private int limit;
+  private boolean endOfInput;
+
+  /** Content of the current line; reused for all lines. */
+  private final StringBuilder line = new StringBuilder();
+
+  private long lineNumber;
+
+  private int batchSize = 1000;
+  private ErrorHandler errorHandler;
+
+  private boolean hasNextValue;
+  private T nextValue;
+
+  /**
+   * Error for an invalid line encountered by {@link #nextBatch()} after it has read some values.
+   */
+  private JsonSyntaxException pendingError;
+
+  /**
+   * Creates a reader for values of the specified class.
+   *
+   * @param gson the Gson instance used for converting the values
+   * @param in the JSON Lines data
+   * @param type the class of the values
+   */
+  public JsonLinesReader(Gson gson, Reader in, Class<T> type) {
+    this(gson, in, TypeToken.get(type));
+  }
+
+  /**
+   * Creates a reader for values of the specified type.
+   *
+   * @param gson the Gson instance used for converting the values
+   * @param in the JSON Lines data
+   * @param type the type of the values
+   */
+  public JsonLinesReader(Gson gson, Reader in, TypeToken<T> type) {
+    this.gson = Objects.requireNonNull(gson);
+    this.in = Objects.requireNonNull(in);
+    this.type = Objects.requireNonNull(type);
+  }
+
+  /**
+   * Sets the maximum number of values returned by {@link #nextBatch()}. The default is 1000.
+   *
+   * @throws IllegalArgumentException if {@code batchSize} is not positive
+   */
+  public void setBatchSize(int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+    }
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Sets the handler which is notified about invalid lines. If {@code null} (the default), a {@link
+   * JsonSyntaxException} is thrown for an invalid line instead.
+   */
+  public void setErrorHandler(ErrorHandler errorHandler) {
+    this.errorHandler = errorHandler;
+  }
+
+  /**
+   * Returns the 1-based number of the line which has been read last, or 0 if no line has been read
+   * yet.
+   */
+  public long getLineNumber() {
+    return lineNumber;
+  }
+
+  /**
+   * Reads the next line into {@link #line}. Returns false if the end of the input has been reached
+   * before any character of the line was read.
+   */
+  private boolean readLine() throws IOException {
+    line.setLength(0);
+    boolean readAny = false;
+    while (true) {
+      if (pos == limit) {
+        if (endOfInput) {
+          break;
+        }
+        int count = in.read(buffer, 0, buffer.length);
+        if (count == -1) {
+          endOfInput = true;
+          break;
+        }
+        pos = 0;
+        limit = count;
+        continue;
+      }
+
+      readAny = true;
+      int start = pos;
+      while (pos < limit && buffer[pos] != '\n') {
+        pos++;
+      }
+      line.append(buffer, start, pos - start);
+      if (pos < limit) {
+        // Consume the '\n'
+        pos++;
+        break;
+      }
+    }
+
+    if (!readAny) {
+      return false;
+    }
+    lineNumber++;
+    int length = line.length();
+    if (length > 0 && line.charAt(length - 1) == '\r') {
+      line.setLength(length - 1);
+    }
+    return true;
+  }
+
+  private static boolean isBlank(CharSequence s) {
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c != ' ' && c != '\t' && c != '\r') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether there is another value. Invalid lines encountered while looking for the next
+   * value are reported to the error handler, or cause an exception if there is no error handler; in
+   * that case calling this method again continues with the line after the invalid one.
+   *
+   * @throws JsonSyntaxException if an invalid line was encountered and no error handler is set
+   * @throws JsonIOException if reading from the underlying reader failed
+   */
+  @Override
+  public boolean hasNext() {
+    if (pendingError != null) {
+      JsonSyntaxException e = pendingError;
+      pendingError = null;
+      throw e;
+    }
+
+    while (!hasNextValue) {
+      try {
+        if (!readLine()) {
+          return false;
+        }
+      } catch (IOException e) {
+        throw new JsonIOException(e);
+      }
+      if (isBlank(line)) {
+        continue;
+      }
+
+      String lineString = line.toString();
+      try {
+        nextValue = gson.fromJson(lineString, type);
+        hasNextValue = true;
+      } catch (JsonSyntaxException e) {
+        // Only syntax errors make the line invalid; JsonIOException and other exceptions propagate
+        JsonSyntaxException error =
+            new JsonSyntaxException(
+                "Invalid JSON Lines value at line " + lineNumber + ": " + e.getMessage(), e);
+        if (errorHandler == null) {
+          throw error;
+        }
+        errorHandler.onError(lineNumber, lineString, error);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the next value.
+   *
+   * @throws JsonSyntaxException if an invalid line was encountered and no error handler is set
+   * @throws JsonIOException if reading from the underlying reader failed
+   * @throws NoSuchElementException if the end of the data has been reached
+   */
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    T value = nextValue;
+    nextValue = null;
+    hasNextValue = false;
+    return value;
+  }
+
+  /**
+   * Returns the next values, at most as many as the {@linkplain #setBatchSize(int) batch size}. The
+   * returned list is empty if the end of the data has been reached.
+   *
+   * <p>If an invalid line is encountered and no error handler is set, the values read so far are
+   * returned, and the exception for the invalid line is thrown by the next call of this method or
+   * of {@link #hasNext()}.
+   *
+   * @throws JsonSyntaxException if an invalid line was encountered and no error handler is set
+   * @throws JsonIOException if reading from the underlying reader failed
+   */
+  public List<T> nextBatch() {
+    List<T> batch = new ArrayList<>(Math.min(batchSize, 64));
+    while (batch.size() < batchSize) {
+      try {
+        if (!hasNext()) {
+          break;
+        }
+      } catch (JsonSyntaxException e) {
+        if (batch.isEmpty()) {
+          throw e;
+        }
+        pendingError = e;
+        break;
+      }
+      batch.add(next());
+    }
+    return batch;
+  }
+
+  /** Closes the underlying reader. */
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+}
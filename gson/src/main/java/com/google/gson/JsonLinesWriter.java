@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson;
+
+import com.google.gson.internal.JsonWriterInternalAccess;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Writer for <a href="https://jsonlines.org/">JSON Lines</a> (also known as newline-delimited JSON
+ * or NDJSON) data. Every value is converted to JSON using the type adapter of the {@link Gson}
+ * instance and written as a separate line, followed by {@code '\n'}. The JSON is always written in
+ * compact form, even if the {@code Gson} instance {@linkplain GsonBuilder#setPrettyPrinting() uses
+ * pretty printing}, since a value must not span multiple lines. All values are written with the
+ * same {@link JsonWriter}.
+ *
+ * <p>If a {@linkplain #setBatchSize(int) batch size} is set, the underlying writer is flushed after
+ * every batch of lines, for example to hand the data off to a consumer in chunks.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @param <T> the type of the values
+ * @see JsonLinesReader
+ * @since $next-version$
+ */
+public final class JsonLinesWriter<T> implements Closeable, Flushable {
+  private final Gson gson;
+  private final Writer out;
+  private final JsonWriter jsonWriter;
+  private final TypeToken<T> type;
+
+  private int batchSize;
+  private int linesInBatch;
+
+  /**
+   * Creates a writer for values of the specified class.
+   *
+   * @param gson the Gson instance used for converting the values
+   * @param out the writer to which the JSON Lines data is written
+   * @param type the class of the values
+   */
+  public JsonLinesWriter(Gson gson, Writer out, Class<T> type) {
+    this(gson, out, TypeToken.get(type));
+  }
+
+  /**
+   * Creates a writer for values of the specified type.
+   *
+   * @param gson the Gson instance used for converting the values
+   * @param out the writer to which the JSON Lines data is written
+   * @param type the type of the values
+   */
+  public JsonLinesWriter(Gson gson, Writer out, TypeToken<T> type) {
+    this.gson = Objects.requireNonNull(gson);
+    this.out = Objects.requireNonNull(out);
+    this.type = Objects.requireNonNull(type);
+    this.jsonWriter = new JsonWriter(out);
+  }
+
+  /**
+   * Sets the number of lines after which the underlying writer is flushed. If 0 (the default), the
+   * underlying writer is only flushed when {@link #flush()} is called.
+   *
+   * @throws IllegalArgumentException if {@code batchSize} is negative
+   */
+  public void setBatchSize(int batchSize) {
+    if (batchSize < 0) {
+      throw new IllegalArgumentException("Batch size must not be negative: " + batchSize);
+    }
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Writes the value as a single line.
+   *
+   * @throws JsonIOException if writing to the underlying writer failed
+   */
+  public void write(T value) {
+    gson.toJson(value, type.getType(), jsonWriter);
+    try {
+      JsonWriterInternalAccess.INSTANCE.newDocumentLine(jsonWriter);
+      if (batchSize > 0 && ++linesInBatch == batchSize) {
+        linesInBatch = 0;
+        out.flush();
+      }
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  /**
+   * Writes all values, each as a single line.
+   *
+   * @throws JsonIOException if writing to the underlying writer failed
+   */
+  public void writeAll(Iterable<? extends T> values) {
+    for (T value : values) {
+      write(value);
+    }
+  }
+
+  /** Flushes the underlying writer. */
+  @Override
+  public void flush() throws IOException {
+    linesInBatch = 0;
+    out.flush();
+  }
+
+  /** Closes the underlying writer. */
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+}
@@ -17,7 +17,7 @@
 package com.google.gson;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
-import com.google.gson.internal.LinkedTreeMap;
+import com.google.gson.internal.CompactLinkedMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -38,11 +38,33 @@ import java.util.Set;
  * @author Joel Leitch
  */
 public final class JsonObject extends JsonElement {
-  private final LinkedTreeMap<String, JsonElement> members = new LinkedTreeMap<>(false);
+  /**
+   * Either the {@link CompactLinkedMap} of members, or for a lazily parsed object the {@link
+   * LazyJsonSource.LazyMembers} from which they are read when first accessed. Using a single field
+   * keeps objects which are not lazily parsed as small as before.
+   */
+  private final Object members;
 
   /** Creates an empty JsonObject. */
   @SuppressWarnings("deprecation") // superclass constructor
-  public JsonObject() {}
+  public JsonObject() {
+    members = new CompactLinkedMap<JsonElement>();
+  }
+
+  /** Creates an object whose members are read from {@code source} when first accessed. */
+  @SuppressWarnings("deprecation") // superclass constructor
+  JsonObject(LazyJsonSource source, int index) {
+    members = new LazyJsonSource.LazyMembers(source, index);
+  }
+
+  @SuppressWarnings("unchecked")
+  private CompactLinkedMap<JsonElement> members() {
+    Object members = this.members;
+    if (members instanceof LazyJsonSource.LazyMembers) {
+      return ((LazyJsonSource.LazyMembers) members).get();
+    }
+    return (CompactLinkedMap<JsonElement>) members;
+  }
 
   /**
    * Creates a deep copy of this element and all its children.
@@ -52,7 +74,7 @@ public final class JsonObject extends JsonElement {
   @Override
   public JsonObject deepCopy() {
     JsonObject result = new JsonObject();
-    for (Map.Entry<String, JsonElement> entry : members.entrySet()) {
+    for (Map.Entry<String, JsonElement> entry : members().entrySet()) {
       result.add(entry.getKey(), entry.getValue().deepCopy());
     }
     return result;
@@ -67,7 +89,7 @@ public final class JsonObject extends JsonElement {
    * @param value the member object.
    */
   public void add(String property, JsonElement value) {
-    members.put(property, value == null ? JsonNull.INSTANCE : value);
+    members().put(property, value == null ? JsonNull.INSTANCE : value);
   }
 
   /**
@@ -80,7 +102,7 @@ public final class JsonObject extends JsonElement {
    */
   @CanIgnoreReturnValue
   public JsonElement remove(String property) {
-    return members.remove(property);
+    return members().remove(property);
   }
 
   /**
@@ -134,7 +156,7 @@ public final class JsonObject extends JsonElement {
    * @return a set of members of this object.
    */
   public Set<Map.Entry<String, JsonElement>> entrySet() {
-    return members.entrySet();
+    return members().entrySet();
   }
 
   /**
@@ -144,7 +166,7 @@ public final class JsonObject extends JsonElement {
    * @since 2.8.1
    */
   public Set<String> keySet() {
-    return members.keySet();
+    return members().keySet();
   }
 
   /**
@@ -154,7 +176,7 @@ public final class JsonObject extends JsonElement {
    * @since 2.7
    */
   public int size() {
-    return members.size();
+    return members().size();
   }
 
   /**
@@ -164,7 +186,7 @@ public final class JsonObject extends JsonElement {
    * @since 2.10.1
    */
   public boolean isEmpty() {
-    return members.isEmpty();
+    return members().isEmpty();
   }
 
   /**
@@ -174,7 +196,7 @@ public final class JsonObject extends JsonElement {
    * @return true if there is a member with the specified name, false otherwise.
    */
   public boolean has(String memberName) {
-    return members.containsKey(memberName);
+    return members().containsKey(memberName);
   }
 
   /**
@@ -184,7 +206,7 @@ public final class JsonObject extends JsonElement {
    * @return the member matching the name, or {@code null} if no such member exists.
    */
   public JsonElement get(String memberName) {
-    return members.get(memberName);
+    return members().get(memberName);
   }
 
   /**
@@ -196,7 +218,7 @@ public final class JsonObject extends JsonElement {
    * @throws ClassCastException if the member is not of type {@code JsonPrimitive}.
    */
   public JsonPrimitive getAsJsonPrimitive(String memberName) {
-    return (JsonPrimitive) members.get(memberName);
+    return (JsonPrimitive) members().get(memberName);
   }
 
   /**
@@ -208,7 +230,7 @@ public final class JsonObject extends JsonElement {
    * @throws ClassCastException if the member is not of type {@code JsonArray}.
    */
   public JsonArray getAsJsonArray(String memberName) {
-    return (JsonArray) members.get(memberName);
+    return (JsonArray) members().get(memberName);
   }
 
   /**
@@ -220,7 +242,7 @@ public final class JsonObject extends JsonElement {
    * @throws ClassCastException if the member is not of type {@code JsonObject}.
    */
   public JsonObject getAsJsonObject(String memberName) {
-    return (JsonObject) members.get(memberName);
+    return (JsonObject) members().get(memberName);
   }
 
   /**
@@ -236,7 +258,7 @@ public final class JsonObject extends JsonElement {
    */
   public Map<String, JsonElement> asMap() {
     // It is safe to expose the underlying map because it disallows null keys and values
-    return members;
+    return members();
   }
 
   /**
@@ -245,7 +267,7 @@ public final class JsonObject extends JsonElement {
    */
   @Override
   public boolean equals(Object o) {
-    return (o == this) || (o instanceof JsonObject && ((JsonObject) o).members.equals(members));
+    return (o == this) || (o instanceof JsonObject && ((JsonObject) o).members().equals(members()));
   }
 
   /**
@@ -254,6 +276,6 @@ public final class JsonObject extends JsonElement {
    */
   @Override
   public int hashCode() {
-    return members.hashCode();
+    return members().hashCode();
   }
 }
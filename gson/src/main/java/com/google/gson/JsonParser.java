@@ -23,6 +23,7 @@ import com.google.gson.stream.MalformedJsonException;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.Arrays;
 
 /**
  * A parser to parse JSON into a parse tree of {@link JsonElement}s.
@@ -149,6 +150,62 @@ public final class JsonParser {
     }
   }
 
+  /**
+   * Parses the specified JSON string into a lazily populated parse tree. Only the top-level element
+   * is created directly; the members of a {@link JsonObject} and the elements of a {@link
+   * JsonArray} are created once the object or array is accessed for the first time. This is useful
+   * when only a few values of a large JSON document are needed.
+   *
+   * <p>The JSON string is validated completely before this method returns, so accessing the parse
+   * tree later on cannot fail. Unlike {@link #parseString(String)}, the JSON data is parsed in
+   * {@linkplain Strictness#STRICT strict mode}; an empty string results in {@link JsonNull}. Same
+   * as for {@link JsonReader} by default, a leading byte order mark is skipped and objects and
+   * arrays may be nested at most 255 levels deep.
+   *
+   * <p>The parse tree keeps a copy of the JSON string until all of its objects and arrays have been
+   * accessed. Like other parse trees, the lazily populated tree may be read concurrently by
+   * multiple threads, but modifying it requires external synchronization.
+   *
+   * @param json JSON text
+   * @return a lazily populated parse tree of {@link JsonElement}s corresponding to the specified
+   *     JSON
+   * @throws JsonParseException if the specified text is not valid JSON
+   * @since $next-version$
+   */
+  public static JsonElement parseStringLazily(String json) throws JsonSyntaxException {
+    char[] buffer = json.toCharArray();
+    return LazyJsonSource.parse(buffer, buffer.length);
+  }
+
+  /**
+   * Parses the complete JSON string provided by the reader into a lazily populated parse tree. See
+   * {@link #parseStringLazily(String)} for details.
+   *
+   * @param reader JSON text
+   * @return a lazily populated parse tree of {@link JsonElement}s corresponding to the specified
+   *     JSON
+   * @throws JsonParseException if there is an IOException or if the specified text is not valid
+   *     JSON
+   * @since $next-version$
+   */
+  public static JsonElement parseReaderLazily(Reader reader)
+      throws JsonIOException, JsonSyntaxException {
+    char[] buffer = new char[8192];
+    int length = 0;
+    try {
+      int read;
+      while ((read = reader.read(buffer, length, buffer.length - length)) != -1) {
+        length += read;
+        if (length == buffer.length) {
+          buffer = Arrays.copyOf(buffer, length * 2);
+        }
+      }
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+    return LazyJsonSource.parse(buffer, length);
+  }
+
   /**
    * @deprecated Use {@link JsonParser#parseString}
    */
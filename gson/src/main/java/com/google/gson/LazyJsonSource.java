@@ -0,0 +1,524 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson;
+
+import com.google.gson.internal.CompactLinkedMap;
+import com.google.gson.internal.JsonElementList;
+import com.google.gson.internal.LazilyParsedNumber;
+import com.google.gson.stream.MalformedJsonException;
+import java.util.Arrays;
+
+/**
+ * Source of lazily parsed {@link JsonObject}s and {@link JsonArray}s, see {@link
+ * JsonParser#parseStringLazily(String)}.
+ *
+ * <p>When created, the complete JSON data is validated in a single pass which does not create any
+ * objects. That pass also builds the structural index: for every JSON object and array, in the
+ * order in which they appear in the data, it records the offsets of the opening and closing bracket
+ * and the index of the next object or array after all nested ones. The data of an object or array
+ * can then be parsed without having to look at the data of nested values, which themselves are only
+ * parsed once they are accessed.
+ *
+ * <p>Because the data has already been validated, parsing it later on cannot fail.
+ */
+final class LazyJsonSource {
+  /** Maximum nesting depth of objects and arrays, same as the default of {@code JsonReader}. */
+  static final int NESTING_LIMIT = 255;
+
+  private final char[] buffer;
+  private final int length;
+
+  /** Offsets of the opening brackets of all objects and arrays. */
+  private int[] opens = new int[16];
+
+  /** Offsets of the closing brackets of all objects and arrays. */
+  private int[] closes = new int[16];
+
+  /** Index of the first object or array after the nested values of an object or array. */
+  private int[] nexts = new int[16];
+
+  private int containerCount;
+
+  private LazyJsonSource(char[] buffer, int length) {
+    this.buffer = buffer;
+    this.length = length;
+  }
+
+  /**
+   * Validates the JSON data in the first {@code length} chars of {@code buffer} and returns a lazy
+   * parse tree for it. A leading byte order mark (BOM) is skipped, like {@code JsonReader} does.
+   * The buffer is retained by the returned tree and must not be modified afterwards.
+   *
+   * @throws JsonSyntaxException if the data is not valid JSON, or if objects and arrays are nested
+   *     deeper than {@value #NESTING_LIMIT} levels
+   */
+  static JsonElement parse(char[] buffer, int length) {
+    LazyJsonSource source = new LazyJsonSource(buffer, length);
+    int start = source.skipWhitespace(length > 0 && buffer[0] == '\ufeff' ? 1 : 0);
+    if (start == length) {
+      // Consistent with JsonParser.parseString
+      return JsonNull.INSTANCE;
+    }
+    source.index(start);
+    return source.value(start, source.valueEnd(start, 0), 0);
+  }
+
+  private MalformedJsonException syntaxError(String message, int offset) {
+    int line = 1;
+    int lineStart = 0;
+    for (int i = 0; i < offset; i++) {
+      if (buffer[i] == '\n') {
+        line++;
+        lineStart = i + 1;
+      }
+    }
+    return new MalformedJsonException(
+        message + " at line " + line + " column " + (offset - lineStart + 1));
+  }
+
+  private int skipWhitespace(int pos) {
+    char[] buffer = this.buffer;
+    int length = this.length;
+    while (pos < length) {
+      char c = buffer[pos];
+      if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+        break;
+      }
+      pos++;
+    }
+    return pos;
+  }
+
+  private char charAt(int pos, String expected) throws MalformedJsonException {
+    if (pos >= length) {
+      throw syntaxError("Expected " + expected + " but reached end of document", pos);
+    }
+    return buffer[pos];
+  }
+
+  /** Validates the data starting at {@code pos} and builds the structural index. */
+  private void index(int pos) {
+    try {
+      int[] stack = new int[16];
+      int depth = 0;
+
+      while (true) {
+        // Expecting a value at `pos`
+        char c = charAt(pos, "value");
+        if (c == '{' || c == '[') {
+          if (containerCount == opens.length) {
+            int newLength = containerCount * 2;
+            opens = Arrays.copyOf(opens, newLength);
+            closes = Arrays.copyOf(closes, newLength);
+            nexts = Arrays.copyOf(nexts, newLength);
+          }
+          if (depth == NESTING_LIMIT) {
+            throw syntaxError("Nesting limit " + NESTING_LIMIT + " reached", pos);
+          }
+          opens[containerCount] = pos;
+          if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+          }
+          stack[depth++] = containerCount++;
+
+          pos = skipWhitespace(pos + 1);
+          if (c == '{') {
+            if (charAt(pos, "name or '}'") != '}') {
+              pos = scanName(pos);
+              continue;
+            }
+          } else if (charAt(pos, "value or ']'") != ']') {
+            continue;
+          }
+        } else {
+          pos = scanPrimitive(pos);
+        }
+
+        // After a value, or at the end of an empty object or array
+        while (true) {
+          pos = skipWhitespace(pos);
+          if (depth == 0) {
+            if (pos != length) {
+              throw syntaxError("Expected end of document", pos);
+            }
+            return;
+          }
+
+          int container = stack[depth - 1];
+          boolean isObject = buffer[opens[container]] == '{';
+          char end = isObject ? '}' : ']';
+          c = charAt(pos, "',' or '" + end + "'");
+          if (c == end) {
+            closes[container] = pos;
+            nexts[container] = containerCount;
+            depth--;
+            pos++;
+          } else if (c == ',') {
+            pos = skipWhitespace(pos + 1);
+            if (isObject) {
+              pos = scanName(pos);
+            }
+            break;
+          } else {
+            throw syntaxError("Expected ',' or '" + end + "'", pos);
+          }
+        }
+      }
+    } catch (MalformedJsonException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  /** Validates a member name and the following colon, returning the offset of the value. */
+  private int scanName(int pos) throws MalformedJsonException {
+    if (charAt(pos, "name") != '"') {
+      throw syntaxError("Expected name", pos);
+    }
+    pos = skipWhitespace(scanString(pos));
+    if (charAt(pos, "':'") != ':') {
+      throw syntaxError("Expected ':'", pos);
+    }
+    return skipWhitespace(pos + 1);
+  }
+
+  /** Validates a string, number or literal, returning the offset after it. */
+  private int scanPrimitive(int pos) throws MalformedJsonException {
+    char c = buffer[pos];
+    if (c == '"') {
+      return scanString(pos);
+    } else if (c == '-' || (c >= '0' && c <= '9')) {
+      return scanNumber(pos);
+    }
+    String literal = c == 't' ? "true" : c == 'f' ? "false" : "null";
+    if (!regionMatches(pos, literal)) {
+      throw syntaxError("Expected value", pos);
+    }
+    return pos + literal.length();
+  }
+
+  private boolean regionMatches(int pos, String s) {
+    int end = pos + s.length();
+    if (end > length) {
+      return false;
+    }
+    for (int i = pos; i < end; i++) {
+      if (buffer[i] != s.charAt(i - pos)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Validates the string starting at {@code pos}, returning the offset after its closing quote. */
+  private int scanString(int pos) throws MalformedJsonException {
+    char[] buffer = this.buffer;
+    int length = this.length;
+    for (pos++; pos < length; pos++) {
+      char c = buffer[pos];
+      if (c == '"') {
+        return pos + 1;
+      } else if (c == '\\') {
+        pos++;
+        c = charAt(pos, "escape sequence");
+        if (c == 'u') {
+          if (pos + 4 >= length) {
+            throw syntaxError("Unterminated escape sequence", pos);
+          }
+          for (int i = pos + 1; i <= pos + 4; i++) {
+            if (Character.digit(buffer[i], 16) == -1) {
+              throw syntaxError("Malformed Unicode escape", pos - 1);
+            }
+          }
+          pos += 4;
+        } else if ("\"\\/bfnrt".indexOf(c) == -1) {
+          throw syntaxError("Invalid escape sequence", pos - 1);
+        }
+      } else if (c < 0x20) {
+        throw syntaxError("Unescaped control character", pos);
+      }
+    }
+    throw syntaxError("Unterminated string", pos);
+  }
+
+  /** Validates the number starting at {@code pos}, returning the offset after it. */
+  private int scanNumber(int pos) throws MalformedJsonException {
+    int start = pos;
+    if (buffer[pos] == '-') {
+      pos++;
+    }
+    if (pos < length && buffer[pos] == '0') {
+      pos++;
+    } else {
+      pos = scanDigits(pos, start);
+    }
+    if (pos < length && buffer[pos] == '.') {
+      pos = scanDigits(pos + 1, start);
+    }
+    if (pos < length && (buffer[pos] == 'e' || buffer[pos] == 'E')) {
+      pos++;
+      if (pos < length && (buffer[pos] == '+' || buffer[pos] == '-')) {
+        pos++;
+      }
+      pos = scanDigits(pos, start);
+    }
+    return pos;
+  }
+
+  /** Skips at least one digit, returning the offset after the last one. */
+  private int scanDigits(int pos, int numberStart) throws MalformedJsonException {
+    int start = pos;
+    while (pos < length && buffer[pos] >= '0' && buffer[pos] <= '9') {
+      pos++;
+    }
+    if (pos == start) {
+      throw syntaxError("Malformed number", numberStart);
+    }
+    return pos;
+  }
+
+  /**
+   * Creates the element for the already validated value from {@code pos} to {@code end}; {@code
+   * container} is the index of the object or array starting at or after {@code pos}.
+   */
+  private JsonElement value(int pos, int end, int container) {
+    switch (buffer[pos]) {
+      case '{':
+        return new JsonObject(this, container);
+      case '[':
+        return new JsonArray(this, container);
+      case '"':
+        return new JsonPrimitive(readString(pos, end));
+      case 't':
+        return new JsonPrimitive(true);
+      case 'f':
+        return new JsonPrimitive(false);
+      case 'n':
+        return JsonNull.INSTANCE;
+      default:
+        return new JsonPrimitive(new LazilyParsedNumber(new String(buffer, pos, end - pos)));
+    }
+  }
+
+  /** Returns the offset after the already validated value at {@code pos}. */
+  private int valueEnd(int pos, int container) {
+    switch (buffer[pos]) {
+      case '{':
+      case '[':
+        return closes[container] + 1;
+      case '"':
+        return stringEnd(pos);
+      case 't':
+      case 'n':
+        return pos + 4;
+      case 'f':
+        return pos + 5;
+      default:
+        return numberEnd(pos);
+    }
+  }
+
+  /** Returns the index of the first object or array after the value at {@code pos}. */
+  private int nextContainer(int pos, int container) {
+    char c = buffer[pos];
+    return c == '{' || c == '[' ? nexts[container] : container;
+  }
+
+  /**
+   * The members of a lazily parsed {@link JsonObject}, read when first requested. The members are
+   * read into a new map which is only published once it is complete, so threads concurrently
+   * reading the object all see the complete members.
+   */
+  static final class LazyMembers {
+    /** Set to {@code null} once read, so that the JSON data can be garbage collected. */
+    private LazyJsonSource source;
+
+    private final int container;
+    private volatile CompactLinkedMap<JsonElement> members;
+
+    LazyMembers(LazyJsonSource source, int container) {
+      this.source = source;
+      this.container = container;
+    }
+
+    CompactLinkedMap<JsonElement> get() {
+      CompactLinkedMap<JsonElement> members = this.members;
+      if (members == null) {
+        synchronized (this) {
+          members = this.members;
+          if (members == null) {
+            members = new CompactLinkedMap<>();
+            source.readObject(container, members);
+            this.members = members;
+            source = null;
+          }
+        }
+      }
+      return members;
+    }
+  }
+
+  /** The elements of a lazily parsed {@link JsonArray}, see {@link LazyMembers}. */
+  static final class LazyElements {
+    /** Set to {@code null} once read, so that the JSON data can be garbage collected. */
+    private LazyJsonSource source;
+
+    private final int container;
+    private volatile JsonElementList elements;
+
+    LazyElements(LazyJsonSource source, int container) {
+      this.source = source;
+      this.container = container;
+    }
+
+    JsonElementList get() {
+      JsonElementList elements = this.elements;
+      if (elements == null) {
+        synchronized (this) {
+          elements = this.elements;
+          if (elements == null) {
+            elements = new JsonElementList();
+            source.readArray(container, elements);
+            this.elements = elements;
+            source = null;
+          }
+        }
+      }
+      return elements;
+    }
+  }
+
+  /** Adds the members of the object with the given index to {@code members}. */
+  private void readObject(int container, CompactLinkedMap<JsonElement> members) {
+    int pos = skipWhitespace(opens[container] + 1);
+    int child = container + 1;
+    while (buffer[pos] != '}') {
+      int nameEnd = stringEnd(pos);
+      String name = readString(pos, nameEnd);
+      // Skip the colon
+      pos = skipWhitespace(skipWhitespace(nameEnd) + 1);
+
+      int end = valueEnd(pos, child);
+      members.put(name, value(pos, end, child));
+      child = nextContainer(pos, child);
+      pos = skipNextSeparator(end);
+    }
+  }
+
+  /** Adds the elements of the array with the given index to {@code elements}. */
+  private void readArray(int container, JsonElementList elements) {
+    int pos = skipWhitespace(opens[container] + 1);
+    int child = container + 1;
+    while (buffer[pos] != ']') {
+      int end = valueEnd(pos, child);
+      char c = buffer[pos];
+      if (c == '-' || (c >= '0' && c <= '9')) {
+        // Lets the list store the number without creating a JsonPrimitive for it
+        elements.addNumber(new String(buffer, pos, end - pos));
+      } else {
+        elements.add(value(pos, end, child));
+      }
+      child = nextContainer(pos, child);
+      pos = skipNextSeparator(end);
+    }
+  }
+
+  /** Skips the whitespace and comma after a value, returning the offset of the next token. */
+  private int skipNextSeparator(int pos) {
+    pos = skipWhitespace(pos);
+    return buffer[pos] == ',' ? skipWhitespace(pos + 1) : pos;
+  }
+
+  private int numberEnd(int pos) {
+    char[] buffer = this.buffer;
+    int length = this.length;
+    while (pos < length) {
+      char c = buffer[pos];
+      if ((c < '0' || c > '9') && c != '-' && c != '+' && c != '.' && c != 'e' && c != 'E') {
+        break;
+      }
+      pos++;
+    }
+    return pos;
+  }
+
+  private int stringEnd(int pos) {
+    char[] buffer = this.buffer;
+    for (pos++; ; pos++) {
+      char c = buffer[pos];
+      if (c == '"') {
+        return pos + 1;
+      } else if (c == '\\') {
+        pos++;
+      }
+    }
+  }
+
+  /** Reads the string from {@code start}, including its quotes, to {@code end}. */
+  private String readString(int start, int end) {
+    char[] buffer = this.buffer;
+    int contentStart = start + 1;
+    int contentEnd = end - 1;
+    int escape = contentStart;
+    while (escape < contentEnd && buffer[escape] != '\\') {
+      escape++;
+    }
+    if (escape == contentEnd) {
+      return new String(buffer, contentStart, contentEnd - contentStart);
+    }
+
+    StringBuilder builder = new StringBuilder(contentEnd - contentStart);
+    builder.append(buffer, contentStart, escape - contentStart);
+    for (int pos = escape; pos < contentEnd; pos++) {
+      char c = buffer[pos];
+      if (c != '\\') {
+        builder.append(c);
+        continue;
+      }
+      c = buffer[++pos];
+      switch (c) {
+        case 'u':
+          int value = 0;
+          for (int i = pos + 1; i <= pos + 4; i++) {
+            value = (value << 4) | Character.digit(buffer[i], 16);
+          }
+          builder.append((char) value);
+          pos += 4;
+          break;
+        case 'b':
+          builder.append('\b');
+          break;
+        case 'f':
+          builder.append('\f');
+          break;
+        case 'n':
+          builder.append('\n');
+          break;
+        case 'r':
+          builder.append('\r');
+          break;
+        case 't':
+          builder.append('\t');
+          break;
+        default:
+          // '"', '\\' and '/'
+          builder.append(c);
+          break;
+      }
+    }
+    return builder.toString();
+  }
+}
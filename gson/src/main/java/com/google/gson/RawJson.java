@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.util.Objects;
+
+/**
+ * Holder for the source text of a JSON value, which is passed through without being parsed. This is
+ * useful for values which are not processed but only forwarded unchanged, for example opaque
+ * payloads in a message envelope.
+ *
+ * <p>When deserialized by {@link Gson}, the source text of the value is captured while the value is
+ * skipped, similar to {@link JsonReader#skipValue()}, without parsing it into a {@link JsonElement}
+ * or another object. The text is kept exactly as it appears in the JSON data, including any
+ * whitespace inside the value. Only if the value uses syntax which is accepted in non-strict mode
+ * but is not valid JSON, such as single-quoted strings or comments, it is normalized instead: its
+ * tokens are written again with standard JSON syntax, keeping duplicate member names and the
+ * non-finite numbers {@code NaN} and {@code Infinity}. When serialized, the text is written as is
+ * with {@link JsonWriter#jsonValue(String)}; it is neither validated, nor are the formatting and
+ * HTML-safe settings of the writer applied to it.
+ *
+ * <p>A JSON {@code null} is deserialized as Java {@code null}, and not as {@code RawJson}.
+ *
+ * <p>Example:
+ *
+ * <pre>
+ * class Envelope {
+ *   String recipient;
+ *   RawJson payload;
+ * }
+ *
+ * Envelope envelope = gson.fromJson("{\"recipient\": \"a\", \"payload\": {\"b\": [1, 2]}}", Envelope.class);
+ * String payload = envelope.payload.getJson(); // {"b": [1, 2]}
+ * </pre>
+ *
+ * @since $next-version$
+ */
+public final class RawJson {
+  private final String json;
+
+  private RawJson(String json) {
+    this.json = json;
+  }
+
+  /**
+   * Creates a holder for the given JSON text. The text must be a single valid JSON value; this is
+   * not validated.
+   *
+   * @throws NullPointerException if {@code json} is {@code null}
+   */
+  public static RawJson of(String json) {
+    return new RawJson(Objects.requireNonNull(json, "json == null"));
+  }
+
+  /** Returns the JSON text of the value. */
+  public String getJson() {
+    return json;
+  }
+
+  /** Returns whether the other object is a {@code RawJson} with the same JSON text. */
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof RawJson && ((RawJson) o).json.equals(json);
+  }
+
+  @Override
+  public int hashCode() {
+    return json.hashCode();
+  }
+
+  /** Returns the JSON text of the value. */
+  @Override
+  public String toString() {
+    return json;
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import java.util.Arrays;
+
+/**
+ * Encodes and decodes the "Base64" encoding with the standard alphabet as specified by <a
+ * href="https://www.rfc-editor.org/rfc/rfc4648#section-4">RFC 4648</a>. {@code java.util.Base64}
+ * cannot be used because it is not available on all supported Android versions.
+ */
+public final class Base64Codec {
+  private Base64Codec() {}
+
+  private static final char[] ALPHABET =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+  /** Maps a character to its 6-bit value, or -1 if it is not part of the alphabet. */
+  private static final byte[] DECODING_TABLE = new byte[128];
+
+  static {
+    Arrays.fill(DECODING_TABLE, (byte) -1);
+    for (int i = 0; i < ALPHABET.length; i++) {
+      DECODING_TABLE[ALPHABET[i]] = (byte) i;
+    }
+  }
+
+  /** Encodes the bytes, including {@code '='} padding. */
+  public static String encode(byte[] bytes) {
+    char[] chars = new char[(bytes.length + 2) / 3 * 4];
+    int charIndex = 0;
+    int i = 0;
+    for (int fullGroupsEnd = bytes.length - bytes.length % 3; i < fullGroupsEnd; i += 3) {
+      int bits = (bytes[i] & 0xFF) << 16 | (bytes[i + 1] & 0xFF) << 8 | (bytes[i + 2] & 0xFF);
+      chars[charIndex++] = ALPHABET[bits >>> 18];
+      chars[charIndex++] = ALPHABET[(bits >>> 12) & 0x3F];
+      chars[charIndex++] = ALPHABET[(bits >>> 6) & 0x3F];
+      chars[charIndex++] = ALPHABET[bits & 0x3F];
+    }
+
+    int remaining = bytes.length - i;
+    if (remaining > 0) {
+      int bits = (bytes[i] & 0xFF) << 16;
+      if (remaining == 2) {
+        bits |= (bytes[i + 1] & 0xFF) << 8;
+      }
+      chars[charIndex++] = ALPHABET[bits >>> 18];
+      chars[charIndex++] = ALPHABET[(bits >>> 12) & 0x3F];
+      chars[charIndex++] = remaining == 2 ? ALPHABET[(bits >>> 6) & 0x3F] : '=';
+      chars[charIndex] = '=';
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Decodes the string. The {@code '='} padding is optional, but if present it must be correct.
+   *
+   * @throws IllegalArgumentException if the string is not valid Base64 data
+   */
+  public static byte[] decode(String s) {
+    int length = s.length();
+    if (length % 4 == 0 && length > 0 && s.charAt(length - 1) == '=') {
+      length--;
+      if (s.charAt(length - 1) == '=') {
+        length--;
+      }
+    }
+    if (length % 4 == 1) {
+      throw new IllegalArgumentException("Invalid Base64 data length: " + s.length());
+    }
+
+    byte[] bytes = new byte[length / 4 * 3 + Math.max(0, length % 4 - 1)];
+    int byteIndex = 0;
+    int bits = 0;
+    for (int i = 0; i < length; i++) {
+      char c = s.charAt(i);
+      int value = c < DECODING_TABLE.length ? DECODING_TABLE[c] : -1;
+      if (value == -1) {
+        throw new IllegalArgumentException("Invalid Base64 character at index " + i + ": " + c);
+      }
+      bits = bits << 6 | value;
+      if ((i & 3) == 3) {
+        bytes[byteIndex++] = (byte) (bits >> 16);
+        bytes[byteIndex++] = (byte) (bits >> 8);
+        bytes[byteIndex++] = (byte) bits;
+        bits = 0;
+      }
+    }
+
+    int remaining = length & 3;
+    if (remaining == 2) {
+      bytes[byteIndex] = (byte) (bits >> 4);
+    } else if (remaining == 3) {
+      bytes[byteIndex++] = (byte) (bits >> 10);
+      bytes[byteIndex] = (byte) (bits >> 2);
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,417 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.internal;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A map of strings to non-null values which uses insertion order for iteration order. Small maps
+ * store their entries in a flat array of alternating keys and values and look up keys with a linear
+ * scan; once the map has more than {@value #DEFAULT_MAX_ARRAY_SIZE} entries it switches to a {@link
+ * LinkedTreeMap}. The views of this map stay valid when the map switches its representation, but
+ * iterators and entries obtained before the switch fail with a {@link
+ * ConcurrentModificationException}.
+ *
+ * <p>Compared to {@code LinkedTreeMap}, which allocates a node with multiple pointers for every
+ * entry, this considerably reduces the memory usage of the maps used by small JSON objects.
+ */
+@SuppressWarnings("serial") // ignore warning about missing serialVersionUID
+public final class CompactLinkedMap<V> extends AbstractMap<String, V> implements Serializable {
+  static final int DEFAULT_MAX_ARRAY_SIZE = 8;
+
+  private static final Object[] EMPTY_TABLE = {};
+
+  private final int maxArraySize;
+
+  /**
+   * Keys at even and values at odd indices; only the first {@code 2 * size} elements are used.
+   * {@code null} once the map has switched to {@link #treeMap}.
+   */
+  private Object[] table = EMPTY_TABLE;
+
+  private int size;
+  private int modCount;
+
+  /** The map holding the entries once there are too many for the array; otherwise {@code null}. */
+  private LinkedTreeMap<String, V> treeMap;
+
+  private EntrySet entrySet;
+  private KeySet keySet;
+
+  public CompactLinkedMap() {
+    this(DEFAULT_MAX_ARRAY_SIZE);
+  }
+
+  /**
+   * @param maxArraySize maximum number of entries stored in the array before switching to a tree
+   *     map
+   */
+  CompactLinkedMap(int maxArraySize) {
+    this.maxArraySize = maxArraySize;
+  }
+
+  private int indexOf(Object key) {
+    Object[] table = this.table;
+    for (int i = 0, end = size * 2; i < end; i += 2) {
+      Object k = table[i];
+      if (k == key || k.equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int size() {
+    return treeMap != null ? treeMap.size() : size;
+  }
+
+  @Override
+  public V get(Object key) {
+    if (treeMap != null) {
+      return treeMap.get(key);
+    }
+    int index = indexOf(key);
+    return index >= 0 ? valueAt(index) : null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private V valueAt(int index) {
+    return (V) table[index + 1];
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return treeMap != null ? treeMap.containsKey(key) : indexOf(key) >= 0;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public V put(String key, V value) {
+    Objects.requireNonNull(key, "key == null");
+    Objects.requireNonNull(value, "value == null");
+    if (treeMap != null) {
+      return treeMap.put(key, value);
+    }
+
+    int index = indexOf(key);
+    if (index >= 0) {
+      V oldValue = valueAt(index);
+      table[index + 1] = value;
+      return oldValue;
+    }
+
+    if (size == maxArraySize) {
+      LinkedTreeMap<String, V> treeMap = new LinkedTreeMap<>(false);
+      for (int i = 0, end = size * 2; i < end; i += 2) {
+        treeMap.put((String) table[i], valueAt(i));
+      }
+      treeMap.put(key, value);
+      this.treeMap = treeMap;
+      table = null;
+      size = 0;
+      modCount++;
+      return null;
+    }
+
+    if (size * 2 == table.length) {
+      table = Arrays.copyOf(table, Math.min(Math.max(4, size * 2), maxArraySize) * 2);
+    }
+    table[size * 2] = key;
+    table[size * 2 + 1] = value;
+    size++;
+    modCount++;
+    return null;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public V remove(Object key) {
+    if (treeMap != null) {
+      return treeMap.remove(key);
+    }
+    int index = indexOf(key);
+    if (index < 0) {
+      return null;
+    }
+    V oldValue = valueAt(index);
+    removeAt(index);
+    return oldValue;
+  }
+
+  /** Removes the entry at the given table index, preserving the order of the other entries. */
+  private void removeAt(int index) {
+    int end = size * 2;
+    System.arraycopy(table, index + 2, table, index, end - index - 2);
+    table[end - 2] = null;
+    table[end - 1] = null;
+    size--;
+    modCount++;
+  }
+
+  @Override
+  public void clear() {
+    if (treeMap != null) {
+      treeMap.clear();
+      return;
+    }
+    Arrays.fill(table, 0, size * 2, null);
+    size = 0;
+    modCount++;
+  }
+
+  @Override
+  public Set<Entry<String, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+    }
+    return entrySet;
+  }
+
+  @Override
+  public Set<String> keySet() {
+    if (keySet == null) {
+      keySet = new KeySet();
+    }
+    return keySet;
+  }
+
+  /**
+   * Entry of the array representation. Remembers its table index to efficiently access the map, but
+   * falls back to the last known value if the map has been modified structurally since then. Once
+   * the map has switched to the tree map the entry can no longer write through, so {@link
+   * #setValue} fails with a {@link ConcurrentModificationException}.
+   */
+  private final class ArrayEntry implements Entry<String, V> {
+    private final String key;
+    private final int index;
+    private V value;
+
+    ArrayEntry(int index) {
+      this.key = (String) table[index];
+      this.index = index;
+      this.value = valueAt(index);
+    }
+
+    private boolean isValid() {
+      return treeMap == null && index < size * 2 && table[index] == key;
+    }
+
+    @Override
+    public String getKey() {
+      return key;
+    }
+
+    @Override
+    public V getValue() {
+      if (isValid()) {
+        value = valueAt(index);
+      }
+      return value;
+    }
+
+    @Override
+    public V setValue(V value) {
+      Objects.requireNonNull(value, "value == null");
+      if (treeMap != null) {
+        throw new ConcurrentModificationException();
+      }
+      V oldValue = getValue();
+      if (isValid()) {
+        table[index + 1] = value;
+      }
+      this.value = value;
+      return oldValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+      Entry<?, ?> other = (Entry<?, ?>) o;
+      return key.equals(other.getKey()) && getValue().equals(other.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode() ^ getValue().hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + getValue();
+    }
+  }
+
+  private abstract class ArrayIterator<T> implements Iterator<T> {
+    private int nextIndex = 0;
+    private int lastReturned = -1;
+    private int expectedModCount = modCount;
+
+    @Override
+    public final boolean hasNext() {
+      if (treeMap != null) {
+        throw new ConcurrentModificationException();
+      }
+      return nextIndex < size * 2;
+    }
+
+    /** Returns the table index of the next entry. */
+    final int nextIndex() {
+      if (modCount != expectedModCount || treeMap != null) {
+        throw new ConcurrentModificationException();
+      }
+      if (nextIndex >= size * 2) {
+        throw new NoSuchElementException();
+      }
+      lastReturned = nextIndex;
+      nextIndex += 2;
+      return lastReturned;
+    }
+
+    @Override
+    public final void remove() {
+      if (lastReturned < 0) {
+        throw new IllegalStateException();
+      }
+      if (modCount != expectedModCount || treeMap != null) {
+        throw new ConcurrentModificationException();
+      }
+      removeAt(lastReturned);
+      nextIndex = lastReturned;
+      lastReturned = -1;
+      expectedModCount = modCount;
+    }
+  }
+
+  private final class EntrySet extends AbstractSet<Entry<String, V>> {
+    @Override
+    public int size() {
+      return CompactLinkedMap.this.size();
+    }
+
+    @Override
+    public Iterator<Entry<String, V>> iterator() {
+      if (treeMap != null) {
+        return treeMap.entrySet().iterator();
+      }
+      return new ArrayIterator<Entry<String, V>>() {
+        @Override
+        public Entry<String, V> next() {
+          return new ArrayEntry(nextIndex());
+        }
+      };
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (treeMap != null) {
+        return treeMap.entrySet().contains(o);
+      }
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+      Entry<?, ?> entry = (Entry<?, ?>) o;
+      int index = indexOf(entry.getKey());
+      return index >= 0 && Objects.equals(table[index + 1], entry.getValue());
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      if (treeMap != null) {
+        return treeMap.entrySet().remove(o);
+      }
+      if (!contains(o)) {
+        return false;
+      }
+      removeAt(indexOf(((Entry<?, ?>) o).getKey()));
+      return true;
+    }
+
+    @Override
+    public void clear() {
+      CompactLinkedMap.this.clear();
+    }
+  }
+
+  private final class KeySet extends AbstractSet<String> {
+    @Override
+    public int size() {
+      return CompactLinkedMap.this.size();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+      if (treeMap != null) {
+        return treeMap.keySet().iterator();
+      }
+      return new ArrayIterator<String>() {
+        @Override
+        public String next() {
+          return (String) table[nextIndex()];
+        }
+      };
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return containsKey(o);
+    }
+
+    @Override
+    public boolean remove(Object key) {
+      if (!containsKey(key)) {
+        return false;
+      }
+      CompactLinkedMap.this.remove(key);
+      return true;
+    }
+
+    @Override
+    public void clear() {
+      CompactLinkedMap.this.clear();
+    }
+  }
+
+  /**
+   * If somebody is unlucky enough to have to serialize one of these, serialize it as a
+   * LinkedHashMap so that they won't need Gson on the other side to deserialize it.
+   */
+  private Object writeReplace() throws ObjectStreamException {
+    return new LinkedHashMap<>(this);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException {
+    // Don't permit directly deserializing this class; writeReplace() should have written a
+    // replacement
+    throw new InvalidObjectException("Deserialization is unsupported");
+  }
+}
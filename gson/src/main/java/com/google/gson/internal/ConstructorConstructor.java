@@ -88,6 +88,15 @@ public final class ConstructorConstructor {
     return null;
   }
 
+  /**
+   * Returns whether an {@link InstanceCreator} has been registered for the type or for its raw
+   * type, which {@link #get(TypeToken, boolean)} would use.
+   */
+  public boolean hasInstanceCreator(TypeToken<?> typeToken) {
+    return instanceCreators.containsKey(typeToken.getType())
+        || instanceCreators.containsKey(typeToken.getRawType());
+  }
+
   /** Calls {@link #get(TypeToken, boolean)}, and allows usage of JDK Unsafe. */
   public <T> ObjectConstructor<T> get(TypeToken<T> typeToken) {
     return get(typeToken, true);
@@ -155,6 +155,15 @@ public final class Excluder implements TypeAdapterFactory, Cloneable {
     };
   }
 
+  /**
+   * Whether exclusion strategies have been registered. Exclusion strategies inspect {@link
+   * FieldAttributes}, so fields cannot be checked by {@link #excludeField(Class, int, double,
+   * double, boolean, boolean)} when this returns true.
+   */
+  public boolean hasExclusionStrategies() {
+    return !serializationStrategies.isEmpty() || !deserializationStrategies.isEmpty();
+  }
+
   public boolean excludeField(Field field, boolean serialize) {
     if ((modifiers & field.getModifiers()) != 0) {
       return true;
@@ -193,6 +202,38 @@ public final class Excluder implements TypeAdapterFactory, Cloneable {
     return false;
   }
 
+  /**
+   * Variant of {@link #excludeField(Field, boolean)} for adapters generated at compile time, which
+   * provide the field attributes directly instead of a reflective {@link Field}. Does not consider
+   * exclusion strategies, see {@link #hasExclusionStrategies()}.
+   *
+   * @param since value of the {@link Since} annotation, or {@link Double#NEGATIVE_INFINITY}
+   * @param until value of the {@link Until} annotation, or {@link Double#POSITIVE_INFINITY}
+   * @param exposed whether the field has an {@link Expose} annotation which includes it for the
+   *     given direction
+   */
+  public boolean excludeField(
+      Class<?> fieldType,
+      int fieldModifiers,
+      double since,
+      double until,
+      boolean exposed,
+      boolean serialize) {
+    if ((modifiers & fieldModifiers) != 0) {
+      return true;
+    }
+
+    if (version != Excluder.IGNORE_VERSIONS && !(version >= since && version < until)) {
+      return true;
+    }
+
+    if (requireExpose && !exposed) {
+      return true;
+    }
+
+    return excludeClass(fieldType, serialize);
+  }
+
   // public for unit tests; can otherwise be private
   public boolean excludeClass(Class<?> clazz, boolean serialize) {
     if (version != Excluder.IGNORE_VERSIONS
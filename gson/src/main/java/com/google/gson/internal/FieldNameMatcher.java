@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import java.util.Collection;
+
+/**
+ * Immutable set of property names which can be matched against a range of chars without first
+ * creating a {@code String}, for example directly against the buffer of a {@code JsonReader}.
+ *
+ * <p>Each name is identified by its index, which is its position in the collection the matcher was
+ * created from. Matching uses an open addressing hash table based on the {@link String#hashCode()
+ * String hash code}, so that callers can compute the hash while scanning the chars.
+ */
+public final class FieldNameMatcher {
+  private final String[] names;
+  private final int[] hashes;
+
+  /** Hash table slots; each contains the name index + 1, or 0 if the slot is empty */
+  private final int[] table;
+
+  private final int mask;
+
+  public FieldNameMatcher(Collection<String> names) {
+    this.names = names.toArray(new String[0]);
+    this.hashes = new int[this.names.length];
+
+    int tableSize = Integer.highestOneBit(Math.max(this.names.length, 1) * 2 - 1) << 1;
+    this.table = new int[tableSize];
+    this.mask = tableSize - 1;
+
+    for (int i = 0; i < this.names.length; i++) {
+      int hash = this.names[i].hashCode();
+      hashes[i] = hash;
+      int slot = spread(hash) & mask;
+      while (table[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = i + 1;
+    }
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  /** Returns the name with the given index. */
+  public String name(int index) {
+    return names[index];
+  }
+
+  /** Returns the index of {@code name}, or -1 if it is not one of the names of this matcher. */
+  public int match(String name) {
+    int hash = name.hashCode();
+    for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+      int entry = table[slot];
+      if (entry == 0) {
+        return -1;
+      }
+      int index = entry - 1;
+      if (hashes[index] == hash && names[index].equals(name)) {
+        return index;
+      }
+    }
+  }
+
+  /**
+   * Returns the index of the name consisting of the {@code length} chars of {@code chars} starting
+   * at {@code offset}, or -1 if it is not one of the names of this matcher.
+   *
+   * @param hash hash code of the chars, computed the same way {@link String#hashCode()} does
+   */
+  public int match(char[] chars, int offset, int length, int hash) {
+    for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+      int entry = table[slot];
+      if (entry == 0) {
+        return -1;
+      }
+      int index = entry - 1;
+      if (hashes[index] == hash && regionEquals(names[index], chars, offset, length)) {
+        return index;
+      }
+    }
+  }
+
+  private static boolean regionEquals(String name, char[] chars, int offset, int length) {
+    if (name.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (name.charAt(i) != chars[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,410 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import java.math.BigInteger;
+
+/**
+ * Formats {@code double} and {@code float} values into a caller-provided {@code char[]}, without
+ * allocating.
+ *
+ * <p>The output uses the same format as {@link Double#toString(double)} and {@link
+ * Float#toString(float)}, with the digits being the shortest decimal which uniquely identifies the
+ * value (and of those the one closest to the exact value). On JDK 19 and newer the result is
+ * therefore identical to {@code toString()}; older JDK versions sometimes produce more digits than
+ * necessary.
+ *
+ * <p>The implementation follows the Schubfach algorithm by Raffaello Giulietti, "The Schubfach way
+ * to render doubles" (2021), which is also used by {@code Double.toString} on newer JDK versions.
+ */
+public final class FloatingPointFormatter {
+  private FloatingPointFormatter() {}
+
+  /** Maximum number of chars written by {@link #format(double, char[])}, e.g. {@code -1.2E-308}. */
+  public static final int MAX_LENGTH = 24;
+
+  // Constants for double
+  private static final int DOUBLE_P = 53;
+  private static final int DOUBLE_Q_MIN = -1074;
+  private static final long DOUBLE_C_MIN = 1L << (DOUBLE_P - 1);
+  private static final int DOUBLE_C_TINY = 3;
+  private static final int DOUBLE_BQ_MASK = 0x7FF;
+  private static final long DOUBLE_T_MASK = DOUBLE_C_MIN - 1;
+
+  // Constants for float
+  private static final int FLOAT_P = 24;
+  private static final int FLOAT_Q_MIN = -149;
+  private static final int FLOAT_C_MIN = 1 << (FLOAT_P - 1);
+  private static final int FLOAT_C_TINY = 8;
+  private static final int FLOAT_BQ_MASK = 0xFF;
+  private static final int FLOAT_T_MASK = FLOAT_C_MIN - 1;
+
+  private static final long MASK_63 = (1L << 63) - 1;
+  private static final long MASK_32 = (1L << 32) - 1;
+
+  /** Decimal exponent range of {@link PowersOfTen#G}. */
+  private static final int K_MIN = -324;
+
+  private static final int K_MAX = 292;
+
+  /** Lazily computed table of powers of ten, only created once it is first needed. */
+  private static class PowersOfTen {
+    /**
+     * Let 10<sup>-k</sup> = &beta; 2<sup>r</sup> with 2<sup>125</sup> &le; &beta; &lt;
+     * 2<sup>126</sup>, and g = floor(&beta;) + 1. For each k this contains the upper 63 bits of g,
+     * followed by the lower 63 bits.
+     */
+    static final long[] G = createTable();
+
+    private static long[] createTable() {
+      long[] table = new long[(K_MAX - K_MIN + 1) * 2];
+      for (int k = K_MIN; k <= K_MAX; k++) {
+        BigInteger beta;
+        if (k <= 0) {
+          BigInteger pow = BigInteger.TEN.pow(-k);
+          int shift = 126 - pow.bitLength();
+          beta = shift >= 0 ? pow.shiftLeft(shift) : pow.shiftRight(-shift);
+        } else {
+          BigInteger pow = BigInteger.TEN.pow(k);
+          // 10^k is not a power of 2, so the quotient has exactly 126 bits
+          beta = BigInteger.ONE.shiftLeft(125 + pow.bitLength()).divide(pow);
+        }
+        BigInteger g = beta.add(BigInteger.ONE);
+        int index = (k - K_MIN) * 2;
+        table[index] = g.shiftRight(63).longValue();
+        table[index + 1] = g.longValue() & MASK_63;
+      }
+      return table;
+    }
+  }
+
+  /**
+   * Writes {@code value} to the start of {@code buffer}, which must have at least {@link
+   * #MAX_LENGTH} chars.
+   *
+   * @return the number of chars written
+   */
+  public static int format(double value, char[] buffer) {
+    long bits = Double.doubleToRawLongBits(value);
+    long t = bits & DOUBLE_T_MASK;
+    int bq = (int) (bits >>> (DOUBLE_P - 1)) & DOUBLE_BQ_MASK;
+    if (bq == DOUBLE_BQ_MASK) {
+      return formatSpecial(t != 0, bits < 0, buffer);
+    }
+
+    int pos = 0;
+    if (bits < 0) {
+      buffer[pos++] = '-';
+    }
+    if (bq != 0) {
+      // Normal value
+      int mq = -DOUBLE_Q_MIN + 1 - bq;
+      long c = DOUBLE_C_MIN | t;
+      // Fast path for integer values
+      if (0 < mq && mq < DOUBLE_P) {
+        long f = c >> mq;
+        if (f << mq == c) {
+          return writeDecimal(f, 0, buffer, pos);
+        }
+      }
+      return toDecimal(-mq, c, 0, buffer, pos);
+    }
+    if (t != 0) {
+      // Subnormal value
+      return t < DOUBLE_C_TINY
+          ? toDecimal(DOUBLE_Q_MIN, 10 * t, -1, buffer, pos)
+          : toDecimal(DOUBLE_Q_MIN, t, 0, buffer, pos);
+    }
+    return writeZero(buffer, pos);
+  }
+
+  /**
+   * Writes {@code value} to the start of {@code buffer}, which must have at least {@link
+   * #MAX_LENGTH} chars.
+   *
+   * @return the number of chars written
+   */
+  public static int format(float value, char[] buffer) {
+    int bits = Float.floatToRawIntBits(value);
+    int t = bits & FLOAT_T_MASK;
+    int bq = (bits >>> (FLOAT_P - 1)) & FLOAT_BQ_MASK;
+    if (bq == FLOAT_BQ_MASK) {
+      return formatSpecial(t != 0, bits < 0, buffer);
+    }
+
+    int pos = 0;
+    if (bits < 0) {
+      buffer[pos++] = '-';
+    }
+    if (bq != 0) {
+      // Normal value
+      int mq = -FLOAT_Q_MIN + 1 - bq;
+      int c = FLOAT_C_MIN | t;
+      // Fast path for integer values
+      if (0 < mq && mq < FLOAT_P) {
+        int f = c >> mq;
+        if (f << mq == c) {
+          return writeDecimal(f, 0, buffer, pos);
+        }
+      }
+      return toDecimal(-mq, c, 0, buffer, pos);
+    }
+    if (t != 0) {
+      // Subnormal value
+      return t < FLOAT_C_TINY
+          ? toDecimal(FLOAT_Q_MIN, 10 * t, -1, buffer, pos)
+          : toDecimal(FLOAT_Q_MIN, t, 0, buffer, pos);
+    }
+    return writeZero(buffer, pos);
+  }
+
+  private static int formatSpecial(boolean isNaN, boolean isNegative, char[] buffer) {
+    String s = isNaN ? "NaN" : isNegative ? "-Infinity" : "Infinity";
+    s.getChars(0, s.length(), buffer, 0);
+    return s.length();
+  }
+
+  private static int writeZero(char[] buffer, int pos) {
+    buffer[pos++] = '0';
+    buffer[pos++] = '.';
+    buffer[pos++] = '0';
+    return pos;
+  }
+
+  /** Computes the decimal for the double value {@code c 2^q}, see figure 7 of the paper. */
+  private static int toDecimal(int q, long c, int dk, char[] buffer, int pos) {
+    int out = (int) c & 0x1;
+    long cb = c << 2;
+    long cbr = cb + 2;
+    long cbl;
+    int k;
+    if (c != DOUBLE_C_MIN || q == DOUBLE_Q_MIN) {
+      // Regular spacing
+      cbl = cb - 2;
+      k = flog10pow2(q);
+    } else {
+      // Irregular spacing
+      cbl = cb - 1;
+      k = flog10threeQuartersPow2(q);
+    }
+    int h = q + flog2pow10(-k) + 2;
+
+    // g = g1 2^63 + g0
+    long[] table = PowersOfTen.G;
+    int index = (k - K_MIN) * 2;
+    long g1 = table[index];
+    long g0 = table[index + 1];
+
+    long vb = roundToOdd(g1, g0, cb << h);
+    long vbl = roundToOdd(g1, g0, cbl << h);
+    long vbr = roundToOdd(g1, g0, cbr << h);
+
+    long s = vb >> 2;
+    if (s >= 100) {
+      // sp10 = 10 floor(s / 10)
+      long sp10 = 10 * unsignedMultiplyHigh(s, 115_292_150_460_684_698L << 4);
+      long tp10 = sp10 + 10;
+      boolean upin = vbl + out <= sp10 << 2;
+      boolean wpin = (tp10 << 2) + out <= vbr;
+      if (upin != wpin) {
+        return writeDecimal(upin ? sp10 : tp10, k, buffer, pos);
+      }
+    }
+
+    long t = s + 1;
+    boolean uin = vbl + out <= s << 2;
+    boolean win = (t << 2) + out <= vbr;
+    if (uin != win) {
+      // Exactly one of u or w lies in the rounding interval
+      return writeDecimal(uin ? s : t, k + dk, buffer, pos);
+    }
+    // Both u and w lie in the rounding interval; use the one closest to v
+    long cmp = vb - ((s + t) << 1);
+    return writeDecimal(cmp < 0 || (cmp == 0 && (s & 0x1) == 0) ? s : t, k + dk, buffer, pos);
+  }
+
+  /** Computes the decimal for the float value {@code c 2^q}, see figure 7 of the paper. */
+  private static int toDecimal(int q, int c, int dk, char[] buffer, int pos) {
+    int out = c & 0x1;
+    long cb = (long) c << 2;
+    long cbr = cb + 2;
+    long cbl;
+    int k;
+    if (c != FLOAT_C_MIN || q == FLOAT_Q_MIN) {
+      // Regular spacing
+      cbl = cb - 2;
+      k = flog10pow2(q);
+    } else {
+      // Irregular spacing
+      cbl = cb - 1;
+      k = flog10threeQuartersPow2(q);
+    }
+    int h = q + flog2pow10(-k) + 33;
+
+    // For float the upper 63 bits of g suffice
+    long g = PowersOfTen.G[(k - K_MIN) * 2] + 1;
+
+    int vb = roundToOdd(g, cb << h);
+    int vbl = roundToOdd(g, cbl << h);
+    int vbr = roundToOdd(g, cbr << h);
+
+    int s = vb >> 2;
+    if (s >= 100) {
+      // sp10 = 10 floor(s / 10)
+      int sp10 = 10 * (int) ((s * 1_717_986_919L) >>> 34);
+      int tp10 = sp10 + 10;
+      boolean upin = vbl + out <= sp10 << 2;
+      boolean wpin = (tp10 << 2) + out <= vbr;
+      if (upin != wpin) {
+        return writeDecimal(upin ? sp10 : tp10, k, buffer, pos);
+      }
+    }
+
+    int t = s + 1;
+    boolean uin = vbl + out <= s << 2;
+    boolean win = (t << 2) + out <= vbr;
+    if (uin != win) {
+      // Exactly one of u or w lies in the rounding interval
+      return writeDecimal(uin ? s : t, k + dk, buffer, pos);
+    }
+    // Both u and w lie in the rounding interval; use the one closest to v
+    int cmp = vb - ((s + t) << 1);
+    return writeDecimal(cmp < 0 || (cmp == 0 && (s & 0x1) == 0) ? s : t, k + dk, buffer, pos);
+  }
+
+  /** Computes {@code g cp 2^-127}, rounded to odd, for the 126-bit {@code g = g1 2^63 + g0}. */
+  private static long roundToOdd(long g1, long g0, long cp) {
+    long x1 = unsignedMultiplyHigh(g0, cp);
+    long y0 = g1 * cp;
+    long y1 = unsignedMultiplyHigh(g1, cp);
+    long z = (y0 >>> 1) + x1;
+    long vbp = y1 + (z >>> 63);
+    return vbp | (((z & MASK_63) + MASK_63) >>> 63);
+  }
+
+  /** Computes {@code g cp 2^-95}, rounded to odd. */
+  private static int roundToOdd(long g, long cp) {
+    long x1 = unsignedMultiplyHigh(g, cp);
+    long vbp = x1 >>> 31;
+    return (int) (vbp | (((x1 & MASK_32) + MASK_32) >>> 32));
+  }
+
+  /** Returns {@code floor(log10(2^e))}. */
+  private static int flog10pow2(int e) {
+    return (int) ((e * 661_971_961_083L) >> 41);
+  }
+
+  /** Returns {@code floor(log10(3/4 2^e))}. */
+  private static int flog10threeQuartersPow2(int e) {
+    return (int) ((e * 661_971_961_083L - 274_743_187_321L) >> 41);
+  }
+
+  /** Returns {@code floor(log2(10^e))}. */
+  private static int flog2pow10(int e) {
+    return (int) ((e * 913_124_641_741L) >> 38);
+  }
+
+  /** Returns the upper 64 bits of the unsigned 128-bit product of {@code x} and {@code y}. */
+  static long unsignedMultiplyHigh(long x, long y) {
+    // Math.multiplyHigh and Math.unsignedMultiplyHigh are not available in Java 8
+    long x0 = x & MASK_32;
+    long x1 = x >>> 32;
+    long y0 = y & MASK_32;
+    long y1 = y >>> 32;
+    long p01 = x0 * y1;
+    long middle = x1 * y0 + ((x0 * y0) >>> 32) + (p01 & MASK_32);
+    return x1 * y1 + (middle >>> 32) + (p01 >>> 32);
+  }
+
+  /**
+   * Writes the value {@code f 10^e} in the format of {@code Double.toString}: plain notation for
+   * values in the range [10^-3, 10^7), otherwise computerized scientific notation.
+   */
+  private static int writeDecimal(long f, int e, char[] buffer, int pos) {
+    while (f % 10 == 0) {
+      f /= 10;
+      e++;
+    }
+    int length = 1;
+    for (long remaining = f / 10; remaining != 0; remaining /= 10) {
+      length++;
+    }
+    // Value is 0.d1d2...dn 10^exponent
+    int exponent = e + length;
+
+    if (0 < exponent && exponent <= 7) {
+      // Plain notation, at least one digit before the decimal point
+      if (length <= exponent) {
+        writeDigits(f, length, buffer, pos);
+        pos += length;
+        for (int i = length; i < exponent; i++) {
+          buffer[pos++] = '0';
+        }
+        buffer[pos++] = '.';
+        buffer[pos++] = '0';
+      } else {
+        // Write all digits shifted by one, then insert the decimal point
+        writeDigits(f, length, buffer, pos + 1);
+        System.arraycopy(buffer, pos + 1, buffer, pos, exponent);
+        pos += exponent;
+        buffer[pos] = '.';
+        pos += length - exponent + 1;
+      }
+    } else if (-3 < exponent && exponent <= 0) {
+      // Plain notation, value < 1
+      buffer[pos++] = '0';
+      buffer[pos++] = '.';
+      for (int i = exponent; i < 0; i++) {
+        buffer[pos++] = '0';
+      }
+      writeDigits(f, length, buffer, pos);
+      pos += length;
+    } else {
+      // Computerized scientific notation: d.ddddE-n
+      writeDigits(f, length, buffer, pos + 1);
+      buffer[pos] = buffer[pos + 1];
+      buffer[pos + 1] = '.';
+      pos += length + 1;
+      if (length == 1) {
+        buffer[pos++] = '0';
+      }
+      buffer[pos++] = 'E';
+      int scientificExponent = exponent - 1;
+      if (scientificExponent < 0) {
+        buffer[pos++] = '-';
+        scientificExponent = -scientificExponent;
+      }
+      if (scientificExponent >= 100) {
+        buffer[pos++] = (char) ('0' + scientificExponent / 100);
+        scientificExponent %= 100;
+        buffer[pos++] = (char) ('0' + scientificExponent / 10);
+      } else if (scientificExponent >= 10) {
+        buffer[pos++] = (char) ('0' + scientificExponent / 10);
+      }
+      buffer[pos++] = (char) ('0' + scientificExponent % 10);
+    }
+    return pos;
+  }
+
+  /** Writes the {@code length} decimal digits of {@code f} starting at {@code pos}. */
+  private static void writeDigits(long f, int length, char[] buffer, int pos) {
+    for (int i = pos + length - 1; i >= pos; i--) {
+      buffer[i] = (char) ('0' + (int) (f % 10));
+      f /= 10;
+    }
+  }
+}
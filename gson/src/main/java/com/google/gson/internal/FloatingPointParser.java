@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import java.math.BigInteger;
+
+/**
+ * Parses JSON number literals as {@code double} or {@code float} directly from a {@code char[]},
+ * without creating an intermediate {@code String}.
+ *
+ * <p>Most values are handled by a fast path: values with at most 15 significant digits and a small
+ * exponent are computed exactly with a single floating-point operation (Clinger's algorithm), all
+ * other values with up to 19 significant digits use the Eisel-Lemire algorithm, see Daniel Lemire,
+ * "Number Parsing at a Gigabyte per Second" (2021). The rare cases these algorithms cannot decide
+ * are delegated to {@link Double#parseDouble(String)} respectively {@link
+ * Float#parseFloat(String)}, so the result is always correctly rounded.
+ */
+public final class FloatingPointParser {
+  private FloatingPointParser() {}
+
+  /** Powers of ten which are exactly representable as double. */
+  private static final double[] DOUBLE_POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /** Powers of ten which are exactly representable as float. */
+  private static final float[] FLOAT_POWERS_OF_TEN = {
+    1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+  };
+
+  /** Significands up to this value are exactly representable as double. */
+  private static final long MAX_EXACT_DOUBLE_SIGNIFICAND = 1L << 53;
+
+  /** Significands up to this value are exactly representable as float. */
+  private static final long MAX_EXACT_FLOAT_SIGNIFICAND = 1L << 24;
+
+  /** Maximum number of significant digits which are guaranteed to fit into a {@code long}. */
+  private static final int MAX_SIGNIFICAND_DIGITS = 19;
+
+  /** Decimal exponent range of {@link PowersOfTen#TABLE}. */
+  private static final int MIN_EXPONENT = -348;
+
+  private static final int MAX_EXPONENT = 347;
+
+  /** Lazily computed table of powers of ten, only created once it is first needed. */
+  private static class PowersOfTen {
+    /**
+     * 128-bit approximations (rounded down) of the powers of ten from {@link #MIN_EXPONENT} to
+     * {@link #MAX_EXPONENT}, normalized so that the most significant bit is set. For each power
+     * this contains the upper 64 bits, followed by the lower 64 bits.
+     */
+    static final long[] TABLE = createTable();
+
+    private static long[] createTable() {
+      long[] table = new long[(MAX_EXPONENT - MIN_EXPONENT + 1) * 2];
+      for (int e = MIN_EXPONENT; e <= MAX_EXPONENT; e++) {
+        BigInteger value;
+        if (e >= 0) {
+          BigInteger pow = BigInteger.TEN.pow(e);
+          int shift = 128 - pow.bitLength();
+          value = shift >= 0 ? pow.shiftLeft(shift) : pow.shiftRight(-shift);
+        } else {
+          BigInteger pow = BigInteger.TEN.pow(-e);
+          // 10^-e is not a power of 2, so the quotient has exactly 128 bits
+          value = BigInteger.ONE.shiftLeft(127 + pow.bitLength()).divide(pow);
+        }
+        int index = (e - MIN_EXPONENT) * 2;
+        table[index] = value.shiftRight(64).longValue();
+        table[index + 1] = value.longValue();
+      }
+      return table;
+    }
+  }
+
+  /**
+   * Parses the JSON number literal in {@code chars}. The literal must be valid according to the
+   * JSON specification, for example as determined by {@link com.google.gson.stream.JsonReader}.
+   */
+  public static double parseDouble(char[] chars, int start, int length) {
+    return parse(chars, start, length, false);
+  }
+
+  /**
+   * Parses the JSON number literal in {@code chars}, rounding it directly to the nearest {@code
+   * float}. The literal must be valid according to the JSON specification, for example as
+   * determined by {@link com.google.gson.stream.JsonReader}.
+   */
+  public static float parseFloat(char[] chars, int start, int length) {
+    return (float) parse(chars, start, length, true);
+  }
+
+  /**
+   * Parses the number; if {@code isFloat} the result is a correctly rounded {@code float} value
+   * (which the {@code double} result represents exactly).
+   */
+  private static double parse(char[] chars, int start, int length, boolean isFloat) {
+    int end = start + length;
+    int i = start;
+    boolean negative = chars[i] == '-';
+    if (negative) {
+      i++;
+    }
+
+    long significand = 0;
+    int significandDigits = 0;
+    int exponent = 0;
+    // Whether non-zero digits were dropped because they don't fit into `significand`
+    boolean truncated = false;
+
+    char c = 0;
+    for (; i < end; i++) {
+      c = chars[i];
+      if (c < '0' || c > '9') {
+        break;
+      }
+      if (significandDigits < MAX_SIGNIFICAND_DIGITS) {
+        significand = significand * 10 + (c - '0');
+        // Don't count leading zeros
+        if (significand != 0) {
+          significandDigits++;
+        }
+      } else {
+        truncated |= c != '0';
+        exponent++;
+      }
+    }
+    if (i < end && c == '.') {
+      for (i++; i < end; i++) {
+        c = chars[i];
+        if (c < '0' || c > '9') {
+          break;
+        }
+        if (significandDigits < MAX_SIGNIFICAND_DIGITS) {
+          significand = significand * 10 + (c - '0');
+          if (significand != 0) {
+            significandDigits++;
+          }
+          exponent--;
+        } else {
+          truncated |= c != '0';
+        }
+      }
+    }
+    if (i < end) {
+      // Exponent, 'e' or 'E'
+      i++;
+      boolean negativeExponent = chars[i] == '-';
+      if (negativeExponent || chars[i] == '+') {
+        i++;
+      }
+      int explicitExponent = 0;
+      for (; i < end; i++) {
+        // Limit the value to avoid overflow; such exponents are outside the supported range anyway
+        if (explicitExponent < 100_000) {
+          explicitExponent = explicitExponent * 10 + (chars[i] - '0');
+        }
+      }
+      exponent += negativeExponent ? -explicitExponent : explicitExponent;
+    }
+
+    if (significand == 0 && !truncated) {
+      return negative ? -0.0 : 0.0;
+    }
+
+    if (!truncated) {
+      double result = Double.NaN;
+      if (isFloat) {
+        // `significand` is unsigned, so values >= 2^63 are negative
+        if (significand >= 0
+            && significand <= MAX_EXACT_FLOAT_SIGNIFICAND
+            && exponent >= -10
+            && exponent <= 10) {
+          float value = (float) significand;
+          value =
+              exponent < 0
+                  ? value / FLOAT_POWERS_OF_TEN[-exponent]
+                  : value * FLOAT_POWERS_OF_TEN[exponent];
+          return negative ? -value : value;
+        }
+        result = toFloatExactly(eiselLemire(significand, exponent));
+      } else {
+        if (significand >= 0
+            && significand <= MAX_EXACT_DOUBLE_SIGNIFICAND
+            && exponent >= -22
+            && exponent <= 22) {
+          double value = (double) significand;
+          value =
+              exponent < 0
+                  ? value / DOUBLE_POWERS_OF_TEN[-exponent]
+                  : value * DOUBLE_POWERS_OF_TEN[exponent];
+          return negative ? -value : value;
+        }
+        result = eiselLemire(significand, exponent);
+      }
+      if (!Double.isNaN(result)) {
+        return negative ? -result : result;
+      }
+    }
+
+    // Fall back to the JDK for the rare values which could not be handled above
+    String s = new String(chars, start, length);
+    return isFloat ? Float.parseFloat(s) : Double.parseDouble(s);
+  }
+
+  /**
+   * Computes the double value closest to {@code significand 10^exponent}, for a non-zero {@code
+   * significand}. Returns NaN if the result cannot be determined with certainty, or if it is
+   * subnormal or out of range.
+   */
+  private static double eiselLemire(long significand, int exponent) {
+    if (exponent < MIN_EXPONENT || exponent > MAX_EXPONENT) {
+      return Double.NaN;
+    }
+
+    // Normalization
+    int leadingZeros = Long.numberOfLeadingZeros(significand);
+    long normalized = significand << leadingZeros;
+    // floor(exponent * log2(10)) + bias
+    long resultExponent = ((217_706L * exponent) >> 16) + 64 + 1023 - leadingZeros;
+
+    // Multiplication with the truncated power of ten
+    long[] table = PowersOfTen.TABLE;
+    int index = (exponent - MIN_EXPONENT) * 2;
+    long powerHigh = table[index];
+    long productHigh = FloatingPointFormatter.unsignedMultiplyHigh(normalized, powerHigh);
+    long productLow = normalized * powerHigh;
+
+    // Wider approximation if the truncation error could affect the result
+    if ((productHigh & 0x1FF) == 0x1FF
+        && Long.compareUnsigned(productLow + normalized, normalized) < 0) {
+      long powerLow = table[index + 1];
+      long lowHigh = FloatingPointFormatter.unsignedMultiplyHigh(normalized, powerLow);
+      long lowLow = normalized * powerLow;
+      long mergedHigh = productHigh;
+      long mergedLow = productLow + lowHigh;
+      if (Long.compareUnsigned(mergedLow, productLow) < 0) {
+        mergedHigh++;
+      }
+      if ((mergedHigh & 0x1FF) == 0x1FF
+          && mergedLow + 1 == 0
+          && Long.compareUnsigned(lowLow + normalized, normalized) < 0) {
+        return Double.NaN;
+      }
+      productHigh = mergedHigh;
+      productLow = mergedLow;
+    }
+
+    // Shift to 54 bits
+    long msb = productHigh >>> 63;
+    long resultSignificand = productHigh >>> (msb + 9);
+    resultExponent -= 1 ^ msb;
+
+    // Value exactly halfway between two doubles, cannot decide rounding
+    if (productLow == 0 && (productHigh & 0x1FF) == 0 && (resultSignificand & 3) == 1) {
+      return Double.NaN;
+    }
+
+    // Round from 54 to 53 bits
+    resultSignificand += resultSignificand & 1;
+    resultSignificand >>>= 1;
+    if ((resultSignificand >>> 53) > 0) {
+      resultSignificand >>>= 1;
+      resultExponent++;
+    }
+    if (resultExponent <= 0 || resultExponent >= 0x7FF) {
+      // Subnormal, or infinity
+      return Double.NaN;
+    }
+    return Double.longBitsToDouble((resultExponent << 52) | (resultSignificand & ((1L << 52) - 1)));
+  }
+
+  /**
+   * Rounds the correctly rounded double {@code value} to float, returning NaN if this could differ
+   * from rounding the exact decimal value, due to double rounding.
+   */
+  private static double toFloatExactly(double value) {
+    if (Double.isNaN(value)) {
+      return value;
+    }
+    float result = (float) value;
+    if (result == 0 || Math.abs(result) >= Float.MAX_VALUE) {
+      // Underflow or overflow, let the JDK handle the boundary cases
+      return Double.NaN;
+    }
+    if (result != value) {
+      // Rounding could only differ if `value` is exactly halfway between two floats
+      float other = value > result ? Math.nextUp(result) : Math.nextDown(result);
+      if (((double) result + other) / 2 == value) {
+        return Double.NaN;
+      }
+    }
+    return result;
+  }
+}
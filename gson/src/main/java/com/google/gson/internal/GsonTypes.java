@@ -105,7 +105,13 @@ public final class GsonTypes {
    * Object#equals(Object) Object.equals()}. The returned type is {@link java.io.Serializable}.
    */
   public static Type canonicalize(Type type) {
-    if (type instanceof Class) {
+    if (type instanceof ParameterizedTypeImpl
+        || type instanceof GenericArrayTypeImpl
+        || type instanceof WildcardTypeImpl) {
+      // Already canonical, and immutable
+      return type;
+
+    } else if (type instanceof Class) {
       Class<?> c = (Class<?>) type;
       return c.isArray() ? new GenericArrayTypeImpl(canonicalize(c.getComponentType())) : c;
 
@@ -186,7 +192,15 @@ public final class GsonTypes {
         return false;
       }
 
-      // TODO: save a .clone() call
+      if (a instanceof ParameterizedTypeImpl && b instanceof ParameterizedTypeImpl) {
+        // Avoid cloning the type arguments
+        ParameterizedTypeImpl pa = (ParameterizedTypeImpl) a;
+        ParameterizedTypeImpl pb = (ParameterizedTypeImpl) b;
+        return equal(pa.ownerType, pb.ownerType)
+            && pa.rawType.equals(pb.rawType)
+            && Arrays.equals(pa.typeArguments, pb.typeArguments);
+      }
+
       ParameterizedType pa = (ParameterizedType) a;
       ParameterizedType pb = (ParameterizedType) b;
       return equal(pa.getOwnerType(), pb.getOwnerType())
@@ -339,9 +353,14 @@ public final class GsonTypes {
     return new Type[] {Object.class, Object.class};
   }
 
+  /**
+   * Resolves the type variables in {@code toResolve} using the type arguments of {@code context}.
+   *
+   * @see TypeResolutionCache
+   */
   public static Type resolve(Type context, Class<?> contextRawType, Type toResolve) {
-
-    return resolve(context, contextRawType, toResolve, new HashMap<TypeVariable<?>, Type>());
+    // The map of visited type variables is only created once a type variable is encountered
+    return resolve(context, contextRawType, toResolve, null);
   }
 
   private static Type resolve(
@@ -354,6 +373,9 @@ public final class GsonTypes {
     while (true) {
       if (toResolve instanceof TypeVariable) {
         TypeVariable<?> typeVariable = (TypeVariable<?>) toResolve;
+        if (visitedTypeVariables == null) {
+          visitedTypeVariables = new HashMap<>();
+        }
         Type previouslyResolved = visitedTypeVariables.get(typeVariable);
         if (previouslyResolved != null) {
           // cannot reduce due to infinite recursion
@@ -443,7 +465,8 @@ public final class GsonTypes {
     }
     // ensure that any in-process resolution gets updated with the final result
     if (resolving != null) {
-      visitedTypeVariables.put(resolving, toResolve);
+      // visitedTypeVariables has been created when `resolving` was encountered
+      requireNonNull(visitedTypeVariables).put(resolving, toResolve);
     }
     return toResolve;
   }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * List of {@code Integer} values which stores them in a {@code int[]} instead of as boxed objects.
+ * Used by {@link com.google.gson.GsonBuilder#enablePrimitiveCollections()}. Apart from not
+ * permitting {@code null} elements, it behaves like an {@link ArrayList}.
+ */
+@SuppressWarnings("serial") // ignore warning about missing serialVersionUID
+public final class IntArrayList extends AbstractList<Integer>
+    implements RandomAccess, Serializable {
+  private static final int[] EMPTY = {};
+
+  private int[] elements = EMPTY;
+  private int size;
+
+  public IntArrayList() {}
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+
+  private void checkPositionIndex(int index) {
+    if (index < 0 || index > size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+
+  /** Returns the element at the given index without boxing it. */
+  public int getInt(int index) {
+    checkIndex(index);
+    return elements[index];
+  }
+
+  @Override
+  public Integer get(int index) {
+    return getInt(index);
+  }
+
+  /** Appends an element without boxing it. */
+  public void addInt(int element) {
+    if (size == elements.length) {
+      elements = Arrays.copyOf(elements, Math.max(10, size + (size >> 1)));
+    }
+    elements[size++] = element;
+    modCount++;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public boolean add(Integer element) {
+    addInt(Objects.requireNonNull(element));
+    return true;
+  }
+
+  @Override
+  public void add(int index, Integer element) {
+    checkPositionIndex(index);
+    addInt(Objects.requireNonNull(element));
+    System.arraycopy(elements, index, elements, index + 1, size - 1 - index);
+    elements[index] = element;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public Integer set(int index, Integer element) {
+    checkIndex(index);
+    int old = elements[index];
+    elements[index] = Objects.requireNonNull(element);
+    return old;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public Integer remove(int index) {
+    checkIndex(index);
+    int old = elements[index];
+    System.arraycopy(elements, index + 1, elements, index, size - 1 - index);
+    size--;
+    modCount++;
+    return old;
+  }
+
+  @Override
+  public void clear() {
+    elements = EMPTY;
+    size = 0;
+    modCount++;
+  }
+
+  @Override
+  public int indexOf(Object o) {
+    if (o instanceof Integer) {
+      int value = (Integer) o;
+      for (int i = 0; i < size; i++) {
+        if (elements[i] == value) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public int lastIndexOf(Object o) {
+    if (o instanceof Integer) {
+      int value = (Integer) o;
+      for (int i = size - 1; i >= 0; i--) {
+        if (elements[i] == value) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return indexOf(o) != -1;
+  }
+
+  private Object writeReplace() throws ObjectStreamException {
+    return new ArrayList<>(this);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException {
+    // Don't permit directly deserializing this class; writeReplace() should have written a
+    // replacement
+    throw new InvalidObjectException("Deserialization is unsupported");
+  }
+}
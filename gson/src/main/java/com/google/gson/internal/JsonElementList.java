@@ -0,0 +1,550 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * {@link List} of non-null {@link JsonElement}s used by {@code JsonArray}. As long as the list only
+ * contains numbers added with {@link #addNumber(String)}, it stores them in a {@code long[]} or
+ * {@code double[]} instead of creating a {@link JsonPrimitive} for every element; the primitives
+ * are only created when elements are retrieved, and are then kept so that retrieving an element
+ * again returns the same instance. The list switches to an {@link ArrayList} of elements as soon as
+ * any other element is added or an element is replaced.
+ *
+ * <p>Retrieving elements is safe for concurrent readers, as long as the list is not modified at the
+ * same time; all readers get the same {@code JsonPrimitive} instance for an index. Once all
+ * elements have been retrieved, the list holds both the primitive values and their {@code
+ * JsonPrimitive}s, so it then uses more memory than an {@code ArrayList} would. The primitive
+ * storage is therefore mainly beneficial for large arrays of which only some elements are
+ * retrieved, or which are only serialized again.
+ *
+ * <p>A number is only stored in a primitive array if formatting the primitive value produces
+ * exactly the original string, so the retrieved {@code JsonPrimitive} is indistinguishable from the
+ * one which would have been stored otherwise.
+ *
+ * <p>Methods which only perform checks with the element argument (e.g. {@link #contains(Object)})
+ * do not throw exceptions for {@code null} arguments.
+ */
+public final class JsonElementList extends AbstractList<JsonElement> implements RandomAccess {
+  private static final long[] EMPTY_LONGS = {};
+
+  @SuppressWarnings("rawtypes") // cannot express the generic field type as class literal
+  private static final AtomicReferenceFieldUpdater<JsonElementList, AtomicReferenceArray>
+      RETRIEVED_UPDATER =
+          AtomicReferenceFieldUpdater.newUpdater(
+              JsonElementList.class, AtomicReferenceArray.class, "retrieved");
+
+  /** Largest magnitude up to which all integral values can be represented exactly as double. */
+  private static final long MAX_EXACT_DOUBLE_INTEGER = 1L << 53;
+
+  private final int initialCapacity;
+
+  // Exactly one of `elements`, `longs` and `doubles` is non-null
+
+  /** The elements if this list uses generic storage; otherwise {@code null}. */
+  private ArrayList<JsonElement> elements;
+
+  /** The values if this list only contains integral numbers; otherwise {@code null}. */
+  private long[] longs = EMPTY_LONGS;
+
+  /** The values if this list only contains floating-point numbers; otherwise {@code null}. */
+  private double[] doubles;
+
+  /**
+   * Bit set of the indices in {@link #doubles} whose value was written as integral number, for
+   * example {@code 1} instead of {@code 1.0}.
+   */
+  private long[] integralBits;
+
+  /** Number of values in {@link #longs} or {@link #doubles}. */
+  private int primitiveSize;
+
+  /**
+   * The primitives which have already been retrieved, at the index of their value; {@code null}
+   * until the first element is retrieved. Has at least the length of {@link #primitiveSize}; only
+   * methods which modify the list replace it with a larger array, {@link #get(int)} only fills it.
+   */
+  private volatile AtomicReferenceArray<JsonPrimitive> retrieved;
+
+  public JsonElementList() {
+    this.initialCapacity = 10;
+  }
+
+  /**
+   * @throws IllegalArgumentException if the {@code initialCapacity} is negative
+   */
+  public JsonElementList(int initialCapacity) {
+    if (initialCapacity < 0) {
+      throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+    }
+    this.initialCapacity = initialCapacity;
+  }
+
+  @CanIgnoreReturnValue
+  private static JsonElement nonNull(JsonElement element) {
+    if (element == null) {
+      throw new NullPointerException("Element must be non-null");
+    }
+    return element;
+  }
+
+  /** Returns the elements of this list, switching to generic storage if necessary. */
+  @CanIgnoreReturnValue
+  @SuppressWarnings("NonApiType") // ArrayList guarantees efficient random access
+  private ArrayList<JsonElement> elements() {
+    if (elements == null) {
+      int size = primitiveSize;
+      ArrayList<JsonElement> elements = new ArrayList<>(Math.max(initialCapacity, size));
+      for (int i = 0; i < size; i++) {
+        elements.add(get(i));
+      }
+      this.elements = elements;
+      longs = null;
+      doubles = null;
+      integralBits = null;
+      primitiveSize = 0;
+      retrieved = null;
+    }
+    return elements;
+  }
+
+  private void checkPrimitiveIndex(int index) {
+    if (index < 0 || index >= primitiveSize) {
+      throw new IndexOutOfBoundsException(
+          "Index " + index + " out of bounds for length " + primitiveSize);
+    }
+  }
+
+  @Override
+  public JsonElement get(int index) {
+    if (elements != null) {
+      return elements.get(index);
+    }
+    checkPrimitiveIndex(index);
+    AtomicReferenceArray<JsonPrimitive> retrieved = this.retrieved;
+    if (retrieved == null) {
+      int capacity = longs != null ? longs.length : doubles.length;
+      // Another thread may have created the array concurrently; all threads must use the same one
+      RETRIEVED_UPDATER.compareAndSet(
+          this, null, new AtomicReferenceArray<JsonPrimitive>(capacity));
+      retrieved = this.retrieved;
+    } else {
+      JsonPrimitive primitive = retrieved.get(index);
+      if (primitive != null) {
+        return primitive;
+      }
+    }
+
+    String number;
+    if (longs != null) {
+      number = Long.toString(longs[index]);
+    } else if (isIntegral(index)) {
+      number = Long.toString((long) doubles[index]);
+    } else {
+      char[] buffer = new char[FloatingPointFormatter.MAX_LENGTH];
+      number = new String(buffer, 0, FloatingPointFormatter.format(doubles[index], buffer));
+    }
+    JsonPrimitive primitive = new JsonPrimitive(new LazilyParsedNumber(number));
+    if (!retrieved.compareAndSet(index, null, primitive)) {
+      // Another thread has retrieved the element concurrently
+      primitive = retrieved.get(index);
+    }
+    return primitive;
+  }
+
+  /** Makes sure that {@link #retrieved}, if it exists, can hold {@code capacity} elements. */
+  private void ensureRetrievedCapacity(int capacity) {
+    AtomicReferenceArray<JsonPrimitive> retrieved = this.retrieved;
+    if (retrieved != null && retrieved.length() < capacity) {
+      AtomicReferenceArray<JsonPrimitive> newRetrieved = new AtomicReferenceArray<>(capacity);
+      for (int i = 0; i < primitiveSize; i++) {
+        newRetrieved.set(i, retrieved.get(i));
+      }
+      this.retrieved = newRetrieved;
+    }
+  }
+
+  @Override
+  public int size() {
+    return elements != null ? elements.size() : primitiveSize;
+  }
+
+  /**
+   * Adds a JSON number with the given string representation, which is equivalent to adding a {@code
+   * JsonPrimitive} wrapping a {@link LazilyParsedNumber}, but avoids creating that element if the
+   * number can be stored as primitive value.
+   */
+  public void addNumber(String number) {
+    if (elements == null) {
+      if (isCanonicalLong(number)) {
+        long value = Long.parseLong(number);
+        if (longs != null) {
+          addLong(value);
+          return;
+        } else if (-MAX_EXACT_DOUBLE_INTEGER <= value && value <= MAX_EXACT_DOUBLE_INTEGER) {
+          addDouble((double) value, true);
+          return;
+        }
+      } else if (isCanonicalDouble(number)) {
+        if (longs != null) {
+          switchToDoubles();
+        }
+        if (doubles != null) {
+          addDouble(Double.parseDouble(number), false);
+          return;
+        }
+      }
+    }
+    add(new JsonPrimitive(new LazilyParsedNumber(number)));
+  }
+
+  /**
+   * Whether {@code s} is the result of {@link Long#toString(long)} for some value; assumes that
+   * {@code s} is a JSON number.
+   */
+  private static boolean isCanonicalLong(String s) {
+    int length = s.length();
+    int start = s.startsWith("-") ? 1 : 0;
+    int digits = length - start;
+    if (digits == 0 || digits > 19) {
+      return false;
+    }
+    if (s.charAt(start) == '0') {
+      // Only "0", but not "-0" or leading zeros
+      return length == 1;
+    }
+    for (int i = start; i < length; i++) {
+      char c = s.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    if (digits == 19) {
+      // Strings of the same length compare like the numbers they represent
+      String limit = start == 0 ? "9223372036854775807" : "9223372036854775808";
+      return s.substring(start).compareTo(limit) <= 0;
+    }
+    return true;
+  }
+
+  /**
+   * Whether {@code s} is the result of {@link FloatingPointFormatter#format(double, char[])}.
+   *
+   * <p>Most numbers are checked without parsing them: a decimal with at most 15 significant digits
+   * in the normal range of {@code double} is the shortest decimal for the value it parses to, so it
+   * only has to have the layout of {@link Double#toString(double)}. Only numbers with more digits
+   * or close to the limits of the range are parsed and formatted again.
+   */
+  private static boolean isCanonicalDouble(String s) {
+    int length = s.length();
+    if (length == 0 || length > FloatingPointFormatter.MAX_LENGTH) {
+      return false;
+    }
+    int integerStart = s.charAt(0) == '-' ? 1 : 0;
+    int i = skipDigits(s, integerStart);
+    int integerDigits = i - integerStart;
+    if (integerDigits == 0
+        || (integerDigits > 1 && s.charAt(integerStart) == '0')
+        || i == length
+        || s.charAt(i) != '.') {
+      return false;
+    }
+    int fractionStart = i + 1;
+    i = skipDigits(s, fractionStart);
+    int fractionDigits = i - fractionStart;
+    // Only a fraction of "0" may end with a zero
+    if (fractionDigits == 0 || (fractionDigits > 1 && s.charAt(i - 1) == '0')) {
+      return false;
+    }
+
+    int significantDigits;
+    if (i == length) {
+      // Plain layout, used for zero and for magnitudes in [1e-3, 1e7)
+      if (integerDigits > 7) {
+        return false;
+      }
+      if (s.charAt(integerStart) != '0') {
+        significantDigits = integerDigits + fractionDigits;
+      } else {
+        int leadingZeros = 0;
+        while (leadingZeros < fractionDigits && s.charAt(fractionStart + leadingZeros) == '0') {
+          leadingZeros++;
+        }
+        if (leadingZeros == fractionDigits) {
+          // "0.0" or "-0.0"
+          return true;
+        }
+        if (leadingZeros > 2) {
+          return false;
+        }
+        significantDigits = fractionDigits - leadingZeros;
+      }
+    } else {
+      // Computerized scientific notation, used for all other magnitudes
+      if (integerDigits != 1 || s.charAt(integerStart) == '0' || s.charAt(i) != 'E') {
+        return false;
+      }
+      i++;
+      boolean isNegativeExponent = i < length && s.charAt(i) == '-';
+      int exponentStart = isNegativeExponent ? i + 1 : i;
+      i = skipDigits(s, exponentStart);
+      int exponentDigits = i - exponentStart;
+      if (i != length
+          || exponentDigits == 0
+          || exponentDigits > 3
+          || s.charAt(exponentStart) == '0') {
+        return false;
+      }
+      int exponent = 0;
+      for (int j = exponentStart; j < length; j++) {
+        exponent = exponent * 10 + (s.charAt(j) - '0');
+      }
+      if (isNegativeExponent) {
+        exponent = -exponent;
+      }
+      if (-3 <= exponent && exponent < 7) {
+        return false;
+      }
+      if (exponent < -307 || exponent > 307) {
+        return formatsIdentically(s);
+      }
+      significantDigits = 1 + fractionDigits;
+    }
+    return significantDigits <= 15 || formatsIdentically(s);
+  }
+
+  private static int skipDigits(String s, int index) {
+    int length = s.length();
+    while (index < length && s.charAt(index) >= '0' && s.charAt(index) <= '9') {
+      index++;
+    }
+    return index;
+  }
+
+  /** Whether formatting the value of {@code s} produces exactly {@code s}. */
+  private static boolean formatsIdentically(String s) {
+    double value;
+    try {
+      value = Double.parseDouble(s);
+    } catch (NumberFormatException ignored) {
+      return false;
+    }
+    char[] buffer = new char[FloatingPointFormatter.MAX_LENGTH];
+    int length = s.length();
+    if (FloatingPointFormatter.format(value, buffer) != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (buffer[i] != s.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void addLong(long value) {
+    if (primitiveSize == longs.length) {
+      longs = Arrays.copyOf(longs, newCapacity(longs.length));
+      ensureRetrievedCapacity(longs.length);
+    }
+    longs[primitiveSize++] = value;
+    modCount++;
+  }
+
+  private void addDouble(double value, boolean isIntegral) {
+    if (primitiveSize == doubles.length) {
+      doubles = Arrays.copyOf(doubles, newCapacity(doubles.length));
+      integralBits = Arrays.copyOf(integralBits, (doubles.length + 63) >> 6);
+      ensureRetrievedCapacity(doubles.length);
+    }
+    setIntegral(primitiveSize, isIntegral);
+    doubles[primitiveSize++] = value;
+    modCount++;
+  }
+
+  private int newCapacity(int capacity) {
+    return Math.max(capacity + (capacity >> 1) + 1, initialCapacity);
+  }
+
+  /**
+   * Converts the stored {@code long} values to {@code double}, or switches to generic storage if
+   * some of them cannot be represented exactly.
+   */
+  private void switchToDoubles() {
+    long[] longs = this.longs;
+    int size = primitiveSize;
+    for (int i = 0; i < size; i++) {
+      long value = longs[i];
+      if (value < -MAX_EXACT_DOUBLE_INTEGER || value > MAX_EXACT_DOUBLE_INTEGER) {
+        elements();
+        return;
+      }
+    }
+
+    double[] doubles = new double[Math.max(longs.length, 1)];
+    long[] integralBits = new long[(doubles.length + 63) >> 6];
+    for (int i = 0; i < size; i++) {
+      doubles[i] = (double) longs[i];
+    }
+    // All values so far were integral
+    Arrays.fill(integralBits, 0, size >> 6, -1L);
+    if ((size & 63) != 0) {
+      integralBits[size >> 6] = (1L << size) - 1;
+    }
+    this.doubles = doubles;
+    this.integralBits = integralBits;
+    this.longs = null;
+  }
+
+  private boolean isIntegral(int index) {
+    return (integralBits[index >> 6] & (1L << index)) != 0;
+  }
+
+  private void setIntegral(int index, boolean isIntegral) {
+    if (isIntegral) {
+      integralBits[index >> 6] |= 1L << index;
+    } else {
+      integralBits[index >> 6] &= ~(1L << index);
+    }
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public JsonElement set(int index, JsonElement element) {
+    return elements().set(index, nonNull(element));
+  }
+
+  @Override
+  public void add(int index, JsonElement element) {
+    elements().add(index, nonNull(element));
+    modCount++;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public JsonElement remove(int index) {
+    if (elements != null) {
+      modCount++;
+      return elements.remove(index);
+    }
+
+    JsonElement removed = get(index);
+    int size = primitiveSize;
+    if (longs != null) {
+      System.arraycopy(longs, index + 1, longs, index, size - index - 1);
+    } else {
+      System.arraycopy(doubles, index + 1, doubles, index, size - index - 1);
+      for (int i = index; i < size - 1; i++) {
+        setIntegral(i, isIntegral(i + 1));
+      }
+    }
+    // `get` has created `retrieved`
+    AtomicReferenceArray<JsonPrimitive> retrieved = this.retrieved;
+    for (int i = index; i < size - 1; i++) {
+      retrieved.set(i, retrieved.get(i + 1));
+    }
+    retrieved.set(size - 1, null);
+    primitiveSize--;
+    modCount++;
+    return removed;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public boolean addAll(Collection<? extends JsonElement> c) {
+    return addAll(size(), c);
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public boolean addAll(int index, Collection<? extends JsonElement> c) {
+    if (index < 0 || index > size()) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+    // Copies the elements first, `c` might be this list
+    JsonElement[] added = c.toArray(new JsonElement[0]);
+    for (JsonElement element : added) {
+      nonNull(element);
+    }
+    if (added.length == 0) {
+      return false;
+    }
+    elements().addAll(index, Arrays.asList(added));
+    modCount++;
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    if (elements != null) {
+      elements.clear();
+    } else {
+      primitiveSize = 0;
+      retrieved = null;
+    }
+    modCount++;
+  }
+
+  /** Creates a list containing deep copies of the elements of this list. */
+  public JsonElementList deepCopy() {
+    JsonElementList copy = new JsonElementList(size());
+    if (elements != null) {
+      ArrayList<JsonElement> copiedElements = new ArrayList<>(elements.size());
+      for (JsonElement element : elements) {
+        copiedElements.add(element.deepCopy());
+      }
+      copy.elements = copiedElements;
+      copy.longs = null;
+    } else if (longs != null) {
+      copy.longs = Arrays.copyOf(longs, primitiveSize);
+    } else {
+      copy.longs = null;
+      copy.doubles = Arrays.copyOf(doubles, primitiveSize);
+      copy.integralBits = Arrays.copyOf(integralBits, (primitiveSize + 63) >> 6);
+    }
+    copy.primitiveSize = primitiveSize;
+    return copy;
+  }
+
+  /* The following methods are overridden because their default implementation is inefficient */
+
+  @Override
+  public boolean contains(Object o) {
+    return indexOf(o) >= 0;
+  }
+
+  @Override
+  public int indexOf(Object o) {
+    return elements != null ? elements.indexOf(o) : super.indexOf(o);
+  }
+
+  @Override
+  public int lastIndexOf(Object o) {
+    return elements != null ? elements.lastIndexOf(o) : super.lastIndexOf(o);
+  }
+}
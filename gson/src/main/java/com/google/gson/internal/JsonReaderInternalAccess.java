@@ -28,4 +28,29 @@ public abstract class JsonReaderInternalAccess {
 
   /** Changes the type of the current property name token to a string value. */
   public abstract void promoteNameToValue(JsonReader reader) throws IOException;
+
+  /**
+   * Implemented by {@link JsonReader} subclasses which do not read from the buffer of {@code
+   * JsonReader} itself, such as {@link com.google.gson.internal.bind.JsonTreeReader}, to support
+   * {@link #promoteNameToValue(JsonReader)}.
+   */
+  public interface NamePromotingReader {
+    /** Changes the type of the current property name token to a string value. */
+    void promoteNameToValue() throws IOException;
+  }
+
+  /**
+   * Consumes the next property name like {@link JsonReader#nextName()}, and returns its index in
+   * {@code matcher}, or -1 if it is not one of its names. Avoids creating a {@code String} for
+   * known names where possible.
+   */
+  public abstract int nextNameIndex(JsonReader reader, FieldNameMatcher matcher) throws IOException;
+
+  /**
+   * Consumes the next value like {@link JsonReader#skipValue()}, and returns its exact source text.
+   * For readers which do not read from a source text, such as the one used by {@link
+   * com.google.gson.Gson#fromJson(com.google.gson.JsonElement, Class)}, the value is read as a
+   * {@code JsonElement} whose JSON representation is returned instead.
+   */
+  public abstract String nextRawValue(JsonReader reader) throws IOException;
 }
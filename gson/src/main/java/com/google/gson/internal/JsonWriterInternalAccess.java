@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/** Internal-only APIs of JsonWriter available only to other classes in Gson. */
+public abstract class JsonWriterInternalAccess {
+  // Suppress warnings because field is initialized by `JsonWriter` class during class loading
+  // (and therefore should be thread-safe), and any usage appears after `JsonWriter` was loaded
+  @SuppressWarnings({"ConstantField", "NonFinalStaticField"})
+  public static volatile JsonWriterInternalAccess INSTANCE;
+
+  /**
+   * Returns {@code name} as quoted JSON string, escaped the same way {@link JsonWriter} escapes
+   * property names, depending on whether the writer is {@linkplain JsonWriter#setHtmlSafe(boolean)
+   * HTML-safe}.
+   */
+  public abstract String quoteName(String name, boolean htmlSafe);
+
+  /**
+   * Encodes the property name {@code name}, like {@link JsonWriter#name(String)} does, but writes
+   * the given quoted form (previously obtained from {@link #quoteName(String, boolean)}) instead of
+   * escaping the name again.
+   */
+  public abstract void quotedName(
+      JsonWriter writer, String name, String quotedName, String htmlSafeQuotedName)
+      throws IOException;
+
+  /**
+   * Writes a line break after the complete top-level value which has just been written, and
+   * prepares {@code writer} for writing the next top-level value as a separate JSON document,
+   * regardless of the strictness of the writer. Used for writing JSON Lines.
+   *
+   * @throws IllegalStateException if the top-level value is incomplete or missing
+   */
+  public abstract void newDocumentLine(JsonWriter writer) throws IOException;
+}
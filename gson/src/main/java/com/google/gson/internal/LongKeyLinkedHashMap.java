@@ -0,0 +1,394 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A map with {@code Long} keys which uses insertion order for iteration order, like a {@link
+ * LinkedHashMap}. Used by {@link com.google.gson.GsonBuilder#enablePrimitiveCollections()}.
+ *
+ * <p>The entries are stored in insertion order in a {@code long[]} of keys and an array of values,
+ * and keys are looked up in an open-addressing hash table of entry indices. Compared to {@code
+ * LinkedHashMap} this avoids an entry node and a boxed key for every entry. Removed entries leave a
+ * gap which is reclaimed the next time the arrays are full.
+ */
+@SuppressWarnings("serial") // ignore warning about missing serialVersionUID
+public final class LongKeyLinkedHashMap<V> extends AbstractMap<Long, V> implements Serializable {
+  private static final long[] EMPTY_KEYS = {};
+  private static final Object[] EMPTY_VALUES = {};
+  private static final int[] EMPTY_TABLE = {};
+
+  /** Marker in {@link #values} for a removed entry. */
+  private static final Object REMOVED = new Object();
+
+  /** Marker in {@link #table} for the slot of a removed entry. */
+  private static final int DELETED = -1;
+
+  private long[] keys = EMPTY_KEYS;
+  private Object[] values = EMPTY_VALUES;
+
+  /** Number of used entry indices, including removed entries. */
+  private int entryCount;
+
+  private int size;
+
+  /**
+   * Hash table whose length is a power of two, and at least twice the length of {@link #keys}.
+   * Contains the entry index + 1, 0 for a free slot, or {@link #DELETED}.
+   */
+  private int[] table = EMPTY_TABLE;
+
+  /** Entry index of the {@code null} key, which is not part of the hash table; -1 if none. */
+  private int nullKeyIndex = -1;
+
+  private int modCount;
+
+  public LongKeyLinkedHashMap() {}
+
+  private static int hash(long key) {
+    int h = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /** Returns the slot in {@link #table} of the entry with the given key, or -1 if there is none. */
+  private int findSlot(long key) {
+    int[] table = this.table;
+    if (table.length == 0) {
+      return -1;
+    }
+    int mask = table.length - 1;
+    for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+      int entry = table[slot];
+      if (entry == 0) {
+        return -1;
+      }
+      if (entry > 0 && keys[entry - 1] == key) {
+        return slot;
+      }
+    }
+  }
+
+  /** Returns the entry index for the given key, or -1 if there is none. */
+  private int findEntry(Object key) {
+    if (key == null) {
+      return nullKeyIndex;
+    }
+    if (!(key instanceof Long)) {
+      return -1;
+    }
+    int slot = findSlot((Long) key);
+    return slot == -1 ? -1 : table[slot] - 1;
+  }
+
+  private void insertIntoTable(long key, int entryIndex) {
+    int mask = table.length - 1;
+    int slot = hash(key) & mask;
+    while (table[slot] != 0) {
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = entryIndex + 1;
+  }
+
+  /**
+   * Moves the live entries to the start of the arrays, grows them if necessary to have space for
+   * another entry, and rebuilds the hash table.
+   */
+  private void rebuild() {
+    int capacity = size < entryCount ? keys.length : Math.max(8, entryCount + (entryCount >> 1));
+    long[] newKeys = new long[capacity];
+    Object[] newValues = new Object[capacity];
+    int[] newTable = new int[Integer.highestOneBit(capacity) * 4];
+    int newNullKeyIndex = -1;
+    int count = 0;
+    for (int i = 0; i < entryCount; i++) {
+      Object value = values[i];
+      if (value == REMOVED) {
+        continue;
+      }
+      newKeys[count] = keys[i];
+      newValues[count] = value;
+      if (i == nullKeyIndex) {
+        newNullKeyIndex = count;
+      }
+      count++;
+    }
+    keys = newKeys;
+    values = newValues;
+    table = newTable;
+    nullKeyIndex = newNullKeyIndex;
+    entryCount = count;
+    for (int i = 0; i < count; i++) {
+      if (i != newNullKeyIndex) {
+        insertIntoTable(newKeys[i], i);
+      }
+    }
+  }
+
+  private int appendEntry(long key, V value) {
+    if (entryCount == keys.length) {
+      rebuild();
+    }
+    int index = entryCount++;
+    keys[index] = key;
+    values[index] = value;
+    size++;
+    modCount++;
+    return index;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return findEntry(key) != -1;
+  }
+
+  @Override
+  public V get(Object key) {
+    int index = findEntry(key);
+    return index == -1 ? null : valueAt(index);
+  }
+
+  @SuppressWarnings("unchecked")
+  private V valueAt(int index) {
+    return (V) values[index];
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public V put(Long key, V value) {
+    int index = findEntry(key);
+    if (index != -1) {
+      V old = valueAt(index);
+      values[index] = value;
+      return old;
+    }
+
+    if (key == null) {
+      nullKeyIndex = appendEntry(0, value);
+    } else {
+      long k = key;
+      insertIntoTable(k, appendEntry(k, value));
+    }
+    return null;
+  }
+
+  /** Removes the entry at the given index; the caller has to remove it from the hash table. */
+  @CanIgnoreReturnValue
+  private V removeEntry(int index) {
+    V old = valueAt(index);
+    values[index] = REMOVED;
+    size--;
+    modCount++;
+    return old;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public V remove(Object key) {
+    if (key == null) {
+      if (nullKeyIndex == -1) {
+        return null;
+      }
+      int index = nullKeyIndex;
+      nullKeyIndex = -1;
+      return removeEntry(index);
+    }
+    if (!(key instanceof Long)) {
+      return null;
+    }
+    int slot = findSlot((Long) key);
+    if (slot == -1) {
+      return null;
+    }
+    int index = table[slot] - 1;
+    table[slot] = DELETED;
+    return removeEntry(index);
+  }
+
+  private void removeAt(int index) {
+    if (index == nullKeyIndex) {
+      nullKeyIndex = -1;
+    } else {
+      table[findSlot(keys[index])] = DELETED;
+    }
+    removeEntry(index);
+  }
+
+  @Override
+  public void clear() {
+    keys = EMPTY_KEYS;
+    values = EMPTY_VALUES;
+    table = EMPTY_TABLE;
+    entryCount = 0;
+    size = 0;
+    nullKeyIndex = -1;
+    modCount++;
+  }
+
+  private EntrySet entrySet;
+
+  @Override
+  public Set<Map.Entry<Long, V>> entrySet() {
+    EntrySet result = entrySet;
+    if (result == null) {
+      result = new EntrySet();
+      entrySet = result;
+    }
+    return result;
+  }
+
+  private final class EntrySet extends AbstractSet<Map.Entry<Long, V>> {
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Long, V>> iterator() {
+      return new Iterator<Map.Entry<Long, V>>() {
+        /** Index of the next entry to check. */
+        int nextIndex = 0;
+
+        int lastReturned = -1;
+        int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+          if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+          }
+          while (nextIndex < entryCount && values[nextIndex] == REMOVED) {
+            nextIndex++;
+          }
+          return nextIndex < entryCount;
+        }
+
+        @Override
+        public Map.Entry<Long, V> next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          lastReturned = nextIndex++;
+          return new EntryImpl(lastReturned, expectedModCount);
+        }
+
+        @Override
+        public void remove() {
+          if (lastReturned == -1) {
+            throw new IllegalStateException();
+          }
+          if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+          }
+          removeAt(lastReturned);
+          lastReturned = -1;
+          expectedModCount = modCount;
+        }
+      };
+    }
+
+    @Override
+    public void clear() {
+      LongKeyLinkedHashMap.this.clear();
+    }
+  }
+
+  private final class EntryImpl implements Map.Entry<Long, V> {
+    private final int index;
+    private final Long key;
+
+    /** Mod count when the entry was created; afterwards {@link #index} might be stale. */
+    private final int expectedModCount;
+
+    EntryImpl(int index, int expectedModCount) {
+      this.index = index;
+      this.key = index == nullKeyIndex ? null : keys[index];
+      this.expectedModCount = expectedModCount;
+    }
+
+    @Override
+    public Long getKey() {
+      return key;
+    }
+
+    @Override
+    public V getValue() {
+      return modCount == expectedModCount ? valueAt(index) : get(key);
+    }
+
+    @Override
+    public V setValue(V value) {
+      if (modCount == expectedModCount) {
+        V old = valueAt(index);
+        values[index] = value;
+        return old;
+      }
+      if (!containsKey(key)) {
+        throw new IllegalStateException("Entry has been removed");
+      }
+      return put(key, value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+      return Objects.equals(key, other.getKey()) && Objects.equals(getValue(), other.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(key) ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + getValue();
+    }
+  }
+
+  private Object writeReplace() throws ObjectStreamException {
+    return new LinkedHashMap<>(this);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException {
+    // Don't permit directly deserializing this class; writeReplace() should have written a
+    // replacement
+    throw new InvalidObjectException("Deserialization is unsupported");
+  }
+}
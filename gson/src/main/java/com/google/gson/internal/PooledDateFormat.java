@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe wrapper for a {@link DateFormat}. JDK {@code DateFormat} classes are not thread-safe,
+ * so instead of synchronizing every usage of a shared instance, each usage borrows a copy of the
+ * format from a small lock-free pool and returns it afterwards. This avoids lock contention when
+ * dates are serialized and deserialized concurrently, without keeping a copy per thread, which
+ * would be wasteful for short-lived threads. The copies have the same configuration, including the
+ * time zone and locale, so the results are identical to using the original format. A new copy is
+ * only created when all pooled copies are in use at the same time.
+ *
+ * <p>Instances are shared by all users of equal formats, see {@link #of(DateFormat)}.
+ */
+public final class PooledDateFormat {
+  private static final int POOL_SIZE = 8;
+
+  /** Maximum number of shared instances; further formats get their own instance. */
+  private static final int MAX_SHARED_COUNT = 64;
+
+  /**
+   * Shared instances, keyed by the format and its calendar class; {@code DateFormat.equals}
+   * compares the pattern, symbols, time zone and number format, but not the calendar type.
+   */
+  private static final ConcurrentMap<List<Object>, PooledDateFormat> SHARED =
+      new ConcurrentHashMap<>();
+
+  /** Prototype for the pooled copies; never used directly for formatting or parsing. */
+  private final DateFormat prototype;
+
+  private final AtomicReferenceArray<DateFormat> pool = new AtomicReferenceArray<>(POOL_SIZE);
+
+  private PooledDateFormat(DateFormat prototype) {
+    this.prototype = prototype;
+  }
+
+  /**
+   * Returns the instance for the given format, which is shared with all other callers using an
+   * equal format, for example the date adapters of different {@code Gson} instances with the same
+   * date pattern.
+   *
+   * @param format the format to use; it is copied, so later modifications to it have no effect
+   */
+  public static PooledDateFormat of(DateFormat format) {
+    DateFormat prototype = (DateFormat) format.clone();
+    List<Object> key = Arrays.asList(prototype, prototype.getCalendar().getClass());
+    PooledDateFormat shared = SHARED.get(key);
+    if (shared != null) {
+      return shared;
+    }
+    PooledDateFormat created = new PooledDateFormat(prototype);
+    if (SHARED.size() >= MAX_SHARED_COUNT) {
+      return created;
+    }
+    shared = SHARED.putIfAbsent(key, created);
+    return shared != null ? shared : created;
+  }
+
+  /** Returns a copy of the underlying format, for example to obtain its pattern. */
+  public DateFormat getFormat() {
+    return (DateFormat) prototype.clone();
+  }
+
+  private static int poolSlot() {
+    return System.identityHashCode(Thread.currentThread()) & (POOL_SIZE - 1);
+  }
+
+  /**
+   * Takes a copy from the pool, starting at the slot of the current thread. A new copy is only
+   * created if all pooled copies are in use.
+   */
+  private DateFormat acquire(int slot) {
+    for (int i = 0; i < POOL_SIZE; i++) {
+      int index = (slot + i) & (POOL_SIZE - 1);
+      // Check first to avoid writes for empty slots
+      if (pool.get(index) != null) {
+        DateFormat pooled = pool.getAndSet(index, null);
+        if (pooled != null) {
+          return pooled;
+        }
+      }
+    }
+    return (DateFormat) prototype.clone();
+  }
+
+  /**
+   * Returns a copy to the first free slot, starting at the slot of the current thread; if the pool
+   * is full, the copy is discarded.
+   */
+  private void release(int slot, DateFormat format) {
+    for (int i = 0; i < POOL_SIZE; i++) {
+      if (pool.compareAndSet((slot + i) & (POOL_SIZE - 1), null, format)) {
+        return;
+      }
+    }
+  }
+
+  public String format(Date date) {
+    int slot = poolSlot();
+    DateFormat format = acquire(slot);
+    String result = format.format(date);
+    release(slot, format);
+    return result;
+  }
+
+  /**
+   * Parses the date. The time zone of the format is restored afterwards, since {@code
+   * DateFormat.parse} overwrites it if the string contains a time zone.
+   */
+  public Date parse(String s) throws ParseException {
+    int slot = poolSlot();
+    DateFormat format = acquire(slot);
+    TimeZone originalTimeZone = format.getTimeZone();
+    try {
+      return format.parse(s);
+    } finally {
+      format.setTimeZone(originalTimeZone);
+      release(slot, format);
+    }
+  }
+}
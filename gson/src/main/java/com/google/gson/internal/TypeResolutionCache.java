@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache for {@link GsonTypes#resolve(Type, Class, Type)}, keyed on the context type and the type to
+ * resolve. The resolved types are {@linkplain GsonTypes#canonicalize(Type) canonicalized} and
+ * interned, so that equal types share the same instance; this also makes comparing them cheaper,
+ * for example for lookups of the {@link com.google.gson.reflect.TypeToken} in Gson's adapter cache.
+ *
+ * <p>The cache is not shared globally, but belongs to a {@code Gson} instance, to avoid keeping
+ * classes of unrelated class loaders reachable.
+ */
+public final class TypeResolutionCache {
+  /** Maps context type &rarr; type to resolve &rarr; resolved type */
+  private final ConcurrentMap<Type, ConcurrentMap<Type, Type>> resolvedTypes =
+      new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<Type, Type> internedTypes = new ConcurrentHashMap<>();
+
+  public TypeResolutionCache() {}
+
+  /**
+   * Resolves {@code toResolve} like {@link GsonTypes#resolve(Type, Class, Type)}, and returns the
+   * interned result.
+   *
+   * @param contextRawType the raw type of {@code context}; it is not part of the cache key
+   */
+  public Type resolve(Type context, Class<?> contextRawType, Type toResolve) {
+    if (toResolve instanceof Class && !((Class<?>) toResolve).isArray()) {
+      // Nothing to resolve
+      return toResolve;
+    }
+
+    ConcurrentMap<Type, Type> contextResolvedTypes = resolvedTypes.get(context);
+    if (contextResolvedTypes == null) {
+      contextResolvedTypes = new ConcurrentHashMap<>();
+      ConcurrentMap<Type, Type> existing = resolvedTypes.putIfAbsent(context, contextResolvedTypes);
+      if (existing != null) {
+        contextResolvedTypes = existing;
+      }
+    }
+
+    Type resolved = contextResolvedTypes.get(toResolve);
+    if (resolved == null) {
+      resolved = intern(GsonTypes.resolve(context, contextRawType, toResolve));
+      // Concurrent resolution creates equal types; interning ensures that they are the same
+      // instance, so it does not matter which one is stored
+      contextResolvedTypes.put(toResolve, resolved);
+    }
+    return resolved;
+  }
+
+  /**
+   * Returns the canonical form of {@code type}, using the same instance for types which are equal.
+   */
+  public Type intern(Type type) {
+    if (type instanceof Class && !((Class<?>) type).isArray()) {
+      return type;
+    }
+    Type canonical = GsonTypes.canonicalize(type);
+    Type existing = internedTypes.putIfAbsent(canonical, canonical);
+    return existing != null ? existing : canonical;
+  }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * {@link Reader} which decodes UTF-8 bytes directly into the char buffer of the caller.
+ *
+ * <p>Compared to {@link java.io.InputStreamReader} this avoids the intermediate {@code CharBuffer}
+ * and {@code CharsetDecoder} layers, the internal lock and, for {@code byte[]} and heap {@link
+ * ByteBuffer} sources, any copying of the input. Runs of ASCII characters, which make up the
+ * structural characters and most of the content of typical JSON documents, are decoded by a tight
+ * loop without any further branching.
+ *
+ * <p>Malformed input is replaced with {@code U+FFFD}, one replacement character per maximal subpart
+ * of an ill-formed sequence, the same way {@code InputStreamReader} handles it.
+ *
+ * <p>Instances of this class are not thread-safe.
+ */
+public final class Utf8Reader extends Reader {
+  private static final char REPLACEMENT_CHAR = '\uFFFD';
+  private static final int BUFFER_SIZE = 8192;
+
+  /** The stream to read from; {@code null} if all bytes are available up front. */
+  private final InputStream in;
+
+  /** A direct or read-only buffer which is copied chunk-wise; {@code null} otherwise. */
+  private final ByteBuffer source;
+
+  private byte[] buffer;
+  private int pos;
+  private int limit;
+
+  /**
+   * The low surrogate of a supplementary code point whose high surrogate did not fit into the
+   * buffer of the caller anymore, or {@code 0} if there is none.
+   */
+  private char pendingLowSurrogate;
+
+  /** Creates a reader which decodes the UTF-8 bytes of {@code in}. */
+  public Utf8Reader(InputStream in) {
+    this.in = Objects.requireNonNull(in, "in == null");
+    this.source = null;
+    this.buffer = new byte[BUFFER_SIZE];
+  }
+
+  /**
+   * Creates a reader which decodes {@code length} bytes of {@code bytes} starting at {@code off}.
+   */
+  public Utf8Reader(byte[] bytes, int off, int length) {
+    Objects.requireNonNull(bytes, "bytes == null");
+    if (off < 0 || length < 0 || length > bytes.length - off) {
+      throw new IndexOutOfBoundsException(
+          "off=" + off + ", length=" + length + ", array length=" + bytes.length);
+    }
+    this.in = null;
+    this.source = null;
+    this.buffer = bytes;
+    this.pos = off;
+    this.limit = off + length;
+  }
+
+  /**
+   * Creates a reader which decodes the {@linkplain ByteBuffer#remaining() remaining} bytes of
+   * {@code bytes}. The position of {@code bytes} is not modified.
+   */
+  public Utf8Reader(ByteBuffer bytes) {
+    Objects.requireNonNull(bytes, "bytes == null");
+    this.in = null;
+    if (bytes.hasArray()) {
+      this.source = null;
+      this.buffer = bytes.array();
+      this.pos = bytes.arrayOffset() + bytes.position();
+      this.limit = pos + bytes.remaining();
+    } else {
+      this.source = bytes.duplicate();
+      this.buffer = new byte[Math.min(BUFFER_SIZE, Math.max(bytes.remaining(), 4))];
+    }
+  }
+
+  @Override
+  public int read(char[] cbuf, int off, int len) throws IOException {
+    if (off < 0 || len < 0 || len > cbuf.length - off) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (buffer == null) {
+      throw new IOException("Reader is closed");
+    }
+    if (len == 0) {
+      return 0;
+    }
+
+    int o = off;
+    int end = off + len;
+    if (pendingLowSurrogate != 0) {
+      cbuf[o++] = pendingLowSurrogate;
+      pendingLowSurrogate = 0;
+    }
+
+    while (o < end) {
+      // Like JsonReader, this uses locals 'p' and 'l' to save inner-loop field access
+      byte[] buffer = this.buffer;
+      int p = pos;
+      int l = limit;
+
+      int asciiEnd = Math.min(l, p + (end - o));
+      while (p < asciiEnd) {
+        byte b = buffer[p];
+        if (b < 0) {
+          break;
+        }
+        cbuf[o++] = (char) b;
+        p++;
+      }
+      pos = p;
+
+      if (o == end) {
+        break;
+      }
+      if (p == l) {
+        // Don't block waiting for more data if some chars can already be returned
+        if (o > off && in != null) {
+          break;
+        }
+        if (!fillBuffer(1)) {
+          break;
+        }
+        continue;
+      }
+
+      int b0 = buffer[p] & 0xFF;
+      int needed;
+      if (b0 >= 0xC2 && b0 <= 0xDF) {
+        needed = 2;
+      } else if (b0 >= 0xE0 && b0 <= 0xEF) {
+        needed = 3;
+      } else if (b0 >= 0xF0 && b0 <= 0xF4) {
+        needed = 4;
+      } else {
+        // Continuation byte without lead byte, or lead byte which is never valid
+        cbuf[o++] = REPLACEMENT_CHAR;
+        pos = p + 1;
+        continue;
+      }
+
+      if (l - p < needed) {
+        // Ignore the result; an incomplete sequence at the end of the input is replaced below
+        boolean unused = fillBuffer(needed);
+        buffer = this.buffer;
+        p = pos;
+        l = limit;
+      }
+
+      int available = l - p;
+      int b1 = available > 1 ? buffer[p + 1] & 0xFF : -1;
+      if (needed == 2) {
+        if (isContinuation(b1)) {
+          cbuf[o++] = (char) (((b0 & 0x1F) << 6) | (b1 & 0x3F));
+          pos = p + 2;
+        } else {
+          cbuf[o++] = REPLACEMENT_CHAR;
+          pos = p + 1;
+        }
+        continue;
+      }
+
+      // Reject overlong encodings and code points above U+10FFFF
+      int minSecond = 0x80;
+      int maxSecond = 0xBF;
+      if (b0 == 0xE0) {
+        minSecond = 0xA0;
+      } else if (b0 == 0xF0) {
+        minSecond = 0x90;
+      } else if (b0 == 0xF4) {
+        maxSecond = 0x8F;
+      }
+      if (b1 < minSecond || b1 > maxSecond) {
+        cbuf[o++] = REPLACEMENT_CHAR;
+        pos = p + 1;
+        continue;
+      }
+
+      int b2 = available > 2 ? buffer[p + 2] & 0xFF : -1;
+      if (!isContinuation(b2)) {
+        cbuf[o++] = REPLACEMENT_CHAR;
+        pos = p + 2;
+        continue;
+      }
+      if (needed == 3) {
+        char c = (char) (((b0 & 0x0F) << 12) | ((b1 & 0x3F) << 6) | (b2 & 0x3F));
+        // Like the JDK decoder, replace an encoded surrogate as a whole
+        cbuf[o++] = Character.isSurrogate(c) ? REPLACEMENT_CHAR : c;
+        pos = p + 3;
+        continue;
+      }
+
+      int b3 = available > 3 ? buffer[p + 3] & 0xFF : -1;
+      if (!isContinuation(b3)) {
+        cbuf[o++] = REPLACEMENT_CHAR;
+        pos = p + 3;
+        continue;
+      }
+      int codePoint = ((b0 & 0x07) << 18) | ((b1 & 0x3F) << 12) | ((b2 & 0x3F) << 6) | (b3 & 0x3F);
+      pos = p + 4;
+      cbuf[o++] = Character.highSurrogate(codePoint);
+      char lowSurrogate = Character.lowSurrogate(codePoint);
+      if (o < end) {
+        cbuf[o++] = lowSurrogate;
+      } else {
+        pendingLowSurrogate = lowSurrogate;
+      }
+    }
+
+    int count = o - off;
+    return count == 0 ? -1 : count;
+  }
+
+  private static boolean isContinuation(int b) {
+    return (b & 0xC0) == 0x80;
+  }
+
+  /**
+   * Returns true once {@code limit - pos >= minimum}. If the data is exhausted before that many
+   * bytes are available, this returns false.
+   */
+  private boolean fillBuffer(int minimum) throws IOException {
+    if (in == null && source == null) {
+      // All bytes are already in the buffer
+      return limit - pos >= minimum;
+    }
+
+    byte[] buffer = this.buffer;
+    if (limit != pos) {
+      limit -= pos;
+      System.arraycopy(buffer, pos, buffer, 0, limit);
+    } else {
+      limit = 0;
+    }
+    pos = 0;
+
+    while (limit < minimum) {
+      int total;
+      if (in != null) {
+        total = in.read(buffer, limit, buffer.length - limit);
+      } else {
+        total = Math.min(source.remaining(), buffer.length - limit);
+        if (total == 0) {
+          total = -1;
+        } else {
+          source.get(buffer, limit, total);
+        }
+      }
+      if (total == -1) {
+        return false;
+      }
+      limit += total;
+    }
+    return true;
+  }
+
+  @Override
+  public boolean ready() throws IOException {
+    if (buffer == null) {
+      throw new IOException("Reader is closed");
+    }
+    if (pos < limit || pendingLowSurrogate != 0) {
+      return true;
+    }
+    if (in != null) {
+      return in.available() > 0;
+    }
+    return source != null && source.hasRemaining();
+  }
+
+  @Override
+  public void close() throws IOException {
+    buffer = null;
+    pos = 0;
+    limit = 0;
+    if (in != null) {
+      in.close();
+    }
+  }
+}
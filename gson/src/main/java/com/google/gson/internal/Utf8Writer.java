@@ -0,0 +1,329 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@link Writer} which encodes chars as UTF-8 straight into its own byte buffer.
+ *
+ * <p>Compared to an {@link java.io.OutputStreamWriter}, optionally wrapped in a {@link
+ * java.io.BufferedWriter}, this avoids the intermediate char buffer, the {@code CharsetEncoder}
+ * layers and the internal lock. Runs of ASCII characters, which make up the structural characters
+ * and most of the content of typical JSON documents, are encoded by a tight loop.
+ *
+ * <p>The writer either drains its buffer to an {@link OutputStream} whenever it is full, or, if
+ * created without a stream, grows the buffer so that the complete output can be obtained with
+ * {@link #toByteArray()}.
+ *
+ * <p>The initial buffer is taken from a small shared pool and should be returned to it with {@link
+ * #release()} once the writer is not needed anymore, so that writing JSON does not allocate a new
+ * buffer for every call.
+ *
+ * <p>Unpaired surrogates are encoded as {@code '?'}, the same way {@code OutputStreamWriter}
+ * handles them.
+ *
+ * <p>Instances of this class are not thread-safe.
+ */
+public final class Utf8Writer extends Writer {
+  private static final int BUFFER_SIZE = 8192;
+
+  /**
+   * Buffers of size {@link #BUFFER_SIZE} which can be reused. Threads pick a slot based on their
+   * identity, which mostly avoids contention without tying buffers to threads, as a {@code
+   * ThreadLocal} would. A slot contains {@code null} while its buffer is in use.
+   */
+  private static final int POOL_SIZE = 8;
+
+  private static final AtomicReferenceArray<byte[]> BUFFER_POOL =
+      new AtomicReferenceArray<>(POOL_SIZE);
+
+  /** The stream to drain to; {@code null} if the buffer grows instead. */
+  private final OutputStream out;
+
+  private byte[] buffer;
+  private int count;
+
+  /**
+   * The high surrogate of the last write call, whose low surrogate is expected as first char of the
+   * next call, or {@code 0} if there is none.
+   */
+  private char pendingHighSurrogate;
+
+  private boolean closed;
+
+  /** Creates a writer which encodes to {@code out}. */
+  public Utf8Writer(OutputStream out) {
+    this.out = Objects.requireNonNull(out, "out == null");
+    this.buffer = acquireBuffer();
+  }
+
+  /** Creates a writer which collects the encoded bytes, see {@link #toByteArray()}. */
+  public Utf8Writer() {
+    this.out = null;
+    this.buffer = acquireBuffer();
+  }
+
+  private static int poolSlot() {
+    return System.identityHashCode(Thread.currentThread()) & (POOL_SIZE - 1);
+  }
+
+  private static byte[] acquireBuffer() {
+    byte[] pooled = BUFFER_POOL.getAndSet(poolSlot(), null);
+    return pooled != null ? pooled : new byte[BUFFER_SIZE];
+  }
+
+  /**
+   * Returns the buffer of this writer to the shared pool, without flushing or closing the stream.
+   * Afterwards this writer behaves as if it was closed. Any bytes which have not been flushed yet,
+   * respectively obtained with {@link #toByteArray()}, are discarded.
+   */
+  public void release() {
+    byte[] buffer = this.buffer;
+    if (buffer == null) {
+      return;
+    }
+    this.buffer = null;
+    closed = true;
+    // Don't keep buffers which were grown for a large toByteArray() result
+    if (buffer.length == BUFFER_SIZE) {
+      BUFFER_POOL.set(poolSlot(), buffer);
+    }
+  }
+
+  /**
+   * Makes sure at least {@code minimum} bytes can be written to the buffer, either by draining it
+   * to the stream or by growing it.
+   */
+  private void require(int minimum) throws IOException {
+    if (buffer.length - count >= minimum) {
+      return;
+    }
+    if (out != null) {
+      out.write(buffer, 0, count);
+      count = 0;
+    } else {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + minimum));
+    }
+  }
+
+  private void checkNotClosed() throws IOException {
+    if (closed) {
+      throw new IOException("Writer is closed");
+    }
+  }
+
+  @Override
+  public void write(int c) throws IOException {
+    checkNotClosed();
+    char ch = (char) c;
+    if (ch < 0x80 && pendingHighSurrogate == 0) {
+      require(1);
+      buffer[count++] = (byte) ch;
+    } else {
+      encode(ch);
+    }
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    if (off < 0 || len < 0 || len > cbuf.length - off) {
+      throw new IndexOutOfBoundsException();
+    }
+    checkNotClosed();
+    int end = off + len;
+    int i = off;
+    while (i < end) {
+      if (pendingHighSurrogate == 0) {
+        // Like JsonReader, this uses locals 'b' and 'n' to save inner-loop field access
+        require(Math.min(end - i, BUFFER_SIZE));
+        byte[] b = buffer;
+        int n = count;
+        int asciiEnd = i + Math.min(end - i, b.length - n);
+        while (i < asciiEnd) {
+          char c = cbuf[i];
+          if (c >= 0x80) {
+            break;
+          }
+          b[n++] = (byte) c;
+          i++;
+        }
+        count = n;
+        if (i == end) {
+          break;
+        }
+        if (i < asciiEnd) {
+          encode(cbuf[i++]);
+        }
+      } else {
+        encode(cbuf[i++]);
+      }
+    }
+  }
+
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    Objects.requireNonNull(str);
+    if (off < 0 || len < 0 || len > str.length() - off) {
+      throw new IndexOutOfBoundsException();
+    }
+    checkNotClosed();
+    int end = off + len;
+    int i = off;
+    while (i < end) {
+      if (pendingHighSurrogate == 0) {
+        require(Math.min(end - i, BUFFER_SIZE));
+        byte[] b = buffer;
+        int n = count;
+        int asciiEnd = i + Math.min(end - i, b.length - n);
+        while (i < asciiEnd) {
+          char c = str.charAt(i);
+          if (c >= 0x80) {
+            break;
+          }
+          b[n++] = (byte) c;
+          i++;
+        }
+        count = n;
+        if (i == end) {
+          break;
+        }
+        if (i < asciiEnd) {
+          encode(str.charAt(i++));
+        }
+      } else {
+        encode(str.charAt(i++));
+      }
+    }
+  }
+
+  @Override
+  public Writer append(CharSequence csq) throws IOException {
+    String s = String.valueOf(csq);
+    write(s, 0, s.length());
+    return this;
+  }
+
+  @Override
+  public Writer append(CharSequence csq, int start, int end) throws IOException {
+    if (csq == null) {
+      csq = "null";
+    }
+    String s = csq.subSequence(start, end).toString();
+    write(s, 0, s.length());
+    return this;
+  }
+
+  /** Encodes a single char, considering a pending high surrogate. */
+  private void encode(char c) throws IOException {
+    require(4);
+    byte[] b = buffer;
+    int n = count;
+
+    if (pendingHighSurrogate != 0) {
+      char high = pendingHighSurrogate;
+      pendingHighSurrogate = 0;
+      if (Character.isLowSurrogate(c)) {
+        int codePoint = Character.toCodePoint(high, c);
+        b[n++] = (byte) (0xF0 | (codePoint >> 18));
+        b[n++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        b[n++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        b[n++] = (byte) (0x80 | (codePoint & 0x3F));
+        count = n;
+        return;
+      }
+      // Unpaired high surrogate
+      b[n++] = '?';
+      count = n;
+      require(3);
+      b = buffer;
+      n = count;
+    }
+
+    if (c < 0x80) {
+      b[n++] = (byte) c;
+    } else if (c < 0x800) {
+      b[n++] = (byte) (0xC0 | (c >> 6));
+      b[n++] = (byte) (0x80 | (c & 0x3F));
+    } else if (Character.isHighSurrogate(c)) {
+      pendingHighSurrogate = c;
+    } else if (Character.isLowSurrogate(c)) {
+      // Unpaired low surrogate
+      b[n++] = '?';
+    } else {
+      b[n++] = (byte) (0xE0 | (c >> 12));
+      b[n++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+      b[n++] = (byte) (0x80 | (c & 0x3F));
+    }
+    count = n;
+  }
+
+  /** Writes an unpaired high surrogate at the end of the output. */
+  private void flushPendingSurrogate() throws IOException {
+    if (pendingHighSurrogate != 0) {
+      pendingHighSurrogate = 0;
+      require(1);
+      buffer[count++] = '?';
+    }
+  }
+
+  /**
+   * Returns the bytes which have been written so far. May only be used if this writer was created
+   * without an {@link OutputStream}.
+   */
+  public byte[] toByteArray() throws IOException {
+    if (out != null) {
+      throw new IllegalStateException("Bytes are written to an OutputStream");
+    }
+    if (buffer == null) {
+      throw new IllegalStateException("Writer has been released");
+    }
+    flushPendingSurrogate();
+    return Arrays.copyOf(buffer, count);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    checkNotClosed();
+    if (out != null) {
+      if (count > 0) {
+        out.write(buffer, 0, count);
+        count = 0;
+      }
+      out.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    flushPendingSurrogate();
+    flush();
+    closed = true;
+    if (out != null) {
+      release();
+      out.close();
+    }
+  }
+}
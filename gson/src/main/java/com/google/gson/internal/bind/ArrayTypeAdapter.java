@@ -29,6 +29,7 @@ import java.lang.reflect.Array;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /** Adapter for arrays. */
 public final class ArrayTypeAdapter<E> extends TypeAdapter<Object> {
@@ -45,6 +46,18 @@ public final class ArrayTypeAdapter<E> extends TypeAdapter<Object> {
           Type componentType = GsonTypes.getArrayComponentType(type);
           TypeAdapter<?> componentTypeAdapter = gson.getAdapter(TypeToken.get(componentType));
 
+          if (componentType instanceof Class && ((Class<?>) componentType).isPrimitive()) {
+            // Fast path for primitive arrays which does not box the elements
+            @SuppressWarnings("unchecked")
+            TypeAdapter<T> primitiveArrayAdapter =
+                (TypeAdapter<T>)
+                    PrimitiveArrayTypeAdapter.create(
+                        gson, (Class<?>) componentType, componentTypeAdapter);
+            if (primitiveArrayAdapter != null) {
+              return primitiveArrayAdapter;
+            }
+          }
+
           @SuppressWarnings({"unchecked", "rawtypes"})
           TypeAdapter<T> arrayAdapter =
               new ArrayTypeAdapter(gson, componentTypeAdapter, GsonTypes.getRawType(componentType));
@@ -52,6 +65,8 @@ public final class ArrayTypeAdapter<E> extends TypeAdapter<Object> {
         }
       };
 
+  private static final int INITIAL_CAPACITY = 16;
+
   private final Class<E> componentType;
   private final TypeAdapter<E> componentTypeAdapter;
 
@@ -69,28 +84,38 @@ public final class ArrayTypeAdapter<E> extends TypeAdapter<Object> {
       return null;
     }
 
-    ArrayList<E> list = new ArrayList<>();
-    in.beginArray();
-    while (in.hasNext()) {
-      E instance = componentTypeAdapter.read(in);
-      list.add(instance);
-    }
-    in.endArray();
-
-    int size = list.size();
     // Have to copy primitives one by one to primitive array
     if (componentType.isPrimitive()) {
+      ArrayList<E> list = new ArrayList<>();
+      in.beginArray();
+      while (in.hasNext()) {
+        E instance = componentTypeAdapter.read(in);
+        list.add(instance);
+      }
+      in.endArray();
+
+      int size = list.size();
       Object array = Array.newInstance(componentType, size);
       for (int i = 0; i < size; i++) {
         Array.set(array, i, list.get(i));
       }
       return array;
     }
-    // But for Object[] can use ArrayList.toArray
+    // But for Object[] can read directly into an array of the component type, and trim it at the
+    // end; Arrays.copyOf preserves the array type
     else {
       @SuppressWarnings("unchecked")
-      E[] array = (E[]) Array.newInstance(componentType, size);
-      return list.toArray(array);
+      E[] array = (E[]) Array.newInstance(componentType, INITIAL_CAPACITY);
+      int size = 0;
+      in.beginArray();
+      while (in.hasNext()) {
+        if (size == array.length) {
+          array = Arrays.copyOf(array, size * 2);
+        }
+        array[size++] = componentTypeAdapter.read(in);
+      }
+      in.endArray();
+      return size == array.length ? array : Arrays.copyOf(array, size);
     }
   }
 
@@ -102,10 +127,18 @@ public final class ArrayTypeAdapter<E> extends TypeAdapter<Object> {
     }
 
     out.beginArray();
-    for (int i = 0, length = Array.getLength(array); i < length; i++) {
+    if (array instanceof Object[]) {
       @SuppressWarnings("unchecked")
-      E value = (E) Array.get(array, i);
-      componentTypeAdapter.write(out, value);
+      E[] objectArray = (E[]) array;
+      for (E value : objectArray) {
+        componentTypeAdapter.write(out, value);
+      }
+    } else {
+      for (int i = 0, length = Array.getLength(array); i < length; i++) {
+        @SuppressWarnings("unchecked")
+        E value = (E) Array.get(array, i);
+        componentTypeAdapter.write(out, value);
+      }
     }
     out.endArray();
   }
@@ -20,7 +20,10 @@ import com.google.gson.Gson;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.internal.ConstructorConstructor;
+import com.google.gson.internal.DoubleArrayList;
 import com.google.gson.internal.GsonTypes;
+import com.google.gson.internal.IntArrayList;
+import com.google.gson.internal.LongArrayList;
 import com.google.gson.internal.ObjectConstructor;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
@@ -28,14 +31,23 @@ import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /** Adapt a homogeneous collection of objects. */
 public final class CollectionTypeAdapterFactory implements TypeAdapterFactory {
   private final ConstructorConstructor constructorConstructor;
+  private final boolean primitiveCollections;
 
-  public CollectionTypeAdapterFactory(ConstructorConstructor constructorConstructor) {
+  /**
+   * @param primitiveCollections whether {@code List} and {@code Collection} of {@code Integer},
+   *     {@code Long} and {@code Double} should be deserialized as lists backed by a primitive array
+   */
+  public CollectionTypeAdapterFactory(
+      ConstructorConstructor constructorConstructor, boolean primitiveCollections) {
     this.constructorConstructor = constructorConstructor;
+    this.primitiveCollections = primitiveCollections;
   }
 
   @Override
@@ -51,6 +63,23 @@ public final class CollectionTypeAdapterFactory implements TypeAdapterFactory {
     TypeAdapter<?> elementTypeAdapter = gson.getAdapter(TypeToken.get(elementType));
     TypeAdapter<?> wrappedTypeAdapter =
         new TypeAdapterRuntimeTypeWrapper<>(gson, elementTypeAdapter, elementType);
+
+    if (primitiveCollections
+        && (rawType == List.class || rawType == Collection.class)
+        && !constructorConstructor.hasInstanceCreator(typeToken)) {
+      int kind = PrimitiveArrayTypeAdapter.kindOf(elementTypeAdapter);
+      if (kind == PrimitiveArrayTypeAdapter.KIND_INT
+          || kind == PrimitiveArrayTypeAdapter.KIND_LONG
+          || kind == PrimitiveArrayTypeAdapter.KIND_DOUBLE
+          || kind == PrimitiveArrayTypeAdapter.KIND_FINITE_DOUBLE) {
+        @SuppressWarnings("unchecked")
+        TypeAdapter<T> result =
+            (TypeAdapter<T>)
+                new PrimitiveListAdapter(kind, (TypeAdapter<Object>) wrappedTypeAdapter);
+        return result;
+      }
+    }
+
     // Don't allow Unsafe usage to create instance; instances might be in broken state and calling
     // Collection methods could lead to confusing exceptions
     boolean allowUnsafe = false;
@@ -102,4 +131,98 @@ public final class CollectionTypeAdapterFactory implements TypeAdapterFactory {
       out.endArray();
     }
   }
+
+  /**
+   * Adapter which reads lists of {@code Integer}, {@code Long} or {@code Double} into lists backed
+   * by a primitive array, without boxing the elements. Falls back to an {@link ArrayList} if the
+   * JSON array contains {@code null}.
+   */
+  private static final class PrimitiveListAdapter extends TypeAdapter<Collection<?>> {
+    private final int kind;
+    private final TypeAdapter<Object> elementTypeAdapter;
+
+    PrimitiveListAdapter(int kind, TypeAdapter<Object> elementTypeAdapter) {
+      this.kind = kind;
+      this.elementTypeAdapter = elementTypeAdapter;
+    }
+
+    @Override
+    public Collection<?> read(JsonReader in) throws IOException {
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+        return null;
+      }
+
+      in.beginArray();
+      List<?> result;
+      switch (kind) {
+        case PrimitiveArrayTypeAdapter.KIND_INT:
+          IntArrayList ints = new IntArrayList();
+          while (in.hasNext() && in.peek() != JsonToken.NULL) {
+            ints.addInt(PrimitiveArrayTypeAdapter.nextInt(in));
+          }
+          result = ints;
+          break;
+        case PrimitiveArrayTypeAdapter.KIND_LONG:
+          LongArrayList longs = new LongArrayList();
+          while (in.hasNext() && in.peek() != JsonToken.NULL) {
+            longs.addLong(PrimitiveArrayTypeAdapter.nextLong(in));
+          }
+          result = longs;
+          break;
+        default:
+          DoubleArrayList doubles = new DoubleArrayList();
+          while (in.hasNext() && in.peek() != JsonToken.NULL) {
+            doubles.addDouble(in.nextDouble());
+          }
+          result = doubles;
+          break;
+      }
+
+      if (in.hasNext()) {
+        // Encountered null, which the primitive lists don't permit
+        List<Object> list = new ArrayList<>(result);
+        while (in.hasNext()) {
+          list.add(elementTypeAdapter.read(in));
+        }
+        result = list;
+      }
+      in.endArray();
+      return result;
+    }
+
+    @Override
+    public void write(JsonWriter out, Collection<?> collection) throws IOException {
+      if (collection == null) {
+        out.nullValue();
+        return;
+      }
+
+      out.beginArray();
+      if (kind == PrimitiveArrayTypeAdapter.KIND_INT && collection instanceof IntArrayList) {
+        IntArrayList ints = (IntArrayList) collection;
+        for (int i = 0, size = ints.size(); i < size; i++) {
+          out.value(ints.getInt(i));
+        }
+      } else if (kind == PrimitiveArrayTypeAdapter.KIND_LONG
+          && collection instanceof LongArrayList) {
+        LongArrayList longs = (LongArrayList) collection;
+        for (int i = 0, size = longs.size(); i < size; i++) {
+          out.value(longs.getLong(i));
+        }
+      } else if (collection instanceof DoubleArrayList
+          && (kind == PrimitiveArrayTypeAdapter.KIND_DOUBLE
+              || kind == PrimitiveArrayTypeAdapter.KIND_FINITE_DOUBLE)) {
+        DoubleArrayList doubles = (DoubleArrayList) collection;
+        for (int i = 0, size = doubles.size(); i < size; i++) {
+          PrimitiveArrayTypeAdapter.writeDouble(out, doubles.getDouble(i), kind);
+        }
+      } else {
+        for (Object element : collection) {
+          elementTypeAdapter.write(out, element);
+        }
+      }
+      out.endArray();
+    }
+  }
 }
@@ -21,6 +21,7 @@ import com.google.gson.JsonSyntaxException;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.internal.JavaVersion;
+import com.google.gson.internal.PooledDateFormat;
 import com.google.gson.internal.PreJava9DateFormatProvider;
 import com.google.gson.internal.bind.util.ISO8601Utils;
 import com.google.gson.reflect.TypeToken;
@@ -30,7 +31,6 @@ import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
@@ -113,29 +113,33 @@ public final class DefaultDateTypeAdapter<T extends Date> extends TypeAdapter<T>
 
   /**
    * List of 1 or more different date formats used for de-serialization attempts. The first of them
-   * is used for serialization as well.
+   * is used for serialization as well. The formats are pooled, so no synchronization is needed.
    */
-  private final List<DateFormat> dateFormats = new ArrayList<>();
+  private final List<PooledDateFormat> dateFormats = new ArrayList<>();
 
   private DefaultDateTypeAdapter(DateType<T> dateType, String datePattern) {
     this.dateType = Objects.requireNonNull(dateType);
-    dateFormats.add(new SimpleDateFormat(datePattern, Locale.US));
+    addDateFormat(new SimpleDateFormat(datePattern, Locale.US));
     if (!Locale.getDefault().equals(Locale.US)) {
-      dateFormats.add(new SimpleDateFormat(datePattern));
+      addDateFormat(new SimpleDateFormat(datePattern));
     }
   }
 
   private DefaultDateTypeAdapter(DateType<T> dateType, int dateStyle, int timeStyle) {
     this.dateType = Objects.requireNonNull(dateType);
-    dateFormats.add(DateFormat.getDateTimeInstance(dateStyle, timeStyle, Locale.US));
+    addDateFormat(DateFormat.getDateTimeInstance(dateStyle, timeStyle, Locale.US));
     if (!Locale.getDefault().equals(Locale.US)) {
-      dateFormats.add(DateFormat.getDateTimeInstance(dateStyle, timeStyle));
+      addDateFormat(DateFormat.getDateTimeInstance(dateStyle, timeStyle));
     }
     if (JavaVersion.isJava9OrLater()) {
-      dateFormats.add(PreJava9DateFormatProvider.getUsDateTimeFormat(dateStyle, timeStyle));
+      addDateFormat(PreJava9DateFormatProvider.getUsDateTimeFormat(dateStyle, timeStyle));
     }
   }
 
+  private void addDateFormat(DateFormat dateFormat) {
+    dateFormats.add(PooledDateFormat.of(dateFormat));
+  }
+
   @Override
   public void write(JsonWriter out, Date value) throws IOException {
     if (value == null) {
@@ -143,13 +147,7 @@ public final class DefaultDateTypeAdapter<T extends Date> extends TypeAdapter<T>
       return;
     }
 
-    DateFormat dateFormat = dateFormats.get(0);
-    String dateFormatAsString;
-    // Needs to be synchronized since JDK DateFormat classes are not thread-safe
-    synchronized (dateFormats) {
-      dateFormatAsString = dateFormat.format(value);
-    }
-    out.value(dateFormatAsString);
+    out.value(dateFormats.get(0).format(value));
   }
 
   @Override
@@ -164,22 +162,16 @@ public final class DefaultDateTypeAdapter<T extends Date> extends TypeAdapter<T>
 
   private Date deserializeToDate(JsonReader in) throws IOException {
     String s = in.nextString();
-    // Needs to be synchronized since JDK DateFormat classes are not thread-safe
-    synchronized (dateFormats) {
-      for (DateFormat dateFormat : dateFormats) {
-        TimeZone originalTimeZone = dateFormat.getTimeZone();
-        try {
-          return dateFormat.parse(s);
-        } catch (ParseException ignored) {
-          // OK: try the next format
-        } finally {
-          dateFormat.setTimeZone(originalTimeZone);
-        }
+    for (PooledDateFormat dateFormat : dateFormats) {
+      try {
+        return dateFormat.parse(s);
+      } catch (ParseException ignored) {
+        // OK: try the next format
       }
     }
 
     try {
-      return ISO8601Utils.parse(s, new ParsePosition(0));
+      return ISO8601Utils.parse(s, 0);
     } catch (ParseException e) {
       throw new JsonSyntaxException(
           "Failed parsing '" + s + "' as Date; at path " + in.getPreviousPath(), e);
@@ -188,7 +180,7 @@ public final class DefaultDateTypeAdapter<T extends Date> extends TypeAdapter<T>
 
   @Override
   public String toString() {
-    DateFormat defaultFormat = dateFormats.get(0);
+    DateFormat defaultFormat = dateFormats.get(0).getFormat();
     if (defaultFormat instanceof SimpleDateFormat) {
       return SIMPLE_NAME + '(' + ((SimpleDateFormat) defaultFormat).toPattern() + ')';
     } else {
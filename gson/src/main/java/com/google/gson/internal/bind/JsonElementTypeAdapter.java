@@ -100,6 +100,12 @@ class JsonElementTypeAdapter extends TypeAdapter<JsonElement> {
         }
 
         peeked = in.peek();
+        if (peeked == JsonToken.NUMBER && current instanceof JsonArray) {
+          // Lets JsonArray store the number without creating a JsonPrimitive for it
+          ((JsonArray) current).add(new LazilyParsedNumber(in.nextString()));
+          continue;
+        }
+
         JsonElement value = tryBeginNesting(in, peeked);
         boolean isNesting = value != null;
 
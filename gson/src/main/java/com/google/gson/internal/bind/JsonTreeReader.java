@@ -22,6 +22,7 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.JsonReaderInternalAccess;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.MalformedJsonException;
@@ -36,7 +37,8 @@ import java.util.Map;
  *
  * @author Jesse Wilson
  */
-public final class JsonTreeReader extends JsonReader {
+public final class JsonTreeReader extends JsonReader
+    implements JsonReaderInternalAccess.NamePromotingReader {
   private static final Reader UNREADABLE_READER =
       new Reader() {
         @Override
@@ -251,6 +253,29 @@ public final class JsonTreeReader extends JsonReader {
     return result;
   }
 
+  @Override
+  public float nextFloat() throws IOException {
+    JsonToken token = peek();
+    if (token != JsonToken.NUMBER && token != JsonToken.STRING) {
+      throw new IllegalStateException(
+          "Expected " + JsonToken.NUMBER + " but was " + token + locationString());
+    }
+    JsonPrimitive primitive = (JsonPrimitive) peekStack();
+    float result = primitive.getAsFloat();
+    if (!isLenient() && (Float.isNaN(result) || Float.isInfinite(result))) {
+      // Only reject values which are not finite as double either, consistent with nextDouble()
+      double doubleResult = primitive.getAsDouble();
+      if (Double.isNaN(doubleResult) || Double.isInfinite(doubleResult)) {
+        throw new MalformedJsonException("JSON forbids NaN and infinities: " + doubleResult);
+      }
+    }
+    popStack();
+    if (stackSize > 0) {
+      pathIndices[stackSize - 1]++;
+    }
+    return result;
+  }
+
   @Override
   public long nextLong() throws IOException {
     JsonToken token = peek();
@@ -331,6 +356,7 @@ public final class JsonTreeReader extends JsonReader {
     return getClass().getSimpleName() + locationString();
   }
 
+  @Override
   public void promoteNameToValue() throws IOException {
     expect(JsonToken.NAME);
     Iterator<?> i = (Iterator<?>) peekStack();
@@ -0,0 +1,304 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal.bind;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.Streams;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer which records a map key written by a type adapter, without creating a {@code JsonElement}
+ * for keys written as JSON primitive. Such keys are recorded as {@code String}, {@code Number},
+ * {@code Boolean} or {@link JsonNull}; only keys written as JSON array or object are recorded as
+ * {@code JsonElement} tree.
+ *
+ * <p>The property name and JSON value for a recorded key are the same as for the {@code
+ * JsonElement} created by {@link TypeAdapter#toJsonTree(Object)}. Like {@link JsonTreeWriter}, this
+ * writer does not support {@link #jsonValue(String)}. A single instance can be used for multiple
+ * keys.
+ */
+final class MapKeyWriter extends JsonWriter {
+  private static final Writer UNWRITABLE_WRITER =
+      new Writer() {
+        @Override
+        public void write(char[] buffer, int offset, int counter) {
+          throw new AssertionError();
+        }
+
+        @Override
+        public void flush() {
+          throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+          throw new AssertionError();
+        }
+      };
+
+  /** The recorded key; {@code null} if no value has been written yet. */
+  private Object key;
+
+  /** Writer for a key written as JSON array or object; {@code null} for other keys. */
+  private JsonTreeWriter complexWriter;
+
+  /** Nesting depth inside a complex key. */
+  private int depth;
+
+  MapKeyWriter() {
+    super(UNWRITABLE_WRITER);
+  }
+
+  /**
+   * Writes {@code key} using {@code adapter} and returns the recorded key, to be used with {@link
+   * #isComplex(Object)}, {@link #toName(Object)} and {@link #write(JsonWriter, Object)}.
+   */
+  <K> Object record(TypeAdapter<K> adapter, K key) throws IOException {
+    this.key = null;
+    complexWriter = null;
+    depth = 0;
+    adapter.write(this, key);
+    if (depth != 0) {
+      throw new IllegalStateException("Incomplete JSON value written for map key " + key);
+    }
+    if (this.key == null) {
+      throw new IllegalStateException("No JSON value written for map key " + key);
+    }
+    return this.key;
+  }
+
+  /** Whether the recorded key was written as JSON array or object. */
+  static boolean isComplex(Object recordedKey) {
+    return recordedKey instanceof JsonElement && !((JsonElement) recordedKey).isJsonNull();
+  }
+
+  /** Returns the property name for a recorded key which is not {@linkplain #isComplex complex}. */
+  static String toName(Object recordedKey) {
+    return recordedKey instanceof JsonNull ? "null" : recordedKey.toString();
+  }
+
+  /** Writes a recorded key as JSON value to {@code out}. */
+  static void write(JsonWriter out, Object recordedKey) throws IOException {
+    if (recordedKey instanceof String) {
+      out.value((String) recordedKey);
+    } else if (recordedKey instanceof Number) {
+      out.value((Number) recordedKey);
+    } else if (recordedKey instanceof Boolean) {
+      out.value(((Boolean) recordedKey).booleanValue());
+    } else {
+      Streams.write((JsonElement) recordedKey, out);
+    }
+  }
+
+  /** Records a primitive key. */
+  private void put(Object value) {
+    if (key != null) {
+      throw new IllegalStateException("JSON must have only one top-level value.");
+    }
+    key = value;
+  }
+
+  /** Returns the writer for the start of an array or object. */
+  private JsonWriter begin() {
+    if (depth == 0) {
+      if (key != null) {
+        throw new IllegalStateException("JSON must have only one top-level value.");
+      }
+      complexWriter = new JsonTreeWriter();
+    }
+    depth++;
+    return complexWriter;
+  }
+
+  /** Returns the writer for the end of an array or object. */
+  private JsonWriter end() {
+    if (depth == 0) {
+      throw new IllegalStateException();
+    }
+    depth--;
+    return complexWriter;
+  }
+
+  /** Records the complex key once its top-level array or object has ended. */
+  private void endComplex() {
+    if (depth == 0) {
+      key = complexWriter.get();
+    }
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public JsonWriter beginArray() throws IOException {
+    begin().beginArray();
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public JsonWriter endArray() throws IOException {
+    end().endArray();
+    endComplex();
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public JsonWriter beginObject() throws IOException {
+    begin().beginObject();
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public JsonWriter endObject() throws IOException {
+    end().endObject();
+    endComplex();
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public JsonWriter name(String name) throws IOException {
+    if (depth == 0) {
+      throw new IllegalStateException("Please begin an object before writing a name.");
+    }
+    complexWriter.name(name);
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public JsonWriter value(String value) throws IOException {
+    if (depth > 0) {
+      complexWriter.value(value);
+    } else {
+      put(value == null ? JsonNull.INSTANCE : value);
+    }
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public JsonWriter value(boolean value) throws IOException {
+    if (depth > 0) {
+      complexWriter.value(value);
+    } else {
+      put(value);
+    }
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public JsonWriter value(Boolean value) throws IOException {
+    if (depth > 0) {
+      complexWriter.value(value);
+    } else {
+      put(value == null ? JsonNull.INSTANCE : value);
+    }
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public JsonWriter value(float value) throws IOException {
+    if (depth > 0) {
+      complexWriter.value(value);
+      return this;
+    }
+    if (!isLenient() && (Float.isNaN(value) || Float.isInfinite(value))) {
+      throw new IllegalArgumentException("JSON forbids NaN and infinities: " + value);
+    }
+    put(value);
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public JsonWriter value(double value) throws IOException {
+    if (depth > 0) {
+      complexWriter.value(value);
+      return this;
+    }
+    if (!isLenient() && (Double.isNaN(value) || Double.isInfinite(value))) {
+      throw new IllegalArgumentException("JSON forbids NaN and infinities: " + value);
+    }
+    put(value);
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public JsonWriter value(long value) throws IOException {
+    if (depth > 0) {
+      complexWriter.value(value);
+    } else {
+      put(value);
+    }
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public JsonWriter value(Number value) throws IOException {
+    if (depth > 0) {
+      complexWriter.value(value);
+      return this;
+    }
+    if (value == null) {
+      return nullValue();
+    }
+
+    if (!isLenient()) {
+      double d = value.doubleValue();
+      if (Double.isNaN(d) || Double.isInfinite(d)) {
+        throw new IllegalArgumentException("JSON forbids NaN and infinities: " + value);
+      }
+    }
+
+    put(value);
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public JsonWriter nullValue() throws IOException {
+    if (depth > 0) {
+      complexWriter.nullValue();
+    } else {
+      put(JsonNull.INSTANCE);
+    }
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  @Override
+  public JsonWriter jsonValue(String value) throws IOException {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void flush() throws IOException {}
+
+  @Override
+  public void close() throws IOException {}
+}
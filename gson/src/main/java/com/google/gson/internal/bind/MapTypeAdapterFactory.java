@@ -17,16 +17,14 @@
 package com.google.gson.internal.bind;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonPrimitive;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.internal.ConstructorConstructor;
 import com.google.gson.internal.GsonTypes;
 import com.google.gson.internal.JsonReaderInternalAccess;
+import com.google.gson.internal.LongKeyLinkedHashMap;
 import com.google.gson.internal.ObjectConstructor;
-import com.google.gson.internal.Streams;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
@@ -115,11 +113,19 @@ import java.util.Map;
 public final class MapTypeAdapterFactory implements TypeAdapterFactory {
   private final ConstructorConstructor constructorConstructor;
   final boolean complexMapKeySerialization;
+  private final boolean primitiveCollections;
 
+  /**
+   * @param primitiveCollections whether {@code Map<Long, V>} should be deserialized as map which
+   *     stores its keys as primitive values
+   */
   public MapTypeAdapterFactory(
-      ConstructorConstructor constructorConstructor, boolean complexMapKeySerialization) {
+      ConstructorConstructor constructorConstructor,
+      boolean complexMapKeySerialization,
+      boolean primitiveCollections) {
     this.constructorConstructor = constructorConstructor;
     this.complexMapKeySerialization = complexMapKeySerialization;
+    this.primitiveCollections = primitiveCollections;
   }
 
   @Override
@@ -143,7 +149,18 @@ public final class MapTypeAdapterFactory implements TypeAdapterFactory {
     // Don't allow Unsafe usage to create instance; instances might be in broken state and calling
     // Map methods could lead to confusing exceptions
     boolean allowUnsafe = false;
-    ObjectConstructor<T> constructor = constructorConstructor.get(typeToken, allowUnsafe);
+    ObjectConstructor<T> constructor;
+    if (primitiveCollections
+        && rawType == Map.class
+        && keyType == Long.class
+        && keyAdapter == TypeAdapters.LONG
+        && !constructorConstructor.hasInstanceCreator(typeToken)) {
+      @SuppressWarnings("unchecked")
+      ObjectConstructor<T> longKeyMapConstructor = () -> (T) new LongKeyLinkedHashMap<>();
+      constructor = longKeyMapConstructor;
+    } else {
+      constructor = constructorConstructor.get(typeToken, allowUnsafe);
+    }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     // we don't define a type parameter for the key or value types
@@ -229,21 +246,23 @@ public final class MapTypeAdapterFactory implements TypeAdapterFactory {
       }
 
       boolean hasComplexKeys = false;
-      List<JsonElement> keys = new ArrayList<>(map.size());
+      List<Object> keys = new ArrayList<>(map.size());
 
       List<V> values = new ArrayList<>(map.size());
+      // Records the keys without creating a JsonElement for primitive keys
+      MapKeyWriter keyWriter = new MapKeyWriter();
       for (Map.Entry<K, V> entry : map.entrySet()) {
-        JsonElement keyElement = keyTypeAdapter.toJsonTree(entry.getKey());
-        keys.add(keyElement);
+        Object key = keyWriter.record(keyTypeAdapter, entry.getKey());
+        keys.add(key);
         values.add(entry.getValue());
-        hasComplexKeys |= keyElement.isJsonArray() || keyElement.isJsonObject();
+        hasComplexKeys |= MapKeyWriter.isComplex(key);
       }
 
       if (hasComplexKeys) {
         out.beginArray();
         for (int i = 0, size = keys.size(); i < size; i++) {
           out.beginArray(); // entry array
-          Streams.write(keys.get(i), out);
+          MapKeyWriter.write(out, keys.get(i));
           valueTypeAdapter.write(out, values.get(i));
           out.endArray();
         }
@@ -251,31 +270,11 @@ public final class MapTypeAdapterFactory implements TypeAdapterFactory {
       } else {
         out.beginObject();
         for (int i = 0, size = keys.size(); i < size; i++) {
-          JsonElement keyElement = keys.get(i);
-          out.name(keyToString(keyElement));
+          out.name(MapKeyWriter.toName(keys.get(i)));
           valueTypeAdapter.write(out, values.get(i));
         }
         out.endObject();
       }
     }
-
-    private String keyToString(JsonElement keyElement) {
-      if (keyElement.isJsonPrimitive()) {
-        JsonPrimitive primitive = keyElement.getAsJsonPrimitive();
-        if (primitive.isNumber()) {
-          return String.valueOf(primitive.getAsNumber());
-        } else if (primitive.isBoolean()) {
-          return Boolean.toString(primitive.getAsBoolean());
-        } else if (primitive.isString()) {
-          return primitive.getAsString();
-        } else {
-          throw new AssertionError();
-        }
-      } else if (keyElement.isJsonNull()) {
-        return "null";
-      } else {
-        throw new AssertionError();
-      }
-    }
   }
 }
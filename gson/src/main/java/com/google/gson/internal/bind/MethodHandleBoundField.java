@@ -0,0 +1,323 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal.bind;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.Primitives;
+import com.google.gson.internal.bind.ReflectiveTypeAdapterFactory.BoundField;
+import com.google.gson.internal.reflect.ReflectionHelper;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * {@link BoundField} which accesses its field through {@link MethodHandle}s instead of {@link
+ * Field#get(Object)} and {@link Field#set(Object, Object)}, see {@link
+ * com.google.gson.GsonBuilder#enableMethodHandleFieldAccess()}.
+ *
+ * <p>Fields of type {@code int}, {@code long}, {@code double} and {@code boolean} which use the
+ * built-in Gson adapter are read and written with the corresponding primitive {@link JsonReader}
+ * and {@link JsonWriter} methods, without boxing the value.
+ *
+ * <p>All kinds of fields are handled by this single final class, selecting the code for the field
+ * type with a {@code switch}.
+ */
+final class MethodHandleBoundField extends BoundField {
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final MethodType GENERIC_GETTER =
+      MethodType.methodType(Object.class, Object.class);
+  private static final MethodType GENERIC_SETTER =
+      MethodType.methodType(void.class, Object.class, Object.class);
+
+  // Kinds of fields; the getter and setter types depend on the kind
+  private static final int KIND_GENERIC = 0;
+  private static final int KIND_INT = 1;
+  private static final int KIND_LONG = 2;
+  private static final int KIND_DOUBLE = 3;
+
+  /** {@code double} field which must not be NaN or infinity during serialization */
+  private static final int KIND_FINITE_DOUBLE = 4;
+
+  private static final int KIND_BOOLEAN = 5;
+
+  private final int kind;
+  private final Method accessor;
+  private final MethodHandle getter;
+  private final MethodHandle setter;
+  private final boolean isPrimitive;
+  private final TypeAdapter<Object> typeAdapter;
+  private final TypeAdapter<Object> writeTypeAdapter;
+
+  private MethodHandleBoundField(
+      int kind,
+      String serializedName,
+      Field field,
+      Method accessor,
+      MethodHandle getter,
+      MethodHandle setter,
+      TypeAdapter<Object> typeAdapter,
+      TypeAdapter<Object> writeTypeAdapter) {
+    super(serializedName, field);
+    this.kind = kind;
+    this.accessor = accessor;
+    this.getter = getter;
+    this.setter = setter;
+    this.isPrimitive = field.getType().isPrimitive();
+    this.typeAdapter = typeAdapter;
+    this.writeTypeAdapter = writeTypeAdapter;
+  }
+
+  /**
+   * Creates a bound field for the non-static {@code field}, or returns {@code null} if no method
+   * handles can be created for it, in which case the caller should use reflection instead.
+   *
+   * @param field the field, which must have been made accessible already
+   * @param accessor the record component accessor, made accessible already; {@code null} if the
+   *     field does not belong to a record
+   */
+  static MethodHandleBoundField create(
+      Gson context,
+      String serializedName,
+      Field field,
+      Method accessor,
+      TypeAdapter<Object> typeAdapter,
+      TypeAdapter<Object> writeTypeAdapter,
+      boolean jsonAdapterPresent) {
+
+    if (Modifier.isStatic(field.getModifiers())) {
+      return null;
+    }
+
+    MethodHandle getter;
+    MethodHandle setter;
+    try {
+      getter = accessor != null ? LOOKUP.unreflect(accessor) : LOOKUP.unreflectGetter(field);
+      // Record fields are only set through the canonical constructor
+      setter = accessor != null ? null : LOOKUP.unreflectSetter(field);
+    } catch (IllegalAccessException e) {
+      return null;
+    }
+
+    Class<?> fieldType = field.getType();
+    int kind = KIND_GENERIC;
+    if (accessor == null && !jsonAdapterPresent) {
+      kind = primitiveKind(context, fieldType, typeAdapter);
+    }
+
+    if (kind == KIND_GENERIC) {
+      getter = getter.asType(GENERIC_GETTER);
+      setter = setter == null ? null : setter.asType(GENERIC_SETTER);
+    } else {
+      getter = getter.asType(MethodType.methodType(fieldType, Object.class));
+      setter = setter.asType(MethodType.methodType(void.class, Object.class, fieldType));
+    }
+    return new MethodHandleBoundField(
+        kind, serializedName, field, accessor, getter, setter, typeAdapter, writeTypeAdapter);
+  }
+
+  /**
+   * Returns the kind for a primitive field if {@code typeAdapter} is the built-in adapter for it,
+   * and is also used for the wrapper type; otherwise the runtime type adapter chosen during
+   * serialization might differ. Returns {@link #KIND_GENERIC} if the field is not specialized.
+   */
+  private static int primitiveKind(Gson context, Class<?> fieldType, TypeAdapter<?> typeAdapter) {
+    int kind;
+    if (fieldType == int.class && typeAdapter == TypeAdapters.INTEGER) {
+      kind = KIND_INT;
+    } else if (fieldType == long.class && typeAdapter == TypeAdapters.LONG) {
+      kind = KIND_LONG;
+    } else if (fieldType == double.class && typeAdapter == TypeAdapters.DOUBLE) {
+      kind = KIND_DOUBLE;
+    } else if (fieldType == double.class && typeAdapter == TypeAdapters.FINITE_DOUBLE) {
+      kind = KIND_FINITE_DOUBLE;
+    } else if (fieldType == boolean.class && typeAdapter == TypeAdapters.BOOLEAN) {
+      kind = KIND_BOOLEAN;
+    } else {
+      return KIND_GENERIC;
+    }
+    return context.getAdapter(Primitives.wrap(fieldType)) == typeAdapter ? kind : KIND_GENERIC;
+  }
+
+  /**
+   * Rethrows an exception thrown by a method handle for a field. Accessing the field itself does
+   * not throw checked exceptions.
+   */
+  private static RuntimeException rethrow(Throwable t) {
+    if (t instanceof RuntimeException) {
+      return (RuntimeException) t;
+    } else if (t instanceof Error) {
+      throw (Error) t;
+    }
+    throw new AssertionError("Unexpected checked exception", t);
+  }
+
+  @Override
+  void write(JsonWriter writer, Object source) throws IOException {
+    try {
+      switch (kind) {
+        case KIND_INT:
+          {
+            int value = (int) getter.invokeExact(source);
+            writeName(writer);
+            writer.value(value);
+            return;
+          }
+        case KIND_LONG:
+          {
+            long value = (long) getter.invokeExact(source);
+            writeName(writer);
+            writer.value(value);
+            return;
+          }
+        case KIND_DOUBLE:
+        case KIND_FINITE_DOUBLE:
+          {
+            double value = (double) getter.invokeExact(source);
+            writeName(writer);
+            if (kind == KIND_FINITE_DOUBLE) {
+              TypeAdapters.checkValidFloatingPoint(value);
+            }
+            writer.value(value);
+            return;
+          }
+        case KIND_BOOLEAN:
+          {
+            boolean value = (boolean) getter.invokeExact(source);
+            writeName(writer);
+            // Same JsonWriter method as the one used by the built-in adapter
+            writer.value(Boolean.valueOf(value));
+            return;
+          }
+        default:
+          break;
+      }
+    } catch (IOException | RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+
+    Object fieldValue;
+    try {
+      fieldValue = (Object) getter.invokeExact(source);
+    } catch (Throwable t) {
+      if (accessor != null) {
+        String accessorDescription =
+            ReflectionHelper.getAccessibleObjectDescription(accessor, false);
+        throw new JsonIOException("Accessor " + accessorDescription + " threw exception", t);
+      }
+      throw rethrow(t);
+    }
+    if (fieldValue == source) {
+      // avoid direct recursion
+      return;
+    }
+    writeName(writer);
+    writeTypeAdapter.write(writer, fieldValue);
+  }
+
+  @Override
+  void readIntoArray(JsonReader reader, int index, Object[] target)
+      throws IOException, JsonParseException {
+    // Only used for records, whose fields are never specialized
+    Object fieldValue = typeAdapter.read(reader);
+    if (fieldValue == null && isPrimitive) {
+      throw new JsonParseException(
+          "null is not allowed as value for record component '"
+              + fieldName
+              + "' of primitive type; at path "
+              + reader.getPath());
+    }
+    target[index] = fieldValue;
+  }
+
+  @Override
+  void readIntoField(JsonReader reader, Object target) throws IOException {
+    if (kind == KIND_GENERIC) {
+      Object fieldValue = typeAdapter.read(reader);
+      if (fieldValue != null || !isPrimitive) {
+        try {
+          setter.invokeExact(target, fieldValue);
+        } catch (Throwable t) {
+          throw rethrow(t);
+        }
+      }
+      return;
+    }
+
+    if (reader.peek() == JsonToken.NULL) {
+      // Like for the built-in adapters, null leaves the primitive field unchanged
+      reader.nextNull();
+      return;
+    }
+    try {
+      switch (kind) {
+        case KIND_INT:
+          int intValue;
+          try {
+            intValue = reader.nextInt();
+          } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+          }
+          setter.invokeExact(target, intValue);
+          break;
+        case KIND_LONG:
+          long longValue;
+          try {
+            longValue = reader.nextLong();
+          } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+          }
+          setter.invokeExact(target, longValue);
+          break;
+        case KIND_DOUBLE:
+        case KIND_FINITE_DOUBLE:
+          double doubleValue = reader.nextDouble();
+          setter.invokeExact(target, doubleValue);
+          break;
+        case KIND_BOOLEAN:
+          boolean booleanValue;
+          if (reader.peek() == JsonToken.STRING) {
+            // support strings for compatibility with GSON 1.7, like the built-in adapter
+            booleanValue = Boolean.parseBoolean(reader.nextString());
+          } else {
+            booleanValue = reader.nextBoolean();
+          }
+          setter.invokeExact(target, booleanValue);
+          break;
+        default:
+          throw new AssertionError("Unexpected kind: " + kind);
+      }
+    } catch (IOException | RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw rethrow(t);
+    }
+  }
+}
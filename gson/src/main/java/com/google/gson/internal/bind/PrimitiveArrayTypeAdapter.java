@@ -0,0 +1,354 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal.bind;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.Primitives;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Adapter for arrays of primitive types, such as {@code int[]}, which uses the built-in adapter for
+ * the component type. Elements are read with the primitive {@code JsonReader} methods, such as
+ * {@link JsonReader#nextInt()}, into a growable primitive array, which is trimmed at the end, and
+ * are written with the primitive {@code JsonWriter.value} methods; no element is boxed.
+ */
+final class PrimitiveArrayTypeAdapter extends TypeAdapter<Object> {
+  static final int KIND_NONE = -1;
+  static final int KIND_INT = 0;
+  static final int KIND_LONG = 1;
+  static final int KIND_DOUBLE = 2;
+  static final int KIND_FINITE_DOUBLE = 3;
+  static final int KIND_FLOAT = 4;
+  static final int KIND_FINITE_FLOAT = 5;
+  static final int KIND_BYTE = 6;
+  static final int KIND_SHORT = 7;
+  static final int KIND_CHAR = 8;
+  static final int KIND_BOOLEAN = 9;
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final int kind;
+
+  private PrimitiveArrayTypeAdapter(int kind) {
+    this.kind = kind;
+  }
+
+  /**
+   * Returns the kind of values handled by {@code typeAdapter} if it is one of the built-in adapters
+   * for primitive values which can be replaced by direct primitive reads and writes, otherwise
+   * {@link #KIND_NONE}.
+   */
+  static int kindOf(TypeAdapter<?> typeAdapter) {
+    if (typeAdapter == TypeAdapters.INTEGER) {
+      return KIND_INT;
+    } else if (typeAdapter == TypeAdapters.LONG) {
+      return KIND_LONG;
+    } else if (typeAdapter == TypeAdapters.DOUBLE) {
+      return KIND_DOUBLE;
+    } else if (typeAdapter == TypeAdapters.FINITE_DOUBLE) {
+      return KIND_FINITE_DOUBLE;
+    } else if (typeAdapter == TypeAdapters.FLOAT) {
+      return KIND_FLOAT;
+    } else if (typeAdapter == TypeAdapters.FINITE_FLOAT) {
+      return KIND_FINITE_FLOAT;
+    } else if (typeAdapter == TypeAdapters.BYTE) {
+      return KIND_BYTE;
+    } else if (typeAdapter == TypeAdapters.SHORT) {
+      return KIND_SHORT;
+    } else if (typeAdapter == TypeAdapters.CHARACTER) {
+      return KIND_CHAR;
+    } else if (typeAdapter == TypeAdapters.BOOLEAN) {
+      return KIND_BOOLEAN;
+    }
+    return KIND_NONE;
+  }
+
+  private static Class<?> primitiveTypeOf(int kind) {
+    switch (kind) {
+      case KIND_INT:
+        return int.class;
+      case KIND_LONG:
+        return long.class;
+      case KIND_DOUBLE:
+      case KIND_FINITE_DOUBLE:
+        return double.class;
+      case KIND_FLOAT:
+      case KIND_FINITE_FLOAT:
+        return float.class;
+      case KIND_BYTE:
+        return byte.class;
+      case KIND_SHORT:
+        return short.class;
+      case KIND_CHAR:
+        return char.class;
+      case KIND_BOOLEAN:
+        return boolean.class;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Returns an adapter for arrays of the primitive {@code componentType}, or {@code null} if the
+   * array has to be handled by {@link ArrayTypeAdapter}. The component type adapter must be the
+   * built-in adapter, and it must also be used for the wrapper type; otherwise the runtime type
+   * adapter chosen during serialization might differ.
+   */
+  static TypeAdapter<Object> create(
+      Gson context, Class<?> componentType, TypeAdapter<?> componentTypeAdapter) {
+    int kind = kindOf(componentTypeAdapter);
+    if (componentType != primitiveTypeOf(kind)
+        || context.getAdapter(Primitives.wrap(componentType)) != componentTypeAdapter) {
+      return null;
+    }
+    return new PrimitiveArrayTypeAdapter(kind);
+  }
+
+  static int nextInt(JsonReader in) throws IOException {
+    try {
+      return in.nextInt();
+    } catch (NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  static long nextLong(JsonReader in) throws IOException {
+    try {
+      return in.nextLong();
+    } catch (NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  /** Writes a value of kind {@link #KIND_DOUBLE} or {@link #KIND_FINITE_DOUBLE}. */
+  static void writeDouble(JsonWriter out, double value, int kind) throws IOException {
+    if (kind == KIND_FINITE_DOUBLE) {
+      TypeAdapters.checkValidFloatingPoint(value);
+    }
+    out.value(value);
+  }
+
+  @Override
+  public Object read(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+
+    in.beginArray();
+    Object array;
+    switch (kind) {
+      case KIND_INT:
+        array = readInts(in);
+        break;
+      case KIND_LONG:
+        array = readLongs(in);
+        break;
+      case KIND_DOUBLE:
+      case KIND_FINITE_DOUBLE:
+        array = readDoubles(in);
+        break;
+      case KIND_FLOAT:
+      case KIND_FINITE_FLOAT:
+        array = readFloats(in);
+        break;
+      case KIND_BYTE:
+        array = readBytes(in);
+        break;
+      case KIND_SHORT:
+        array = readShorts(in);
+        break;
+      case KIND_CHAR:
+        array = readChars(in);
+        break;
+      default:
+        array = readBooleans(in);
+        break;
+    }
+    in.endArray();
+    return array;
+  }
+
+  private static int[] readInts(JsonReader in) throws IOException {
+    int[] array = new int[INITIAL_CAPACITY];
+    int size = 0;
+    while (in.hasNext()) {
+      if (size == array.length) {
+        array = Arrays.copyOf(array, size * 2);
+      }
+      array[size++] = nextInt(in);
+    }
+    return size == array.length ? array : Arrays.copyOf(array, size);
+  }
+
+  private static long[] readLongs(JsonReader in) throws IOException {
+    long[] array = new long[INITIAL_CAPACITY];
+    int size = 0;
+    while (in.hasNext()) {
+      if (size == array.length) {
+        array = Arrays.copyOf(array, size * 2);
+      }
+      array[size++] = nextLong(in);
+    }
+    return size == array.length ? array : Arrays.copyOf(array, size);
+  }
+
+  private static double[] readDoubles(JsonReader in) throws IOException {
+    double[] array = new double[INITIAL_CAPACITY];
+    int size = 0;
+    while (in.hasNext()) {
+      if (size == array.length) {
+        array = Arrays.copyOf(array, size * 2);
+      }
+      array[size++] = in.nextDouble();
+    }
+    return size == array.length ? array : Arrays.copyOf(array, size);
+  }
+
+  private static float[] readFloats(JsonReader in) throws IOException {
+    float[] array = new float[INITIAL_CAPACITY];
+    int size = 0;
+    while (in.hasNext()) {
+      if (size == array.length) {
+        array = Arrays.copyOf(array, size * 2);
+      }
+      array[size++] = TypeAdapters.readFloat(in);
+    }
+    return size == array.length ? array : Arrays.copyOf(array, size);
+  }
+
+  /**
+   * Reads the elements of a {@code byte[]} from a JSON array; the caller has to begin and end the
+   * array.
+   */
+  static byte[] readBytes(JsonReader in) throws IOException {
+    byte[] array = new byte[INITIAL_CAPACITY];
+    int size = 0;
+    while (in.hasNext()) {
+      if (size == array.length) {
+        array = Arrays.copyOf(array, size * 2);
+      }
+      array[size++] = TypeAdapters.readByte(in);
+    }
+    return size == array.length ? array : Arrays.copyOf(array, size);
+  }
+
+  private static short[] readShorts(JsonReader in) throws IOException {
+    short[] array = new short[INITIAL_CAPACITY];
+    int size = 0;
+    while (in.hasNext()) {
+      if (size == array.length) {
+        array = Arrays.copyOf(array, size * 2);
+      }
+      array[size++] = TypeAdapters.readShort(in);
+    }
+    return size == array.length ? array : Arrays.copyOf(array, size);
+  }
+
+  private static char[] readChars(JsonReader in) throws IOException {
+    char[] array = new char[INITIAL_CAPACITY];
+    int size = 0;
+    while (in.hasNext()) {
+      if (size == array.length) {
+        array = Arrays.copyOf(array, size * 2);
+      }
+      array[size++] = TypeAdapters.readChar(in);
+    }
+    return size == array.length ? array : Arrays.copyOf(array, size);
+  }
+
+  private static boolean[] readBooleans(JsonReader in) throws IOException {
+    boolean[] array = new boolean[INITIAL_CAPACITY];
+    int size = 0;
+    while (in.hasNext()) {
+      if (size == array.length) {
+        array = Arrays.copyOf(array, size * 2);
+      }
+      array[size++] = TypeAdapters.readBoolean(in);
+    }
+    return size == array.length ? array : Arrays.copyOf(array, size);
+  }
+
+  /** Writes the elements of a {@code byte[]}; the caller has to begin and end the JSON array. */
+  static void writeBytes(JsonWriter out, byte[] array) throws IOException {
+    for (byte value : array) {
+      out.value(value);
+    }
+  }
+
+  @Override
+  public void write(JsonWriter out, Object array) throws IOException {
+    if (array == null) {
+      out.nullValue();
+      return;
+    }
+
+    out.beginArray();
+    switch (kind) {
+      case KIND_INT:
+        for (int value : (int[]) array) {
+          out.value(value);
+        }
+        break;
+      case KIND_LONG:
+        for (long value : (long[]) array) {
+          out.value(value);
+        }
+        break;
+      case KIND_DOUBLE:
+      case KIND_FINITE_DOUBLE:
+        for (double value : (double[]) array) {
+          writeDouble(out, value, kind);
+        }
+        break;
+      case KIND_FLOAT:
+      case KIND_FINITE_FLOAT:
+        for (float value : (float[]) array) {
+          if (kind == KIND_FINITE_FLOAT) {
+            TypeAdapters.checkValidFloatingPoint(value);
+          }
+          TypeAdapters.writeFloat(out, value);
+        }
+        break;
+      case KIND_BYTE:
+        writeBytes(out, (byte[]) array);
+        break;
+      case KIND_SHORT:
+        for (short value : (short[]) array) {
+          out.value(value);
+        }
+        break;
+      case KIND_CHAR:
+        for (char value : (char[]) array) {
+          out.value(String.valueOf(value));
+        }
+        break;
+      default:
+        for (boolean value : (boolean[]) array) {
+          out.value(value);
+        }
+        break;
+    }
+    out.endArray();
+  }
+}
@@ -29,11 +29,14 @@ import com.google.gson.annotations.JsonAdapter;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.internal.ConstructorConstructor;
 import com.google.gson.internal.Excluder;
-import com.google.gson.internal.GsonTypes;
+import com.google.gson.internal.FieldNameMatcher;
+import com.google.gson.internal.JsonReaderInternalAccess;
+import com.google.gson.internal.JsonWriterInternalAccess;
 import com.google.gson.internal.ObjectConstructor;
 import com.google.gson.internal.Primitives;
 import com.google.gson.internal.ReflectionAccessFilterHelper;
 import com.google.gson.internal.TroubleshootingGuide;
+import com.google.gson.internal.TypeResolutionCache;
 import com.google.gson.internal.reflect.ReflectionHelper;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
@@ -63,18 +66,22 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
   private final Excluder excluder;
   private final JsonAdapterAnnotationTypeAdapterFactory jsonAdapterFactory;
   private final List<ReflectionAccessFilter> reflectionFilters;
+  private final boolean methodHandleFieldAccess;
+  private final TypeResolutionCache typeResolutionCache = new TypeResolutionCache();
 
   public ReflectiveTypeAdapterFactory(
       ConstructorConstructor constructorConstructor,
       FieldNamingStrategy fieldNamingPolicy,
       Excluder excluder,
       JsonAdapterAnnotationTypeAdapterFactory jsonAdapterFactory,
-      List<ReflectionAccessFilter> reflectionFilters) {
+      List<ReflectionAccessFilter> reflectionFilters,
+      boolean methodHandleFieldAccess) {
     this.constructorConstructor = constructorConstructor;
     this.fieldNamingPolicy = fieldNamingPolicy;
     this.excluder = excluder;
     this.jsonAdapterFactory = jsonAdapterFactory;
     this.reflectionFilters = reflectionFilters;
+    this.methodHandleFieldAccess = methodHandleFieldAccess;
   }
 
   private boolean includeField(Field f, boolean serialize) {
@@ -217,6 +224,23 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
       // Will never actually be used, but we set it to avoid confusing nullness-analysis tools
       writeTypeAdapter = typeAdapter;
     }
+
+    // If blockInaccessible, the access checks are performed for every access, so use reflection
+    if (methodHandleFieldAccess && !blockInaccessible) {
+      BoundField boundField =
+          MethodHandleBoundField.create(
+              context,
+              serializedName,
+              field,
+              accessor,
+              typeAdapter,
+              writeTypeAdapter,
+              jsonAdapterPresent);
+      if (boundField != null) {
+        return boundField;
+      }
+    }
+
     return new BoundField(serializedName, field) {
       @Override
       void write(JsonWriter writer, Object source) throws IOException, IllegalAccessException {
@@ -247,7 +271,7 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
           // avoid direct recursion
           return;
         }
-        writer.name(serializedName);
+        writeName(writer);
         writeTypeAdapter.write(writer, fieldValue);
       }
 
@@ -289,14 +313,22 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
     public static final FieldsData EMPTY =
         new FieldsData(Collections.emptyMap(), Collections.emptyList());
 
-    /** Maps from JSON member name to field */
-    public final Map<String, BoundField> deserializedFields;
+    /**
+     * Matches JSON member names; the index of a name is its index in {@link #deserializedFields}
+     */
+    public final FieldNameMatcher deserializedNames;
+
+    public final BoundField[] deserializedFields;
 
     public final List<BoundField> serializedFields;
 
+    /**
+     * @param deserializedFields maps from JSON member name to field
+     */
     public FieldsData(
         Map<String, BoundField> deserializedFields, List<BoundField> serializedFields) {
-      this.deserializedFields = deserializedFields;
+      this.deserializedNames = new FieldNameMatcher(deserializedFields.keySet());
+      this.deserializedFields = deserializedFields.values().toArray(new BoundField[0]);
       this.serializedFields = serializedFields;
     }
   }
@@ -391,7 +423,7 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
           ReflectionHelper.makeAccessible(field);
         }
 
-        Type fieldType = GsonTypes.resolve(type.getType(), raw, field.getGenericType());
+        Type fieldType = typeResolutionCache.resolve(type.getType(), raw, field.getGenericType());
         List<String> fieldNames = getFieldNames(field);
         String serializedName = fieldNames.get(0);
         BoundField boundField =
@@ -421,7 +453,9 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
           }
         }
       }
-      type = TypeToken.get(GsonTypes.resolve(type.getType(), raw, raw.getGenericSuperclass()));
+      type =
+          TypeToken.get(
+              typeResolutionCache.resolve(type.getType(), raw, raw.getGenericSuperclass()));
       raw = type.getRawType();
     }
     return new FieldsData(deserializedFields, new ArrayList<>(serializedFields.values()));
@@ -436,12 +470,36 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
     /** Name of the underlying field */
     final String fieldName;
 
+    /**
+     * Quoted and escaped forms of {@link #serializedName}; created on first serialization, when
+     * {@code JsonWriter} has been loaded and has initialized {@link JsonWriterInternalAccess}
+     */
+    private QuotedName quotedName;
+
     protected BoundField(String serializedName, Field field) {
       this.serializedName = serializedName;
       this.field = field;
       this.fieldName = field.getName();
     }
 
+    /**
+     * Writes {@link #serializedName} as property name, without escaping it again for every
+     * serialized object
+     */
+    final void writeName(JsonWriter writer) throws IOException {
+      JsonWriterInternalAccess access = JsonWriterInternalAccess.INSTANCE;
+      QuotedName quotedName = this.quotedName;
+      if (quotedName == null) {
+        // Benign race: concurrent threads create equal instances, and QuotedName has only final
+        // fields so it is safely published
+        quotedName =
+            new QuotedName(
+                access.quoteName(serializedName, false), access.quoteName(serializedName, true));
+        this.quotedName = quotedName;
+      }
+      access.quotedName(writer, serializedName, quotedName.plain, quotedName.htmlSafe);
+    }
+
     /** Read this field value from the source, and append its JSON value to the writer */
     abstract void write(JsonWriter writer, Object source)
         throws IOException, IllegalAccessException;
@@ -458,6 +516,16 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
         throws IOException, IllegalAccessException;
   }
 
+  private static final class QuotedName {
+    final String plain;
+    final String htmlSafe;
+
+    QuotedName(String plain, String htmlSafe) {
+      this.plain = plain;
+      this.htmlSafe = htmlSafe;
+    }
+  }
+
   /**
    * Base class for Adapters produced by this factory.
    *
@@ -506,17 +574,18 @@ public final class ReflectiveTypeAdapterFactory implements TypeAdapterFactory {
       }
 
       A accumulator = createAccumulator();
-      Map<String, BoundField> deserializedFields = fieldsData.deserializedFields;
+      JsonReaderInternalAccess readerAccess = JsonReaderInternalAccess.INSTANCE;
+      FieldNameMatcher deserializedNames = fieldsData.deserializedNames;
+      BoundField[] deserializedFields = fieldsData.deserializedFields;
 
       try {
         in.beginObject();
         while (in.hasNext()) {
-          String name = in.nextName();
-          BoundField field = deserializedFields.get(name);
-          if (field == null) {
+          int index = readerAccess.nextNameIndex(in, deserializedNames);
+          if (index < 0) {
             in.skipValue();
           } else {
-            readField(accumulator, in, field);
+            readField(accumulator, in, deserializedFields[index]);
           }
         }
       } catch (IllegalStateException e) {
@@ -19,9 +19,13 @@ package com.google.gson.internal.bind;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonIOException;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.RawJson;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
+import com.google.gson.internal.Base64Codec;
+import com.google.gson.internal.JsonReaderInternalAccess;
 import com.google.gson.internal.LazilyParsedNumber;
 import com.google.gson.internal.NumberLimits;
 import com.google.gson.internal.TroubleshootingGuide;
@@ -146,11 +150,8 @@ public final class TypeAdapters {
           if (peek == JsonToken.NULL) {
             in.nextNull();
             return null;
-          } else if (peek == JsonToken.STRING) {
-            // support strings for compatibility with GSON 1.7
-            return Boolean.parseBoolean(in.nextString());
           }
-          return in.nextBoolean();
+          return readBoolean(in);
         }
 
         @Override
@@ -159,6 +160,15 @@ public final class TypeAdapters {
         }
       };
 
+  /** Reads a non-null boolean value, as done by {@link #BOOLEAN}. */
+  public static boolean readBoolean(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.STRING) {
+      // support strings for compatibility with GSON 1.7
+      return Boolean.parseBoolean(in.nextString());
+    }
+    return in.nextBoolean();
+  }
+
   /**
    * Writes a boolean as a string. Useful for map keys, where booleans aren't otherwise permitted.
    */
@@ -190,19 +200,7 @@ public final class TypeAdapters {
             in.nextNull();
             return null;
           }
-
-          int intValue;
-          try {
-            intValue = in.nextInt();
-          } catch (NumberFormatException e) {
-            throw new JsonSyntaxException(e);
-          }
-          // Allow up to 255 to support unsigned values
-          if (intValue > 255 || intValue < Byte.MIN_VALUE) {
-            throw new JsonSyntaxException(
-                "Lossy conversion from " + intValue + " to byte; at path " + in.getPreviousPath());
-          }
-          return (byte) intValue;
+          return readByte(in);
         }
 
         @Override
@@ -217,6 +215,22 @@ public final class TypeAdapters {
 
   public static final TypeAdapterFactory BYTE_FACTORY = newFactory(byte.class, Byte.class, BYTE);
 
+  /** Reads a non-null byte value, as done by {@link #BYTE}. */
+  public static byte readByte(JsonReader in) throws IOException {
+    int intValue;
+    try {
+      intValue = in.nextInt();
+    } catch (NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
+    // Allow up to 255 to support unsigned values
+    if (intValue > 255 || intValue < Byte.MIN_VALUE) {
+      throw new JsonSyntaxException(
+          "Lossy conversion from " + intValue + " to byte; at path " + in.getPreviousPath());
+    }
+    return (byte) intValue;
+  }
+
   public static final TypeAdapter<Number> SHORT =
       new TypeAdapter<Number>() {
         @Override
@@ -225,19 +239,7 @@ public final class TypeAdapters {
             in.nextNull();
             return null;
           }
-
-          int intValue;
-          try {
-            intValue = in.nextInt();
-          } catch (NumberFormatException e) {
-            throw new JsonSyntaxException(e);
-          }
-          // Allow up to 65535 to support unsigned values
-          if (intValue > 65535 || intValue < Short.MIN_VALUE) {
-            throw new JsonSyntaxException(
-                "Lossy conversion from " + intValue + " to short; at path " + in.getPreviousPath());
-          }
-          return (short) intValue;
+          return readShort(in);
         }
 
         @Override
@@ -253,6 +255,22 @@ public final class TypeAdapters {
   public static final TypeAdapterFactory SHORT_FACTORY =
       newFactory(short.class, Short.class, SHORT);
 
+  /** Reads a non-null short value, as done by {@link #SHORT}. */
+  public static short readShort(JsonReader in) throws IOException {
+    int intValue;
+    try {
+      intValue = in.nextInt();
+    } catch (NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
+    // Allow up to 65535 to support unsigned values
+    if (intValue > 65535 || intValue < Short.MIN_VALUE) {
+      throw new JsonSyntaxException(
+          "Lossy conversion from " + intValue + " to short; at path " + in.getPreviousPath());
+    }
+    return (short) intValue;
+  }
+
   public static final TypeAdapter<Number> INTEGER =
       new TypeAdapter<Number>() {
         @Override
@@ -349,6 +367,41 @@ public final class TypeAdapters {
   public static final TypeAdapterFactory ATOMIC_INTEGER_ARRAY_FACTORY =
       newFactory(AtomicIntegerArray.class, TypeAdapters.ATOMIC_INTEGER_ARRAY);
 
+  /**
+   * Writes a {@code byte[]} as Base64 string, see {@link
+   * com.google.gson.GsonBuilder#serializeByteArraysAsBase64()}. For compatibility JSON arrays of
+   * numbers are accepted as well during deserialization.
+   */
+  public static final TypeAdapter<byte[]> BYTE_ARRAY_BASE64 =
+      new TypeAdapter<byte[]>() {
+        @Override
+        public byte[] read(JsonReader in) throws IOException {
+          JsonToken peek = in.peek();
+          if (peek == JsonToken.BEGIN_ARRAY) {
+            in.beginArray();
+            byte[] array = PrimitiveArrayTypeAdapter.readBytes(in);
+            in.endArray();
+            return array;
+          }
+
+          try {
+            return Base64Codec.decode(in.nextString());
+          } catch (IllegalArgumentException e) {
+            // Don't include the string in the message, it might be large
+            throw new JsonSyntaxException(
+                "Failed parsing Base64 data; at path " + in.getPreviousPath(), e);
+          }
+        }
+
+        @Override
+        public void write(JsonWriter out, byte[] value) throws IOException {
+          out.value(Base64Codec.encode(value));
+        }
+      }.nullSafe();
+
+  public static final TypeAdapterFactory BYTE_ARRAY_BASE64_FACTORY =
+      newFactory(byte[].class, TypeAdapters.BYTE_ARRAY_BASE64);
+
   public static final TypeAdapter<Number> LONG =
       new TypeAdapter<Number>() {
         @Override
@@ -382,7 +435,7 @@ public final class TypeAdapters {
             in.nextNull();
             return null;
           }
-          return (float) in.nextDouble();
+          return readFloat(in);
         }
 
         @Override
@@ -390,15 +443,73 @@ public final class TypeAdapters {
           if (value == null) {
             out.nullValue();
           } else {
-            // For backward compatibility don't call `JsonWriter.value(float)` because that method
-            // has been newly added and not all custom JsonWriter implementations might override
-            // it yet
-            Number floatNumber = value instanceof Float ? value : value.floatValue();
-            out.value(floatNumber);
+            writeFloat(out, value.floatValue());
+          }
+        }
+      };
+
+  /**
+   * Like {@link #FLOAT}, except that it rejects NaN and infinity values during serialization, see
+   * {@link com.google.gson.GsonBuilder#serializeSpecialFloatingPointValues()}.
+   */
+  public static final TypeAdapter<Number> FINITE_FLOAT =
+      new TypeAdapter<Number>() {
+        @Override
+        public Float read(JsonReader in) throws IOException {
+          if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+          }
+          return readFloat(in);
+        }
+
+        @Override
+        public void write(JsonWriter out, Number value) throws IOException {
+          if (value == null) {
+            out.nullValue();
+            return;
           }
+          float floatValue = value.floatValue();
+          checkValidFloatingPoint(floatValue);
+          writeFloat(out, floatValue);
         }
       };
 
+  /**
+   * Reads a float value, as done by {@link #FLOAT} and {@link #FINITE_FLOAT}. For backward
+   * compatibility {@link JsonReader#nextFloat()} is only used for the Gson reader implementations,
+   * see {@link #writeFloat(JsonWriter, float)}; custom {@code JsonReader} subclasses might only
+   * override {@code nextDouble()}.
+   */
+  public static float readFloat(JsonReader in) throws IOException {
+    Class<?> readerClass = in.getClass();
+    if (readerClass == JsonReader.class || readerClass == JsonTreeReader.class) {
+      return in.nextFloat();
+    }
+    return (float) in.nextDouble();
+  }
+
+  /**
+   * Writes a float value, as done by {@link #FLOAT} and {@link #FINITE_FLOAT}.
+   *
+   * <p>{@link JsonWriter#value(float)} has been added later than the other {@code value} methods,
+   * and custom {@code JsonWriter} subclasses might not override it yet. For backward compatibility
+   * it is therefore only called for the Gson writer implementations listed here, which all override
+   * it; any other writer receives a boxed {@code Float} through {@link JsonWriter#value(Number)}. A
+   * new Gson {@code JsonWriter} subclass has to be added to this list to benefit from {@code
+   * value(float)}.
+   */
+  public static void writeFloat(JsonWriter out, float value) throws IOException {
+    Class<?> writerClass = out.getClass();
+    if (writerClass == JsonWriter.class
+        || writerClass == JsonTreeWriter.class
+        || writerClass == MapKeyWriter.class) {
+      out.value(value);
+    } else {
+      out.value((Number) value);
+    }
+  }
+
   public static final TypeAdapter<Number> DOUBLE =
       new TypeAdapter<Number>() {
         @Override
@@ -420,6 +531,42 @@ public final class TypeAdapters {
         }
       };
 
+  /**
+   * Like {@link #DOUBLE}, except that it rejects NaN and infinity values during serialization, see
+   * {@link com.google.gson.GsonBuilder#serializeSpecialFloatingPointValues()}.
+   */
+  public static final TypeAdapter<Number> FINITE_DOUBLE =
+      new TypeAdapter<Number>() {
+        @Override
+        public Double read(JsonReader in) throws IOException {
+          if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+          }
+          return in.nextDouble();
+        }
+
+        @Override
+        public void write(JsonWriter out, Number value) throws IOException {
+          if (value == null) {
+            out.nullValue();
+            return;
+          }
+          double doubleValue = value.doubleValue();
+          checkValidFloatingPoint(doubleValue);
+          out.value(doubleValue);
+        }
+      };
+
+  public static void checkValidFloatingPoint(double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      throw new IllegalArgumentException(
+          value
+              + " is not a valid double value as per JSON specification. To override this"
+              + " behavior, use GsonBuilder.serializeSpecialFloatingPointValues() method.");
+    }
+  }
+
   public static final TypeAdapter<Character> CHARACTER =
       new TypeAdapter<Character>() {
         @Override
@@ -428,12 +575,7 @@ public final class TypeAdapters {
             in.nextNull();
             return null;
           }
-          String str = in.nextString();
-          if (str.length() != 1) {
-            throw new JsonSyntaxException(
-                "Expecting character, got: " + str + "; at " + in.getPreviousPath());
-          }
-          return str.charAt(0);
+          return readChar(in);
         }
 
         @Override
@@ -445,6 +587,16 @@ public final class TypeAdapters {
   public static final TypeAdapterFactory CHARACTER_FACTORY =
       newFactory(char.class, Character.class, CHARACTER);
 
+  /** Reads a non-null char value, as done by {@link #CHARACTER}. */
+  public static char readChar(JsonReader in) throws IOException {
+    String str = in.nextString();
+    if (str.length() != 1) {
+      throw new JsonSyntaxException(
+          "Expecting character, got: " + str + "; at " + in.getPreviousPath());
+    }
+    return str.charAt(0);
+  }
+
   public static final TypeAdapter<String> STRING =
       new TypeAdapter<String>() {
         @Override
@@ -811,6 +963,32 @@ public final class TypeAdapters {
   public static final TypeAdapterFactory JSON_ELEMENT_FACTORY =
       newTypeHierarchyFactory(JsonElement.class, JSON_ELEMENT);
 
+  public static final TypeAdapter<RawJson> RAW_JSON =
+      new TypeAdapter<RawJson>() {
+        @Override
+        public RawJson read(JsonReader in) throws IOException {
+          if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+          }
+          return RawJson.of(JsonReaderInternalAccess.INSTANCE.nextRawValue(in));
+        }
+
+        @Override
+        public void write(JsonWriter out, RawJson value) throws IOException {
+          if (value == null) {
+            out.nullValue();
+          } else if (out instanceof JsonTreeWriter) {
+            // JsonTreeWriter does not support writing JSON text
+            JSON_ELEMENT.write(out, JsonParser.parseString(value.getJson()));
+          } else {
+            out.jsonValue(value.getJson());
+          }
+        }
+      };
+
+  public static final TypeAdapterFactory RAW_JSON_FACTORY = newFactory(RawJson.class, RAW_JSON);
+
   public static final TypeAdapterFactory ENUM_FACTORY = EnumTypeAdapter.FACTORY;
 
   @SuppressWarnings("TypeParameterNaming")
@@ -145,9 +145,29 @@ public class ISO8601Utils {
    * @throws ParseException if the date is not in the appropriate format
    */
   public static Date parse(String date, ParsePosition pos) throws ParseException {
+    return parse(date, pos.getIndex(), pos);
+  }
+
+  /**
+   * Parse a date from ISO-8601 formatted string, like {@link #parse(String, ParsePosition)}, but
+   * without reporting where parsing stopped.
+   *
+   * @param date ISO string to parse in the appropriate format.
+   * @param start The index to start parsing from.
+   * @return the parsed date
+   * @throws ParseException if the date is not in the appropriate format
+   */
+  public static Date parse(String date, int start) throws ParseException {
+    return parse(date, start, null);
+  }
+
+  /**
+   * @param pos updated to where parsing stopped if successful; may be {@code null}
+   */
+  private static Date parse(String date, int start, ParsePosition pos) throws ParseException {
     Exception fail = null;
     try {
-      int offset = pos.getIndex();
+      int offset = start;
 
       // extract year
       int year = parseInt(date, offset, offset += 4);
@@ -179,7 +199,9 @@ public class ISO8601Utils {
         Calendar calendar = new GregorianCalendar(year, month - 1, day);
         calendar.setLenient(false);
 
-        pos.setIndex(offset);
+        if (pos != null) {
+          pos.setIndex(offset);
+        }
         return calendar.getTime();
       }
 
@@ -232,11 +254,28 @@ public class ISO8601Utils {
       }
 
       TimeZone timezone = null;
+      // Offset from UTC in milliseconds, for time zones parsed without TimeZone lookup
+      int utcOffsetMillis = 0;
       char timezoneIndicator = date.charAt(offset);
 
       if (timezoneIndicator == 'Z') {
         timezone = TIMEZONE_UTC;
         offset += 1;
+      } else if ((timezoneIndicator == '+' || timezoneIndicator == '-')
+          && isSimpleTimeZoneOffset(date, offset)) {
+        // Avoid `TimeZone.getTimeZone`, which is slow and synchronized on some JDK versions; a
+        // fixed offset results in the same point in time
+        int timezoneOffsetLength = date.length() - offset;
+        int hours = parseInt(date, offset + 1, offset + 3);
+        int tzMinutes =
+            timezoneOffsetLength == 3 ? 0 : parseInt(date, date.length() - 2, date.length());
+        utcOffsetMillis = (hours * 60 + tzMinutes) * 60 * 1000;
+        if (timezoneIndicator == '-') {
+          utcOffsetMillis = -utcOffsetMillis;
+        }
+        timezone = TIMEZONE_UTC;
+        // Matches the position of the regular parsing below, which counts the appended "00"
+        offset += timezoneOffsetLength >= 5 ? timezoneOffsetLength : timezoneOffsetLength + 2;
       } else if (timezoneIndicator == '+' || timezoneIndicator == '-') {
         String timezoneOffset = date.substring(offset);
 
@@ -290,7 +329,13 @@ public class ISO8601Utils {
       calendar.set(Calendar.SECOND, seconds);
       calendar.set(Calendar.MILLISECOND, milliseconds);
 
-      pos.setIndex(offset);
+      if (utcOffsetMillis != 0) {
+        calendar.setTimeInMillis(calendar.getTimeInMillis() - utcOffsetMillis);
+      }
+
+      if (pos != null) {
+        pos.setIndex(offset);
+      }
       return calendar.getTime();
       // If we get a ParseException it'll already have the right message/offset.
       // Other exception types can convert here.
@@ -302,12 +347,46 @@ public class ISO8601Utils {
     if (msg == null || msg.isEmpty()) {
       msg = "(" + fail.getClass().getName() + ")";
     }
-    ParseException ex =
-        new ParseException("Failed to parse date [" + input + "]: " + msg, pos.getIndex());
+    ParseException ex = new ParseException("Failed to parse date [" + input + "]: " + msg, start);
     ex.initCause(fail);
     throw ex;
   }
 
+  /**
+   * Checks if the time zone offset starting at {@code offset} extends until the end of the string
+   * and has the form {@code [+-]hh}, {@code [+-]hhmm} or {@code [+-]hh:mm}, with hours 0-23 and
+   * minutes 0-59. Other forms are handled by the regular {@code TimeZone} lookup.
+   */
+  private static boolean isSimpleTimeZoneOffset(String value, int offset) {
+    int length = value.length() - offset;
+    if (length != 3 && length != 5 && length != 6) {
+      return false;
+    }
+    if (!isDigit(value, offset + 1) || !isDigit(value, offset + 2)) {
+      return false;
+    }
+    int hours = (value.charAt(offset + 1) - '0') * 10 + (value.charAt(offset + 2) - '0');
+    if (hours > 23) {
+      return false;
+    }
+    if (length == 3) {
+      return true;
+    }
+
+    int minutesOffset = value.length() - 2;
+    if (length == 6 && value.charAt(offset + 3) != ':') {
+      return false;
+    }
+    return isDigit(value, minutesOffset)
+        && isDigit(value, minutesOffset + 1)
+        && value.charAt(minutesOffset) <= '5';
+  }
+
+  private static boolean isDigit(String value, int index) {
+    char c = value.charAt(index);
+    return c >= '0' && c <= '9';
+  }
+
   /**
    * Check if the expected character exist at the given offset in the value.
    *
@@ -364,11 +443,15 @@ public class ISO8601Utils {
    * @param length the length of the string we should zero pad
    */
   private static void padInt(StringBuilder buffer, int value, int length) {
-    String strValue = Integer.toString(value);
-    for (int i = length - strValue.length(); i > 0; i--) {
+    // Count the digits instead of creating an intermediate String; value is never negative
+    int digits = 1;
+    for (int remaining = value; remaining >= 10; remaining /= 10) {
+      digits++;
+    }
+    for (int i = length - digits; i > 0; i--) {
       buffer.append('0');
     }
-    buffer.append(strValue);
+    buffer.append(value);
   }
 
   /**
@@ -20,21 +20,20 @@ import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
+import com.google.gson.internal.PooledDateFormat;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
-import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.TimeZone;
 
 /**
  * Adapter for java.sql.Date. Although this class appears stateless, it is not. DateFormat captures
  * its time zone and locale when it is created, which gives this class state. DateFormat isn't
- * thread safe either, so this class has to synchronize its read and write methods.
+ * thread safe either, so this class borrows copies of the format from a pool.
  */
 @SuppressWarnings("JavaUtilDate")
 final class SqlDateTypeAdapter extends TypeAdapter<java.sql.Date> {
@@ -49,7 +48,7 @@ final class SqlDateTypeAdapter extends TypeAdapter<java.sql.Date> {
         }
       };
 
-  private final DateFormat format = new SimpleDateFormat("MMM d, yyyy");
+  private final PooledDateFormat format = PooledDateFormat.of(new SimpleDateFormat("MMM d, yyyy"));
 
   private SqlDateTypeAdapter() {}
 
@@ -60,17 +59,12 @@ final class SqlDateTypeAdapter extends TypeAdapter<java.sql.Date> {
       return null;
     }
     String s = in.nextString();
-    synchronized (this) {
-      TimeZone originalTimeZone = format.getTimeZone(); // Save the original time zone
-      try {
-        Date utilDate = format.parse(s);
-        return new java.sql.Date(utilDate.getTime());
-      } catch (ParseException e) {
-        throw new JsonSyntaxException(
-            "Failed parsing '" + s + "' as SQL Date; at path " + in.getPreviousPath(), e);
-      } finally {
-        format.setTimeZone(originalTimeZone); // Restore the original time zone after parsing
-      }
+    try {
+      Date utilDate = format.parse(s);
+      return new java.sql.Date(utilDate.getTime());
+    } catch (ParseException e) {
+      throw new JsonSyntaxException(
+          "Failed parsing '" + s + "' as SQL Date; at path " + in.getPreviousPath(), e);
     }
   }
 
@@ -80,10 +74,6 @@ final class SqlDateTypeAdapter extends TypeAdapter<java.sql.Date> {
       out.nullValue();
       return;
     }
-    String dateString;
-    synchronized (this) {
-      dateString = format.format(value);
-    }
-    out.value(dateString);
+    out.value(format.format(value));
   }
 }
@@ -20,22 +20,21 @@ import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
+import com.google.gson.internal.PooledDateFormat;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import java.sql.Time;
-import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.TimeZone;
 
 /**
  * Adapter for java.sql.Time. Although this class appears stateless, it is not. DateFormat captures
  * its time zone and locale when it is created, which gives this class state. DateFormat isn't
- * thread safe either, so this class has to synchronize its read and write methods.
+ * thread safe either, so this class borrows copies of the format from a pool.
  */
 @SuppressWarnings("JavaUtilDate")
 final class SqlTimeTypeAdapter extends TypeAdapter<Time> {
@@ -50,7 +49,7 @@ final class SqlTimeTypeAdapter extends TypeAdapter<Time> {
         }
       };
 
-  private final DateFormat format = new SimpleDateFormat("hh:mm:ss a");
+  private final PooledDateFormat format = PooledDateFormat.of(new SimpleDateFormat("hh:mm:ss a"));
 
   private SqlTimeTypeAdapter() {}
 
@@ -61,17 +60,12 @@ final class SqlTimeTypeAdapter extends TypeAdapter<Time> {
       return null;
     }
     String s = in.nextString();
-    synchronized (this) {
-      TimeZone originalTimeZone = format.getTimeZone(); // Save the original time zone
-      try {
-        Date date = format.parse(s);
-        return new Time(date.getTime());
-      } catch (ParseException e) {
-        throw new JsonSyntaxException(
-            "Failed parsing '" + s + "' as SQL Time; at path " + in.getPreviousPath(), e);
-      } finally {
-        format.setTimeZone(originalTimeZone); // Restore the original time zone
-      }
+    try {
+      Date date = format.parse(s);
+      return new Time(date.getTime());
+    } catch (ParseException e) {
+      throw new JsonSyntaxException(
+          "Failed parsing '" + s + "' as SQL Time; at path " + in.getPreviousPath(), e);
     }
   }
 
@@ -81,10 +75,6 @@ final class SqlTimeTypeAdapter extends TypeAdapter<Time> {
       out.nullValue();
       return;
     }
-    String timeString;
-    synchronized (this) {
-      timeString = format.format(value);
-    }
-    out.value(timeString);
+    out.value(format.format(value));
   }
 }
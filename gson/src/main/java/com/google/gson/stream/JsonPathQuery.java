@@ -0,0 +1,344 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.stream;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.FieldNameMatcher;
+import com.google.gson.internal.JsonReaderInternalAccess;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled set of JSON paths which selects values from a {@link JsonReader} without reading the
+ * rest of the JSON data. Objects and arrays are only entered if a path can match values inside of
+ * them; all other values are skipped with {@link JsonReader#skipValue()}, without creating any
+ * objects for them.
+ *
+ * <p>The paths use a subset of the JSONPath syntax, in the same notation as {@link
+ * JsonReader#getPath()}:
+ *
+ * <ul>
+ *   <li>{@code $} &mdash; the value being read
+ *   <li>{@code .name} or {@code ['name']} &mdash; the member with the given name of a JSON object;
+ *       in the bracket notation the name can contain any characters, and {@code '} and {@code \}
+ *       have to be escaped with {@code \}
+ *   <li>{@code [3]} &mdash; the element with the given index of a JSON array
+ *   <li>{@code .*} or {@code [*]} &mdash; all members of a JSON object, or all elements of a JSON
+ *       array
+ * </ul>
+ *
+ * <p>The paths are always relative to the value passed to {@link #read(JsonReader, MatchHandler)}:
+ * {@code $} is that value, even if it is nested inside other JSON data. Only if the top-level value
+ * is read are the paths the same as the ones reported by {@code getPath()}.
+ *
+ * <p>For example, {@code $.items[*].price} selects the {@code price} of all elements of the {@code
+ * items} array of the value being read. If the paths match a value and also values nested inside of
+ * it, only the outer value is selected.
+ *
+ * <p>Example:
+ *
+ * <pre>
+ * JsonPathQuery query = JsonPathQuery.compile("$.meta.id", "$.items[*].price");
+ * query.read(jsonReader, (pathIndex, reader) -&gt; {
+ *   if (pathIndex == 0) {
+ *     id = reader.nextString();
+ *   } else {
+ *     total += reader.nextDouble();
+ *   }
+ * });
+ * </pre>
+ *
+ * <p>Instances of this class are immutable and can be shared between threads.
+ *
+ * @since $next-version$
+ */
+public final class JsonPathQuery {
+  /** Maximum number of paths, each is represented by one bit of a {@code long}. */
+  private static final int MAX_PATHS = 64;
+
+  /** Segment matching all members of an object or all elements of an array. */
+  private static final Object WILDCARD = new Object();
+
+  /** Receives the values matched by a {@link JsonPathQuery}. */
+  public interface MatchHandler {
+    /**
+     * Called when a value matches one of the paths. The handler has to consume exactly this value
+     * from {@code reader}, for example with {@link JsonReader#nextString()} or {@link
+     * TypeAdapter#read(JsonReader)}. {@link JsonReader#getPath()} returns the path of the value
+     * within the complete JSON data, which differs from the query path if the value passed to
+     * {@link #read(JsonReader, MatchHandler)} is not the top-level value.
+     *
+     * @param pathIndex index of the matching path, in the order the paths were specified when the
+     *     query was compiled; if multiple paths match, the lowest index
+     * @param reader reader positioned at the matching value
+     */
+    void onMatch(int pathIndex, JsonReader reader) throws IOException;
+  }
+
+  /** The part of the paths for the values at a specific nesting depth. */
+  private static final class Level {
+    /** Bit set of the paths which end at this level. */
+    long endingPaths;
+
+    /** Bit set of the paths with a wildcard at this level. */
+    long wildcardPaths;
+
+    /** Bit set of the paths with a member name at this level. */
+    long namePaths;
+
+    /** Bit set of the paths with an array index at this level. */
+    long indexPaths;
+
+    FieldNameMatcher names;
+
+    /** For each name of {@link #names}, the bit set of the paths containing it. */
+    long[] pathsByName;
+
+    int[] indices;
+
+    /** For each index of {@link #indices}, the bit set of the paths containing it. */
+    long[] pathsByIndex;
+  }
+
+  private final String[] paths;
+  private final Level[] levels;
+
+  private JsonPathQuery(String[] paths, Level[] levels) {
+    this.paths = paths;
+    this.levels = levels;
+  }
+
+  /**
+   * Compiles the given paths.
+   *
+   * @throws IllegalArgumentException if no path or more than 64 paths are specified, or if one of
+   *     the paths is malformed
+   */
+  public static JsonPathQuery compile(String... paths) {
+    if (paths.length == 0 || paths.length > MAX_PATHS) {
+      throw new IllegalArgumentException(
+          "Number of paths must be between 1 and " + MAX_PATHS + ", but is " + paths.length);
+    }
+
+    List<List<Object>> parsedPaths = new ArrayList<>();
+    int maxLength = 0;
+    for (String path : paths) {
+      List<Object> segments = parse(path);
+      parsedPaths.add(segments);
+      maxLength = Math.max(maxLength, segments.size());
+    }
+
+    Level[] levels = new Level[maxLength + 1];
+    for (int depth = 0; depth <= maxLength; depth++) {
+      Level level = new Level();
+      Map<String, Long> pathsByName = new LinkedHashMap<>();
+      Map<Integer, Long> pathsByIndex = new LinkedHashMap<>();
+      for (int i = 0; i < paths.length; i++) {
+        List<Object> segments = parsedPaths.get(i);
+        long bit = 1L << i;
+        if (segments.size() == depth) {
+          level.endingPaths |= bit;
+        } else if (segments.size() > depth) {
+          Object segment = segments.get(depth);
+          if (segment == WILDCARD) {
+            level.wildcardPaths |= bit;
+          } else if (segment instanceof String) {
+            level.namePaths |= bit;
+            pathsByName.merge((String) segment, bit, (a, b) -> a | b);
+          } else {
+            level.indexPaths |= bit;
+            pathsByIndex.merge((Integer) segment, bit, (a, b) -> a | b);
+          }
+        }
+      }
+
+      level.names = new FieldNameMatcher(pathsByName.keySet());
+      level.pathsByName = new long[pathsByName.size()];
+      int i = 0;
+      for (long namePaths : pathsByName.values()) {
+        level.pathsByName[i++] = namePaths;
+      }
+      level.indices = new int[pathsByIndex.size()];
+      level.pathsByIndex = new long[pathsByIndex.size()];
+      i = 0;
+      for (Map.Entry<Integer, Long> entry : pathsByIndex.entrySet()) {
+        level.indices[i] = entry.getKey();
+        level.pathsByIndex[i++] = entry.getValue();
+      }
+      levels[depth] = level;
+    }
+    return new JsonPathQuery(paths.clone(), levels);
+  }
+
+  /**
+   * Parses the path into its segments: {@code String} for member names, {@code Integer} for array
+   * indices and {@link #WILDCARD}.
+   */
+  private static List<Object> parse(String path) {
+    if (!path.startsWith("$")) {
+      throw new IllegalArgumentException("Path must start with '$': " + path);
+    }
+    List<Object> segments = new ArrayList<>();
+    int length = path.length();
+    int pos = 1;
+    while (pos < length) {
+      char c = path.charAt(pos++);
+      if (c == '.') {
+        int start = pos;
+        while (pos < length && path.charAt(pos) != '.' && path.charAt(pos) != '[') {
+          pos++;
+        }
+        if (pos == start) {
+          throw new IllegalArgumentException(
+              "Expected name at index " + start + " of path: " + path);
+        }
+        String name = path.substring(start, pos);
+        segments.add(name.equals("*") ? WILDCARD : name);
+      } else if (c == '[') {
+        if (pos < length && (path.charAt(pos) == '\'' || path.charAt(pos) == '"')) {
+          char quote = path.charAt(pos++);
+          StringBuilder name = new StringBuilder();
+          while (true) {
+            if (pos >= length) {
+              throw new IllegalArgumentException("Unterminated name in path: " + path);
+            }
+            c = path.charAt(pos++);
+            if (c == quote) {
+              break;
+            } else if (c == '\\' && pos < length) {
+              c = path.charAt(pos++);
+            }
+            name.append(c);
+          }
+          segments.add(name.toString());
+        } else if (path.startsWith("*", pos)) {
+          pos++;
+          segments.add(WILDCARD);
+        } else {
+          int start = pos;
+          while (pos < length && path.charAt(pos) >= '0' && path.charAt(pos) <= '9') {
+            pos++;
+          }
+          if (pos == start || pos - start > 9) {
+            throw new IllegalArgumentException(
+                "Expected array index at index " + start + " of path: " + path);
+          }
+          segments.add(Integer.parseInt(path.substring(start, pos)));
+        }
+        if (!path.startsWith("]", pos)) {
+          throw new IllegalArgumentException("Expected ']' at index " + pos + " of path: " + path);
+        }
+        pos++;
+      } else {
+        throw new IllegalArgumentException(
+            "Unexpected character '" + c + "' at index " + (pos - 1) + " of path: " + path);
+      }
+    }
+    return segments;
+  }
+
+  /**
+   * Reads the next value from {@code reader}, and calls {@code handler} for every value inside of
+   * it which matches one of the paths. {@code $} refers to the value read by this method, even if
+   * it is nested inside other JSON data.
+   *
+   * @throws IOException if reading fails
+   * @throws IllegalStateException if the next token is not a value
+   * @throws MalformedJsonException if the JSON data is malformed
+   */
+  public void read(JsonReader reader, MatchHandler handler) throws IOException {
+    read(reader, 0, -1L >>> (MAX_PATHS - paths.length), handler);
+  }
+
+  /**
+   * Reads the next value, where the paths of {@code activePaths} have matched all segments before
+   * {@code depth}.
+   */
+  private void read(JsonReader reader, int depth, long activePaths, MatchHandler handler)
+      throws IOException {
+    Level level = levels[depth];
+    long endingPaths = activePaths & level.endingPaths;
+    if (endingPaths != 0) {
+      handler.onMatch(Long.numberOfTrailingZeros(endingPaths), reader);
+      return;
+    }
+
+    JsonToken token = reader.peek();
+    long wildcardPaths = activePaths & level.wildcardPaths;
+    if (token == JsonToken.BEGIN_OBJECT && (wildcardPaths | (activePaths & level.namePaths)) != 0) {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        int nameIndex = JsonReaderInternalAccess.INSTANCE.nextNameIndex(reader, level.names);
+        long childPaths = wildcardPaths;
+        if (nameIndex >= 0) {
+          childPaths |= activePaths & level.pathsByName[nameIndex];
+        }
+        if (childPaths != 0) {
+          read(reader, depth + 1, childPaths, handler);
+        } else {
+          reader.skipValue();
+        }
+      }
+      reader.endObject();
+    } else if (token == JsonToken.BEGIN_ARRAY
+        && (wildcardPaths | (activePaths & level.indexPaths)) != 0) {
+      reader.beginArray();
+      for (int index = 0; reader.hasNext(); index++) {
+        long childPaths = wildcardPaths;
+        int[] indices = level.indices;
+        for (int i = 0; i < indices.length; i++) {
+          if (indices[i] == index) {
+            childPaths |= activePaths & level.pathsByIndex[i];
+          }
+        }
+        if (childPaths != 0) {
+          read(reader, depth + 1, childPaths, handler);
+        } else {
+          reader.skipValue();
+        }
+      }
+      reader.endArray();
+    } else {
+      reader.skipValue();
+    }
+  }
+
+  /**
+   * Reads the next value from {@code reader}, and returns all values inside of it which match one
+   * of the paths, read with the given adapter. To read the values as a specific type, obtain the
+   * adapter with {@link com.google.gson.Gson#getAdapter(Class)}.
+   *
+   * @throws IOException if reading fails
+   * @throws IllegalStateException if the next token is not a value
+   * @throws MalformedJsonException if the JSON data is malformed
+   */
+  public <T> List<T> readAll(JsonReader reader, TypeAdapter<T> adapter) throws IOException {
+    List<T> values = new ArrayList<>();
+    read(reader, (pathIndex, r) -> values.add(adapter.read(r)));
+    return values;
+  }
+
+  /** Returns the paths of this query. */
+  @Override
+  public String toString() {
+    return "JsonPathQuery" + Arrays.toString(paths);
+  }
+}
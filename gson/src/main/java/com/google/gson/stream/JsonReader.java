@@ -20,13 +20,17 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.Strictness;
 import com.google.gson.TypeAdapter;
+import com.google.gson.internal.FieldNameMatcher;
+import com.google.gson.internal.FloatingPointParser;
 import com.google.gson.internal.JsonReaderInternalAccess;
+import com.google.gson.internal.LazilyParsedNumber;
 import com.google.gson.internal.TroubleshootingGuide;
-import com.google.gson.internal.bind.JsonTreeReader;
 import java.io.Closeable;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.Objects;
 
@@ -292,6 +296,21 @@ public class JsonReader implements Closeable {
    */
   private String peekedString;
 
+  /**
+   * While the source text of a value is captured, receives the chars which are discarded from the
+   * buffer; {@code null} otherwise.
+   */
+  private StringBuilder capture;
+
+  /** Offset in {@link #buffer} of the first captured char which has not been added to capture. */
+  private int captureStart;
+
+  /**
+   * Whether syntax which is only permitted in non-strict mode has been encountered while capturing
+   * the source text of a value. Only set while {@link #capture} is non-null.
+   */
+  private boolean capturedNonStrictSyntax;
+
   /** The nesting stack. Using a manual array rather than an ArrayList saves 20%. */
   private int[] stack = new int[32];
 
@@ -765,9 +784,13 @@ public class JsonReader implements Closeable {
         return PEEKED_NONE;
       }
       c = buffer[pos + i];
-      boolean matched = c == keyword.charAt(i) || (allowsUpperCased && c == keywordUpper.charAt(i));
-      if (!matched) {
-        return PEEKED_NONE;
+      if (c != keyword.charAt(i)) {
+        if (!allowsUpperCased || c != keywordUpper.charAt(i)) {
+          return PEEKED_NONE;
+        }
+        if (capture != null) {
+          capturedNonStrictSyntax = true;
+        }
       }
     }
 
@@ -944,6 +967,42 @@ public class JsonReader implements Closeable {
     return result;
   }
 
+  /**
+   * Consumes the next token like {@link #nextName()}, and returns the index of the name in {@code
+   * matcher}, or -1 if it is not one of its names. Double quoted names without escape sequences
+   * which are completely in the buffer are matched in place, so no {@code String} is created for
+   * known names.
+   */
+  private int nextNameIndex(FieldNameMatcher matcher) throws IOException {
+    int p = peeked;
+    if (p == PEEKED_NONE) {
+      p = doPeek();
+    }
+    if (p == PEEKED_DOUBLE_QUOTED_NAME) {
+      char[] buffer = this.buffer;
+      int start = pos;
+      int l = limit;
+      int hash = 0;
+      for (int i = start; i < l; i++) {
+        char c = buffer[i];
+        if (c == '"') {
+          int length = i - start;
+          int index = matcher.match(buffer, start, length, hash);
+          pos = i + 1;
+          peeked = PEEKED_NONE;
+          pathNames[stackSize - 1] =
+              index >= 0 ? matcher.name(index) : new String(buffer, start, length);
+          return index;
+        } else if (c == '\\' || c < 0x20) {
+          // Let nextQuotedValue handle escape sequences, control characters and line numbers
+          break;
+        }
+        hash = 31 * hash + c;
+      }
+    }
+    return matcher.match(nextName());
+  }
+
   /**
    * Returns the {@link JsonToken#STRING string} value of the next token, consuming it. If the next
    * token is a number, this method will return its string form.
@@ -1041,6 +1100,15 @@ public class JsonReader implements Closeable {
     }
 
     if (p == PEEKED_NUMBER) {
+      // Parse directly from the buffer; a number literal can only be infinite if it is too large
+      double result = FloatingPointParser.parseDouble(buffer, pos, peekedNumberLength);
+      if (!Double.isInfinite(result) || strictness == Strictness.LENIENT) {
+        pos += peekedNumberLength;
+        peeked = PEEKED_NONE;
+        pathIndices[stackSize - 1]++;
+        return result;
+      }
+      // Otherwise let the code below report the error
       peekedString = new String(buffer, pos, peekedNumberLength);
       pos += peekedNumberLength;
     } else if (p == PEEKED_SINGLE_QUOTED || p == PEEKED_DOUBLE_QUOTED) {
@@ -1062,6 +1130,69 @@ public class JsonReader implements Closeable {
     return result;
   }
 
+  /**
+   * Returns the {@link JsonToken#NUMBER float} value of the next token, consuming it. If the next
+   * token is a string, this method will attempt to parse it as a float using {@link
+   * Float#parseFloat(String)}.
+   *
+   * <p>Unlike casting the result of {@link #nextDouble()} to {@code float}, the value is rounded
+   * only once, directly to the nearest {@code float}. Values whose magnitude is too large for a
+   * {@code float} are returned as infinity, the same way such a cast would convert them.
+   *
+   * @throws IllegalStateException if the next token is neither a number nor a string.
+   * @throws NumberFormatException if the next literal value cannot be parsed as a float.
+   * @throws MalformedJsonException if the next literal value is NaN or Infinity (or too large for a
+   *     {@code double}) and this reader is not {@link #setStrictness(Strictness) lenient}.
+   * @since $next-version$
+   */
+  public float nextFloat() throws IOException {
+    int p = peeked;
+    if (p == PEEKED_NONE) {
+      p = doPeek();
+    }
+
+    if (p == PEEKED_LONG) {
+      peeked = PEEKED_NONE;
+      pathIndices[stackSize - 1]++;
+      return (float) peekedLong;
+    }
+
+    if (p == PEEKED_NUMBER) {
+      float result = FloatingPointParser.parseFloat(buffer, pos, peekedNumberLength);
+      if (!Float.isInfinite(result)
+          || strictness == Strictness.LENIENT
+          || !Double.isInfinite(FloatingPointParser.parseDouble(buffer, pos, peekedNumberLength))) {
+        pos += peekedNumberLength;
+        peeked = PEEKED_NONE;
+        pathIndices[stackSize - 1]++;
+        return result;
+      }
+      // Otherwise let the code below report the error
+      peekedString = new String(buffer, pos, peekedNumberLength);
+      pos += peekedNumberLength;
+    } else if (p == PEEKED_SINGLE_QUOTED || p == PEEKED_DOUBLE_QUOTED) {
+      peekedString = nextQuotedValue(p == PEEKED_SINGLE_QUOTED ? '\'' : '"');
+    } else if (p == PEEKED_UNQUOTED) {
+      peekedString = nextUnquotedValue();
+    } else if (p != PEEKED_BUFFERED) {
+      throw unexpectedTokenError("a float");
+    }
+
+    peeked = PEEKED_BUFFERED;
+    float result = Float.parseFloat(peekedString); // don't catch this NumberFormatException.
+    if (strictness != Strictness.LENIENT && (Float.isNaN(result) || Float.isInfinite(result))) {
+      // Only reject values which are not finite as double either, consistent with nextDouble()
+      double doubleResult = Double.parseDouble(peekedString);
+      if (Double.isNaN(doubleResult) || Double.isInfinite(doubleResult)) {
+        throw syntaxError("JSON forbids NaN and infinities: " + doubleResult);
+      }
+    }
+    peekedString = null;
+    peeked = PEEKED_NONE;
+    pathIndices[stackSize - 1]++;
+    return result;
+  }
+
   /**
    * Returns the {@link JsonToken#NUMBER long} value of the next token, consuming it. If the next
    * token is a string, this method will attempt to parse it as a long. If the next token's numeric
@@ -1256,9 +1387,15 @@ public class JsonReader implements Closeable {
           char unused = readEscapeCharacter();
           p = pos;
           l = limit;
-        } else if (c == '\n') {
-          lineNumber++;
-          lineStart = p;
+        } else if (c < 0x20) {
+          // Unescaped control characters are only allowed in non-strict mode
+          if (capture != null) {
+            capturedNonStrictSyntax = true;
+          }
+          if (c == '\n') {
+            lineNumber++;
+            lineStart = p;
+          }
         }
       }
       pos = p;
@@ -1465,6 +1602,144 @@ public class JsonReader implements Closeable {
     pathIndices[stackSize - 1]++;
   }
 
+  /**
+   * Skips the next value like {@link #skipValue()}, and returns its exact source text, including
+   * any whitespace inside of it. If the value uses syntax which is only permitted in non-strict
+   * mode, such as single-quoted strings, unquoted names or comments, it is instead returned as
+   * normalized JSON, so that the result is always valid JSON.
+   */
+  private String nextRawValue() throws IOException {
+    int p = peeked;
+    if (p == PEEKED_NONE) {
+      p = doPeek();
+    }
+
+    int start;
+    switch (p) {
+      case PEEKED_BEGIN_ARRAY:
+      case PEEKED_BEGIN_OBJECT:
+      case PEEKED_SINGLE_QUOTED:
+      case PEEKED_DOUBLE_QUOTED:
+        // Opening bracket or quote has already been consumed, but is still in the buffer
+        start = pos - 1;
+        break;
+      case PEEKED_TRUE:
+        skipValue();
+        // Source text might be upper-cased in non-strict mode
+        return "true";
+      case PEEKED_FALSE:
+        skipValue();
+        return "false";
+      case PEEKED_NULL:
+        skipValue();
+        return "null";
+      case PEEKED_NUMBER:
+      case PEEKED_UNQUOTED:
+        start = pos;
+        break;
+      case PEEKED_LONG:
+        {
+          // Source text of the number has already been consumed, but it always has this format
+          String result = Long.toString(peekedLong);
+          skipValue();
+          return result;
+        }
+      case PEEKED_BUFFERED:
+        throw new IllegalStateException(
+            "Source text of value is not available anymore" + locationString());
+      default:
+        throw unexpectedTokenError("a value");
+    }
+
+    StringBuilder capture = new StringBuilder();
+    this.capture = capture;
+    captureStart = start;
+    // The quote or literal has already been checked by doPeek()
+    capturedNonStrictSyntax = p == PEEKED_SINGLE_QUOTED || p == PEEKED_UNQUOTED;
+    try {
+      skipValue();
+    } finally {
+      this.capture = null;
+    }
+    capture.append(buffer, captureStart, pos - captureStart);
+    String sourceText = capture.toString();
+    if (!capturedNonStrictSyntax) {
+      return sourceText;
+    }
+
+    // Reads the value again with the same settings, which are known to accept it
+    JsonReader sourceReader = new JsonReader(new StringReader(sourceText));
+    sourceReader.setStrictness(strictness);
+    sourceReader.setNestingLimit(nestingLimit);
+    return normalizedValue(sourceReader);
+  }
+
+  /**
+   * Reads the next value of {@code in} and returns it as normalized JSON. The tokens are copied one
+   * by one, so unlike reading a {@code JsonElement} this keeps duplicate member names, and works
+   * for any nesting depth the reader permits.
+   */
+  private static String normalizedValue(JsonReader in) throws IOException {
+    StringWriter stringWriter = new StringWriter();
+    JsonWriter out = new JsonWriter(stringWriter);
+    // The reader only returns NaN and Infinity if it is lenient as well
+    out.setStrictness(Strictness.LENIENT);
+    int depth = 0;
+    do {
+      switch (in.peek()) {
+        case BEGIN_ARRAY:
+          in.beginArray();
+          out.beginArray();
+          depth++;
+          break;
+        case END_ARRAY:
+          in.endArray();
+          out.endArray();
+          depth--;
+          break;
+        case BEGIN_OBJECT:
+          in.beginObject();
+          out.beginObject();
+          depth++;
+          break;
+        case END_OBJECT:
+          in.endObject();
+          out.endObject();
+          depth--;
+          break;
+        case NAME:
+          out.name(in.nextName());
+          break;
+        case STRING:
+          {
+            boolean isUnquoted = in.peeked == PEEKED_UNQUOTED;
+            String value = in.nextString();
+            if (isUnquoted
+                && (value.equals("NaN") || value.equals("Infinity") || value.equals("-Infinity"))) {
+              // Same as for nextDouble(), these unquoted values are numbers
+              out.value(new LazilyParsedNumber(value));
+            } else {
+              out.value(value);
+            }
+            break;
+          }
+        case NUMBER:
+          out.value(new LazilyParsedNumber(in.nextString()));
+          break;
+        case BOOLEAN:
+          out.value(in.nextBoolean());
+          break;
+        case NULL:
+          in.nextNull();
+          out.nullValue();
+          break;
+        default:
+          throw new IllegalStateException("Unexpected token " + in.peek() + in.locationString());
+      }
+    } while (depth > 0);
+    return stringWriter.toString();
+  }
+
   private void push(int newTop) throws MalformedJsonException {
     // - 1 because stack contains as first element either EMPTY_DOCUMENT or NONEMPTY_DOCUMENT
     if (stackSize - 1 >= nestingLimit) {
@@ -1487,6 +1762,10 @@ public class JsonReader implements Closeable {
    */
   private boolean fillBuffer(int minimum) throws IOException {
     char[] buffer = this.buffer;
+    if (capture != null) {
+      capture.append(buffer, captureStart, pos - captureStart);
+      captureStart = 0;
+    }
     lineStart -= pos;
     if (limit != pos) {
       limit -= pos;
@@ -1613,6 +1892,9 @@ public class JsonReader implements Closeable {
       throw syntaxError(
           "Use JsonReader.setStrictness(Strictness.LENIENT) to accept malformed JSON");
     }
+    if (capture != null) {
+      capturedNonStrictSyntax = true;
+    }
   }
 
   /**
@@ -1798,6 +2080,10 @@ public class JsonReader implements Closeable {
         if (strictness == Strictness.STRICT) {
           throw syntaxError("Invalid escaped character \"'\" in strict mode");
         }
+        if (capture != null) {
+          capturedNonStrictSyntax = true;
+        }
+      // fall-through
       case '"':
       case '\\':
       case '/':
@@ -1860,8 +2146,8 @@ public class JsonReader implements Closeable {
         new JsonReaderInternalAccess() {
           @Override
           public void promoteNameToValue(JsonReader reader) throws IOException {
-            if (reader instanceof JsonTreeReader) {
-              ((JsonTreeReader) reader).promoteNameToValue();
+            if (reader instanceof NamePromotingReader) {
+              ((NamePromotingReader) reader).promoteNameToValue();
               return;
             }
             int p = reader.peeked;
@@ -1878,6 +2164,24 @@ public class JsonReader implements Closeable {
               throw reader.unexpectedTokenError("a name");
             }
           }
+
+          @Override
+          public int nextNameIndex(JsonReader reader, FieldNameMatcher matcher) throws IOException {
+            // Subclasses such as JsonTreeReader override nextName()
+            if (reader.getClass() != JsonReader.class) {
+              return matcher.match(reader.nextName());
+            }
+            return reader.nextNameIndex(matcher);
+          }
+
+          @Override
+          public String nextRawValue(JsonReader reader) throws IOException {
+            // Subclasses such as JsonTreeReader don't read from a source text
+            if (reader.getClass() != JsonReader.class) {
+              return normalizedValue(reader);
+            }
+            return reader.nextRawValue();
+          }
         };
   }
 }
@@ -29,9 +29,12 @@ import com.google.gson.FormattingStyle;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.Strictness;
+import com.google.gson.internal.FloatingPointFormatter;
+import com.google.gson.internal.JsonWriterInternalAccess;
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -222,8 +225,17 @@ public class JsonWriter implements Closeable, Flushable {
 
   private String deferredName;
 
+  /**
+   * Quoted and escaped form of {@link #deferredName}, if it was provided by {@link
+   * JsonWriterInternalAccess}; otherwise {@code null} and the name is escaped when it is written.
+   */
+  private String deferredQuotedName;
+
   private boolean serializeNulls = true;
 
+  /** Scratch buffer for formatting floating-point values, allocated when first needed. */
+  private char[] numberBuffer;
+
   /**
    * Creates a new instance that writes a JSON-encoded stream to {@code out}. For best performance,
    * ensure {@link Writer} is buffered; wrapping in {@link java.io.BufferedWriter BufferedWriter} if
@@ -513,7 +525,12 @@ public class JsonWriter implements Closeable, Flushable {
   private void writeDeferredName() throws IOException {
     if (deferredName != null) {
       beforeName();
-      string(deferredName);
+      if (deferredQuotedName != null) {
+        out.write(deferredQuotedName);
+        deferredQuotedName = null;
+      } else {
+        string(deferredName);
+      }
       deferredName = null;
     }
   }
@@ -582,7 +599,7 @@ public class JsonWriter implements Closeable, Flushable {
       throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
     }
     beforeValue();
-    out.append(Float.toString(value));
+    writeFloat(value);
     return this;
   }
 
@@ -602,7 +619,7 @@ public class JsonWriter implements Closeable, Flushable {
       throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
     }
     beforeValue();
-    out.append(Double.toString(value));
+    writeDouble(value);
     return this;
   }
 
@@ -637,8 +654,23 @@ public class JsonWriter implements Closeable, Flushable {
     }
 
     writeDeferredName();
-    String string = value.toString();
     Class<? extends Number> numberClass = value.getClass();
+    if (numberClass == Double.class || numberClass == Float.class) {
+      double doubleValue = value.doubleValue();
+      if (strictness != Strictness.LENIENT
+          && (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue))) {
+        throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+      }
+      beforeValue();
+      if (numberClass == Double.class) {
+        writeDouble(doubleValue);
+      } else {
+        writeFloat(value.floatValue());
+      }
+      return this;
+    }
+
+    String string = value.toString();
 
     if (!alwaysCreatesValidJsonNumber(numberClass)) {
       // Validate that string is valid before writing it directly to JSON output
@@ -646,9 +678,7 @@ public class JsonWriter implements Closeable, Flushable {
         if (strictness != Strictness.LENIENT) {
           throw new IllegalArgumentException("Numeric values must be finite, but was " + string);
         }
-      } else if (numberClass != Float.class
-          && numberClass != Double.class
-          && !VALID_JSON_NUMBER_PATTERN.matcher(string).matches()) {
+      } else if (!VALID_JSON_NUMBER_PATTERN.matcher(string).matches()) {
         throw new IllegalArgumentException(
             "String created by " + numberClass + " is not a valid JSON number: " + string);
       }
@@ -671,6 +701,7 @@ public class JsonWriter implements Closeable, Flushable {
         writeDeferredName();
       } else {
         deferredName = null;
+        deferredQuotedName = null;
         return this; // skip the name and the value
       }
     }
@@ -741,7 +772,40 @@ public class JsonWriter implements Closeable, Flushable {
         || c == AtomicLong.class;
   }
 
+  /**
+   * Writes the shortest representation which uniquely identifies the value, in the format of {@link
+   * Double#toString(double)}, without allocating. On JDK versions before 19 this can have fewer
+   * digits than {@code Double.toString}.
+   */
+  private void writeDouble(double value) throws IOException {
+    char[] buffer = numberBuffer();
+    out.write(buffer, 0, FloatingPointFormatter.format(value, buffer));
+  }
+
+  /**
+   * Writes the shortest representation which uniquely identifies the value, in the format of {@link
+   * Float#toString(float)}, without allocating. On JDK versions before 19 this can have fewer
+   * digits than {@code Float.toString}.
+   */
+  private void writeFloat(float value) throws IOException {
+    char[] buffer = numberBuffer();
+    out.write(buffer, 0, FloatingPointFormatter.format(value, buffer));
+  }
+
+  private char[] numberBuffer() {
+    char[] buffer = numberBuffer;
+    if (buffer == null) {
+      buffer = new char[FloatingPointFormatter.MAX_LENGTH];
+      numberBuffer = buffer;
+    }
+    return buffer;
+  }
+
   private void string(String value) throws IOException {
+    string(out, value, htmlSafe);
+  }
+
+  private static void string(Writer out, String value, boolean htmlSafe) throws IOException {
     String[] replacements = htmlSafe ? HTML_SAFE_REPLACEMENT_CHARS : REPLACEMENT_CHARS;
     out.write('\"');
     int last = 0;
@@ -834,4 +898,41 @@ public class JsonWriter implements Closeable, Flushable {
         throw new IllegalStateException("Nesting problem.");
     }
   }
+
+  static {
+    JsonWriterInternalAccess.INSTANCE =
+        new JsonWriterInternalAccess() {
+          @Override
+          public String quoteName(String name, boolean htmlSafe) {
+            StringWriter quoted = new StringWriter(name.length() + 2);
+            try {
+              string(quoted, name, htmlSafe);
+            } catch (IOException e) {
+              throw new AssertionError("StringWriter does not throw IOException", e);
+            }
+            return quoted.toString();
+          }
+
+          @Override
+          public void quotedName(
+              JsonWriter writer, String name, String quotedName, String htmlSafeQuotedName)
+              throws IOException {
+            writer.name(name);
+            // Subclasses such as JsonTreeWriter override name(String) and don't necessarily use
+            // the deferred name, so only use the quoted name for JsonWriter itself
+            if (writer.getClass() == JsonWriter.class) {
+              writer.deferredQuotedName = writer.htmlSafe ? htmlSafeQuotedName : quotedName;
+            }
+          }
+
+          @Override
+          public void newDocumentLine(JsonWriter writer) throws IOException {
+            if (writer.stackSize != 1 || writer.peek() != NONEMPTY_DOCUMENT) {
+              throw new IllegalStateException("Incomplete document");
+            }
+            writer.out.write('\n');
+            writer.replaceTop(EMPTY_DOCUMENT);
+          }
+        };
+  }
 }
@@ -25,6 +25,9 @@ module com.google.gson {
   exports com.google.gson.reflect;
   exports com.google.gson.stream;
 
+  // Type adapter factories registered with GsonBuilder.registerTypeAdapterFactoryServices()
+  uses com.google.gson.TypeAdapterFactory;
+
   // Optional dependency on Error Prone Annotations
   requires static com.google.errorprone.annotations;
 
@@ -19,6 +19,7 @@ package com.google.gson;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertThrows;
 
+import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
@@ -401,4 +402,42 @@ public class GsonBuilderTest {
             IllegalArgumentException.class, () -> builder.setDateFormat(DateFormat.FULL, -1));
     assertThat(e).hasMessageThat().isEqualTo("Invalid style: -1");
   }
+
+  /** Registered in {@code META-INF/services/com.google.gson.TypeAdapterFactory}. */
+  public static class ServiceTypeAdapterFactory implements TypeAdapterFactory {
+    @Override
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+      if (type.getRawType() != ServiceLoaded.class) {
+        return null;
+      }
+      @SuppressWarnings("unchecked")
+      TypeAdapter<T> adapter = (TypeAdapter<T>) new ServiceLoadedAdapter();
+      return adapter;
+    }
+  }
+
+  private static class ServiceLoaded {}
+
+  private static class ServiceLoadedAdapter extends TypeAdapter<ServiceLoaded> {
+    @Override
+    public void write(JsonWriter out, ServiceLoaded value) throws IOException {
+      out.value("service-loaded");
+    }
+
+    @Override
+    public ServiceLoaded read(JsonReader in) throws IOException {
+      in.skipValue();
+      return new ServiceLoaded();
+    }
+  }
+
+  @Test
+  public void testRegisterTypeAdapterFactoryServices() {
+    Gson gson = new GsonBuilder().registerTypeAdapterFactoryServices().create();
+    assertThat(gson.toJson(new ServiceLoaded())).isEqualTo("\"service-loaded\"");
+    assertThat(gson.getAdapter(ServiceLoaded.class)).isInstanceOf(ServiceLoadedAdapter.class);
+
+    // Without the services the reflection-based adapter is used
+    assertThat(new Gson().toJson(new ServiceLoaded())).isEqualTo("{}");
+  }
 }
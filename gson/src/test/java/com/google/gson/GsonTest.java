@@ -32,7 +32,10 @@ import java.text.DateFormat;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Test;
@@ -73,6 +76,9 @@ public final class GsonTest {
             Strictness.LENIENT,
             false,
             true,
+            false,
+            false,
+            false,
             LongSerializationPolicy.DEFAULT,
             null,
             DateFormat.DEFAULT,
@@ -105,6 +111,9 @@ public final class GsonTest {
             Strictness.LENIENT,
             false,
             true,
+            false,
+            false,
+            false,
             LongSerializationPolicy.DEFAULT,
             null,
             DateFormat.DEFAULT,
@@ -367,6 +376,197 @@ public final class GsonTest {
     assertThat(otherThreadAdapter.get().toJson(null)).isEqualTo("[[\"wrapped-nested\"]]");
   }
 
+  /**
+   * Verifies that concurrent {@link Gson#getAdapter(TypeToken)} calls for the same type wait for
+   * the thread which is already creating the adapter, instead of creating separate adapters.
+   */
+  @Test
+  public void testGetAdapter_ConcurrencyCreatesAdapterOnce() throws Exception {
+    int threadCount = 4;
+    AtomicInteger adapterInstancesCreated = new AtomicInteger(0);
+    List<Thread> threads = new ArrayList<>();
+
+    Gson gson =
+        new GsonBuilder()
+            .registerTypeAdapterFactory(
+                new TypeAdapterFactory() {
+                  @Override
+                  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+                    if (type.getRawType() != CustomClass1.class) {
+                      return null;
+                    }
+                    adapterInstancesCreated.incrementAndGet();
+
+                    // Only finish creating the adapter once all other threads are waiting for it
+                    Thread currentThread = Thread.currentThread();
+                    synchronized (threads) {
+                      for (Thread thread : threads) {
+                        while (thread != currentThread
+                            && thread.getState() != Thread.State.TIMED_WAITING) {
+                          Thread.onSpinWait();
+                        }
+                      }
+                    }
+                    return new TypeAdapter<T>() {
+                      @Override
+                      public void write(JsonWriter out, T value) throws IOException {
+                        out.value("custom");
+                      }
+
+                      @Override
+                      public T read(JsonReader in) throws IOException {
+                        throw new AssertionError("not needed for this test");
+                      }
+                    };
+                  }
+                })
+            .create();
+
+    List<AtomicReference<TypeAdapter<?>>> adapters = new ArrayList<>();
+    synchronized (threads) {
+      for (int i = 0; i < threadCount; i++) {
+        AtomicReference<TypeAdapter<?>> adapter = new AtomicReference<>();
+        adapters.add(adapter);
+        Thread thread = new Thread(() -> adapter.set(gson.getAdapter(CustomClass1.class)));
+        threads.add(thread);
+        thread.start();
+      }
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertThat(adapterInstancesCreated.get()).isEqualTo(1);
+    TypeAdapter<?> published = gson.getAdapter(CustomClass1.class);
+    for (AtomicReference<TypeAdapter<?>> adapter : adapters) {
+      assertThat(adapter.get()).isSameInstanceAs(published);
+    }
+  }
+
+  /**
+   * Verifies that a thread which is creating an adapter does not block another thread requesting
+   * the same type forever when a type adapter factory waits for that other thread.
+   */
+  @Test
+  public void testGetAdapter_ConcurrencyFactoryWaitsForOtherThread() throws Exception {
+    AtomicBoolean startedOtherThread = new AtomicBoolean(false);
+    AtomicReference<TypeAdapter<?>> otherThreadAdapter = new AtomicReference<>();
+    Gson gson =
+        new GsonBuilder()
+            .registerTypeAdapterFactory(
+                new TypeAdapterFactory() {
+                  @Override
+                  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+                    if (type.getRawType() != CustomClass1.class) {
+                      return null;
+                    }
+                    if (!startedOtherThread.getAndSet(true)) {
+                      Thread thread =
+                          new Thread(
+                              () -> otherThreadAdapter.set(gson.getAdapter(CustomClass1.class)));
+                      thread.start();
+                      try {
+                        thread.join();
+                      } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                      }
+                    }
+                    return new TypeAdapter<T>() {
+                      @Override
+                      public void write(JsonWriter out, T value) throws IOException {
+                        out.value("custom");
+                      }
+
+                      @Override
+                      public T read(JsonReader in) throws IOException {
+                        throw new AssertionError("not needed for this test");
+                      }
+                    };
+                  }
+                })
+            .create();
+
+    TypeAdapter<?> adapter = gson.getAdapter(CustomClass1.class);
+    assertThat(otherThreadAdapter.get()).isNotNull();
+    // The other thread finished first, so its adapter was published
+    assertThat(adapter).isSameInstanceAs(otherThreadAdapter.get());
+  }
+
+  /**
+   * Verifies that two threads resolving types which depend on each other do not deadlock waiting
+   * for each other.
+   */
+  @Test
+  public void testGetAdapter_ConcurrencyCyclicDependency() throws Exception {
+    class WrappingAdapter<T> extends TypeAdapter<T> {
+      final String name;
+      final TypeAdapter<?> wrapped;
+
+      WrappingAdapter(String name, TypeAdapter<?> wrapped) {
+        this.name = name;
+        this.wrapped = wrapped;
+      }
+
+      @Override
+      public void write(JsonWriter out, T value) throws IOException {
+        // Depending on which thread published first, the wrapped adapter can be the proxy for the
+        // cyclic dependency
+        TypeAdapter<?> wrappedAdapter =
+            wrapped instanceof Gson.FutureTypeAdapter
+                ? ((Gson.FutureTypeAdapter<?>) wrapped).getSerializationDelegate()
+                : wrapped;
+        out.value(name + "->" + ((WrappingAdapter<?>) wrappedAdapter).name);
+      }
+
+      @Override
+      public T read(JsonReader in) throws IOException {
+        throw new AssertionError("not needed for this test");
+      }
+    }
+
+    // Makes sure each thread has started creating its adapter before requesting the other one
+    CyclicBarrier barrier = new CyclicBarrier(2);
+    AtomicInteger barrierCalls = new AtomicInteger(0);
+
+    Gson gson =
+        new GsonBuilder()
+            .registerTypeAdapterFactory(
+                new TypeAdapterFactory() {
+                  @Override
+                  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+                    Class<?> raw = type.getRawType();
+                    Class<?> other;
+                    if (raw == CustomClass1.class) {
+                      other = CustomClass2.class;
+                    } else if (raw == CustomClass2.class) {
+                      other = CustomClass1.class;
+                    } else {
+                      return null;
+                    }
+
+                    if (barrierCalls.getAndIncrement() < 2) {
+                      try {
+                        barrier.await();
+                      } catch (Exception e) {
+                        throw new RuntimeException(e);
+                      }
+                    }
+                    return new WrappingAdapter<>(raw.getSimpleName(), gson.getAdapter(other));
+                  }
+                })
+            .create();
+
+    AtomicReference<TypeAdapter<?>> otherThreadAdapter = new AtomicReference<>();
+    Thread thread = new Thread(() -> otherThreadAdapter.set(gson.getAdapter(CustomClass2.class)));
+    thread.start();
+
+    TypeAdapter<?> adapter = gson.getAdapter(CustomClass1.class);
+    thread.join();
+
+    assertThat(adapter.toJson(null)).isEqualTo("\"CustomClass1->CustomClass2\"");
+    assertThat(otherThreadAdapter.get().toJson(null)).isEqualTo("\"CustomClass2->CustomClass1\"");
+  }
+
   @Test
   public void testGetDelegateAdapter() {
     class DummyAdapter extends TypeAdapter<Number> {
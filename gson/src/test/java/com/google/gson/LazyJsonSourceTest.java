@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gson.stream.MalformedJsonException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+public class LazyJsonSourceTest {
+  @Test
+  public void testSameAsEagerParsing() {
+    String json =
+        "{\"a\": [1, -2.5, 1.0E-5, 1e3, \"s\", true, false, null, [], {}],\n"
+            + " \"b\": {\"c\": {\"d\": [[\"x\"], {\"e\": 0}]}, \"f\": \"\"},\n"
+            + " \"esc\\\"aped\": \"\\\" \\\\ \\/ \\b \\f \\n"
+            + " \\r"
+            + " \\t \\u00e4\\uD83D\\uDE00 \u00f6\",\n"
+            + " \"a\": \"duplicate\", \"g\": -0.0}";
+    JsonElement lazy = JsonParser.parseStringLazily(json);
+    assertThat(lazy).isEqualTo(JsonParser.parseString(json));
+    assertThat(lazy.toString()).isEqualTo(JsonParser.parseString(json).toString());
+  }
+
+  @Test
+  public void testTopLevelValues() {
+    assertThat(JsonParser.parseStringLazily(" 1.5 ")).isEqualTo(new JsonPrimitive(1.5));
+    assertThat(JsonParser.parseStringLazily("\"a\"")).isEqualTo(new JsonPrimitive("a"));
+    assertThat(JsonParser.parseStringLazily("true")).isEqualTo(new JsonPrimitive(true));
+    assertThat(JsonParser.parseStringLazily("null")).isEqualTo(JsonNull.INSTANCE);
+    assertThat(JsonParser.parseStringLazily("")).isEqualTo(JsonNull.INSTANCE);
+    assertThat(JsonParser.parseStringLazily(" [ ] ")).isEqualTo(new JsonArray());
+    assertThat(JsonParser.parseStringLazily("{ }")).isEqualTo(new JsonObject());
+  }
+
+  /** Verifies that nested values are only read from the buffer when they are first accessed. */
+  @Test
+  public void testLazyAccess() {
+    char[] buffer = "{\"a\": {\"b\": 1}, \"c\": [2]}".toCharArray();
+    JsonObject object = LazyJsonSource.parse(buffer, buffer.length).getAsJsonObject();
+    assertThat(object.keySet()).containsExactly("a", "c").inOrder();
+
+    // Modifies the not yet read data, replacing "b" with "x"
+    buffer[8] = 'x';
+    JsonObject nested = object.getAsJsonObject("a");
+    assertThat(nested.has("x")).isTrue();
+
+    // Already read data is unaffected
+    buffer[8] = 'y';
+    assertThat(nested.has("x")).isTrue();
+  }
+
+  /** Threads concurrently reading a lazily populated object must all see its complete members. */
+  @Test
+  public void testConcurrentReads() throws Exception {
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < 100; i++) {
+      json.append(i == 0 ? "" : ",").append("{\"a\": 1, \"b\": [1, 2, 3], \"c\": true}");
+    }
+    String expected = JsonParser.parseString(json.append(']').toString()).toString();
+
+    for (int run = 0; run < 20; run++) {
+      JsonArray array = JsonParser.parseStringLazily(json.toString()).getAsJsonArray();
+      int threadCount = 4;
+      CyclicBarrier barrier = new CyclicBarrier(threadCount);
+      ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+      try {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+          results.add(
+              executor.submit(
+                  () -> {
+                    barrier.await();
+                    return array.toString();
+                  }));
+        }
+        for (Future<String> result : results) {
+          assertThat(result.get()).isEqualTo(expected);
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  @Test
+  public void testModification() {
+    JsonObject object =
+        JsonParser.parseStringLazily("{\"a\": [1, 2], \"b\": {}}").getAsJsonObject();
+    object.getAsJsonArray("a").add("x");
+    object.getAsJsonObject("b").addProperty("c", 3);
+    object.remove("b");
+    object.add("d", JsonParser.parseStringLazily("{\"e\": null}"));
+    assertThat(object.toString()).isEqualTo("{\"a\":[1,2,\"x\"],\"d\":{\"e\":null}}");
+
+    JsonObject copy = JsonParser.parseStringLazily("{\"a\": {\"b\": [true]}}").getAsJsonObject();
+    assertThat(copy.deepCopy()).isEqualTo(JsonParser.parseString("{\"a\": {\"b\": [true]}}"));
+  }
+
+  @Test
+  public void testNestingLimit() {
+    int depth = 255;
+    String json = "[".repeat(depth) + "]".repeat(depth);
+    JsonElement element = JsonParser.parseStringLazily(json);
+    assertThat(element).isEqualTo(JsonParser.parseString(json));
+    for (int i = 1; i < depth; i++) {
+      element = element.getAsJsonArray().get(0);
+    }
+    assertThat(element.getAsJsonArray()).isEmpty();
+
+    assertSyntaxError(
+        "[".repeat(depth) + "{\"a\":[]}" + "]".repeat(depth),
+        "Nesting limit 255 reached at line 1 column 256");
+  }
+
+  @Test
+  public void testByteOrderMark() {
+    String json = "\ufeff{\"a\": [1]}";
+    assertThat(JsonParser.parseStringLazily(json)).isEqualTo(JsonParser.parseString(json));
+    assertThat(JsonParser.parseReaderLazily(new StringReader(json)))
+        .isEqualTo(JsonParser.parseString(json));
+    assertThat(JsonParser.parseStringLazily("\ufeff")).isEqualTo(JsonNull.INSTANCE);
+  }
+
+  @Test
+  public void testParseReader() {
+    // Larger than the initial buffer
+    String value = "a".repeat(10_000);
+    String json = "\ufeff{\"v\": \"" + value + "\"}";
+    JsonObject object = JsonParser.parseReaderLazily(new StringReader(json)).getAsJsonObject();
+    assertThat(object.get("v").getAsString()).isEqualTo(value);
+  }
+
+  private static void assertSyntaxError(String json, String expectedMessage) {
+    var e = assertThrows(JsonSyntaxException.class, () -> JsonParser.parseStringLazily(json));
+    assertThat(e).hasCauseThat().isInstanceOf(MalformedJsonException.class);
+    assertThat(e).hasCauseThat().hasMessageThat().isEqualTo(expectedMessage);
+  }
+
+  @Test
+  public void testSyntaxErrors() {
+    assertSyntaxError("[1,]", "Expected value at line 1 column 4");
+    assertSyntaxError("[1 2]", "Expected ',' or ']' at line 1 column 4");
+    assertSyntaxError("{\"a\" 1}", "Expected ':' at line 1 column 6");
+    assertSyntaxError("{a: 1}", "Expected name at line 1 column 2");
+    assertSyntaxError("{\"a\": 1,}", "Expected name at line 1 column 9");
+    assertSyntaxError(
+        "[\n[]", "Expected ',' or ']' but reached end of document at line 2 column 3");
+    assertSyntaxError("{\"a\": 1]", "Expected ',' or '}' at line 1 column 8");
+    assertSyntaxError("[] []", "Expected end of document at line 1 column 4");
+    assertSyntaxError("[01]", "Expected ',' or ']' at line 1 column 3");
+    assertSyntaxError("[1.]", "Malformed number at line 1 column 2");
+    assertSyntaxError("[-]", "Malformed number at line 1 column 2");
+    assertSyntaxError("[1e]", "Malformed number at line 1 column 2");
+    assertSyntaxError("[tru]", "Expected value at line 1 column 2");
+    assertSyntaxError("['a']", "Expected value at line 1 column 2");
+    assertSyntaxError("[NaN]", "Expected value at line 1 column 2");
+    assertSyntaxError("[\"a]", "Unterminated string at line 1 column 5");
+    assertSyntaxError("[\"\\x\"]", "Invalid escape sequence at line 1 column 3");
+    assertSyntaxError("[\"\\u12\"]", "Malformed Unicode escape at line 1 column 3");
+    assertSyntaxError("[\"\\u12", "Unterminated escape sequence at line 1 column 4");
+    assertSyntaxError("[\"\t\"]", "Unescaped control character at line 1 column 3");
+    assertSyntaxError("[// comment\n]", "Expected value at line 1 column 2");
+  }
+}
@@ -294,4 +294,77 @@ public class ArrayTest {
     assertThat(new Gson().toJson(stringArrays))
         .isEqualTo("[[\"test1\",\"test2\"],[\"test3\",\"test4\"]]");
   }
+
+  @Test
+  public void testAllPrimitiveArrays() {
+    assertThat(gson.toJson(new byte[] {1, -2})).isEqualTo("[1,-2]");
+    assertThat(gson.fromJson("[1,-2,255]", byte[].class)).isEqualTo(new byte[] {1, -2, -1});
+    assertThat(gson.toJson(new short[] {1, -2})).isEqualTo("[1,-2]");
+    assertThat(gson.fromJson("[1,-2]", short[].class)).isEqualTo(new short[] {1, -2});
+    assertThat(gson.toJson(new float[] {1.5f, -2})).isEqualTo("[1.5,-2.0]");
+    assertThat(gson.fromJson("[1.5,-2]", float[].class)).isEqualTo(new float[] {1.5f, -2});
+    assertThat(gson.toJson(new char[] {'a', '"'})).isEqualTo("[\"a\",\"\\\"\"]");
+    assertThat(gson.fromJson("[\"a\",\"b\"]", char[].class)).isEqualTo(new char[] {'a', 'b'});
+    assertThat(gson.toJson(new boolean[] {true, false})).isEqualTo("[true,false]");
+    assertThat(gson.fromJson("[true,\"false\"]", boolean[].class))
+        .isEqualTo(new boolean[] {true, false});
+
+    // Arrays larger than the initial capacity of the growable buffer
+    byte[] bytes = new byte[100];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+    assertThat(gson.fromJson(gson.toJson(bytes), byte[].class)).isEqualTo(bytes);
+  }
+
+  @Test
+  public void testPrimitiveArraysInvalid() {
+    var e = assertThrows(JsonParseException.class, () -> gson.fromJson("[1,256]", byte[].class));
+    assertThat(e).hasMessageThat().isEqualTo("Lossy conversion from 256 to byte; at path $[1]");
+    e = assertThrows(JsonParseException.class, () -> gson.fromJson("[\"ab\"]", char[].class));
+    assertThat(e).hasMessageThat().isEqualTo("Expecting character, got: ab; at $[0]");
+
+    var e2 =
+        assertThrows(IllegalArgumentException.class, () -> gson.toJson(new float[] {Float.NaN}));
+    assertThat(e2).hasMessageThat().startsWith("NaN is not a valid double value");
+    Gson specialFloatsGson = new GsonBuilder().serializeSpecialFloatingPointValues().create();
+    assertThat(specialFloatsGson.toJson(new float[] {Float.NaN})).isEqualTo("[NaN]");
+  }
+
+  @Test
+  public void testObjectArrayLargerThanInitialCapacity() {
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < 100; i++) {
+      json.append(i == 0 ? "" : ",").append('"').append(i).append('"');
+    }
+    json.append(']');
+    String[] strings = gson.fromJson(json.toString(), String[].class);
+    assertThat(strings).hasLength(100);
+    assertThat(strings[99]).isEqualTo("99");
+    assertThat(gson.toJson(strings)).isEqualTo(json.toString());
+  }
+
+  @Test
+  public void testByteArrayBase64() {
+    Gson gson = new GsonBuilder().serializeByteArraysAsBase64().disableHtmlEscaping().create();
+    assertThat(gson.toJson(new byte[] {1, 2, 3})).isEqualTo("\"AQID\"");
+    assertThat(gson.toJson(new byte[] {-1})).isEqualTo("\"/w==\"");
+    assertThat(gson.toJson(new byte[0])).isEqualTo("\"\"");
+    assertThat(gson.fromJson("\"AQID\"", byte[].class)).isEqualTo(new byte[] {1, 2, 3});
+    assertThat(gson.fromJson("\"/w\"", byte[].class)).isEqualTo(new byte[] {-1});
+    // JSON arrays are accepted as well
+    assertThat(gson.fromJson("[1,2,3]", byte[].class)).isEqualTo(new byte[] {1, 2, 3});
+    assertThat(gson.fromJson("null", byte[].class)).isNull();
+    // Byte[] is not affected
+    assertThat(gson.toJson(new Byte[] {1, 2})).isEqualTo("[1,2]");
+    assertThat(gson.newBuilder().create().toJson(new byte[] {1})).isEqualTo("\"AQ==\"");
+
+    Gson htmlSafeGson = new GsonBuilder().serializeByteArraysAsBase64().create();
+    String json = htmlSafeGson.toJson(new byte[] {1});
+    assertThat(json).isEqualTo("\"AQ\\u003d\\u003d\"");
+    assertThat(htmlSafeGson.fromJson(json, byte[].class)).isEqualTo(new byte[] {1});
+
+    var e = assertThrows(JsonParseException.class, () -> gson.fromJson("[\"A#\"]", byte[][].class));
+    assertThat(e).hasMessageThat().isEqualTo("Failed parsing Base64 data; at path $[0]");
+  }
 }
@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.Strictness;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.junit.Test;
+
+/** Functional tests for {@link Gson#fromJsonArray(JsonReader, TypeToken)} and its overloads. */
+public class JsonArrayIterationTest {
+  private final Gson gson = new Gson();
+
+  private static class Item {
+    int id;
+    String name;
+  }
+
+  private static <T> List<T> toList(Iterator<T> iterator) {
+    List<T> list = new ArrayList<>();
+    while (iterator.hasNext()) {
+      list.add(iterator.next());
+    }
+    return list;
+  }
+
+  @Test
+  public void testIterateReader() {
+    Iterator<Item> iterator =
+        gson.fromJsonArray(
+            new StringReader("[{\"id\":1,\"name\":\"a\"}, null, {\"id\":2}]"), Item.class);
+    assertThat(iterator.hasNext()).isTrue();
+    Item first = iterator.next();
+    assertThat(first.id).isEqualTo(1);
+    assertThat(first.name).isEqualTo("a");
+    assertThat(iterator.next()).isNull();
+    assertThat(iterator.next().id).isEqualTo(2);
+    assertThat(iterator.hasNext()).isFalse();
+    assertThat(iterator.hasNext()).isFalse();
+    assertThrows(NoSuchElementException.class, iterator::next);
+  }
+
+  @Test
+  public void testIterateGenericElementType() {
+    Iterator<Map<String, List<Integer>>> iterator =
+        gson.fromJsonArray(
+            new StringReader("[{\"a\":[1,2]},{}]"), new TypeToken<Map<String, List<Integer>>>() {});
+    assertThat(toList(iterator)).containsExactly(Map.of("a", List.of(1, 2)), Map.of()).inOrder();
+  }
+
+  @Test
+  public void testEmptyArray() {
+    Iterator<String> iterator = gson.fromJsonArray(new StringReader(" [ ] "), String.class);
+    assertThat(iterator.hasNext()).isFalse();
+  }
+
+  /** Verifies that the data is read lazily, only as far as needed for the current element. */
+  @Test
+  public void testReadsLazily() {
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < 10_000; i++) {
+      json.append(i).append(',');
+    }
+    json.append("-1]");
+    int[] charsRead = {0};
+    Reader reader =
+        new StringReader(json.toString()) {
+          @Override
+          public int read(char[] buffer, int offset, int length) throws IOException {
+            int count = super.read(buffer, offset, length);
+            if (count > 0) {
+              charsRead[0] += count;
+            }
+            return count;
+          }
+        };
+
+    Iterator<Integer> iterator = gson.fromJsonArray(reader, Integer.class);
+    assertThat(iterator.next()).isEqualTo(0);
+    assertThat(charsRead[0]).isLessThan(json.length());
+
+    int count = 1;
+    while (iterator.hasNext()) {
+      int unused = iterator.next();
+      count++;
+    }
+    assertThat(count).isEqualTo(10_001);
+    assertThat(charsRead[0]).isEqualTo(json.length());
+  }
+
+  @Test
+  public void testNotArray() {
+    var e =
+        assertThrows(
+            JsonSyntaxException.class,
+            () -> gson.fromJsonArray(new StringReader("{}"), String.class));
+    assertThat(e).hasCauseThat().isInstanceOf(IllegalStateException.class);
+
+    assertThrows(
+        JsonSyntaxException.class, () -> gson.fromJsonArray(new StringReader(""), String.class));
+    assertThrows(
+        JsonSyntaxException.class,
+        () -> gson.fromJsonArray(new StringReader("null"), String.class));
+  }
+
+  @Test
+  public void testTrailingData() {
+    Iterator<Integer> iterator = gson.fromJsonArray(new StringReader("[1] [2]"), Integer.class);
+    assertThat(iterator.next()).isEqualTo(1);
+    var e = assertThrows(JsonSyntaxException.class, iterator::hasNext);
+    assertThat(e).hasMessageThat().isEqualTo("JSON document was not fully consumed.");
+  }
+
+  @Test
+  public void testInvalidElement() {
+    Iterator<Integer> iterator = gson.fromJsonArray(new StringReader("[1, \"a\"]"), Integer.class);
+    assertThat(iterator.next()).isEqualTo(1);
+    var e = assertThrows(JsonSyntaxException.class, iterator::next);
+    assertThat(e).hasCauseThat().isInstanceOf(NumberFormatException.class);
+  }
+
+  @Test
+  public void testMalformedJson() {
+    Iterator<Integer> iterator = gson.fromJsonArray(new StringReader("[1, 2"), Integer.class);
+    assertThat(iterator.next()).isEqualTo(1);
+    assertThat(iterator.next()).isEqualTo(2);
+    assertThrows(JsonSyntaxException.class, iterator::hasNext);
+  }
+
+  @Test
+  public void testReaderFailure() {
+    Reader reader =
+        new Reader() {
+          @Override
+          public int read(char[] buffer, int offset, int length) throws IOException {
+            throw new IOException("failure");
+          }
+
+          @Override
+          public void close() {}
+        };
+    var e = assertThrows(JsonIOException.class, () -> gson.fromJsonArray(reader, String.class));
+    assertThat(e).hasCauseThat().hasMessageThat().isEqualTo("failure");
+  }
+
+  /** Iterates over an array nested inside an object, positioning the reader first. */
+  @Test
+  public void testNestedArray() throws IOException {
+    JsonReader reader =
+        new JsonReader(
+            new StringReader("{\"count\":2,\"records\":[{\"id\":1},{\"id\":2}],\"x\":3}"));
+    reader.beginObject();
+    assertThat(reader.nextName()).isEqualTo("count");
+    assertThat(reader.nextInt()).isEqualTo(2);
+    assertThat(reader.nextName()).isEqualTo("records");
+
+    Iterator<Item> iterator = gson.fromJsonArray(reader, TypeToken.get(Item.class));
+    List<Item> items = toList(iterator);
+    assertThat(items).hasSize(2);
+    assertThat(items.get(1).id).isEqualTo(2);
+
+    assertThat(reader.getPath()).isEqualTo("$.records");
+    assertThat(reader.nextName()).isEqualTo("x");
+    assertThat(reader.nextInt()).isEqualTo(3);
+    reader.endObject();
+  }
+
+  @Test
+  public void testStrictness() {
+    // Lenient by default, like Gson.fromJson
+    Iterator<String> iterator = gson.fromJsonArray(new StringReader("['a', b]"), String.class);
+    assertThat(toList(iterator)).containsExactly("a", "b").inOrder();
+
+    Gson strictGson = new GsonBuilder().setStrictness(Strictness.STRICT).create();
+    iterator = strictGson.fromJsonArray(new StringReader("[\"a\", 'b']"), String.class);
+    assertThat(iterator.next()).isEqualTo("a");
+    assertThrows(JsonSyntaxException.class, iterator::next);
+  }
+
+  @Test
+  public void testStrictnessRestored() {
+    JsonReader reader = new JsonReader(new StringReader("['a']"));
+    reader.setStrictness(Strictness.LEGACY_STRICT);
+    Iterator<String> iterator = gson.fromJsonArray(reader, TypeToken.get(String.class));
+    assertThat(reader.getStrictness()).isEqualTo(Strictness.LEGACY_STRICT);
+    assertThat(iterator.next()).isEqualTo("a");
+    assertThat(reader.getStrictness()).isEqualTo(Strictness.LEGACY_STRICT);
+  }
+
+  @Test
+  public void testRemoveUnsupported() {
+    Iterator<Integer> iterator = gson.fromJsonArray(new StringReader("[1]"), Integer.class);
+    assertThat(iterator.next()).isEqualTo(1);
+    assertThrows(UnsupportedOperationException.class, iterator::remove);
+  }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonLinesReader;
+import com.google.gson.JsonLinesWriter;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.Strictness;
+import com.google.gson.reflect.TypeToken;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.junit.Test;
+
+/** Functional tests for {@link JsonLinesReader} and {@link JsonLinesWriter}. */
+public class JsonLinesTest {
+  private final Gson gson = new Gson();
+
+  private static class Entry {
+    int id;
+    String message;
+
+    Entry(int id, String message) {
+      this.id = id;
+      this.message = message;
+    }
+
+    @Override
+    public String toString() {
+      return id + ":" + message;
+    }
+  }
+
+  private static List<String> readAll(JsonLinesReader<Entry> reader) {
+    List<String> values = new ArrayList<>();
+    while (reader.hasNext()) {
+      values.add(String.valueOf(reader.next()));
+    }
+    return values;
+  }
+
+  @Test
+  public void testRead() {
+    String json = "{\"id\":1,\"message\":\"a\\nb\"}\r\n\n  \n{\"id\":2}\nnull\n{\"id\":3}";
+    JsonLinesReader<Entry> reader =
+        new JsonLinesReader<>(gson, new StringReader(json), Entry.class);
+    assertThat(reader.getLineNumber()).isEqualTo(0);
+    assertThat(readAll(reader)).containsExactly("1:a\nb", "2:null", "null", "3:null").inOrder();
+    assertThat(reader.getLineNumber()).isEqualTo(6);
+    assertThrows(NoSuchElementException.class, reader::next);
+  }
+
+  @Test
+  public void testReadGenericType() {
+    JsonLinesReader<Map<String, Integer>> reader =
+        new JsonLinesReader<>(
+            gson, new StringReader("{\"a\":1}\n{}\n"), new TypeToken<Map<String, Integer>>() {});
+    assertThat(reader.next()).containsExactly("a", 1);
+    assertThat(reader.next()).isEmpty();
+    assertThat(reader.hasNext()).isFalse();
+  }
+
+  @Test
+  public void testReadLongLines() {
+    StringBuilder json = new StringBuilder();
+    StringBuilder message = new StringBuilder();
+    for (int i = 0; i < 20_000; i++) {
+      message.append((char) ('a' + i % 26));
+    }
+    for (int i = 0; i < 3; i++) {
+      json.append("{\"id\":").append(i).append(",\"message\":\"").append(message).append("\"}\n");
+    }
+    JsonLinesReader<Entry> reader =
+        new JsonLinesReader<>(gson, new StringReader(json.toString()), Entry.class);
+    for (int i = 0; i < 3; i++) {
+      Entry entry = reader.next();
+      assertThat(entry.id).isEqualTo(i);
+      assertThat(entry.message).isEqualTo(message.toString());
+    }
+    assertThat(reader.hasNext()).isFalse();
+  }
+
+  /** An invalid line causes an exception, but reading can continue afterwards. */
+  @Test
+  public void testReadInvalidLine() {
+    String json = "{\"id\":1}\n{\"id\":\n{\"id\":\"x\"}\n{\"id\":2} 3\n{\"id\":4}";
+    JsonLinesReader<Entry> reader =
+        new JsonLinesReader<>(gson, new StringReader(json), Entry.class);
+    assertThat(reader.next().id).isEqualTo(1);
+
+    var e = assertThrows(JsonSyntaxException.class, reader::hasNext);
+    assertThat(e).hasMessageThat().startsWith("Invalid JSON Lines value at line 2: ");
+    e = assertThrows(JsonSyntaxException.class, reader::next);
+    assertThat(e).hasMessageThat().startsWith("Invalid JSON Lines value at line 3: ");
+    // Multiple values in the same line
+    e = assertThrows(JsonSyntaxException.class, reader::next);
+    assertThat(e).hasMessageThat().startsWith("Invalid JSON Lines value at line 4: ");
+
+    assertThat(reader.next().id).isEqualTo(4);
+    assertThat(reader.hasNext()).isFalse();
+  }
+
+  @Test
+  public void testReadErrorHandler() {
+    String json = "{\"id\":1}\n[\n{\"id\":2}\n{\"id\":true}";
+    JsonLinesReader<Entry> reader =
+        new JsonLinesReader<>(gson, new StringReader(json), Entry.class);
+    List<String> errors = new ArrayList<>();
+    reader.setErrorHandler(
+        (lineNumber, line, e) -> {
+          assertThat(e).hasMessageThat().contains("line " + lineNumber);
+          errors.add(lineNumber + ":" + line);
+        });
+    assertThat(readAll(reader)).containsExactly("1:null", "2:null").inOrder();
+    assertThat(errors).containsExactly("2:[", "4:{\"id\":true}").inOrder();
+  }
+
+  /** Exceptions other than syntax errors are not reported as invalid line. */
+  @Test
+  public void testReadIoExceptionPropagates() {
+    JsonIOException ioException = new JsonIOException("custom");
+    Gson throwingGson =
+        new GsonBuilder()
+            .registerTypeAdapter(
+                Entry.class,
+                (JsonDeserializer<Entry>)
+                    (json, typeOfT, context) -> {
+                      throw ioException;
+                    })
+            .create();
+    JsonLinesReader<Entry> reader =
+        new JsonLinesReader<>(throwingGson, new StringReader("{\"id\":1}"), Entry.class);
+    reader.setErrorHandler(
+        (lineNumber, line, e) -> {
+          throw new AssertionError("Unexpected invalid line", e);
+        });
+    var e = assertThrows(JsonIOException.class, reader::hasNext);
+    assertThat(e).isSameInstanceAs(ioException);
+  }
+
+  @Test
+  public void testReadBatches() {
+    StringBuilder json = new StringBuilder();
+    for (int i = 0; i < 7; i++) {
+      json.append("{\"id\":").append(i).append("}\n");
+    }
+    JsonLinesReader<Entry> reader =
+        new JsonLinesReader<>(gson, new StringReader(json.toString()), Entry.class);
+    reader.setBatchSize(3);
+    assertThat(reader.nextBatch()).hasSize(3);
+    assertThat(reader.nextBatch()).hasSize(3);
+    List<Entry> last = reader.nextBatch();
+    assertThat(last).hasSize(1);
+    assertThat(last.get(0).id).isEqualTo(6);
+    assertThat(reader.nextBatch()).isEmpty();
+
+    var e = assertThrows(IllegalArgumentException.class, () -> reader.setBatchSize(0));
+    assertThat(e).hasMessageThat().isEqualTo("Batch size must be positive: 0");
+  }
+
+  /**
+   * The values read before an invalid line are returned, and the exception is thrown afterwards.
+   */
+  @Test
+  public void testReadBatchInvalidLine() {
+    String json = "{\"id\":1}\n{\"id\":2}\n{\n{\"id\":3}";
+    JsonLinesReader<Entry> reader =
+        new JsonLinesReader<>(gson, new StringReader(json), Entry.class);
+    reader.setBatchSize(10);
+    assertThat(reader.nextBatch()).hasSize(2);
+    var e = assertThrows(JsonSyntaxException.class, reader::nextBatch);
+    assertThat(e).hasMessageThat().startsWith("Invalid JSON Lines value at line 3: ");
+    List<Entry> batch = reader.nextBatch();
+    assertThat(batch).hasSize(1);
+    assertThat(batch.get(0).id).isEqualTo(3);
+  }
+
+  @Test
+  public void testReadStrictness() {
+    JsonLinesReader<String> reader =
+        new JsonLinesReader<>(gson, new StringReader("'a'\n\"b\""), String.class);
+    assertThat(reader.next()).isEqualTo("a");
+
+    Gson strictGson = new GsonBuilder().setStrictness(Strictness.STRICT).create();
+    reader = new JsonLinesReader<>(strictGson, new StringReader("'a'\n\"b\""), String.class);
+    assertThrows(JsonSyntaxException.class, reader::next);
+    assertThat(reader.next()).isEqualTo("b");
+  }
+
+  @Test
+  public void testWrite() throws IOException {
+    Gson prettyGson = new GsonBuilder().setPrettyPrinting().create();
+    StringWriter out = new StringWriter();
+    try (JsonLinesWriter<Entry> writer = new JsonLinesWriter<>(prettyGson, out, Entry.class)) {
+      writer.write(new Entry(1, "a\nb"));
+      writer.write(null);
+      writer.writeAll(List.of(new Entry(2, null), new Entry(3, "c")));
+    }
+    assertThat(out.toString())
+        .isEqualTo(
+            "{\"id\":1,\"message\":\"a\\nb\"}\nnull\n{\"id\":2}\n{\"id\":3,\"message\":\"c\"}\n");
+  }
+
+  @Test
+  public void testWriteStrict() {
+    Gson strictGson = new GsonBuilder().setStrictness(Strictness.STRICT).create();
+    StringWriter out = new StringWriter();
+    JsonLinesWriter<Integer> writer = new JsonLinesWriter<>(strictGson, out, Integer.class);
+    writer.write(1);
+    writer.write(2);
+    assertThat(out.toString()).isEqualTo("1\n2\n");
+  }
+
+  @Test
+  public void testWriteBatches() throws IOException {
+    int[] flushes = {0};
+    StringWriter out = new StringWriter();
+    Writer countingWriter =
+        new Writer() {
+          @Override
+          public void write(char[] buffer, int offset, int length) {
+            out.write(buffer, offset, length);
+          }
+
+          @Override
+          public void flush() {
+            flushes[0]++;
+          }
+
+          @Override
+          public void close() {}
+        };
+    JsonLinesWriter<Integer> writer = new JsonLinesWriter<>(gson, countingWriter, Integer.class);
+    writer.setBatchSize(2);
+    writer.writeAll(List.of(1, 2, 3, 4, 5));
+    assertThat(flushes[0]).isEqualTo(2);
+    writer.flush();
+    assertThat(flushes[0]).isEqualTo(3);
+    writer.write(6);
+    assertThat(flushes[0]).isEqualTo(3);
+    assertThat(out.toString()).isEqualTo("1\n2\n3\n4\n5\n6\n");
+
+    var e = assertThrows(IllegalArgumentException.class, () -> writer.setBatchSize(-1));
+    assertThat(e).hasMessageThat().isEqualTo("Batch size must not be negative: -1");
+  }
+
+  @Test
+  public void testRoundTrip() {
+    StringWriter out = new StringWriter();
+    JsonLinesWriter<Entry> writer = new JsonLinesWriter<>(gson, out, Entry.class);
+    for (int i = 0; i < 100; i++) {
+      writer.write(new Entry(i, "message " + i));
+    }
+    JsonLinesReader<Entry> reader =
+        new JsonLinesReader<>(gson, new StringReader(out.toString()), Entry.class);
+    List<Entry> entries = reader.nextBatch();
+    assertThat(entries).hasSize(100);
+    assertThat(entries.get(99).message).isEqualTo("message 99");
+  }
+}
@@ -22,11 +22,18 @@ import static org.junit.Assert.assertThrows;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -57,6 +64,72 @@ public class MapAsArrayTypeAdapterTest {
         .isEqualTo(otherMap);
   }
 
+  @Test
+  public void testSerializePrimitiveLikeKeys() {
+    Gson gson = new GsonBuilder().enableComplexMapKeySerialization().create();
+
+    Map<Object, Integer> original = new LinkedHashMap<>();
+    original.put(UUID.fromString("00000000-0000-0001-0000-000000000002"), 1);
+    original.put(TimeUnit.SECONDS, 2);
+    original.put(1.5, 3);
+    original.put(true, 4);
+    original.put('c', 5);
+    assertThat(gson.toJson(original, new TypeToken<Map<Object, Integer>>() {}.getType()))
+        .isEqualTo(
+            "{\"00000000-0000-0001-0000-000000000002\":1,\"SECONDS\":2,\"1.5\":3,"
+                + "\"true\":4,\"c\":5}");
+  }
+
+  /** A single structured key causes all keys to be written as entry arrays. */
+  @Test
+  public void testSerializeMixedKeys() {
+    Gson gson = new GsonBuilder().enableComplexMapKeySerialization().create();
+
+    Map<Object, String> original = new LinkedHashMap<>();
+    original.put("a", "1");
+    original.put(2, "2");
+    original.put(new Point(3, 4), "3");
+    original.put(null, "4");
+    assertThat(gson.toJson(original, new TypeToken<Map<Object, String>>() {}.getType()))
+        .isEqualTo("[[\"a\",\"1\"],[2,\"2\"],[{\"x\":3,\"y\":4},\"3\"],[null,\"4\"]]");
+  }
+
+  /** The key adapter is called once per key, also when falling back to entry arrays. */
+  @Test
+  public void testSerializeKeysOnce() {
+    AtomicInteger writeCount = new AtomicInteger();
+    TypeAdapter<Point> pointAdapter =
+        new TypeAdapter<Point>() {
+          @Override
+          public void write(JsonWriter out, Point value) throws IOException {
+            writeCount.incrementAndGet();
+            if (value.x == 0) {
+              out.value(value.y);
+            } else {
+              out.beginArray().value(value.x).value(value.y).endArray();
+            }
+          }
+
+          @Override
+          public Point read(JsonReader in) {
+            throw new AssertionError();
+          }
+        };
+    Gson gson =
+        new GsonBuilder()
+            .enableComplexMapKeySerialization()
+            .registerTypeAdapter(Point.class, pointAdapter)
+            .create();
+
+    Map<Point, Integer> original = new LinkedHashMap<>();
+    original.put(new Point(0, 1), 1);
+    original.put(new Point(2, 3), 2);
+    original.put(new Point(0, 4), 3);
+    assertThat(gson.toJson(original, new TypeToken<Map<Point, Integer>>() {}.getType()))
+        .isEqualTo("[[1,1],[[2,3],2],[4,3]]");
+    assertThat(writeCount.get()).isEqualTo(3);
+  }
+
   @Test
   @Ignore("we no longer hash keys at serialization time")
   public void testTwoTypesCollapseToOneSerialize() {
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.ReflectionAccessFilter;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+
+/** Functional tests for {@link GsonBuilder#enableMethodHandleFieldAccess()}. */
+public class MethodHandleFieldAccessTest {
+  private final Gson gson = new GsonBuilder().enableMethodHandleFieldAccess().create();
+
+  @SuppressWarnings("unused") // fields are accessed by reflection
+  private static class Primitives {
+    int i = 1;
+    long l = 2;
+    double d = 3.5;
+    boolean b = true;
+    float f = 4.5f;
+    char c = 'c';
+    String s = "s";
+    List<Integer> list = Arrays.asList(1, 2);
+  }
+
+  private static class Subclass extends Primitives {
+    private final int finalField;
+
+    Subclass() {
+      // Not assigned in the field declaration, otherwise it would be a compile-time constant
+      finalField = 5;
+    }
+
+    int getFinalField() {
+      return finalField;
+    }
+  }
+
+  @Test
+  public void testRoundTrip() {
+    String expected =
+        "{\"finalField\":5,\"i\":1,\"l\":2,\"d\":3.5,\"b\":true,\"f\":4.5,\"c\":\"c\",\"s\":\"s\","
+            + "\"list\":[1,2]}";
+    assertThat(gson.toJson(new Subclass())).isEqualTo(expected);
+    assertThat(new Gson().toJson(new Subclass())).isEqualTo(expected);
+
+    Subclass deserialized =
+        gson.fromJson(
+            "{\"finalField\":6,\"i\":7,\"l\":8,\"d\":9.25,\"b\":false,\"f\":1.5,\"c\":\"x\","
+                + "\"s\":null,\"list\":[3]}",
+            Subclass.class);
+    assertThat(deserialized.getFinalField()).isEqualTo(6);
+    assertThat(gson.toJson(deserialized))
+        .isEqualTo(
+            "{\"finalField\":6,\"i\":7,\"l\":8,\"d\":9.25,\"b\":false,\"f\":1.5,\"c\":\"x\","
+                + "\"list\":[3]}");
+
+    JsonObject tree = gson.toJsonTree(new Primitives()).getAsJsonObject();
+    assertThat(tree.get("l").getAsLong()).isEqualTo(2);
+    assertThat(tree.get("b").getAsBoolean()).isTrue();
+  }
+
+  @Test
+  public void testPrimitiveNullAndStringValues() {
+    Primitives deserialized =
+        gson.fromJson("{\"i\":null,\"l\":\"10\",\"d\":\"1e2\",\"b\":\"true\"}", Primitives.class);
+    // null leaves the default value unchanged
+    assertThat(deserialized.i).isEqualTo(1);
+    assertThat(deserialized.l).isEqualTo(10);
+    assertThat(deserialized.d).isEqualTo(100.0);
+    assertThat(deserialized.b).isTrue();
+
+    var e =
+        assertThrows(
+            JsonSyntaxException.class, () -> gson.fromJson("{\"i\":1.5}", Primitives.class));
+    assertThat(e).hasCauseThat().isInstanceOf(NumberFormatException.class);
+  }
+
+  @Test
+  public void testSpecialFloatingPointValues() {
+    Primitives src = new Primitives();
+    src.d = Double.NaN;
+    var e = assertThrows(IllegalArgumentException.class, () -> gson.toJson(src));
+    assertThat(e)
+        .hasMessageThat()
+        .isEqualTo(
+            "NaN is not a valid double value as per JSON specification. To override this"
+                + " behavior, use GsonBuilder.serializeSpecialFloatingPointValues() method.");
+
+    Gson specialValuesGson =
+        new GsonBuilder()
+            .enableMethodHandleFieldAccess()
+            .serializeSpecialFloatingPointValues()
+            .create();
+    assertThat(specialValuesGson.toJson(src)).contains("\"d\":NaN");
+  }
+
+  private static class IntAsStringAdapter extends TypeAdapter<Integer> {
+    @Override
+    public void write(JsonWriter out, Integer value) throws IOException {
+      out.value("int:" + value);
+    }
+
+    @Override
+    public Integer read(JsonReader in) throws IOException {
+      return Integer.parseInt(in.nextString().substring("int:".length()));
+    }
+  }
+
+  private static class WithJsonAdapter {
+    @JsonAdapter(IntAsStringAdapter.class)
+    int i = 1;
+  }
+
+  @Test
+  public void testCustomAdapters() {
+    assertThat(gson.toJson(new WithJsonAdapter())).isEqualTo("{\"i\":\"int:1\"}");
+    assertThat(gson.fromJson("{\"i\":\"int:2\"}", WithJsonAdapter.class).i).isEqualTo(2);
+
+    // Adapter registered only for the wrapper type is used as runtime type adapter
+    Gson customGson =
+        new GsonBuilder()
+            .enableMethodHandleFieldAccess()
+            .registerTypeAdapter(Integer.class, new IntAsStringAdapter())
+            .create();
+    assertThat(customGson.toJson(new WithJsonAdapter())).isEqualTo("{\"i\":\"int:1\"}");
+    assertThat(customGson.toJson(new Primitives())).startsWith("{\"i\":\"int:1\",");
+  }
+
+  @SuppressWarnings({"unused", "NonFinalStaticField"}) // fields are accessed by reflection
+  private static class WithStaticField {
+    static int staticField = 1;
+    long l = 2;
+  }
+
+  @Test
+  public void testStaticFieldFallback() {
+    // Static fields use reflection, so the adapter mixes them with method handle fields
+    Gson staticGson =
+        new GsonBuilder()
+            .enableMethodHandleFieldAccess()
+            .excludeFieldsWithModifiers(Modifier.TRANSIENT)
+            .create();
+    assertThat(staticGson.toJson(new WithStaticField())).isEqualTo("{\"staticField\":1,\"l\":2}");
+    WithStaticField deserialized =
+        staticGson.fromJson("{\"staticField\":1,\"l\":3}", WithStaticField.class);
+    assertThat(deserialized.l).isEqualTo(3);
+  }
+
+  private static class PrivateField {
+    @SuppressWarnings("unused") // field is accessed by reflection
+    private int i = 1;
+  }
+
+  @Test
+  public void testReflectionAccessFilterFallback() {
+    Gson filteredGson =
+        new GsonBuilder()
+            .enableMethodHandleFieldAccess()
+            .addReflectionAccessFilter(
+                rawClass -> ReflectionAccessFilter.FilterResult.BLOCK_INACCESSIBLE)
+            .create();
+    var e = assertThrows(JsonIOException.class, () -> filteredGson.toJson(new PrivateField()));
+    assertThat(e).hasMessageThat().contains("is not accessible and ReflectionAccessFilter");
+  }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.InstanceCreator;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.DoubleArrayList;
+import com.google.gson.internal.IntArrayList;
+import com.google.gson.internal.LongArrayList;
+import com.google.gson.internal.LongKeyLinkedHashMap;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.Test;
+
+/**
+ * Functional tests for {@link GsonBuilder#enablePrimitiveCollections()} and for reading and writing
+ * primitive arrays without boxing.
+ */
+public class PrimitiveCollectionsTest {
+  private final Gson gson = new GsonBuilder().enablePrimitiveCollections().create();
+
+  @Test
+  public void testPrimitiveArrays() {
+    for (Gson gson : Arrays.asList(new Gson(), this.gson)) {
+      int[] ints = gson.fromJson("[1,-2,3,\"4\",5.0]", int[].class);
+      assertThat(ints).asList().containsExactly(1, -2, 3, 4, 5).inOrder();
+      assertThat(gson.toJson(ints)).isEqualTo("[1,-2,3,4,5]");
+
+      long[] longs = gson.fromJson("[9223372036854775807,-1]", long[].class);
+      assertThat(longs).asList().containsExactly(Long.MAX_VALUE, -1L).inOrder();
+      assertThat(gson.toJson(longs)).isEqualTo("[9223372036854775807,-1]");
+
+      double[] doubles = gson.fromJson("[1,2.5,-3e10]", double[].class);
+      assertThat(doubles).usingExactEquality().containsExactly(1.0, 2.5, -3e10).inOrder();
+      assertThat(gson.toJson(doubles)).isEqualTo("[1.0,2.5,-3.0E10]");
+
+      assertThat(gson.fromJson("[]", int[].class)).isEmpty();
+      assertThat(gson.fromJson("[[1,2],[],[3]]", int[][].class))
+          .isEqualTo(new int[][] {{1, 2}, {}, {3}});
+    }
+  }
+
+  @Test
+  public void testPrimitiveArraysInvalid() {
+    var e = assertThrows(JsonSyntaxException.class, () -> gson.fromJson("[1,2.5]", int[].class));
+    assertThat(e).hasMessageThat().contains("2.5");
+    assertThrows(JsonSyntaxException.class, () -> gson.fromJson("[1,null]", int[].class));
+
+    var e2 =
+        assertThrows(
+            IllegalArgumentException.class, () -> gson.toJson(new double[] {1, Double.NaN}));
+    assertThat(e2).hasMessageThat().contains("NaN is not a valid double value");
+    Gson specialFloatsGson = new GsonBuilder().serializeSpecialFloatingPointValues().create();
+    assertThat(specialFloatsGson.toJson(new double[] {Double.NaN})).isEqualTo("[NaN]");
+  }
+
+  /** A custom adapter for the element type must not be bypassed. */
+  @Test
+  public void testPrimitiveArraysCustomAdapter() {
+    TypeAdapter<Integer> adapter =
+        new TypeAdapter<Integer>() {
+          @Override
+          public void write(JsonWriter out, Integer value) throws IOException {
+            out.value("i" + value);
+          }
+
+          @Override
+          public Integer read(JsonReader in) throws IOException {
+            return Integer.parseInt(in.nextString().substring(1));
+          }
+        };
+    Gson gson =
+        new GsonBuilder()
+            .enablePrimitiveCollections()
+            .registerTypeAdapter(int.class, adapter)
+            .registerTypeAdapter(Integer.class, adapter)
+            .create();
+    assertThat(gson.toJson(new int[] {1, 2})).isEqualTo("[\"i1\",\"i2\"]");
+    assertThat(gson.fromJson("[\"i3\"]", int[].class)).asList().containsExactly(3);
+
+    List<Integer> list = gson.fromJson("[\"i4\"]", new TypeToken<List<Integer>>() {});
+    assertThat(list).isInstanceOf(ArrayList.class);
+    assertThat(list).containsExactly(4);
+    assertThat(gson.toJson(list)).isEqualTo("[\"i4\"]");
+  }
+
+  @Test
+  public void testLists() {
+    List<Integer> ints = gson.fromJson("[1,2,3]", new TypeToken<List<Integer>>() {});
+    assertThat(ints).isInstanceOf(IntArrayList.class);
+    assertThat(ints).containsExactly(1, 2, 3).inOrder();
+    assertThat(gson.toJson(ints)).isEqualTo("[1,2,3]");
+
+    Collection<Long> longs = gson.fromJson("[4,5]", new TypeToken<Collection<Long>>() {});
+    assertThat(longs).isInstanceOf(LongArrayList.class);
+    assertThat(longs).containsExactly(4L, 5L).inOrder();
+    assertThat(gson.toJson(longs)).isEqualTo("[4,5]");
+
+    List<Double> doubles = gson.fromJson("[1.5,2]", new TypeToken<List<Double>>() {});
+    assertThat(doubles).isInstanceOf(DoubleArrayList.class);
+    assertThat(doubles).containsExactly(1.5, 2.0).inOrder();
+    assertThat(gson.toJson(doubles)).isEqualTo("[1.5,2.0]");
+
+    // Lists are mutable
+    ints.add(4);
+    ints.remove(0);
+    assertThat(ints).containsExactly(2, 3, 4).inOrder();
+
+    // Without the setting regular lists are created
+    assertThat(new Gson().fromJson("[1]", new TypeToken<List<Integer>>() {}))
+        .isInstanceOf(ArrayList.class);
+    // Other list types are not affected
+    assertThat(gson.fromJson("[1]", new TypeToken<ArrayList<Integer>>() {}))
+        .isInstanceOf(ArrayList.class);
+  }
+
+  @Test
+  public void testListWithNull() {
+    List<Integer> ints = gson.fromJson("[1,null,3]", new TypeToken<List<Integer>>() {});
+    assertThat(ints).isInstanceOf(ArrayList.class);
+    assertThat(ints).containsExactly(1, null, 3).inOrder();
+    assertThat(gson.toJson(ints)).isEqualTo("[1,null,3]");
+
+    List<Double> doubles = gson.fromJson("[null]", new TypeToken<List<Double>>() {});
+    assertThat(doubles).containsExactly((Double) null);
+  }
+
+  @Test
+  public void testListInstanceCreator() {
+    Gson gson =
+        new GsonBuilder()
+            .enablePrimitiveCollections()
+            .registerTypeAdapter(
+                new TypeToken<List<Integer>>() {}.getType(),
+                (InstanceCreator<List<Integer>>) type -> new CopyOnWriteArrayList<>())
+            .create();
+    assertThat(gson.fromJson("[1]", new TypeToken<List<Integer>>() {}))
+        .isInstanceOf(CopyOnWriteArrayList.class);
+  }
+
+  @Test
+  public void testLongKeyMap() {
+    Map<Long, String> map =
+        gson.fromJson(
+            "{\"3\":\"a\",\"-1\":\"b\",\"2\":null}", new TypeToken<Map<Long, String>>() {});
+    assertThat(map).isInstanceOf(LongKeyLinkedHashMap.class);
+    assertThat(map).containsExactly(3L, "a", -1L, "b", 2L, null).inOrder();
+    assertThat(gson.toJson(map)).isEqualTo("{\"3\":\"a\",\"-1\":\"b\"}");
+
+    var e =
+        assertThrows(
+            JsonSyntaxException.class,
+            () ->
+                gson.fromJson("{\"1\":\"a\",\"1\":\"b\"}", new TypeToken<Map<Long, String>>() {}));
+    assertThat(e).hasMessageThat().isEqualTo("duplicate key: 1");
+
+    // Without the setting a LinkedHashMap is created
+    assertThat(new Gson().fromJson("{\"1\":\"a\"}", new TypeToken<Map<Long, String>>() {}))
+        .isInstanceOf(LinkedHashMap.class);
+    // Other key types are not affected
+    assertThat(gson.fromJson("{\"1\":\"a\"}", new TypeToken<Map<Integer, String>>() {}))
+        .isInstanceOf(LinkedHashMap.class);
+  }
+}
@@ -191,6 +191,17 @@ public class PrimitiveTest {
     assertThat(gson.toJson(Double.MAX_VALUE, Float.class)).isEqualTo("Infinity");
   }
 
+  @Test
+  public void testFloatDeserialization() {
+    assertThat(gson.fromJson("1.5", float.class)).isEqualTo(1.5f);
+    assertThat(gson.fromJson("[0.1,3.4028235E38]", float[].class))
+        .isEqualTo(new float[] {0.1f, Float.MAX_VALUE});
+    // Rounded directly to float; rounding to double first would result in 1.0000002
+    assertThat(gson.fromJson("1.00000017881393432617187499", Float.class)).isEqualTo(1.0000001f);
+    // Too large values are converted to infinity, as when casting from double
+    assertThat(gson.fromJson("1e39", float.class)).isEqualTo(Float.POSITIVE_INFINITY);
+  }
+
   @Test
   public void testDoubleSerialization() {
     assertThat(gson.toJson(1.5, double.class)).isEqualTo("1.5");
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.RawJson;
+import com.google.gson.Strictness;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import org.junit.Test;
+
+/** Functional tests for {@link RawJson}. */
+public class RawJsonTest {
+  private final Gson gson = new Gson();
+
+  private static class Envelope {
+    String recipient;
+    RawJson payload;
+  }
+
+  @Test
+  public void testRoundTrip() {
+    String json =
+        "{\"recipient\":\"a\",\"payload\":{ \"b\" : [1, 2.50, -0],\n\"c\": \"\\u00e4\\\"\" }}";
+    Envelope envelope = gson.fromJson(json, Envelope.class);
+    assertThat(envelope.recipient).isEqualTo("a");
+    assertThat(envelope.payload.getJson())
+        .isEqualTo("{ \"b\" : [1, 2.50, -0],\n\"c\": \"\\u00e4\\\"\" }");
+    assertThat(gson.toJson(envelope)).isEqualTo(json);
+  }
+
+  @Test
+  public void testValues() {
+    String json = "[\"a\\\\b\", 123, -9223372036854775808, 1.5e3, true, false, null, [], {}]";
+    List<RawJson> values = gson.fromJson(json, new TypeToken<List<RawJson>>() {}.getType());
+    assertThat(values)
+        .containsExactly(
+            RawJson.of("\"a\\\\b\""),
+            RawJson.of("123"),
+            RawJson.of("-9223372036854775808"),
+            RawJson.of("1.5e3"),
+            RawJson.of("true"),
+            RawJson.of("false"),
+            null,
+            RawJson.of("[]"),
+            RawJson.of("{}"))
+        .inOrder();
+  }
+
+  @Test
+  public void testLenientValues() throws IOException {
+    JsonReader reader =
+        new JsonReader(
+            new StringReader(
+                "['a', b, TRUE, {c: d}, [1 /* x */], {\"e\" : \"f\\'\"}, { \"g\" : [1 ] }]"));
+    reader.setStrictness(Strictness.LENIENT);
+    reader.beginArray();
+    var adapter = gson.getAdapter(RawJson.class);
+    // Non-strict syntax is normalized so that the raw value is valid JSON
+    assertThat(adapter.read(reader).getJson()).isEqualTo("\"a\"");
+    assertThat(adapter.read(reader).getJson()).isEqualTo("\"b\"");
+    assertThat(adapter.read(reader).getJson()).isEqualTo("true");
+    assertThat(adapter.read(reader).getJson()).isEqualTo("{\"c\":\"d\"}");
+    assertThat(adapter.read(reader).getJson()).isEqualTo("[1]");
+    assertThat(adapter.read(reader).getJson()).isEqualTo("{\"e\":\"f'\"}");
+    // Valid JSON is kept as is
+    assertThat(adapter.read(reader).getJson()).isEqualTo("{ \"g\" : [1 ] }");
+    reader.endArray();
+    assertThat(reader.getPath()).isEqualTo("$");
+  }
+
+  @Test
+  public void testLenientValuesKeepContent() throws IOException {
+    int depth = 300;
+    String nested = "[".repeat(depth) + "'a'" + "]".repeat(depth);
+    JsonReader reader =
+        new JsonReader(new StringReader("[{a: 1, a: 2}, [NaN, -Infinity, 'NaN'], " + nested + "]"));
+    reader.setStrictness(Strictness.LENIENT);
+    reader.setNestingLimit(depth + 1);
+    reader.beginArray();
+    var adapter = gson.getAdapter(RawJson.class);
+    // Duplicate names and non-finite numbers are kept
+    assertThat(adapter.read(reader).getJson()).isEqualTo("{\"a\":1,\"a\":2}");
+    assertThat(adapter.read(reader).getJson()).isEqualTo("[NaN,-Infinity,\"NaN\"]");
+    // The nesting limit of the reader applies
+    assertThat(adapter.read(reader).getJson())
+        .isEqualTo("[".repeat(depth) + "\"a\"" + "]".repeat(depth));
+    reader.endArray();
+  }
+
+  /** Values which span multiple fills of the internal buffer of JsonReader. */
+  @Test
+  public void testLargeValue() {
+    StringBuilder payload = new StringBuilder("[");
+    for (int i = 0; i < 10_000; i++) {
+      if (i > 0) {
+        payload.append(", ");
+      }
+      payload.append("{\"i\": ").append(i).append("}");
+    }
+    payload.append("]");
+    String json = "{\"payload\": " + payload + ", \"recipient\": \"r\"}";
+
+    Envelope envelope = gson.fromJson(new StringReader(json), Envelope.class);
+    assertThat(envelope.payload.getJson()).isEqualTo(payload.toString());
+    assertThat(envelope.recipient).isEqualTo("r");
+  }
+
+  /** Already peeked numbers, whose source text has been consumed by JsonReader. */
+  @Test
+  public void testPeekedNumber() throws IOException {
+    JsonReader reader = new JsonReader(new StringReader("[-12, 3.0]"));
+    reader.beginArray();
+    assertThat(reader.peek()).isEqualTo(JsonToken.NUMBER);
+    var adapter = gson.getAdapter(RawJson.class);
+    assertThat(adapter.read(reader).getJson()).isEqualTo("-12");
+    assertThat(reader.peek()).isEqualTo(JsonToken.NUMBER);
+    assertThat(adapter.read(reader).getJson()).isEqualTo("3.0");
+  }
+
+  @Test
+  public void testTree() {
+    JsonObject tree =
+        JsonParser.parseString("{\"recipient\":\"a\",\"payload\":{\"b\":[1]}}").getAsJsonObject();
+    Envelope envelope = gson.fromJson(tree, Envelope.class);
+    assertThat(envelope.payload.getJson()).isEqualTo("{\"b\":[1]}");
+    assertThat(gson.toJsonTree(envelope)).isEqualTo(tree);
+  }
+
+  @Test
+  public void testNull() {
+    Envelope envelope = gson.fromJson("{\"payload\": null}", Envelope.class);
+    assertThat(envelope.payload).isNull();
+    Gson serializeNulls = new GsonBuilder().serializeNulls().create();
+    assertThat(serializeNulls.toJson(envelope)).isEqualTo("{\"recipient\":null,\"payload\":null}");
+  }
+
+  @Test
+  public void testMalformed() {
+    assertThrows(
+        JsonSyntaxException.class, () -> gson.fromJson("{\"payload\": [1, }", Envelope.class));
+    var e = assertThrows(NullPointerException.class, () -> RawJson.of(null));
+    assertThat(e).hasMessageThat().isEqualTo("json == null");
+  }
+}
@@ -16,6 +16,7 @@
 package com.google.gson.functional;
 
 import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.Assert.assertThrows;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
@@ -25,15 +26,20 @@ import com.google.gson.JsonStreamParser;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.common.TestTypes.BagOfPrimitives;
 import com.google.gson.reflect.TypeToken;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.CharArrayReader;
 import java.io.CharArrayWriter;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
@@ -98,6 +104,68 @@ public class ReadersWritersTest {
     assertThat(nullIntObject).isNull();
   }
 
+  @Test
+  public void testOutputStreamForSerialization() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BagOfPrimitives src = new BagOfPrimitives();
+    gson.toJson(src, out);
+    assertThat(new String(out.toByteArray(), UTF_8)).isEqualTo(src.getExpectedJson());
+  }
+
+  @Test
+  public void testTopLevelNullObjectSerializationWithOutputStream() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    gson.toJson(null, out);
+    assertThat(new String(out.toByteArray(), UTF_8)).isEqualTo("null");
+  }
+
+  @Test
+  public void testToJsonBytes() {
+    List<String> src = Arrays.asList("\u00e9\u20ac\ud83d\ude00", "<a>");
+    assertThat(gson.toJsonBytes(src)).isEqualTo(gson.toJson(src).getBytes(UTF_8));
+    assertThat(new String(gson.toJsonBytes(src), UTF_8))
+        .isEqualTo("[\"\u00e9\u20ac\ud83d\ude00\",\"\\u003ca\\u003e\"]");
+    assertThat(gson.toJsonBytes(null)).isEqualTo("null".getBytes(UTF_8));
+
+    Type type = new TypeToken<List<String>>() {}.getType();
+    byte[] bytes = gson.toJsonBytes(src, type);
+    assertThat((List<?>) gson.fromJson(bytes, TypeToken.get(type))).isEqualTo(src);
+  }
+
+  @Test
+  public void testInputStreamForDeserialization() {
+    BagOfPrimitives expected = new BagOfPrimitives();
+    InputStream json = new ByteArrayInputStream(expected.getExpectedJson().getBytes(UTF_8));
+    BagOfPrimitives actual = gson.fromJson(json, BagOfPrimitives.class);
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test
+  public void testBytesForDeserialization() {
+    byte[] json = "[\"\u00e9\u20ac\ud83d\ude00\", \"\\u0041\"]".getBytes(UTF_8);
+    List<String> actual = gson.fromJson(json, new TypeToken<List<String>>() {});
+    assertThat(actual).containsExactly("\u00e9\u20ac\ud83d\ude00", "A").inOrder();
+
+    assertThat(gson.fromJson((byte[]) null, String.class)).isNull();
+    assertThat(gson.fromJson(new byte[0], String.class)).isNull();
+  }
+
+  @Test
+  public void testByteBufferForDeserialization() {
+    ByteBuffer json = ByteBuffer.allocateDirect(16);
+    json.put("{\"a\":1}".getBytes(UTF_8)).flip();
+    Map<String, Integer> actual = gson.fromJson(json, new TypeToken<Map<String, Integer>>() {});
+    assertThat(actual).containsExactly("a", 1);
+    // Position of the buffer is not modified
+    assertThat(json.position()).isEqualTo(0);
+  }
+
+  @Test
+  public void testBytesTrailingDataThrowsJsonSyntaxException() {
+    byte[] json = "1 2".getBytes(UTF_8);
+    assertThrows(JsonSyntaxException.class, () -> gson.fromJson(json, Integer.class));
+  }
+
   @Test
   public void testReadWriteTwoStrings() throws IOException {
     Gson gson = new Gson();
@@ -16,9 +16,18 @@
 package com.google.gson.functional;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
 
+import com.google.gson.FormattingStyle;
 import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
 import org.junit.Test;
 
 public final class SerializedNameTest {
@@ -48,6 +57,66 @@ public final class SerializedNameTest {
         .isEqualTo("v3");
   }
 
+  @Test
+  public void testEscapedNamesDeserialized() {
+    // Escaped and unquoted names are not matched in place, but must match as well
+    MyClass target = gson.fromJson("{\"n\\u0061me\":\"v1\",name2:'v2'}", MyClass.class);
+    assertThat(target.a).isEqualTo("v1");
+    assertThat(target.b).isEqualTo("v2");
+
+    // Names spanning the boundary of the JsonReader buffer
+    StringBuilder json = new StringBuilder("{");
+    for (int i = 0; i < 300; i++) {
+      json.append("\"name\":\"v").append(i).append("\",\"unknown\":").append(i).append(',');
+    }
+    json.append("\"name1\":\"last\"}");
+    target = gson.fromJson(new StringReader(json.toString()), MyClass.class);
+    assertThat(target.a).isEqualTo("v299");
+    assertThat(target.b).isEqualTo("last");
+
+    var e =
+        assertThrows(
+            JsonSyntaxException.class,
+            () -> gson.fromJson("{\"unknown\":1,\"name1\":[]}", MyClass.class));
+    assertThat(e).hasMessageThat().contains("path $.name1");
+  }
+
+  @Test
+  public void testNamesRequiringEscaping() throws IOException {
+    EscapedNames target = new EscapedNames();
+    TypeAdapter<EscapedNames> adapter = gson.getAdapter(EscapedNames.class);
+    // Same adapter with its cached quoted names is used for differently configured writers
+    for (int i = 0; i < 2; i++) {
+      assertThat(gson.toJson(target)).isEqualTo("{\"\\u003ca\\u003e\":1}");
+
+      StringWriter stringWriter = new StringWriter();
+      JsonWriter writer = new JsonWriter(stringWriter);
+      writer.setSerializeNulls(true);
+      adapter.write(writer, target);
+      assertThat(stringWriter.toString()).isEqualTo("{\"<a>\":1,\"b\\\"\\n\\u2028\":null}");
+
+      stringWriter = new StringWriter();
+      writer = new JsonWriter(stringWriter);
+      writer.setHtmlSafe(true);
+      writer.setSerializeNulls(false);
+      writer.setFormattingStyle(FormattingStyle.PRETTY);
+      adapter.write(writer, target);
+      assertThat(stringWriter.toString()).isEqualTo("{\n  \"\\u003ca\\u003e\": 1\n}");
+
+      JsonObject tree = gson.toJsonTree(target).getAsJsonObject();
+      assertThat(tree.keySet()).containsExactly("<a>");
+    }
+  }
+
+  @SuppressWarnings("unused") // fields are accessed by reflection
+  private static final class EscapedNames {
+    @SerializedName("<a>")
+    int a = 1;
+
+    @SerializedName("b\"\n\u2028")
+    String b;
+  }
+
   private static final class MyClass {
     @SerializedName("name")
     String a;
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Base64;
+import java.util.Random;
+import org.junit.Test;
+
+public class Base64CodecTest {
+  @Test
+  public void testEncode() {
+    assertThat(Base64Codec.encode(new byte[0])).isEmpty();
+    assertThat(Base64Codec.encode(new byte[] {'f'})).isEqualTo("Zg==");
+    assertThat(Base64Codec.encode(new byte[] {'f', 'o'})).isEqualTo("Zm8=");
+    assertThat(Base64Codec.encode(new byte[] {'f', 'o', 'o'})).isEqualTo("Zm9v");
+    assertThat(Base64Codec.encode(new byte[] {-1, -2, -3, -4})).isEqualTo("//79/A==");
+  }
+
+  @Test
+  public void testDecode() {
+    assertThat(Base64Codec.decode("")).isEmpty();
+    assertThat(Base64Codec.decode("Zg==")).isEqualTo(new byte[] {'f'});
+    assertThat(Base64Codec.decode("Zg")).isEqualTo(new byte[] {'f'});
+    assertThat(Base64Codec.decode("Zm8=")).isEqualTo(new byte[] {'f', 'o'});
+    assertThat(Base64Codec.decode("Zm8")).isEqualTo(new byte[] {'f', 'o'});
+    assertThat(Base64Codec.decode("Zm9v")).isEqualTo(new byte[] {'f', 'o', 'o'});
+    assertThat(Base64Codec.decode("//79/A==")).isEqualTo(new byte[] {-1, -2, -3, -4});
+  }
+
+  @Test
+  public void testDecodeInvalid() {
+    var e = assertThrows(IllegalArgumentException.class, () -> Base64Codec.decode("Zm9vY"));
+    assertThat(e).hasMessageThat().isEqualTo("Invalid Base64 data length: 5");
+    e = assertThrows(IllegalArgumentException.class, () -> Base64Codec.decode("Zm-v"));
+    assertThat(e).hasMessageThat().isEqualTo("Invalid Base64 character at index 2: -");
+    e = assertThrows(IllegalArgumentException.class, () -> Base64Codec.decode("Zm\u00E4v"));
+    assertThat(e).hasMessageThat().isEqualTo("Invalid Base64 character at index 2: \u00E4");
+
+    // Incorrect padding
+    assertThrows(IllegalArgumentException.class, () -> Base64Codec.decode("Zg="));
+    assertThrows(IllegalArgumentException.class, () -> Base64Codec.decode("Zm=v"));
+    assertThrows(IllegalArgumentException.class, () -> Base64Codec.decode("===="));
+    assertThrows(IllegalArgumentException.class, () -> Base64Codec.decode("Zg==Zg=="));
+  }
+
+  /** Compares the results with the JDK implementation. */
+  @Test
+  public void testRandom() {
+    Random random = new Random(1);
+    for (int length = 0; length < 100; length++) {
+      byte[] bytes = new byte[length];
+      random.nextBytes(bytes);
+      String encoded = Base64Codec.encode(bytes);
+      assertThat(encoded).isEqualTo(Base64.getEncoder().encodeToString(bytes));
+      assertThat(Base64Codec.decode(encoded)).isEqualTo(bytes);
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.internal;
+
+import com.google.common.collect.testing.MapTestSuiteBuilder;
+import com.google.common.collect.testing.TestStringMapGenerator;
+import com.google.common.collect.testing.features.CollectionFeature;
+import com.google.common.collect.testing.features.CollectionSize;
+import com.google.common.collect.testing.features.MapFeature;
+import java.util.Map;
+import java.util.Map.Entry;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import org.junit.runner.RunWith;
+import org.junit.runners.AllTests;
+
+/**
+ * Dynamic {@link MapTestSuiteBuilder Map test suite} for {@link CompactLinkedMap}. This complements
+ * {@link CompactLinkedMapTest}.
+ */
+@RunWith(AllTests.class)
+public class CompactLinkedMapSuiteTest {
+  private static class MapGenerator extends TestStringMapGenerator {
+    private final int maxArraySize;
+
+    public MapGenerator(int maxArraySize) {
+      this.maxArraySize = maxArraySize;
+    }
+
+    @Override
+    protected Map<String, String> create(Entry<String, String>[] entries) {
+      var map = new CompactLinkedMap<String>(maxArraySize);
+      for (var entry : entries) {
+        map.put(entry.getKey(), entry.getValue());
+      }
+      return map;
+    }
+  }
+
+  // Special method recognized by JUnit's `AllTests` runner
+  public static Test suite() {
+    // Use qualified class name to make it easier to find this test class in the IDE
+    TestSuite testSuite = new TestSuite(CompactLinkedMapSuiteTest.class.getName());
+    // Covers the array representation, switching to the tree map, and the tree map representation
+    for (int maxArraySize : new int[] {CompactLinkedMap.DEFAULT_MAX_ARRAY_SIZE, 3, 1}) {
+      testSuite.addTest(
+          MapTestSuiteBuilder.using(new MapGenerator(maxArraySize))
+              .withFeatures(
+                  CollectionSize.ANY,
+                  MapFeature.ALLOWS_ANY_NULL_QUERIES,
+                  MapFeature.SUPPORTS_PUT,
+                  MapFeature.SUPPORTS_REMOVE,
+                  CollectionFeature.KNOWN_ORDER,
+                  CollectionFeature.SUPPORTS_ITERATOR_REMOVE)
+              .named("maxArraySize=" + maxArraySize)
+              .createTestSuite());
+    }
+    return testSuite;
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+
+public class CompactLinkedMapTest {
+  @Test
+  public void testSwitchToTreeMap() {
+    CompactLinkedMap<Integer> map = new CompactLinkedMap<>();
+    Map<String, Integer> expected = new LinkedHashMap<>();
+    Set<Map.Entry<String, Integer>> entrySet = map.entrySet();
+    Set<String> keySet = map.keySet();
+
+    for (int i = 20; i > 0; i--) {
+      String key = "k" + i;
+      assertThat(map.put(key, i)).isNull();
+      expected.put(key, i);
+      assertThat(map).containsExactlyEntriesIn(expected).inOrder();
+      // Views obtained before the switch remain valid
+      assertThat(entrySet).containsExactlyElementsIn(expected.entrySet()).inOrder();
+      assertThat(keySet).containsExactlyElementsIn(expected.keySet()).inOrder();
+    }
+
+    // Replacing a value keeps the position
+    assertThat(map.put("k20", 0)).isEqualTo(20);
+    assertThat(map.keySet().iterator().next()).isEqualTo("k20");
+    assertThat(map.remove("k10")).isEqualTo(10);
+    assertThat(map).hasSize(19);
+    assertThat(map.get("k10")).isNull();
+  }
+
+  @Test
+  public void testRemovePreservesOrder() {
+    CompactLinkedMap<String> map = new CompactLinkedMap<>();
+    map.put("a", "1");
+    map.put("b", "2");
+    map.put("c", "3");
+    map.put("d", "4");
+    assertThat(map.remove("b")).isEqualTo("2");
+
+    Iterator<String> iterator = map.keySet().iterator();
+    assertThat(iterator.next()).isEqualTo("a");
+    assertThat(iterator.next()).isEqualTo("c");
+    iterator.remove();
+    assertThat(iterator.next()).isEqualTo("d");
+    assertThat(iterator.hasNext()).isFalse();
+
+    map.put("b", "5");
+    assertThat(new ArrayList<>(map.keySet())).containsExactly("a", "d", "b").inOrder();
+  }
+
+  @Test
+  public void testNulls() {
+    CompactLinkedMap<String> map = new CompactLinkedMap<>();
+    assertThrows(NullPointerException.class, () -> map.put(null, "a"));
+    assertThrows(NullPointerException.class, () -> map.put("a", null));
+    map.put("a", "b");
+    Map.Entry<String, String> entry = map.entrySet().iterator().next();
+    assertThrows(NullPointerException.class, () -> entry.setValue(null));
+    assertThat(map.get(null)).isNull();
+    assertThat(map.containsKey(null)).isFalse();
+  }
+
+  @Test
+  public void testEntryAfterModification() {
+    CompactLinkedMap<String> map = new CompactLinkedMap<>();
+    map.put("a", "1");
+    map.put("b", "2");
+    List<Map.Entry<String, String>> entries = new ArrayList<>(map.entrySet());
+    entries.get(1).setValue("3");
+    assertThat(map.get("b")).isEqualTo("3");
+
+    map.remove("a");
+    // The entry keeps its key and last value
+    assertThat(entries.get(0).getKey()).isEqualTo("a");
+    assertThat(entries.get(0).getValue()).isEqualTo("1");
+    assertThat(entries.get(1).getKey()).isEqualTo("b");
+    assertThat(entries.get(1).getValue()).isEqualTo("3");
+  }
+
+  @Test
+  public void testEntryAndIteratorAfterSwitchToTreeMap() {
+    CompactLinkedMap<String> map = new CompactLinkedMap<>(2);
+    map.put("a", "1");
+    map.put("b", "2");
+    Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator();
+    Map.Entry<String, String> entry = iterator.next();
+
+    map.put("c", "3");
+    assertThrows(ConcurrentModificationException.class, () -> entry.setValue("4"));
+    assertThat(map.get("a")).isEqualTo("1");
+    assertThrows(ConcurrentModificationException.class, iterator::hasNext);
+    assertThrows(ConcurrentModificationException.class, iterator::next);
+  }
+
+  @Test
+  public void testEqualsAndHashCode() {
+    CompactLinkedMap<Integer> small = new CompactLinkedMap<>();
+    CompactLinkedMap<Integer> large = new CompactLinkedMap<>(0);
+    Map<String, Integer> expected = new LinkedHashMap<>();
+    for (int i = 0; i < 5; i++) {
+      small.put("k" + i, i);
+      large.put("k" + i, i);
+      expected.put("k" + i, i);
+    }
+    assertThat(small).isEqualTo(large);
+    assertThat(small).isEqualTo(expected);
+    assertThat(small.hashCode()).isEqualTo(expected.hashCode());
+    assertThat(small.toString()).isEqualTo(expected.toString());
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class FieldNameMatcherTest {
+  private static int match(FieldNameMatcher matcher, String name) {
+    char[] chars = ("ab" + name + "c").toCharArray();
+    int index = matcher.match(chars, 2, name.length(), name.hashCode());
+    assertThat(matcher.match(name)).isEqualTo(index);
+    return index;
+  }
+
+  @Test
+  public void testEmpty() {
+    FieldNameMatcher matcher = new FieldNameMatcher(Collections.emptyList());
+    assertThat(match(matcher, "")).isEqualTo(-1);
+    assertThat(match(matcher, "a")).isEqualTo(-1);
+  }
+
+  @Test
+  public void testMatch() {
+    FieldNameMatcher matcher = new FieldNameMatcher(Arrays.asList("a", "", "name", "\u00e9"));
+    assertThat(match(matcher, "a")).isEqualTo(0);
+    assertThat(match(matcher, "")).isEqualTo(1);
+    assertThat(match(matcher, "name")).isEqualTo(2);
+    assertThat(match(matcher, "\u00e9")).isEqualTo(3);
+    assertThat(match(matcher, "b")).isEqualTo(-1);
+    assertThat(match(matcher, "nam")).isEqualTo(-1);
+    assertThat(match(matcher, "names")).isEqualTo(-1);
+    assertThat(matcher.name(2)).isEqualTo("name");
+  }
+
+  @Test
+  public void testHashCollisions() {
+    // "Aa" and "BB" have the same hash code
+    assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+    FieldNameMatcher matcher = new FieldNameMatcher(Arrays.asList("AaAa", "BBBB", "AaBB"));
+    assertThat(match(matcher, "AaAa")).isEqualTo(0);
+    assertThat(match(matcher, "BBBB")).isEqualTo(1);
+    assertThat(match(matcher, "AaBB")).isEqualTo(2);
+    assertThat(match(matcher, "BBAa")).isEqualTo(-1);
+  }
+
+  @Test
+  public void testManyNames() {
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      names.add("field" + i);
+    }
+    FieldNameMatcher matcher = new FieldNameMatcher(names);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(match(matcher, "field" + i)).isEqualTo(i);
+    }
+    assertThat(match(matcher, "field1000")).isEqualTo(-1);
+  }
+}
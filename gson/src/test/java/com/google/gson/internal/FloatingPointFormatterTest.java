@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.Test;
+
+public class FloatingPointFormatterTest {
+  private static String format(double value) {
+    char[] buffer = new char[FloatingPointFormatter.MAX_LENGTH];
+    return new String(buffer, 0, FloatingPointFormatter.format(value, buffer));
+  }
+
+  private static String format(float value) {
+    char[] buffer = new char[FloatingPointFormatter.MAX_LENGTH];
+    return new String(buffer, 0, FloatingPointFormatter.format(value, buffer));
+  }
+
+  @Test
+  public void testFormatDouble() {
+    assertThat(format(0.0)).isEqualTo("0.0");
+    assertThat(format(-0.0)).isEqualTo("-0.0");
+    assertThat(format(1.0)).isEqualTo("1.0");
+    assertThat(format(-1.5)).isEqualTo("-1.5");
+    assertThat(format(0.1)).isEqualTo("0.1");
+    assertThat(format(0.001)).isEqualTo("0.001");
+    assertThat(format(0.0001)).isEqualTo("1.0E-4");
+    assertThat(format(123.456)).isEqualTo("123.456");
+    assertThat(format(1234567.0)).isEqualTo("1234567.0");
+    assertThat(format(9999999.5)).isEqualTo("9999999.5");
+    assertThat(format(1.0E7)).isEqualTo("1.0E7");
+    assertThat(format(1.2345E7)).isEqualTo("1.2345E7");
+    // Double.toString of older JDK versions produces "1.0000000000000001E23"
+    assertThat(format(Double.parseDouble("1.0E23"))).isEqualTo("1.0E23");
+    assertThat(format(2.0E-3)).isEqualTo("0.002");
+    assertThat(format(Double.MAX_VALUE)).isEqualTo("1.7976931348623157E308");
+    assertThat(format(-Double.MAX_VALUE)).isEqualTo("-1.7976931348623157E308");
+    assertThat(format(Double.MIN_VALUE)).isEqualTo("4.9E-324");
+    assertThat(format(Double.MIN_NORMAL)).isEqualTo("2.2250738585072014E-308");
+    assertThat(format(Math.PI)).isEqualTo("3.141592653589793");
+    assertThat(format(Double.NaN)).isEqualTo("NaN");
+    assertThat(format(Double.POSITIVE_INFINITY)).isEqualTo("Infinity");
+    assertThat(format(Double.NEGATIVE_INFINITY)).isEqualTo("-Infinity");
+  }
+
+  @Test
+  public void testFormatFloat() {
+    assertThat(format(0.0f)).isEqualTo("0.0");
+    assertThat(format(-0.0f)).isEqualTo("-0.0");
+    assertThat(format(1.0f)).isEqualTo("1.0");
+    assertThat(format(0.1f)).isEqualTo("0.1");
+    assertThat(format(3.4f)).isEqualTo("3.4");
+    assertThat(format(1.0E7f)).isEqualTo("1.0E7");
+    assertThat(format(1.0E-4f)).isEqualTo("1.0E-4");
+    assertThat(format(Float.MAX_VALUE)).isEqualTo("3.4028235E38");
+    assertThat(format(Float.MIN_VALUE)).isEqualTo("1.4E-45");
+    // Float.toString of older JDK versions produces "1.17549435E-38"
+    assertThat(format(Float.MIN_NORMAL)).isEqualTo("1.1754944E-38");
+    assertThat(format(Float.NaN)).isEqualTo("NaN");
+    assertThat(format(Float.NEGATIVE_INFINITY)).isEqualTo("-Infinity");
+  }
+
+  /**
+   * Verifies that {@code formatted} is the shortest decimal which rounds to {@code exact}, and of
+   * those the closest one.
+   */
+  private static void assertShortest(
+      String formatted, BigDecimal exact, boolean isFloat, String message) {
+    BigDecimal decimal = new BigDecimal(formatted);
+    assertWithMessage(message).that(roundTrips(decimal, exact, isFloat)).isTrue();
+
+    BigDecimal unscaled = decimal.stripTrailingZeros();
+    int digits = unscaled.precision();
+    // Like Double.toString, at least two digits are used if a one digit decimal would not suffice,
+    // for example 4.9E-324 instead of 5E-324 for Double.MIN_VALUE
+    if (digits > 2) {
+      MathContext shorter = new MathContext(digits - 1, RoundingMode.FLOOR);
+      assertWithMessage(message).that(roundTrips(exact.round(shorter), exact, isFloat)).isFalse();
+      shorter = new MathContext(digits - 1, RoundingMode.CEILING);
+      assertWithMessage(message).that(roundTrips(exact.round(shorter), exact, isFloat)).isFalse();
+    }
+
+    BigDecimal distance = decimal.subtract(exact).abs();
+    BigDecimal ulp = unscaled.ulp();
+    for (BigDecimal other : new BigDecimal[] {unscaled.add(ulp), unscaled.subtract(ulp)}) {
+      if (roundTrips(other, exact, isFloat)) {
+        assertWithMessage(message)
+            .that(distance.compareTo(other.subtract(exact).abs()))
+            .isAtMost(0);
+      }
+    }
+  }
+
+  private static boolean roundTrips(BigDecimal decimal, BigDecimal exact, boolean isFloat) {
+    String s = decimal.toString();
+    double parsed = isFloat ? Float.parseFloat(s) : Double.parseDouble(s);
+    return !Double.isInfinite(parsed) && new BigDecimal(parsed).compareTo(exact) == 0;
+  }
+
+  private static void assertDouble(double value) {
+    String formatted = format(value);
+    String message = Double.toString(value) + " formatted as " + formatted;
+    assertWithMessage(message).that(Double.parseDouble(formatted)).isEqualTo(value);
+    if (value != 0) {
+      assertShortest(formatted, new BigDecimal(value), false, message);
+    }
+    // Uses the same format as Double.toString; the digits only differ if the JDK version does not
+    // produce the shortest representation
+    String expected = Double.toString(value);
+    if (new BigDecimal(expected).compareTo(new BigDecimal(formatted)) == 0) {
+      assertWithMessage(message).that(formatted).isEqualTo(expected);
+    }
+  }
+
+  private static void assertFloat(float value) {
+    String formatted = format(value);
+    String message = Float.toString(value) + " formatted as " + formatted;
+    assertWithMessage(message).that(Float.parseFloat(formatted)).isEqualTo(value);
+    if (value != 0) {
+      assertShortest(formatted, new BigDecimal(value), true, message);
+    }
+    String expected = Float.toString(value);
+    if (new BigDecimal(expected).compareTo(new BigDecimal(formatted)) == 0) {
+      assertWithMessage(message).that(formatted).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void testRandomDoubles() {
+    Random random = new Random(1);
+    for (int i = 0; i < 10_000; i++) {
+      double value = Double.longBitsToDouble(random.nextLong());
+      if (!Double.isNaN(value) && !Double.isInfinite(value)) {
+        assertDouble(value);
+      }
+      // Values with few digits, and integers
+      assertDouble(random.nextInt(100_000) / 1000.0);
+      assertDouble((double) random.nextInt());
+    }
+  }
+
+  @Test
+  public void testSpecialDoubles() {
+    for (int i = 0; i < 2000; i++) {
+      // Powers of two, including irregular spacing, and subnormal values
+      assertDouble(Math.scalb(1.0, i - 1074));
+      assertDouble(Math.nextUp(Math.scalb(1.0, i - 1074)));
+      assertDouble(Math.nextDown(Math.scalb(1.0, i - 1074)));
+      assertDouble(Double.longBitsToDouble(i));
+    }
+    for (int i = -323; i <= 308; i++) {
+      assertDouble(Double.parseDouble("1e" + i));
+    }
+  }
+
+  @Test
+  public void testRandomFloats() {
+    Random random = new Random(2);
+    for (int i = 0; i < 20_000; i++) {
+      float value = Float.intBitsToFloat(random.nextInt());
+      if (!Float.isNaN(value) && !Float.isInfinite(value)) {
+        assertFloat(value);
+      }
+      assertFloat(random.nextInt(100_000) / 1000.0f);
+    }
+  }
+
+  @Test
+  public void testSpecialFloats() {
+    for (int i = 0; i < 277; i++) {
+      assertFloat(Math.scalb(1.0f, i - 149));
+      assertFloat(Math.nextUp(Math.scalb(1.0f, i - 149)));
+      assertFloat(Math.nextDown(Math.scalb(1.0f, i - 149)));
+      assertFloat(Float.intBitsToFloat(i));
+    }
+    for (int i = -45; i <= 38; i++) {
+      assertFloat(Float.parseFloat("1e" + i));
+    }
+  }
+}
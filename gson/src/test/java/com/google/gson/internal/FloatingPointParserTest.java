@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.internal;
+
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import org.junit.Test;
+
+public class FloatingPointParserTest {
+  private static final String[] HARD_CASES = {
+    "0",
+    "-0",
+    "0.0",
+    "-0.0e10",
+    "0e-400",
+    "1",
+    "-1.5",
+    "0.1",
+    "0.3",
+    "1e22",
+    "1e23",
+    "8.41e21",
+    "9007199254740993",
+    "9007199254740992.5",
+    "1.7976931348623157e308",
+    "1.7976931348623158e308",
+    "1.7976931348623159e308",
+    "2e308",
+    "1e-400",
+    "4.9e-324",
+    "2.4703282292062327e-324",
+    "2.4703282292062328e-324",
+    "2.2250738585072011e-308",
+    "2.2250738585072012e-308",
+    "2.2250738585072014E-308",
+    "3.141592653589793",
+    "123456789012345678901234567890",
+    "0.000000000000000000000000000000001234567890123456789",
+    "1.00000000000000000000000000000000000000000000000000000001",
+    "1.0000000000000002220446049250313080847263336181640625",
+    "1.00000000000000011102230246251565404236316680908203125",
+    "1.00000000000000011102230246251565404236316680908203124",
+    "1.00000000000000011102230246251565404236316680908203126",
+    "1.00000017881393432617187499",
+    "1.000000178813934326171875",
+    "16777217",
+    "33554435",
+    "3.4028235e38",
+    "3.4028236e38",
+    "3.40282356779733661637539395458142568448e38",
+    "1.4e-45",
+    "7.0064923216240854e-46",
+    "1.1754943e-38",
+    "1e-45",
+    "1e39",
+    "12345678901234567890",
+    "18446744073709551615",
+    "18446744073709551616",
+    "9999999999999999999",
+    "0.1000000000000000055511151231257827021181583404541015625",
+    "7.038531e-26",
+    "2.97e-323",
+  };
+
+  private static void assertParsed(String s) {
+    char[] chars = ("  " + s + " ").toCharArray();
+    assertWithMessage(s)
+        .that(Double.doubleToRawLongBits(FloatingPointParser.parseDouble(chars, 2, s.length())))
+        .isEqualTo(Double.doubleToRawLongBits(Double.parseDouble(s)));
+    assertWithMessage(s)
+        .that(Float.floatToRawIntBits(FloatingPointParser.parseFloat(chars, 2, s.length())))
+        .isEqualTo(Float.floatToRawIntBits(Float.parseFloat(s)));
+  }
+
+  @Test
+  public void testHardCases() {
+    for (String s : HARD_CASES) {
+      assertParsed(s);
+      if (!s.startsWith("-")) {
+        assertParsed("-" + s);
+      }
+    }
+  }
+
+  @Test
+  public void testRandomDecimals() {
+    Random random = new Random(1);
+    for (int i = 0; i < 200_000; i++) {
+      StringBuilder s = new StringBuilder();
+      if (random.nextBoolean()) {
+        s.append('-');
+      }
+      int integerDigits = 1 + random.nextInt(12);
+      s.append(1 + random.nextInt(9));
+      for (int j = 1; j < integerDigits; j++) {
+        s.append(random.nextInt(10));
+      }
+      if (random.nextBoolean()) {
+        s.append('.');
+        int fractionDigits = 1 + random.nextInt(15);
+        for (int j = 0; j < fractionDigits; j++) {
+          s.append(random.nextInt(10));
+        }
+      }
+      if (random.nextBoolean()) {
+        s.append(random.nextBoolean() ? 'e' : 'E');
+        int exponent = random.nextInt(700) - 350;
+        if (exponent >= 0 && random.nextBoolean()) {
+          s.append('+');
+        }
+        s.append(exponent);
+      }
+      assertParsed(s.toString());
+    }
+  }
+
+  @Test
+  public void testRandomDoubles() {
+    Random random = new Random(2);
+    for (int i = 0; i < 20_000; i++) {
+      double value = Double.longBitsToDouble(random.nextLong());
+      if (Double.isNaN(value) || Double.isInfinite(value)) {
+        continue;
+      }
+      // Exact and shortest representation
+      assertParsed(new BigDecimal(value).toString());
+      assertParsed(Double.toString(value));
+      // Representation of a float, as double
+      float floatValue = (float) value;
+      if (!Float.isInfinite(floatValue)) {
+        assertParsed(Float.toString(floatValue));
+      }
+    }
+  }
+
+  @Test
+  public void testHalfwayFloats() {
+    Random random = new Random(3);
+    for (int i = 0; i < 20_000; i++) {
+      float value = Float.intBitsToFloat(random.nextInt() & 0x7F7FFFFF);
+      float next = Math.nextUp(value);
+      // Exact halfway point, and values just below and above it
+      BigDecimal halfway =
+          new BigDecimal(value).add(new BigDecimal(next)).divide(BigDecimal.valueOf(2));
+      assertParsed(halfway.toString());
+      BigDecimal delta = halfway.ulp();
+      assertParsed(halfway.subtract(delta).toString());
+      assertParsed(halfway.add(delta).toString());
+    }
+  }
+}
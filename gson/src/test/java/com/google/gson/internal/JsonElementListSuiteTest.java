@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import com.google.common.collect.testing.ListTestSuiteBuilder;
+import com.google.common.collect.testing.SampleElements;
+import com.google.common.collect.testing.TestListGenerator;
+import com.google.common.collect.testing.features.CollectionFeature;
+import com.google.common.collect.testing.features.CollectionSize;
+import com.google.common.collect.testing.features.ListFeature;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import java.util.List;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import org.junit.runner.RunWith;
+import org.junit.runners.AllTests;
+
+/**
+ * Dynamic {@link ListTestSuiteBuilder List test suite} for {@link JsonElementList} containing
+ * numbers stored as primitive values. This complements {@link JsonElementListTest}.
+ */
+@RunWith(AllTests.class)
+public class JsonElementListSuiteTest {
+  private static class ListGenerator implements TestListGenerator<JsonElement> {
+    private final String[] samples;
+
+    public ListGenerator(String... samples) {
+      this.samples = samples;
+    }
+
+    private static JsonElement number(String number) {
+      return new JsonPrimitive(new LazilyParsedNumber(number));
+    }
+
+    @Override
+    public SampleElements<JsonElement> samples() {
+      return new SampleElements<>(
+          number(samples[0]),
+          number(samples[1]),
+          number(samples[2]),
+          number(samples[3]),
+          number(samples[4]));
+    }
+
+    @Override
+    public JsonElement[] createArray(int length) {
+      return new JsonElement[length];
+    }
+
+    @Override
+    public Iterable<JsonElement> order(List<JsonElement> insertionOrder) {
+      return insertionOrder;
+    }
+
+    @Override
+    public List<JsonElement> create(Object... elements) {
+      JsonElementList list = new JsonElementList();
+      for (Object element : elements) {
+        // Sample elements are all numbers which can be stored as primitive values
+        list.addNumber(((JsonElement) element).getAsString());
+      }
+      return list;
+    }
+  }
+
+  // Special method recognized by JUnit's `AllTests` runner
+  public static Test suite() {
+    // Use qualified class name to make it easier to find this test class in the IDE
+    TestSuite testSuite = new TestSuite(JsonElementListSuiteTest.class.getName());
+    testSuite.addTest(createSuite("longs", new ListGenerator("1", "-2", "3", "40", "5")));
+    testSuite.addTest(createSuite("doubles", new ListGenerator("1", "2.5", "-3.0E10", "4", "0.5")));
+    return testSuite;
+  }
+
+  private static Test createSuite(String name, ListGenerator generator) {
+    return ListTestSuiteBuilder.using(generator)
+        .withFeatures(
+            CollectionSize.ANY,
+            CollectionFeature.ALLOWS_NULL_QUERIES,
+            CollectionFeature.RESTRICTS_ELEMENTS, // List only allows JsonElement
+            CollectionFeature.SUPPORTS_ADD,
+            ListFeature.REMOVE_OPERATIONS,
+            ListFeature.SUPPORTS_ADD_WITH_INDEX,
+            ListFeature.SUPPORTS_SET)
+        .named("JsonElementList with " + name)
+        .createTestSuite();
+  }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.concurrent.CyclicBarrier;
+import org.junit.Test;
+
+public class JsonElementListTest {
+  private static JsonElement number(String number) {
+    return new JsonPrimitive(new LazilyParsedNumber(number));
+  }
+
+  private static JsonElementList listOf(String... numbers) {
+    JsonElementList list = new JsonElementList();
+    for (String number : numbers) {
+      list.addNumber(number);
+    }
+    return list;
+  }
+
+  @Test
+  public void testLongs() {
+    JsonElementList list = listOf("0", "-1", "9223372036854775807", "-9223372036854775808");
+    assertThat(list)
+        .containsExactly(
+            number("0"),
+            number("-1"),
+            number("9223372036854775807"),
+            number("-9223372036854775808"))
+        .inOrder();
+    JsonElement element = list.get(2);
+    assertThat(element.getAsString()).isEqualTo("9223372036854775807");
+    assertThat(element.getAsNumber()).isInstanceOf(LazilyParsedNumber.class);
+    assertThat(element.getAsLong()).isEqualTo(Long.MAX_VALUE);
+  }
+
+  @Test
+  public void testDoubles() {
+    // Integral values before and after the first floating-point value
+    JsonElementList list = listOf("1", "-2", "2.5", "-0.0", "1.0E20", "3", "4.0");
+    assertThat(list.toString()).isEqualTo("[1, -2, 2.5, -0.0, 1.0E20, 3, 4.0]");
+
+    // Shifts the integral flags of the subsequent values
+    assertThat(list.remove(1)).isEqualTo(number("-2"));
+    assertThat(list.toString()).isEqualTo("[1, 2.5, -0.0, 1.0E20, 3, 4.0]");
+  }
+
+  /** Numbers whose formatted primitive value differs from the original string are kept as is. */
+  @Test
+  public void testNonCanonicalNumbers() {
+    String[] numbers = {
+      "1",
+      "-0",
+      "01",
+      "1e3",
+      "1.50",
+      "0.10",
+      "1E+2",
+      "9223372036854775808",
+      "9007199254740993.0",
+      "0.0001",
+      "10000000.0",
+      "1.0E5",
+      "10.0E10",
+      "1.0E07",
+      "0.10000000000000001",
+      "4.9E-325"
+    };
+    for (String number : numbers) {
+      JsonElementList list = listOf("1", number);
+      assertThat(list.get(1).getAsString()).isEqualTo(number);
+      list = listOf("1.5", number);
+      assertThat(list.get(1).getAsString()).isEqualTo(number);
+    }
+
+    // Integral value which cannot be represented exactly as double
+    JsonElementList list = listOf("1.5", "9007199254740993");
+    assertThat(list.get(1).getAsString()).isEqualTo("9007199254740993");
+    list = listOf("9007199254740993", "1.5");
+    assertThat(list.toString()).isEqualTo("[9007199254740993, 1.5]");
+  }
+
+  @Test
+  public void testGetReturnsSameInstance() {
+    JsonElementList list = listOf("1", "2", "3");
+    JsonElement first = list.get(0);
+    JsonElement last = list.get(2);
+    assertThat(list.get(0)).isSameInstanceAs(first);
+    assertThat(list.get(2)).isSameInstanceAs(last);
+
+    // Kept when switching to doubles, removing an element and switching to elements
+    list.addNumber("2.5");
+    assertThat(list.get(0)).isSameInstanceAs(first);
+    assertThat(list.remove(1)).isEqualTo(number("2"));
+    assertThat(list.get(1)).isSameInstanceAs(last);
+    assertThat(list.indexOf(last)).isEqualTo(1);
+    assertThat(list.remove(last)).isTrue();
+    assertThat(list.toString()).isEqualTo("[1, 2.5]");
+    list.add(new JsonPrimitive("a"));
+    assertThat(list.get(0)).isSameInstanceAs(first);
+  }
+
+  @Test
+  public void testGetReturnsSameInstanceConcurrently() throws Exception {
+    int size = 1000;
+    int threadCount = 4;
+    JsonElementList list = new JsonElementList();
+    for (int i = 0; i < size; i++) {
+      list.addNumber(Integer.toString(i));
+    }
+
+    JsonElement[][] results = new JsonElement[threadCount][size];
+    CyclicBarrier barrier = new CyclicBarrier(threadCount);
+    Thread[] threads = new Thread[threadCount];
+    for (int t = 0; t < threadCount; t++) {
+      JsonElement[] result = results[t];
+      threads[t] =
+          new Thread(
+              () -> {
+                try {
+                  barrier.await();
+                } catch (Exception e) {
+                  throw new RuntimeException(e);
+                }
+                for (int i = 0; i < size; i++) {
+                  result[i] = list.get(i);
+                }
+              });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    for (int i = 0; i < size; i++) {
+      for (int t = 1; t < threadCount; t++) {
+        assertThat(results[t][i]).isSameInstanceAs(results[0][i]);
+      }
+    }
+  }
+
+  @Test
+  public void testSwitchToElements() {
+    JsonElementList list = listOf("1", "2.5");
+    list.add(new JsonPrimitive("a"));
+    list.addNumber("3");
+    assertThat(list)
+        .containsExactly(number("1"), number("2.5"), new JsonPrimitive("a"), number("3"));
+
+    list = listOf("1", "2");
+    assertThat(list.set(0, new JsonPrimitive(true))).isEqualTo(number("1"));
+    assertThat(list).containsExactly(new JsonPrimitive(true), number("2")).inOrder();
+  }
+
+  @Test
+  public void testIterator() {
+    JsonElementList list = listOf("1", "2");
+    Iterator<JsonElement> iterator = list.iterator();
+    assertThat(iterator.next()).isEqualTo(number("1"));
+    list.addNumber("3");
+    assertThrows(ConcurrentModificationException.class, iterator::next);
+  }
+
+  @Test
+  public void testAddAllSelf() {
+    JsonArray array = JsonParser.parseString("[1,2]").getAsJsonArray();
+    array.addAll(array);
+    assertThat(array.toString()).isEqualTo("[1,2,1,2]");
+
+    JsonElementList list = listOf("1", "2");
+
+    var e =
+        assertThrows(
+            NullPointerException.class, () -> list.addAll(Arrays.asList((JsonElement) null)));
+    assertThat(e).hasMessageThat().isEqualTo("Element must be non-null");
+    assertThat(list).hasSize(2);
+  }
+
+  @Test
+  public void testDeepCopy() {
+    JsonElementList list = listOf("1", "2.5");
+    JsonElementList copy = list.deepCopy();
+    list.addNumber("3");
+    assertThat(copy).containsExactly(number("1"), number("2.5")).inOrder();
+    copy.addNumber("4");
+    assertThat(copy).containsExactly(number("1"), number("2.5"), number("4")).inOrder();
+  }
+
+  @Test
+  public void testJsonArray() {
+    String json = "[1,-2.5,1.0E-5,12345678901234567890,0.1,3]";
+    JsonArray array = JsonParser.parseString(json).getAsJsonArray();
+    assertThat(array.toString()).isEqualTo(json);
+    assertThat(array.get(1).getAsDouble()).isEqualTo(-2.5);
+    assertThat(array).isEqualTo(JsonParser.parseString(json));
+    assertThat(array.deepCopy()).isEqualTo(array);
+
+    array.add("a");
+    assertThat(array.toString()).isEqualTo("[1,-2.5,1.0E-5,12345678901234567890,0.1,3,\"a\"]");
+  }
+}
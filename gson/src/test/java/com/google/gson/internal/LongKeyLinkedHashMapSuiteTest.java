@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import com.google.common.collect.testing.MapTestSuiteBuilder;
+import com.google.common.collect.testing.SampleElements;
+import com.google.common.collect.testing.TestMapGenerator;
+import com.google.common.collect.testing.features.CollectionFeature;
+import com.google.common.collect.testing.features.CollectionSize;
+import com.google.common.collect.testing.features.MapFeature;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import junit.framework.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.AllTests;
+
+/** Dynamic {@link MapTestSuiteBuilder Map test suite} for {@link LongKeyLinkedHashMap}. */
+@RunWith(AllTests.class)
+public class LongKeyLinkedHashMapSuiteTest {
+  private static class MapGenerator implements TestMapGenerator<Long, String> {
+    @Override
+    public SampleElements<Entry<Long, String>> samples() {
+      return new SampleElements<>(
+          Map.entry(1L, "a"),
+          Map.entry(-2L, "b"),
+          Map.entry(Long.MAX_VALUE, "c"),
+          Map.entry(Long.MIN_VALUE, "d"),
+          Map.entry(0L, "e"));
+    }
+
+    @Override
+    public Map<Long, String> create(Object... entries) {
+      var map = new LongKeyLinkedHashMap<String>();
+      for (Object o : entries) {
+        @SuppressWarnings("unchecked")
+        var entry = (Entry<Long, String>) o;
+        map.put(entry.getKey(), entry.getValue());
+      }
+      return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Entry<Long, String>[] createArray(int length) {
+      return (Entry<Long, String>[]) new Entry<?, ?>[length];
+    }
+
+    @Override
+    public Iterable<Entry<Long, String>> order(List<Entry<Long, String>> insertionOrder) {
+      return insertionOrder;
+    }
+
+    @Override
+    public Long[] createKeyArray(int length) {
+      return new Long[length];
+    }
+
+    @Override
+    public String[] createValueArray(int length) {
+      return new String[length];
+    }
+  }
+
+  // Special method recognized by JUnit's `AllTests` runner
+  public static Test suite() {
+    return MapTestSuiteBuilder.using(new MapGenerator())
+        .withFeatures(
+            CollectionSize.ANY,
+            MapFeature.ALLOWS_NULL_KEYS,
+            MapFeature.ALLOWS_NULL_VALUES,
+            MapFeature.ALLOWS_ANY_NULL_QUERIES,
+            MapFeature.SUPPORTS_PUT,
+            MapFeature.SUPPORTS_REMOVE,
+            CollectionFeature.KNOWN_ORDER,
+            CollectionFeature.SERIALIZABLE,
+            CollectionFeature.SUPPORTS_ITERATOR_REMOVE)
+        // Use qualified class name to make it easier to find this test class in the IDE
+        .named(LongKeyLinkedHashMapSuiteTest.class.getName())
+        .createTestSuite();
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+
+@SuppressWarnings({"JavaUtilDate", "UndefinedEquals"})
+public class PooledDateFormatTest {
+  private static SimpleDateFormat createFormat() {
+    SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS Z", Locale.US);
+    format.setTimeZone(TimeZone.getTimeZone("UTC"));
+    return format;
+  }
+
+  @Test
+  public void testFormatCopied() throws ParseException {
+    SimpleDateFormat original = createFormat();
+    PooledDateFormat format = PooledDateFormat.of(original);
+    original.applyPattern("yyyy");
+
+    Date date = new Date(1_000_000_000_000L);
+    assertThat(format.format(date)).isEqualTo("2001-09-09 01:46:40.000 +0000");
+    assertThat(((SimpleDateFormat) format.getFormat()).toPattern())
+        .isEqualTo("yyyy-MM-dd HH:mm:ss.SSS Z");
+  }
+
+  @Test
+  public void testShared() {
+    PooledDateFormat format = PooledDateFormat.of(createFormat());
+    assertThat(PooledDateFormat.of(createFormat())).isSameInstanceAs(format);
+
+    SimpleDateFormat otherTimeZone = createFormat();
+    otherTimeZone.setTimeZone(TimeZone.getTimeZone("GMT+01:00"));
+    assertThat(PooledDateFormat.of(otherTimeZone)).isNotSameInstanceAs(format);
+    SimpleDateFormat otherLocale = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS Z", Locale.FRANCE);
+    otherLocale.setTimeZone(TimeZone.getTimeZone("UTC"));
+    assertThat(PooledDateFormat.of(otherLocale)).isNotSameInstanceAs(format);
+  }
+
+  /** Parsing a string with a different time zone must not affect subsequent formatting. */
+  @Test
+  public void testParseRestoresTimeZone() throws ParseException {
+    PooledDateFormat format = PooledDateFormat.of(createFormat());
+    Date date = format.parse("2001-09-09 03:46:40.000 +0200");
+    assertThat(format.format(date)).isEqualTo("2001-09-09 01:46:40.000 +0000");
+  }
+
+  @Test
+  public void testConcurrentUsage() throws Exception {
+    PooledDateFormat format = PooledDateFormat.of(createFormat());
+    DateFormat expectedFormat = createFormat();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        long start = t * 1_000_000_000L;
+        results.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < 1000; i++) {
+                    Date date = new Date(start + i * 123_456_789L);
+                    String formatted = format.format(date);
+                    synchronized (expectedFormat) {
+                      if (!formatted.equals(expectedFormat.format(date))) {
+                        return false;
+                      }
+                    }
+                    if (!format.parse(formatted).equals(date)) {
+                      return false;
+                    }
+                  }
+                  return true;
+                }));
+      }
+      for (Future<Boolean> result : results) {
+        assertThat(result.get()).isTrue();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import com.google.common.collect.testing.ListTestSuiteBuilder;
+import com.google.common.collect.testing.SampleElements;
+import com.google.common.collect.testing.TestListGenerator;
+import com.google.common.collect.testing.features.CollectionFeature;
+import com.google.common.collect.testing.features.CollectionSize;
+import com.google.common.collect.testing.features.ListFeature;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import junit.framework.Test;
+import junit.framework.TestSuite;
+import org.junit.runner.RunWith;
+import org.junit.runners.AllTests;
+
+/**
+ * Dynamic {@link ListTestSuiteBuilder List test suite} for {@link IntArrayList}, {@link
+ * LongArrayList} and {@link DoubleArrayList}.
+ */
+@RunWith(AllTests.class)
+public class PrimitiveArrayListSuiteTest {
+  private static class ListGenerator<E> implements TestListGenerator<E> {
+    private final Supplier<List<E>> listFactory;
+    private final IntFunction<E[]> arrayFactory;
+    private final List<E> samples;
+
+    public ListGenerator(
+        Supplier<List<E>> listFactory, IntFunction<E[]> arrayFactory, E[] samples) {
+      this.listFactory = listFactory;
+      this.arrayFactory = arrayFactory;
+      this.samples = Arrays.asList(samples);
+    }
+
+    @Override
+    public SampleElements<E> samples() {
+      return new SampleElements<>(
+          samples.get(0), samples.get(1), samples.get(2), samples.get(3), samples.get(4));
+    }
+
+    @Override
+    public E[] createArray(int length) {
+      return arrayFactory.apply(length);
+    }
+
+    @Override
+    public Iterable<E> order(List<E> insertionOrder) {
+      return insertionOrder;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<E> create(Object... elements) {
+      List<E> list = listFactory.get();
+      for (Object element : elements) {
+        list.add((E) element);
+      }
+      return list;
+    }
+  }
+
+  // Special method recognized by JUnit's `AllTests` runner
+  public static Test suite() {
+    // Use qualified class name to make it easier to find this test class in the IDE
+    TestSuite testSuite = new TestSuite(PrimitiveArrayListSuiteTest.class.getName());
+    testSuite.addTest(
+        createSuite(
+            "IntArrayList",
+            new ListGenerator<>(
+                IntArrayList::new, Integer[]::new, new Integer[] {1, -2, 3, 40, 5})));
+    testSuite.addTest(
+        createSuite(
+            "LongArrayList",
+            new ListGenerator<>(
+                LongArrayList::new,
+                Long[]::new,
+                new Long[] {1L, -2L, Long.MAX_VALUE, Long.MIN_VALUE, 5L})));
+    testSuite.addTest(
+        createSuite(
+            "DoubleArrayList",
+            new ListGenerator<>(
+                DoubleArrayList::new,
+                Double[]::new,
+                new Double[] {1.0, 2.5, -3.0E10, Double.NaN, 0.5})));
+    return testSuite;
+  }
+
+  private static Test createSuite(String name, ListGenerator<?> generator) {
+    return ListTestSuiteBuilder.using(generator)
+        .withFeatures(
+            CollectionSize.ANY,
+            CollectionFeature.ALLOWS_NULL_QUERIES,
+            ListFeature.REMOVE_OPERATIONS,
+            ListFeature.SUPPORTS_ADD_WITH_INDEX,
+            ListFeature.SUPPORTS_SET)
+        .named(name)
+        .createTestSuite();
+  }
+}
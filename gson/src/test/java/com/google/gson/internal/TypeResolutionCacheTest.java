@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.gson.reflect.TypeToken;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public class TypeResolutionCacheTest {
+  @SuppressWarnings("unused")
+  private static class Page<T> {
+    List<T> items;
+    Map<String, ? extends T> byName;
+    T[] array;
+    String name;
+  }
+
+  private static Type fieldType(String name) throws NoSuchFieldException {
+    return Page.class.getDeclaredField(name).getGenericType();
+  }
+
+  @Test
+  public void testResolve() throws Exception {
+    TypeResolutionCache cache = new TypeResolutionCache();
+    Type context = new TypeToken<Page<Integer>>() {}.getType();
+
+    Type resolved = cache.resolve(context, Page.class, fieldType("items"));
+    assertThat(resolved).isEqualTo(new TypeToken<List<Integer>>() {}.getType());
+    // Cached
+    assertThat(cache.resolve(context, Page.class, fieldType("items"))).isSameInstanceAs(resolved);
+
+    assertThat(cache.resolve(context, Page.class, fieldType("byName")))
+        .isEqualTo(new TypeToken<Map<String, ? extends Integer>>() {}.getType());
+    Type arrayType = cache.resolve(context, Page.class, fieldType("array"));
+    assertThat(GsonTypes.getRawType(arrayType)).isEqualTo(Integer[].class);
+    assertThat(cache.resolve(context, Page.class, fieldType("name")))
+        .isSameInstanceAs(String.class);
+
+    Type otherContext = new TypeToken<Page<String>>() {}.getType();
+    assertThat(cache.resolve(otherContext, Page.class, fieldType("items")))
+        .isEqualTo(new TypeToken<List<String>>() {}.getType());
+  }
+
+  /** Equal resolved types share the same instance, also for different context types. */
+  @Test
+  public void testInterning() throws Exception {
+    @SuppressWarnings("unused")
+    class Other<E> {
+      List<E> list;
+    }
+
+    TypeResolutionCache cache = new TypeResolutionCache();
+    Type resolved =
+        cache.resolve(new TypeToken<Page<Integer>>() {}.getType(), Page.class, fieldType("items"));
+    Type otherResolved =
+        cache.resolve(
+            new TypeToken<Other<Integer>>() {}.getType(),
+            Other.class,
+            Other.class.getDeclaredField("list").getGenericType());
+    assertThat(otherResolved).isSameInstanceAs(resolved);
+
+    Type interned = cache.intern(new TypeToken<List<Integer>>() {}.getType());
+    assertThat(interned).isSameInstanceAs(resolved);
+    // Canonical types are not copied by TypeToken
+    assertThat(TypeToken.get(interned).getType()).isSameInstanceAs(interned);
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.Test;
+
+public class Utf8ReaderTest {
+  private static final String TEXT =
+      "ascii \u00e9\u00df \u20ac \ud83d\ude00 end \u0000\u007f\u0080\u07ff\u0800\uffff";
+
+  /**
+   * Returns at most {@code chunkSize} bytes per read call, to test sequences split across reads.
+   */
+  private static InputStream chunked(byte[] bytes, int chunkSize) {
+    return new ByteArrayInputStream(bytes) {
+      @Override
+      public synchronized int read(byte[] b, int off, int len) {
+        return super.read(b, off, Math.min(len, chunkSize));
+      }
+    };
+  }
+
+  private static String readFully(Reader reader, int charBufferSize) throws IOException {
+    StringBuilder result = new StringBuilder();
+    char[] buffer = new char[charBufferSize];
+    int read;
+    while ((read = reader.read(buffer, 0, buffer.length)) != -1) {
+      result.append(buffer, 0, read);
+    }
+    return result.toString();
+  }
+
+  @Test
+  public void testValidInput() throws IOException {
+    byte[] bytes = TEXT.getBytes(UTF_8);
+    for (int chunkSize = 1; chunkSize <= 5; chunkSize++) {
+      for (int charBufferSize = 1; charBufferSize <= 3; charBufferSize++) {
+        assertThat(readFully(new Utf8Reader(chunked(bytes, chunkSize)), charBufferSize))
+            .isEqualTo(TEXT);
+      }
+    }
+    assertThat(readFully(new Utf8Reader(bytes, 0, bytes.length), 1)).isEqualTo(TEXT);
+    assertThat(readFully(new Utf8Reader(ByteBuffer.wrap(bytes)), 1024)).isEqualTo(TEXT);
+  }
+
+  @Test
+  public void testByteArrayRange() throws IOException {
+    byte[] bytes = "[\"\u00e9\"]".getBytes(UTF_8);
+    assertThat(readFully(new Utf8Reader(bytes, 1, bytes.length - 2), 16)).isEqualTo("\"\u00e9\"");
+    assertThrows(IndexOutOfBoundsException.class, () -> new Utf8Reader(bytes, 2, bytes.length));
+  }
+
+  @Test
+  public void testByteBuffers() throws IOException {
+    byte[] bytes = ("xx" + TEXT).getBytes(UTF_8);
+
+    ByteBuffer heap = ByteBuffer.wrap(bytes);
+    heap.position(2);
+    assertThat(readFully(new Utf8Reader(heap), 7)).isEqualTo(TEXT);
+    assertThat(heap.position()).isEqualTo(2);
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+    direct.put(bytes).flip().position(2);
+    assertThat(readFully(new Utf8Reader(direct), 7)).isEqualTo(TEXT);
+    assertThat(direct.position()).isEqualTo(2);
+
+    ByteBuffer readOnly = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    readOnly.position(2);
+    assertThat(readFully(new Utf8Reader(readOnly), 7)).isEqualTo(TEXT);
+  }
+
+  @Test
+  public void testMalformedInputMatchesJdkDecoder() throws IOException {
+    byte[][] malformed = {
+      {(byte) 0x80},
+      {(byte) 0xC0, (byte) 0xAF},
+      {(byte) 0xC3},
+      {'a', (byte) 0xE2, (byte) 0x82},
+      {(byte) 0xE2, (byte) 0x82, 'a'},
+      {(byte) 0xE0, (byte) 0x80, (byte) 0x80},
+      {(byte) 0xED, (byte) 0xA0, (byte) 0x80},
+      {(byte) 0xF0, (byte) 0x8F, (byte) 0xBF, (byte) 0xBF},
+      {(byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80},
+      {(byte) 0xF0, (byte) 0x9F, (byte) 0x98},
+      {(byte) 0xF0, (byte) 0x9F, (byte) 0x98, 'b'},
+      {(byte) 0xFF, 'c'},
+    };
+    for (byte[] bytes : malformed) {
+      String expected = new String(bytes, UTF_8);
+      for (int chunkSize = 1; chunkSize <= 4; chunkSize++) {
+        assertThat(readFully(new Utf8Reader(chunked(bytes, chunkSize)), 2)).isEqualTo(expected);
+      }
+      assertThat(readFully(new Utf8Reader(bytes, 0, bytes.length), 2)).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void testRandomInputMatchesJdkDecoder() throws IOException {
+    Random random = new Random(1234);
+    for (int i = 0; i < 500; i++) {
+      byte[] bytes = new byte[random.nextInt(40)];
+      random.nextBytes(bytes);
+      String expected = new String(bytes, UTF_8);
+      assertThat(readFully(new Utf8Reader(chunked(bytes, 1 + random.nextInt(5))), 3))
+          .isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void testClose() throws IOException {
+    boolean[] closed = {false};
+    InputStream in =
+        new ByteArrayInputStream(new byte[0]) {
+          @Override
+          public void close() {
+            closed[0] = true;
+          }
+        };
+    Utf8Reader reader = new Utf8Reader(in);
+    reader.close();
+    assertThat(closed[0]).isTrue();
+    assertThrows(IOException.class, () -> reader.read(new char[1], 0, 1));
+  }
+}
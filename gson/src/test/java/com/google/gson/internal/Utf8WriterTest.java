@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import org.junit.Test;
+
+public class Utf8WriterTest {
+  private static final String TEXT =
+      "ascii \u00e9\u00df \u20ac \ud83d\ude00 end \u0000\u007f\u0080\u07ff\u0800\uffff";
+
+  @Test
+  public void testWriteString() throws IOException {
+    Utf8Writer writer = new Utf8Writer();
+    writer.write(TEXT);
+    assertThat(writer.toByteArray()).isEqualTo(TEXT.getBytes(UTF_8));
+  }
+
+  @Test
+  public void testRelease() throws IOException {
+    Utf8Writer writer = new Utf8Writer();
+    writer.write("first");
+    assertThat(writer.toByteArray()).isEqualTo("first".getBytes(UTF_8));
+    writer.release();
+    assertThrows(IOException.class, () -> writer.write("a"));
+    var e = assertThrows(IllegalStateException.class, writer::toByteArray);
+    assertThat(e).hasMessageThat().isEqualTo("Writer has been released");
+    // Releasing multiple times has no effect
+    writer.release();
+
+    // Writers reusing the released buffer must not see its old content
+    for (int i = 0; i < 20; i++) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      Utf8Writer streamWriter = new Utf8Writer(out);
+      streamWriter.write("b" + i);
+      streamWriter.flush();
+      streamWriter.release();
+      assertThat(out.toString("UTF-8")).isEqualTo("b" + i);
+
+      Utf8Writer bytesWriter = new Utf8Writer();
+      bytesWriter.write("c");
+      assertThat(bytesWriter.toByteArray()).isEqualTo("c".getBytes(UTF_8));
+      bytesWriter.release();
+    }
+  }
+
+  @Test
+  public void testWriteSingleChars() throws IOException {
+    Utf8Writer writer = new Utf8Writer();
+    for (int i = 0; i < TEXT.length(); i++) {
+      writer.write(TEXT.charAt(i));
+    }
+    assertThat(writer.toByteArray()).isEqualTo(TEXT.getBytes(UTF_8));
+  }
+
+  @Test
+  public void testSurrogatePairSplitAcrossWrites() throws IOException {
+    Utf8Writer writer = new Utf8Writer();
+    writer.write("a\ud83d".toCharArray());
+    writer.write("\ude00b");
+    assertThat(writer.toByteArray()).isEqualTo("a\ud83d\ude00b".getBytes(UTF_8));
+  }
+
+  @Test
+  public void testUnpairedSurrogates() throws IOException {
+    String[] inputs = {"\ud83d", "\ude00", "a\ud83db", "\ude00\ud83d", "\ud83d\ud83d\ude00"};
+    for (String input : inputs) {
+      Utf8Writer writer = new Utf8Writer();
+      writer.write(input);
+      assertThat(writer.toByteArray()).isEqualTo(input.getBytes(UTF_8));
+    }
+  }
+
+  @Test
+  public void testRandomInputMatchesJdkEncoder() throws IOException {
+    Random random = new Random(1234);
+    char[] alphabet = {'a', '"', '\u00e9', '\u20ac', '\ud83d', '\ude00', '\uffff'};
+    for (int i = 0; i < 500; i++) {
+      char[] chars = new char[random.nextInt(40)];
+      for (int j = 0; j < chars.length; j++) {
+        chars[j] = alphabet[random.nextInt(alphabet.length)];
+      }
+      String input = new String(chars);
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      Utf8Writer writer = new Utf8Writer(out);
+      int start = 0;
+      while (start < chars.length) {
+        int end = Math.min(chars.length, start + 1 + random.nextInt(5));
+        writer.write(chars, start, end - start);
+        start = end;
+      }
+      writer.close();
+      assertThat(out.toByteArray()).isEqualTo(input.getBytes(UTF_8));
+    }
+  }
+
+  @Test
+  public void testDrainsToStream() throws IOException {
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      expected.append("x\u00e9");
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Utf8Writer writer = new Utf8Writer(out);
+    writer.write(expected.toString());
+    writer.flush();
+    assertThat(out.toByteArray()).isEqualTo(expected.toString().getBytes(UTF_8));
+    assertThrows(IllegalStateException.class, () -> writer.toByteArray());
+  }
+
+  @Test
+  public void testClose() throws IOException {
+    boolean[] closed = {false};
+    ByteArrayOutputStream out =
+        new ByteArrayOutputStream() {
+          @Override
+          public void close() {
+            closed[0] = true;
+          }
+        };
+    Utf8Writer writer = new Utf8Writer(out);
+    writer.write("test");
+    writer.close();
+    assertThat(closed[0]).isTrue();
+    assertThat(out.toByteArray()).isEqualTo("test".getBytes(UTF_8));
+    assertThrows(IOException.class, () -> writer.write("a"));
+  }
+}
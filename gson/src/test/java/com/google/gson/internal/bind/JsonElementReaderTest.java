@@ -42,6 +42,27 @@ public final class JsonElementReaderTest {
     reader.endArray();
   }
 
+  @Test
+  public void testFloats() throws IOException {
+    JsonElement element =
+        JsonParser.parseString("[1.5, \"2.5\", 1e39, 1.00000017881393432617187499]");
+    JsonTreeReader reader = new JsonTreeReader(element);
+    reader.beginArray();
+    assertThat(reader.nextFloat()).isEqualTo(1.5f);
+    assertThat(reader.nextFloat()).isEqualTo(2.5f);
+    // Too large for float, but not for double
+    assertThat(reader.nextFloat()).isEqualTo(Float.POSITIVE_INFINITY);
+    assertThat(reader.nextFloat()).isEqualTo(1.0000001f);
+    reader.endArray();
+
+    element = JsonParser.parseString("[NaN]");
+    JsonTreeReader strictReader = new JsonTreeReader(element);
+    strictReader.beginArray();
+    var e = assertThrows(MalformedJsonException.class, () -> strictReader.nextFloat());
+    assertThat(e).hasMessageThat().isEqualTo("JSON forbids NaN and infinities: NaN");
+    assertThat(strictReader.nextString()).isEqualTo("NaN");
+  }
+
   @Test
   public void testLenientNansAndInfinities() throws IOException {
     JsonElement element = JsonParser.parseString("[NaN, -Infinity, Infinity]");
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.internal.bind;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.RawJson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.LazilyParsedNumber;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+public final class MapKeyWriterTest {
+  private final Gson gson = new Gson();
+  private final MapKeyWriter writer = new MapKeyWriter();
+
+  /**
+   * The conversion previously used by {@code MapTypeAdapterFactory}, based on a JSON tree; {@code
+   * null} for a JSON array or object.
+   */
+  private static String treeKeyToString(JsonElement keyElement) {
+    if (keyElement.isJsonNull()) {
+      return "null";
+    }
+    if (keyElement.isJsonArray() || keyElement.isJsonObject()) {
+      return null;
+    }
+    JsonPrimitive primitive = keyElement.getAsJsonPrimitive();
+    return primitive.isNumber() ? String.valueOf(primitive.getAsNumber()) : primitive.getAsString();
+  }
+
+  /** Returns the property name for the key, or {@code null} if it is a JSON array or object. */
+  private <T> String toName(TypeAdapter<T> adapter, T key) throws IOException {
+    Object recordedKey = writer.record(adapter, key);
+    return MapKeyWriter.isComplex(recordedKey) ? null : MapKeyWriter.toName(recordedKey);
+  }
+
+  /** Returns the JSON written for the key when it is written as JSON value. */
+  private <T> String toJson(TypeAdapter<T> adapter, T key) throws IOException {
+    StringWriter json = new StringWriter();
+    MapKeyWriter.write(new JsonWriter(json), writer.record(adapter, key));
+    return json.toString();
+  }
+
+  private <T> void assertSameAsTree(TypeAdapter<T> adapter, T key) throws IOException {
+    JsonElement tree = adapter.toJsonTree(key);
+    assertThat(toName(adapter, key)).isEqualTo(treeKeyToString(tree));
+    assertThat(toJson(adapter, key)).isEqualTo(tree.toString());
+  }
+
+  @Test
+  public void testPrimitiveKeys() throws IOException {
+    List<Object> keys =
+        Arrays.asList(
+            "a",
+            "",
+            1,
+            -2L,
+            1.5f,
+            2.5,
+            1e20,
+            new BigDecimal("1.000"),
+            new LazilyParsedNumber("12e3"),
+            true,
+            'c',
+            "<\u2028>",
+            null);
+    TypeAdapter<Object> adapter = gson.getAdapter(Object.class);
+    for (Object key : keys) {
+      assertSameAsTree(adapter, key);
+    }
+    assertThat(toName(adapter, 1.5f)).isEqualTo("1.5");
+    assertThat(toName(adapter, null)).isEqualTo("null");
+  }
+
+  /** Like {@link JsonTreeWriter}, the writer does not support {@code jsonValue}. */
+  @Test
+  public void testRawJsonKeys() {
+    TypeAdapter<RawJson> adapter = gson.getAdapter(RawJson.class);
+    assertThrows(
+        UnsupportedOperationException.class, () -> writer.record(adapter, RawJson.of("1")));
+  }
+
+  @Test
+  public void testComplexKeys() throws IOException {
+    TypeAdapter<List<Integer>> listAdapter = gson.getAdapter(new TypeToken<List<Integer>>() {});
+    assertSameAsTree(listAdapter, Arrays.asList(1, 2));
+    TypeAdapter<Map<String, Object>> mapAdapter =
+        gson.getAdapter(new TypeToken<Map<String, Object>>() {});
+    assertSameAsTree(mapAdapter, Map.of("a", List.of(1, "b")));
+    // The writer can be reused afterwards
+    assertThat(toName(gson.getAdapter(String.class), "a")).isEqualTo("a");
+  }
+
+  @Test
+  public void testNonFiniteNumbers() {
+    TypeAdapter<Double> adapter =
+        new TypeAdapter<Double>() {
+          @Override
+          public void write(JsonWriter out, Double value) throws IOException {
+            out.value(value.doubleValue());
+          }
+
+          @Override
+          public Double read(JsonReader in) {
+            throw new AssertionError();
+          }
+        };
+    var e = assertThrows(IllegalArgumentException.class, () -> writer.record(adapter, Double.NaN));
+    assertThat(e).hasMessageThat().isEqualTo("JSON forbids NaN and infinities: NaN");
+  }
+
+  @Test
+  public void testInvalidValues() {
+    TypeAdapter<String> noValueAdapter =
+        new TypeAdapter<String>() {
+          @Override
+          public void write(JsonWriter out, String value) {}
+
+          @Override
+          public String read(JsonReader in) {
+            throw new AssertionError();
+          }
+        };
+    var e = assertThrows(IllegalStateException.class, () -> writer.record(noValueAdapter, "a"));
+    assertThat(e).hasMessageThat().isEqualTo("No JSON value written for map key a");
+
+    TypeAdapter<String> twoValuesAdapter =
+        new TypeAdapter<String>() {
+          @Override
+          public void write(JsonWriter out, String value) throws IOException {
+            out.value(value);
+            out.value(value);
+          }
+
+          @Override
+          public String read(JsonReader in) {
+            throw new AssertionError();
+          }
+        };
+    e = assertThrows(IllegalStateException.class, () -> writer.record(twoValuesAdapter, "a"));
+    assertThat(e).hasMessageThat().isEqualTo("JSON must have only one top-level value.");
+  }
+}
@@ -118,6 +118,50 @@ public class ISO8601UtilsTest {
     assertThat(date).isEqualTo(expectedDate);
   }
 
+  @Test
+  @SuppressWarnings("UndefinedEquals")
+  public void testDateParseTimezoneOffsetForms() throws ParseException {
+    GregorianCalendar calendar = createUtcCalendar();
+    calendar.set(2018, Calendar.JUNE, 24, 18, 30);
+    Date expectedDate = calendar.getTime();
+    for (String offset : new String[] {"+05:30", "+0530"}) {
+      ParsePosition position = new ParsePosition(0);
+      Date date = ISO8601Utils.parse("2018-06-25T00:00:00" + offset, position);
+      assertThat(date).isEqualTo(expectedDate);
+      assertThat(position.getIndex()).isEqualTo(19 + offset.length());
+    }
+
+    calendar.set(2018, Calendar.JUNE, 25, 5, 0);
+    ParsePosition position = new ParsePosition(0);
+    Date date = ISO8601Utils.parse("2018-06-25T00:00:00-05", position);
+    assertThat(date).isEqualTo(calendar.getTime());
+    // Position includes the implicit "00" minutes
+    assertThat(position.getIndex()).isEqualTo(24);
+
+    calendar.set(2018, Calendar.JUNE, 25, 0, 0);
+    date = ISO8601Utils.parse("2018-06-25T00:00:00+00", new ParsePosition(0));
+    assertThat(date).isEqualTo(calendar.getTime());
+  }
+
+  @Test
+  public void testDateParseInvalidTimezoneOffset() {
+    for (String offset : new String[] {"+24:00", "+05:60", "+05-30", "+5:30"}) {
+      String dateStr = "2018-06-25T00:00:00" + offset;
+      assertThrows(
+          offset, ParseException.class, () -> ISO8601Utils.parse(dateStr, new ParsePosition(0)));
+    }
+  }
+
+  @Test
+  @SuppressWarnings("UndefinedEquals")
+  public void testDateParseFromIndex() throws ParseException {
+    String dateStr = "x 2018-06-25T00:00:00-03:00";
+    assertThat(ISO8601Utils.parse(dateStr, 2))
+        .isEqualTo(ISO8601Utils.parse(dateStr, new ParsePosition(2)));
+    ParseException e = assertThrows(ParseException.class, () -> ISO8601Utils.parse("x 2018-06", 2));
+    assertThat(e.getErrorOffset()).isEqualTo(2);
+  }
+
   @Test
   public void testDateParseInvalidTime() {
     String dateStr = "2018-06-25T61:60:62-03:00";
@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.gson.stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class JsonPathQueryTest {
+  private static final String JSON =
+      "{\"meta\": {\"id\": \"m1\", \"tags\": [\"a\", \"b\"]},"
+          + " \"items\": [{\"price\": 1.5, \"name\": \"x\"}, {\"name\": \"y\"}, {\"price\": 3}],"
+          + " \"odd.name\": \"z\"}";
+
+  /** Returns the matches as "pathIndex path value" strings. */
+  private static List<String> matches(String json, String... paths) throws IOException {
+    List<String> matches = new ArrayList<>();
+    JsonReader reader = new JsonReader(new StringReader(json));
+    JsonPathQuery.compile(paths)
+        .read(
+            reader,
+            (pathIndex, r) -> {
+              String path = r.getPath();
+              matches.add(pathIndex + " " + path + " " + r.nextString());
+            });
+    assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+    return matches;
+  }
+
+  @Test
+  public void testNames() throws IOException {
+    assertThat(matches(JSON, "$.meta.id")).containsExactly("0 $.meta.id m1");
+    assertThat(matches(JSON, "$['meta']['id']")).containsExactly("0 $.meta.id m1");
+    assertThat(matches(JSON, "$['odd.name']")).containsExactly("0 $.odd.name z");
+    assertThat(matches(JSON, "$.missing", "$.meta.missing", "$.meta.id.missing")).isEmpty();
+  }
+
+  @Test
+  public void testIndicesAndWildcards() throws IOException {
+    assertThat(matches(JSON, "$.items[*].price"))
+        .containsExactly("0 $.items[0].price 1.5", "0 $.items[2].price 3")
+        .inOrder();
+    assertThat(matches(JSON, "$.items[1].name")).containsExactly("0 $.items[1].name y");
+    assertThat(matches(JSON, "$.meta.tags[1]", "$.meta.tags[5]"))
+        .containsExactly("0 $.meta.tags[1] b");
+  }
+
+  @Test
+  public void testWildcardMembers() throws IOException {
+    assertThat(matches("{\"a\": \"1\", \"b\": {\"c\": \"2\"}}", "$[*].c", "$.a"))
+        .containsExactly("1 $.a 1", "0 $.b.c 2")
+        .inOrder();
+  }
+
+  @Test
+  public void testMultiplePaths() throws IOException {
+    assertThat(matches(JSON, "$.items[*].name", "$.meta.id", "$.items[1].name"))
+        .containsExactly("1 $.meta.id m1", "0 $.items[0].name x", "0 $.items[1].name y")
+        .inOrder();
+  }
+
+  /** When a path matches a value, paths for nested values are not considered anymore. */
+  @Test
+  public void testNestedMatches() throws IOException {
+    List<String> paths = new ArrayList<>();
+    JsonPathQuery.compile("$.meta.tags[0]", "$.meta")
+        .read(
+            new JsonReader(new StringReader(JSON)),
+            (pathIndex, reader) -> {
+              paths.add(pathIndex + " " + reader.getPath());
+              reader.skipValue();
+            });
+    assertThat(paths).containsExactly("1 $.meta");
+  }
+
+  @Test
+  public void testRoot() throws IOException {
+    assertThat(matches("\"a\"", "$")).containsExactly("0 $ a");
+    assertThat(matches("[1, 2]", "$[1]")).containsExactly("0 $[1] 2");
+    // Non-matching values of unexpected type are skipped
+    assertThat(matches("[1, 2]", "$.a")).isEmpty();
+    assertThat(matches("{\"a\": 1}", "$[0]")).isEmpty();
+  }
+
+  @Test
+  public void testReadAll() throws IOException {
+    Gson gson = new Gson();
+    JsonReader reader = new JsonReader(new StringReader(JSON));
+    List<Double> prices =
+        JsonPathQuery.compile("$.items[*].price").readAll(reader, gson.getAdapter(Double.class));
+    assertThat(prices).containsExactly(1.5, 3.0).inOrder();
+  }
+
+  /** The query is relative to the value at the current position of the reader. */
+  @Test
+  public void testNestedValue() throws IOException {
+    JsonReader reader = new JsonReader(new StringReader("[{\"a\": 1}, {\"a\": 2}]"));
+    JsonPathQuery query = JsonPathQuery.compile("$.a");
+    Gson gson = new Gson();
+    reader.beginArray();
+    assertThat(query.readAll(reader, gson.getAdapter(Integer.class))).containsExactly(1);
+    assertThat(query.readAll(reader, gson.getAdapter(Integer.class))).containsExactly(2);
+    reader.endArray();
+  }
+
+  @Test
+  public void testMalformedPath() {
+    String[] invalidPaths = {"", "a", "$.", "$..a", "$[", "$[a]", "$['a'", "$['a'x]", "$[1", "$x"};
+    for (String path : invalidPaths) {
+      assertThrows(path, IllegalArgumentException.class, () -> JsonPathQuery.compile(path));
+    }
+    var e = assertThrows(IllegalArgumentException.class, () -> JsonPathQuery.compile("$.a["));
+    assertThat(e).hasMessageThat().isEqualTo("Expected array index at index 4 of path: $.a[");
+    e = assertThrows(IllegalArgumentException.class, () -> JsonPathQuery.compile());
+    assertThat(e).hasMessageThat().isEqualTo("Number of paths must be between 1 and 64, but is 0");
+  }
+
+  @Test
+  public void testEscapedName() throws IOException {
+    assertThat(matches("{\"a'\\\\\": 1}", "$['a\\'\\\\']")).containsExactly("0 $.a'\\ 1");
+  }
+}
@@ -710,6 +710,87 @@ public final class JsonReaderTest {
     assertStrictError(e, "line 1 column 2 path $[0]");
   }
 
+  @Test
+  public void testStrictTooLargeDouble() throws IOException {
+    JsonReader reader = new JsonReader(reader("[1e400]"));
+    reader.beginArray();
+    var e = assertThrows(MalformedJsonException.class, () -> reader.nextDouble());
+    assertThat(e)
+        .hasMessageThat()
+        .isEqualTo(
+            "JSON forbids NaN and infinities: Infinity at line 1 column 7 path $[0]\n"
+                + "See https://github.com/google/gson/blob/main/Troubleshooting.md#malformed-json");
+    // Value remains available
+    assertThat(reader.nextString()).isEqualTo("1e400");
+
+    JsonReader lenientReader = new JsonReader(reader("[1e400]"));
+    lenientReader.setStrictness(Strictness.LENIENT);
+    lenientReader.beginArray();
+    assertThat(lenientReader.nextDouble()).isEqualTo(Double.POSITIVE_INFINITY);
+  }
+
+  @Test
+  public void testFloats() throws IOException {
+    String json =
+        "[-0.0,"
+            + "1,"
+            + "16777217,"
+            + "3.4028235E38,"
+            + "1.4E-45,"
+            + "0.1,"
+            + "-1.5e-3,"
+            // Double rounding would round this to 1.0000002
+            + "1.00000017881393432617187499,"
+            + "\"2.5\","
+            + "1e39,"
+            + "-1e39]";
+    JsonReader reader = new JsonReader(reader(json));
+    reader.beginArray();
+    assertThat(reader.nextFloat()).isEqualTo(-0.0f);
+    assertThat(reader.nextFloat()).isEqualTo(1.0f);
+    assertThat(reader.nextFloat()).isEqualTo(16777216f);
+    assertThat(reader.nextFloat()).isEqualTo(Float.MAX_VALUE);
+    assertThat(reader.nextFloat()).isEqualTo(Float.MIN_VALUE);
+    assertThat(reader.nextFloat()).isEqualTo(0.1f);
+    assertThat(reader.nextFloat()).isEqualTo(-1.5e-3f);
+    assertThat(reader.nextFloat()).isEqualTo(1.0000001f);
+    assertThat(reader.nextFloat()).isEqualTo(2.5f);
+    // Too large for float, but not for double
+    assertThat(reader.nextFloat()).isEqualTo(Float.POSITIVE_INFINITY);
+    assertThat(reader.nextFloat()).isEqualTo(Float.NEGATIVE_INFINITY);
+    reader.endArray();
+    assertThat(reader.peek()).isEqualTo(JsonToken.END_DOCUMENT);
+    assertThat(reader.getPath()).isEqualTo("$");
+  }
+
+  @Test
+  public void testStrictNonFiniteFloats() throws IOException {
+    JsonReader reader = new JsonReader(reader("[NaN]"));
+    reader.beginArray();
+    var e = assertThrows(MalformedJsonException.class, () -> reader.nextFloat());
+    assertStrictError(e, "line 1 column 2 path $[0]");
+
+    JsonReader quotedReader = new JsonReader(reader("[\"Infinity\", 1e400]"));
+    quotedReader.beginArray();
+    e = assertThrows(MalformedJsonException.class, () -> quotedReader.nextFloat());
+    assertThat(e).hasMessageThat().startsWith("JSON forbids NaN and infinities: Infinity");
+    quotedReader.skipValue();
+    e = assertThrows(MalformedJsonException.class, () -> quotedReader.nextFloat());
+    assertThat(e).hasMessageThat().startsWith("JSON forbids NaN and infinities: Infinity");
+  }
+
+  @Test
+  public void testLenientNonFiniteFloats() throws IOException {
+    JsonReader reader = new JsonReader(reader("[NaN, -Infinity, \"Infinity\", 1e400]"));
+    reader.setStrictness(Strictness.LENIENT);
+    reader.beginArray();
+    assertThat(reader.nextFloat()).isNaN();
+    assertThat(reader.nextFloat()).isEqualTo(Float.NEGATIVE_INFINITY);
+    assertThat(reader.nextFloat()).isEqualTo(Float.POSITIVE_INFINITY);
+    assertThat(reader.nextFloat()).isEqualTo(Float.POSITIVE_INFINITY);
+    reader.endArray();
+  }
+
   @Test
   public void testLongs() throws IOException {
     String json =
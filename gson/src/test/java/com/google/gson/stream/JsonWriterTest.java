@@ -483,6 +483,25 @@ public final class JsonWriterTest {
                 + "2.718281828459045]");
   }
 
+  @Test
+  public void testShortestFloatingPointRepresentation() throws IOException {
+    StringWriter stringWriter = new StringWriter();
+    JsonWriter jsonWriter = new JsonWriter(stringWriter);
+    jsonWriter.beginArray();
+    // Double.toString and Float.toString of older JDK versions produce more digits than necessary
+    jsonWriter.value(Double.parseDouble("1.0E23"));
+    jsonWriter.value(Float.MIN_NORMAL);
+    // Boxed values use the same representation
+    jsonWriter.value((Number) Double.parseDouble("1.0E23"));
+    jsonWriter.value((Number) Float.MIN_NORMAL);
+    jsonWriter.value((Number) 1234567.5);
+    jsonWriter.value((Number) 0.001f);
+    jsonWriter.endArray();
+    jsonWriter.close();
+    assertThat(stringWriter.toString())
+        .isEqualTo("[1.0E23,1.1754944E-38,1.0E23,1.1754944E-38,1234567.5,0.001]");
+  }
+
   @Test
   public void testLongs() throws IOException {
     StringWriter stringWriter = new StringWriter();
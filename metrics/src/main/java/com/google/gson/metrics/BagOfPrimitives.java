@@ -1,6 +1,6 @@
 package com.google.gson.metrics;
 
-import com.google.common.base.Objects;
+import java.util.Objects;
 
 public class BagOfPrimitives {
   public static final long DEFAULT_VALUE = 0;
@@ -54,7 +54,7 @@ public class BagOfPrimitives {
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(longValue, intValue, booleanValue, stringValue);
+    return Objects.hash(longValue, intValue, booleanValue, stringValue);
   }
 
   @Override
@@ -69,7 +69,7 @@ public class BagOfPrimitives {
     return longValue == that.longValue
         && intValue == that.intValue
         && booleanValue == that.booleanValue
-        && Objects.equal(stringValue, that.stringValue);
+        && Objects.equals(stringValue, that.stringValue);
   }
 
   @Override
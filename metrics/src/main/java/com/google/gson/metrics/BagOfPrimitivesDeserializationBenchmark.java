@@ -1,17 +1,30 @@
 package com.google.gson.metrics;
 
-import com.google.caliper.Benchmark;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.stream.JsonReader;
 import java.io.IOException;
 import java.io.StringReader;
 import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
 
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
 public class BagOfPrimitivesDeserializationBenchmark {
-  private Gson gson = new Gson();
-  private String json = new BagOfPrimitives(10L, 5, true, "foo").getExpectedJson();
+  private final Gson gson = new Gson();
+  private final Gson methodHandleGson = new GsonBuilder().enableMethodHandleFieldAccess().create();
+  private final ObjectMapper mapper = ParseBenchmark.createObjectMapper();
+  private final String json = new BagOfPrimitives(10L, 5, true, "foo").getExpectedJson();
 
-  private BagOfPrimitives deserializeWithReflection(JsonReader jr) throws Exception {
+  private static BagOfPrimitives deserializeWithReflection(JsonReader jr) throws Exception {
     BagOfPrimitives bag = new BagOfPrimitives();
     while (jr.hasNext()) {
       String name = jr.nextName();
@@ -37,25 +50,26 @@ public class BagOfPrimitivesDeserializationBenchmark {
   }
 
   @Benchmark
-  public int timeGson(int reps) {
-    int dummy = 0;
-    for (int i = 0; i < reps; ++i) {
-      BagOfPrimitives bag = gson.fromJson(json, BagOfPrimitives.class);
-      dummy += bag.getIntValue();
-    }
-    return dummy;
+  public BagOfPrimitives gson() {
+    return gson.fromJson(json, BagOfPrimitives.class);
   }
 
   @Benchmark
-  public int timeManualWithReflection(int reps) throws Exception {
-    int dummy = 0;
-    for (int i = 0; i < reps; ++i) {
-      JsonReader jr = new JsonReader(new StringReader(json));
-      jr.beginObject();
-      BagOfPrimitives bag = deserializeWithReflection(jr);
-      jr.endObject();
-      dummy += bag.getIntValue();
-    }
-    return dummy;
+  public BagOfPrimitives gsonMethodHandles() {
+    return methodHandleGson.fromJson(json, BagOfPrimitives.class);
+  }
+
+  @Benchmark
+  public BagOfPrimitives jackson() throws IOException {
+    return mapper.readValue(json, BagOfPrimitives.class);
+  }
+
+  @Benchmark
+  public BagOfPrimitives manualWithReflection() throws Exception {
+    JsonReader jr = new JsonReader(new StringReader(json));
+    jr.beginObject();
+    BagOfPrimitives bag = deserializeWithReflection(jr);
+    jr.endObject();
+    return bag;
   }
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.metrics;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH result files in JSON format, for example the results for the previous release
+ * (the baseline) and for the current version. For every benchmark present in both files prints the
+ * relative change of the score and of the normalized allocation rate reported by the GC profiler.
+ *
+ * <p>Usage: {@code BenchmarkComparison <baseline.json> <current.json> [max-regression-percent]}
+ *
+ * <p>Exits with status 1 if the score or allocation rate of any benchmark regressed by more than
+ * the given percentage (default 10%), so that this can be used as performance gate.
+ */
+public final class BenchmarkComparison {
+  private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+  private BenchmarkComparison() {}
+
+  /** Result of a single benchmark, for a specific combination of parameters. */
+  private static final class Result {
+    final String mode;
+    final double score;
+    final String unit;
+
+    /** Allocated bytes per operation; {@code NaN} if not reported */
+    final double allocation;
+
+    Result(String mode, double score, String unit, double allocation) {
+      this.mode = mode;
+      this.score = score;
+      this.unit = unit;
+      this.allocation = allocation;
+    }
+
+    /** Whether a higher score is better, which is the case for throughput measurements. */
+    boolean isHigherBetter() {
+      return mode.equals("thrpt");
+    }
+  }
+
+  static Map<String, Result> readResults(Reader reader) {
+    Map<String, Result> results = new LinkedHashMap<>();
+    JsonArray array = JsonParser.parseReader(reader).getAsJsonArray();
+    for (JsonElement element : array) {
+      JsonObject benchmark = element.getAsJsonObject();
+      StringBuilder name = new StringBuilder(benchmark.get("benchmark").getAsString());
+      JsonObject params = benchmark.getAsJsonObject("params");
+      if (params != null) {
+        // Sort parameters to have a stable name
+        Map<String, String> sortedParams = new TreeMap<>();
+        for (Map.Entry<String, JsonElement> param : params.entrySet()) {
+          sortedParams.put(param.getKey(), param.getValue().getAsString());
+        }
+        name.append(sortedParams);
+      }
+
+      JsonObject primaryMetric = benchmark.getAsJsonObject("primaryMetric");
+      double allocation = Double.NaN;
+      JsonObject secondaryMetrics = benchmark.getAsJsonObject("secondaryMetrics");
+      if (secondaryMetrics != null) {
+        for (Map.Entry<String, JsonElement> metric : secondaryMetrics.entrySet()) {
+          // JMH prefixes the name of profiler metrics with a special character
+          if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+            allocation = metric.getValue().getAsJsonObject().get("score").getAsDouble();
+          }
+        }
+      }
+      results.put(
+          name.toString(),
+          new Result(
+              benchmark.get("mode").getAsString(),
+              primaryMetric.get("score").getAsDouble(),
+              primaryMetric.get("scoreUnit").getAsString(),
+              allocation));
+    }
+    return results;
+  }
+
+  private static double changePercent(double baseline, double current) {
+    return (current - baseline) / baseline * 100;
+  }
+
+  /**
+   * Prints the comparison and returns the number of regressions exceeding {@code
+   * maxRegressionPercent}.
+   */
+  static int compare(
+      Map<String, Result> baseline,
+      Map<String, Result> current,
+      double maxRegressionPercent,
+      Appendable out)
+      throws IOException {
+    int regressions = 0;
+    for (Map.Entry<String, Result> entry : current.entrySet()) {
+      String name = entry.getKey();
+      Result currentResult = entry.getValue();
+      Result baselineResult = baseline.get(name);
+      if (baselineResult == null
+          || !baselineResult.mode.equals(currentResult.mode)
+          || !baselineResult.unit.equals(currentResult.unit)) {
+        out.append(String.format(Locale.ROOT, "%s: no comparable baseline%n", name));
+        continue;
+      }
+
+      double scoreChange = changePercent(baselineResult.score, currentResult.score);
+      double scoreRegression = currentResult.isHigherBetter() ? -scoreChange : scoreChange;
+      boolean regressed = scoreRegression > maxRegressionPercent;
+      StringBuilder line =
+          new StringBuilder(
+              String.format(
+                  Locale.ROOT,
+                  "%s: %.3f -> %.3f %s (%+.1f%%)",
+                  name,
+                  baselineResult.score,
+                  currentResult.score,
+                  currentResult.unit,
+                  scoreChange));
+
+      if (!Double.isNaN(baselineResult.allocation) && !Double.isNaN(currentResult.allocation)) {
+        // Lower allocation is always better
+        double allocationRegression =
+            baselineResult.allocation == 0
+                ? (currentResult.allocation == 0 ? 0 : Double.POSITIVE_INFINITY)
+                : changePercent(baselineResult.allocation, currentResult.allocation);
+        regressed |= allocationRegression > maxRegressionPercent;
+        line.append(
+            String.format(
+                Locale.ROOT,
+                ", allocation %.1f -> %.1f B/op",
+                baselineResult.allocation,
+                currentResult.allocation));
+      }
+
+      if (regressed) {
+        regressions++;
+        line.append("  REGRESSION");
+      }
+      out.append(line).append(System.lineSeparator());
+    }
+    return regressions;
+  }
+
+  @SuppressWarnings("SystemOut") // command line tool
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2 || args.length > 3) {
+      System.err.println(
+          "Usage: BenchmarkComparison <baseline.json> <current.json> [max-regression-percent]");
+      System.exit(2);
+    }
+    double maxRegressionPercent = args.length == 3 ? Double.parseDouble(args[2]) : 10;
+
+    Map<String, Result> baseline;
+    try (Reader reader = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+      baseline = readResults(reader);
+    }
+    Map<String, Result> current;
+    try (Reader reader = Files.newBufferedReader(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+      current = readResults(reader);
+    }
+
+    int regressions = compare(baseline, current, maxRegressionPercent, System.out);
+    if (regressions > 0) {
+      System.out.println(
+          regressions + " benchmark(s) regressed by more than " + maxRegressionPercent + "%");
+      System.exit(1);
+    }
+  }
+}
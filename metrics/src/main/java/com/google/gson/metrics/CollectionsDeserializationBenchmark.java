@@ -15,129 +15,155 @@
  */
 package com.google.gson.metrics;
 
-import com.google.caliper.BeforeExperiment;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import java.io.IOException;
 import java.io.StringReader;
 import java.lang.reflect.Field;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
 
-/**
- * Caliper based micro benchmarks for Gson
- *
- * @author Inderjeet Singh
- */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
 public class CollectionsDeserializationBenchmark {
 
   private static final TypeToken<List<BagOfPrimitives>> LIST_TYPE_TOKEN =
       new TypeToken<List<BagOfPrimitives>>() {};
-  private static final Type LIST_TYPE = LIST_TYPE_TOKEN.getType();
+  private static final TypeToken<Map<String, BagOfPrimitives>> MAP_TYPE_TOKEN =
+      new TypeToken<Map<String, BagOfPrimitives>>() {};
   private Gson gson;
   private String json;
+  private String mapJson;
+  private List<BagOfPrimitives> bags;
+  private Map<String, BagOfPrimitives> bagsMap;
 
-  public static void main(String[] args) {
-    NonUploadingCaliperRunner.run(CollectionsDeserializationBenchmark.class, args);
-  }
-
-  @BeforeExperiment
-  void setUp() throws Exception {
+  @Setup
+  public void setUp() throws Exception {
     this.gson = new Gson();
-    List<BagOfPrimitives> bags = new ArrayList<>();
+    bags = new ArrayList<>();
+    bagsMap = new LinkedHashMap<>();
     for (int i = 0; i < 100; ++i) {
-      bags.add(new BagOfPrimitives(10L, 1, false, "foo"));
+      BagOfPrimitives bag = new BagOfPrimitives(10L, 1, false, "foo");
+      bags.add(bag);
+      bagsMap.put("key" + i, bag);
     }
-    this.json = gson.toJson(bags, LIST_TYPE);
+    this.json = gson.toJson(bags, LIST_TYPE_TOKEN.getType());
+    this.mapJson = gson.toJson(bagsMap, MAP_TYPE_TOKEN.getType());
   }
 
   /** Benchmark to measure Gson performance for deserializing an object */
-  public void timeCollectionsDefault(int reps) {
-    for (int i = 0; i < reps; ++i) {
-      List<BagOfPrimitives> unused = gson.fromJson(json, LIST_TYPE_TOKEN);
-    }
+  @Benchmark
+  public List<BagOfPrimitives> collectionsDefault() {
+    return gson.fromJson(json, LIST_TYPE_TOKEN);
+  }
+
+  /** Benchmark to measure Gson performance for deserializing a map */
+  @Benchmark
+  public Map<String, BagOfPrimitives> mapDefault() {
+    return gson.fromJson(mapJson, MAP_TYPE_TOKEN);
+  }
+
+  /** Benchmark to measure Gson performance for serializing a collection */
+  @Benchmark
+  public String collectionsSerialization() {
+    return gson.toJson(bags, LIST_TYPE_TOKEN.getType());
+  }
+
+  /** Benchmark to measure Gson performance for serializing a map */
+  @Benchmark
+  public String mapSerialization() {
+    return gson.toJson(bagsMap, MAP_TYPE_TOKEN.getType());
   }
 
   /** Benchmark to measure deserializing objects by hand */
-  @SuppressWarnings("ModifiedButNotUsed")
-  public void timeCollectionsStreaming(int reps) throws IOException {
-    for (int i = 0; i < reps; ++i) {
-      StringReader reader = new StringReader(json);
-      JsonReader jr = new JsonReader(reader);
-      jr.beginArray();
-      List<BagOfPrimitives> bags = new ArrayList<>();
+  @Benchmark
+  public List<BagOfPrimitives> collectionsStreaming() throws IOException {
+    StringReader reader = new StringReader(json);
+    JsonReader jr = new JsonReader(reader);
+    jr.beginArray();
+    List<BagOfPrimitives> bags = new ArrayList<>();
+    while (jr.hasNext()) {
+      jr.beginObject();
+      long longValue = 0;
+      int intValue = 0;
+      boolean booleanValue = false;
+      String stringValue = null;
       while (jr.hasNext()) {
-        jr.beginObject();
-        long longValue = 0;
-        int intValue = 0;
-        boolean booleanValue = false;
-        String stringValue = null;
-        while (jr.hasNext()) {
-          String name = jr.nextName();
-          switch (name) {
-            case "longValue":
-              longValue = jr.nextLong();
-              break;
-            case "intValue":
-              intValue = jr.nextInt();
-              break;
-            case "booleanValue":
-              booleanValue = jr.nextBoolean();
-              break;
-            case "stringValue":
-              stringValue = jr.nextString();
-              break;
-            default:
-              throw new IOException("Unexpected name: " + name);
-          }
+        String name = jr.nextName();
+        switch (name) {
+          case "longValue":
+            longValue = jr.nextLong();
+            break;
+          case "intValue":
+            intValue = jr.nextInt();
+            break;
+          case "booleanValue":
+            booleanValue = jr.nextBoolean();
+            break;
+          case "stringValue":
+            stringValue = jr.nextString();
+            break;
+          default:
+            throw new IOException("Unexpected name: " + name);
         }
-        jr.endObject();
-        bags.add(new BagOfPrimitives(longValue, intValue, booleanValue, stringValue));
       }
-      jr.endArray();
+      jr.endObject();
+      bags.add(new BagOfPrimitives(longValue, intValue, booleanValue, stringValue));
     }
+    jr.endArray();
+    return bags;
   }
 
   /**
    * This benchmark measures the ideal Gson performance: the cost of parsing a JSON stream and
    * setting object values by reflection. We should strive to reduce the discrepancy between this
-   * and {@link #timeCollectionsDefault(int)} .
+   * and {@link #collectionsDefault()} .
    */
-  @SuppressWarnings("ModifiedButNotUsed")
-  public void timeCollectionsReflectionStreaming(int reps) throws Exception {
-    for (int i = 0; i < reps; ++i) {
-      StringReader reader = new StringReader(json);
-      JsonReader jr = new JsonReader(reader);
-      jr.beginArray();
-      List<BagOfPrimitives> bags = new ArrayList<>();
+  @Benchmark
+  public List<BagOfPrimitives> collectionsReflectionStreaming() throws Exception {
+    StringReader reader = new StringReader(json);
+    JsonReader jr = new JsonReader(reader);
+    jr.beginArray();
+    List<BagOfPrimitives> bags = new ArrayList<>();
+    while (jr.hasNext()) {
+      jr.beginObject();
+      BagOfPrimitives bag = new BagOfPrimitives();
       while (jr.hasNext()) {
-        jr.beginObject();
-        BagOfPrimitives bag = new BagOfPrimitives();
-        while (jr.hasNext()) {
-          String name = jr.nextName();
-          for (Field field : BagOfPrimitives.class.getDeclaredFields()) {
-            if (field.getName().equals(name)) {
-              Class<?> fieldType = field.getType();
-              if (fieldType.equals(long.class)) {
-                field.setLong(bag, jr.nextLong());
-              } else if (fieldType.equals(int.class)) {
-                field.setInt(bag, jr.nextInt());
-              } else if (fieldType.equals(boolean.class)) {
-                field.setBoolean(bag, jr.nextBoolean());
-              } else if (fieldType.equals(String.class)) {
-                field.set(bag, jr.nextString());
-              } else {
-                throw new RuntimeException("Unexpected: type: " + fieldType + ", name: " + name);
-              }
+        String name = jr.nextName();
+        for (Field field : BagOfPrimitives.class.getDeclaredFields()) {
+          if (field.getName().equals(name)) {
+            field.setAccessible(true);
+            Class<?> fieldType = field.getType();
+            if (fieldType.equals(long.class)) {
+              field.setLong(bag, jr.nextLong());
+            } else if (fieldType.equals(int.class)) {
+              field.setInt(bag, jr.nextInt());
+            } else if (fieldType.equals(boolean.class)) {
+              field.setBoolean(bag, jr.nextBoolean());
+            } else if (fieldType.equals(String.class)) {
+              field.set(bag, jr.nextString());
+            } else {
+              throw new RuntimeException("Unexpected: type: " + fieldType + ", name: " + name);
             }
           }
         }
-        jr.endObject();
-        bags.add(bag);
       }
-      jr.endArray();
+      jr.endObject();
+      bags.add(bag);
     }
+    jr.endArray();
+    return bags;
   }
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.metrics;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures serializing and deserializing {@link Date} values. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateBenchmark {
+  private static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSSZ";
+
+  private Gson defaultGson;
+  private Gson patternGson;
+  private Date date;
+  private String defaultJson;
+  private String patternJson;
+
+  @Setup
+  @SuppressWarnings("JavaUtilDate") // Date is the type to be benchmarked
+  public void setUp() {
+    defaultGson = new Gson();
+    patternGson = new GsonBuilder().setDateFormat(PATTERN).create();
+    date = new Date(1_700_000_000_000L);
+    defaultJson = defaultGson.toJson(date);
+    patternJson = patternGson.toJson(date);
+  }
+
+  @Benchmark
+  public String serializeDefault() {
+    return defaultGson.toJson(date);
+  }
+
+  @Benchmark
+  public Date deserializeDefault() {
+    return defaultGson.fromJson(defaultJson, Date.class);
+  }
+
+  @Benchmark
+  public String serializePattern() {
+    return patternGson.toJson(date);
+  }
+
+  @Benchmark
+  public Date deserializePattern() {
+    return patternGson.fromJson(patternJson, Date.class);
+  }
+}
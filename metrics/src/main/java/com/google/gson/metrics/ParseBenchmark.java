@@ -16,7 +16,9 @@
 
 package com.google.gson.metrics;
 
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonFactoryBuilder;
 import com.fasterxml.jackson.core.JsonToken;
@@ -25,29 +27,35 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.MapperFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
-import com.google.caliper.BeforeExperiment;
-import com.google.caliper.Param;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import java.io.CharArrayReader;
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringWriter;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
 
 /**
  * Measure Gson and Jackson parsing and binding performance.
@@ -55,11 +63,14 @@ import java.util.zip.ZipFile;
  * <p>This benchmark requires that ParseBenchmarkData.zip is on the classpath. That file contains
  * Twitter feed data, which is representative of what applications will be parsing.
  */
-public final class ParseBenchmark {
-  @Param Document document;
-  @Param Api api;
-
-  private enum Document {
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParseBenchmark {
+  @Param public Document document;
+  @Param public Api api;
+
+  public enum Document {
     TWEETS(new TypeToken<List<Tweet>>() {}, new TypeReference<List<Tweet>>() {}),
     READER_SHORT(new TypeToken<Feed>() {}, new TypeReference<Feed>() {}),
     READER_LONG(new TypeToken<Feed>() {}, new TypeReference<Feed>() {});
@@ -76,7 +87,7 @@ public final class ParseBenchmark {
     }
   }
 
-  private enum Api {
+  public enum Api {
     JACKSON_STREAM {
       @Override
       Parser newParser() {
@@ -120,63 +131,73 @@ public final class ParseBenchmark {
   private char[] text;
   private Parser parser;
 
-  @BeforeExperiment
-  void setUp() throws Exception {
+  @Setup
+  public void setUp() throws Exception {
     text = resourceToString(document.name() + ".json").toCharArray();
     parser = api.newParser();
   }
 
-  public void timeParse(int reps) throws Exception {
-    for (int i = 0; i < reps; i++) {
-      parser.parse(text, document);
-    }
+  @Benchmark
+  public void parse(Blackhole blackhole) throws Exception {
+    parser.parse(text, document, blackhole);
   }
 
-  private static File getResourceFile(String path) throws Exception {
-    URL url = ParseBenchmark.class.getResource(path);
-    if (url == null) {
-      throw new IllegalArgumentException("Resource " + path + " does not exist");
-    }
-    File file = new File(url.toURI());
-    if (!file.isFile()) {
-      throw new IllegalArgumentException("Resource " + path + " is not a file");
+  /**
+   * Reads an entry of the data ZIP file. Reads the ZIP file as stream because when the benchmarks
+   * are run from the JAR file the ZIP file is not available as separate file.
+   */
+  static String resourceToString(String fileName) throws IOException {
+    InputStream in = ParseBenchmark.class.getResourceAsStream("/ParseBenchmarkData.zip");
+    if (in == null) {
+      throw new IllegalArgumentException("Resource ParseBenchmarkData.zip does not exist");
     }
-    return file;
-  }
-
-  private static String resourceToString(String fileName) throws Exception {
-    try (ZipFile zipFile = new ZipFile(getResourceFile("/ParseBenchmarkData.zip"))) {
-      ZipEntry zipEntry = zipFile.getEntry(fileName);
-      Reader reader =
-          new InputStreamReader(zipFile.getInputStream(zipEntry), StandardCharsets.UTF_8);
-      char[] buffer = new char[8192];
-      StringWriter writer = new StringWriter();
-      int count;
-      while ((count = reader.read(buffer)) != -1) {
-        writer.write(buffer, 0, count);
+    try (ZipInputStream zipIn = new ZipInputStream(in)) {
+      ZipEntry zipEntry;
+      while ((zipEntry = zipIn.getNextEntry()) != null) {
+        if (zipEntry.getName().equals(fileName)) {
+          Reader reader = new InputStreamReader(zipIn, StandardCharsets.UTF_8);
+          char[] buffer = new char[8192];
+          StringWriter writer = new StringWriter();
+          int count;
+          while ((count = reader.read(buffer)) != -1) {
+            writer.write(buffer, 0, count);
+          }
+          return writer.toString();
+        }
       }
-      reader.close();
-      return writer.toString();
     }
+    throw new IllegalArgumentException("Entry " + fileName + " does not exist");
   }
 
-  public static void main(String[] args) throws Exception {
-    NonUploadingCaliperRunner.run(ParseBenchmark.class, args);
+  /**
+   * Creates a Jackson {@code ObjectMapper} which, like Gson, uses fields regardless of their
+   * visibility and ignores unknown properties.
+   */
+  static ObjectMapper createObjectMapper() {
+    ObjectMapper mapper =
+        JsonMapper.builder()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(MapperFeature.AUTO_DETECT_FIELDS, true)
+            .visibility(PropertyAccessor.ALL, Visibility.NONE)
+            .visibility(PropertyAccessor.FIELD, Visibility.ANY)
+            .build();
+    mapper.setDateFormat(new SimpleDateFormat("EEE MMM dd HH:mm:ss Z yyyy", Locale.ENGLISH));
+    return mapper;
   }
 
   interface Parser {
-    void parse(char[] data, Document document) throws Exception;
+    void parse(char[] data, Document document, Blackhole blackhole) throws Exception;
   }
 
   private static class GsonStreamParser implements Parser {
     @Override
-    public void parse(char[] data, Document document) throws Exception {
+    public void parse(char[] data, Document document, Blackhole blackhole) throws Exception {
       JsonReader jsonReader = new JsonReader(new CharArrayReader(data));
-      readToken(jsonReader);
+      readToken(jsonReader, blackhole);
       jsonReader.close();
     }
 
-    private static void readToken(JsonReader reader) throws IOException {
+    private static void readToken(JsonReader reader, Blackhole blackhole) throws IOException {
       while (true) {
         switch (reader.peek()) {
           case BEGIN_ARRAY:
@@ -192,19 +213,19 @@ public final class ParseBenchmark {
             reader.endObject();
             break;
           case NAME:
-            String unusedName = reader.nextName();
+            blackhole.consume(reader.nextName());
             break;
           case BOOLEAN:
-            boolean unusedBoolean = reader.nextBoolean();
+            blackhole.consume(reader.nextBoolean());
             break;
           case NULL:
             reader.nextNull();
             break;
           case NUMBER:
-            long unusedLong = reader.nextLong();
+            blackhole.consume(reader.nextLong());
             break;
           case STRING:
-            String unusedString = reader.nextString();
+            blackhole.consume(reader.nextString());
             break;
           case END_DOCUMENT:
             return;
@@ -215,7 +236,7 @@ public final class ParseBenchmark {
 
   private static class GsonSkipParser implements Parser {
     @Override
-    public void parse(char[] data, Document document) throws Exception {
+    public void parse(char[] data, Document document, Blackhole blackhole) throws Exception {
       JsonReader jsonReader = new JsonReader(new CharArrayReader(data));
       jsonReader.skipValue();
       jsonReader.close();
@@ -224,7 +245,7 @@ public final class ParseBenchmark {
 
   private static class JacksonStreamParser implements Parser {
     @Override
-    public void parse(char[] data, Document document) throws Exception {
+    public void parse(char[] data, Document document, Blackhole blackhole) throws Exception {
       JsonFactory jsonFactory =
           new JsonFactoryBuilder()
               .configure(JsonFactory.Feature.CANONICALIZE_FIELD_NAMES, false)
@@ -244,18 +265,18 @@ public final class ParseBenchmark {
             depth--;
             break;
           case FIELD_NAME:
-            jp.currentName();
+            blackhole.consume(jp.currentName());
             break;
           case VALUE_STRING:
-            jp.getText();
+            blackhole.consume(jp.getText());
             break;
           case VALUE_NUMBER_INT:
           case VALUE_NUMBER_FLOAT:
-            jp.getLongValue();
+            blackhole.consume(jp.getLongValue());
             break;
           case VALUE_TRUE:
           case VALUE_FALSE:
-            jp.getBooleanValue();
+            blackhole.consume(jp.getBooleanValue());
             break;
           case VALUE_NULL:
             // Do nothing; nextToken() will advance in stream
@@ -270,8 +291,8 @@ public final class ParseBenchmark {
 
   private static class GsonDomParser implements Parser {
     @Override
-    public void parse(char[] data, Document document) throws Exception {
-      JsonElement unused = JsonParser.parseReader(new CharArrayReader(data));
+    public void parse(char[] data, Document document, Blackhole blackhole) throws Exception {
+      blackhole.consume(JsonParser.parseReader(new CharArrayReader(data)));
     }
   }
 
@@ -280,26 +301,17 @@ public final class ParseBenchmark {
         new GsonBuilder().setDateFormat("EEE MMM dd HH:mm:ss Z yyyy").create();
 
     @Override
-    public void parse(char[] data, Document document) throws Exception {
-      Object unused = gson.fromJson(new CharArrayReader(data), document.gsonType);
+    public void parse(char[] data, Document document, Blackhole blackhole) throws Exception {
+      blackhole.consume(gson.fromJson(new CharArrayReader(data), document.gsonType));
     }
   }
 
   private static class JacksonBindParser implements Parser {
-    private static final ObjectMapper mapper;
-
-    static {
-      mapper =
-          JsonMapper.builder()
-              .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-              .configure(MapperFeature.AUTO_DETECT_FIELDS, true)
-              .build();
-      mapper.setDateFormat(new SimpleDateFormat("EEE MMM dd HH:mm:ss Z yyyy", Locale.ENGLISH));
-    }
+    private static final ObjectMapper mapper = createObjectMapper();
 
     @Override
-    public void parse(char[] data, Document document) throws Exception {
-      mapper.readValue(new CharArrayReader(data), document.jacksonType);
+    public void parse(char[] data, Document document, Blackhole blackhole) throws Exception {
+      blackhole.consume(mapper.readValue(new CharArrayReader(data), document.jacksonType));
     }
   }
 
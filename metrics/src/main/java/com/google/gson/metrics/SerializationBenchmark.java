@@ -1,30 +1,52 @@
 package com.google.gson.metrics;
 
-import com.google.caliper.BeforeExperiment;
-import com.google.caliper.Benchmark;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
 
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
 public class SerializationBenchmark {
   private Gson gson;
+  private Gson methodHandleGson;
+  private ObjectMapper mapper;
   private BagOfPrimitives bagOfPrimitives;
 
-  @BeforeExperiment
+  @Setup
   public void setUp() {
     gson = new Gson();
+    methodHandleGson = new GsonBuilder().enableMethodHandleFieldAccess().create();
+    mapper = ParseBenchmark.createObjectMapper();
     bagOfPrimitives = new BagOfPrimitives(10L, 5, true, "foo");
   }
 
-  private String serializeObject(Object obj) {
-    return gson.toJson(obj);
+  @Benchmark
+  public String gson() {
+    return gson.toJson(bagOfPrimitives);
+  }
+
+  @Benchmark
+  public byte[] gsonBytes() {
+    return gson.toJsonBytes(bagOfPrimitives);
+  }
+
+  @Benchmark
+  public String gsonMethodHandles() {
+    return methodHandleGson.toJson(bagOfPrimitives);
   }
 
   @Benchmark
-  public int timeBagOfPrimitives(int reps) {
-    int dummy = 0;
-    for (int i = 0; i < reps; ++i) {
-      String json = serializeObject(bagOfPrimitives);
-      dummy += json.length();
-    }
-    return dummy;
+  public String jackson() throws JsonProcessingException {
+    return mapper.writeValueAsString(bagOfPrimitives);
   }
 }
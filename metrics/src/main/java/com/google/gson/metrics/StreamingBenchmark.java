@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.metrics;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Measures reading and writing JSON data with {@link JsonReader} and {@link JsonWriter}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StreamingBenchmark {
+  /** Number of objects in the JSON array */
+  @Param({"10", "1000"})
+  public int size;
+
+  private String json;
+
+  @Setup
+  public void setUp() throws IOException {
+    json = write();
+  }
+
+  @Benchmark
+  public String write() throws IOException {
+    StringWriter stringWriter = new StringWriter();
+    JsonWriter writer = new JsonWriter(stringWriter);
+    writer.beginArray();
+    for (int i = 0; i < size; i++) {
+      writer.beginObject();
+      writer.name("id").value(i);
+      writer.name("name").value("name \"" + i + "\"");
+      writer.name("ratio").value(i / 8.0);
+      writer.name("active").value(i % 2 == 0);
+      writer.name("tags").beginArray().value("a").value("b").nullValue().endArray();
+      writer.endObject();
+    }
+    writer.endArray();
+    writer.close();
+    return stringWriter.toString();
+  }
+
+  @Benchmark
+  public void read(Blackhole blackhole) throws IOException {
+    JsonReader reader = new JsonReader(new StringReader(json));
+    reader.beginArray();
+    while (reader.hasNext()) {
+      reader.beginObject();
+      while (reader.hasNext()) {
+        switch (reader.nextName()) {
+          case "id":
+            blackhole.consume(reader.nextInt());
+            break;
+          case "name":
+            blackhole.consume(reader.nextString());
+            break;
+          case "ratio":
+            blackhole.consume(reader.nextDouble());
+            break;
+          case "active":
+            blackhole.consume(reader.nextBoolean());
+            break;
+          default:
+            reader.skipValue();
+            break;
+        }
+      }
+      reader.endObject();
+    }
+    reader.endArray();
+    reader.close();
+  }
+
+  @Benchmark
+  public void skip() throws IOException {
+    JsonReader reader = new JsonReader(new StringReader(json));
+    reader.skipValue();
+    reader.close();
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures parsing JSON data to a tree ({@link JsonElement}) and serializing the tree, compared to
+ * Jackson's {@link JsonNode} tree model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TreeBenchmark {
+  private final Gson gson = new Gson();
+  private final ObjectMapper mapper = new ObjectMapper();
+  private String json;
+  private JsonElement tree;
+  private JsonNode jacksonTree;
+
+  @Setup
+  public void setUp() throws IOException {
+    json = ParseBenchmark.resourceToString("TWEETS.json");
+    tree = JsonParser.parseString(json);
+    jacksonTree = mapper.readTree(json);
+  }
+
+  @Benchmark
+  public JsonElement gsonParse() {
+    return JsonParser.parseString(json);
+  }
+
+  @Benchmark
+  public String gsonSerialize() {
+    return gson.toJson(tree);
+  }
+
+  @Benchmark
+  public JsonElement gsonDeepCopy() {
+    return tree.deepCopy();
+  }
+
+  @Benchmark
+  public JsonNode jacksonParse() throws JsonProcessingException {
+    return mapper.readTree(json);
+  }
+
+  @Benchmark
+  public String jacksonSerialize() throws JsonProcessingException {
+    return mapper.writeValueAsString(jacksonTree);
+  }
+}
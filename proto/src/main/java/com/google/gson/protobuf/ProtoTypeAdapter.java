@@ -10,6 +10,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.TypeAdapterFactory;
 import com.google.protobuf.DescriptorProtos.EnumValueOptions;
 import com.google.protobuf.DescriptorProtos.FieldOptions;
 import com.google.protobuf.Descriptors.Descriptor;
@@ -117,6 +118,18 @@ public class ProtoTypeAdapter implements JsonSerializer<Message>, JsonDeserializ
               protoFormat, jsonFormat, serializedNameExtensions, shouldUseJsonNameFieldOption);
       return new ProtoTypeAdapter(strategy, nameResolver);
     }
+
+    /**
+     * Creates a streaming {@link TypeAdapterFactory} for generated messages, using the settings of
+     * this builder. See {@link ProtoTypeAdapterFactory}.
+     */
+    public ProtoTypeAdapterFactory buildTypeAdapterFactory() {
+      EnumValueResolver enumResolver = new EnumValueResolver(serializedEnumValueExtensions);
+      FieldNameResolver nameResolver =
+          new FieldNameResolver(
+              protoFormat, jsonFormat, serializedNameExtensions, shouldUseJsonNameFieldOption);
+      return new ProtoTypeAdapterFactory(enumSerialization, enumResolver, nameResolver);
+    }
   }
 
   public static Builder newBuilder() {
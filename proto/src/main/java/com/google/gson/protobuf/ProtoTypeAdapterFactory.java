@@ -0,0 +1,420 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.protobuf;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.protobuf.ProtoTypeAdapter.EnumSerialization;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.EnumDescriptor;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.Internal;
+import com.google.protobuf.Message;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming alternative to {@link ProtoTypeAdapter}, created with {@link
+ * ProtoTypeAdapter.Builder#buildTypeAdapterFactory()}. It produces the same JSON, but reads and
+ * writes the fields of generated messages directly from {@link JsonReader} and to {@link
+ * JsonWriter} instead of going through a {@code JsonObject}. The JSON names, enum value mappings
+ * and value adapters of each message type are resolved once when its adapter is created.
+ *
+ * <p>Register it with {@link com.google.gson.GsonBuilder#registerTypeAdapterFactory}; it handles
+ * all generated message classes.
+ *
+ * <p>Unlike {@code ProtoTypeAdapter}, extension fields are neither written nor read. They could not
+ * be read back without an extension registry, so writing them would lose data on a round trip.
+ */
+public class ProtoTypeAdapterFactory implements TypeAdapterFactory {
+  private final EnumSerialization enumSerialization;
+  private final EnumValueResolver enumResolver;
+  private final FieldNameResolver nameResolver;
+
+  ProtoTypeAdapterFactory(
+      EnumSerialization enumSerialization,
+      EnumValueResolver enumResolver,
+      FieldNameResolver nameResolver) {
+    this.enumSerialization = enumSerialization;
+    this.enumResolver = enumResolver;
+    this.nameResolver = nameResolver;
+  }
+
+  @Override
+  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+    Class<? super T> rawType = type.getRawType();
+    // Only generated message classes provide the descriptor and builder without an instance
+    if (!Message.class.isAssignableFrom(rawType)
+        || DynamicMessage.class.isAssignableFrom(rawType)
+        || Modifier.isAbstract(rawType.getModifiers())) {
+      return null;
+    }
+
+    Message defaultInstance;
+    try {
+      defaultInstance = Utils.getDefaultInstance(rawType.asSubclass(Message.class));
+    } catch (Exception e) {
+      throw new JsonIOException("Failed getting default instance of " + rawType.getName(), e);
+    }
+
+    @SuppressWarnings("unchecked")
+    TypeAdapter<T> adapter = (TypeAdapter<T>) new MessageAdapter(gson, defaultInstance);
+    return adapter;
+  }
+
+  private final class MessageAdapter extends TypeAdapter<Message> {
+    private final Gson gson;
+    private final Message defaultInstance;
+    private final Descriptor descriptor;
+    private final BoundField[] fields;
+    private final Map<String, BoundField> nameToField;
+
+    MessageAdapter(Gson gson, Message defaultInstance) {
+      this.gson = gson;
+      this.defaultInstance = defaultInstance;
+      this.descriptor = defaultInstance.getDescriptorForType();
+
+      List<FieldDescriptor> fieldDescriptors = descriptor.getFields();
+      this.fields = new BoundField[fieldDescriptors.size()];
+      this.nameToField = new HashMap<>();
+      for (FieldDescriptor field : fieldDescriptors) {
+        BoundField boundField = createBoundField(field);
+        fields[field.getIndex()] = boundField;
+        nameToField.putIfAbsent(boundField.name, boundField);
+      }
+    }
+
+    private BoundField createBoundField(FieldDescriptor field) {
+      TypeAdapter<Object> valueAdapter;
+      if (field.getJavaType() == FieldDescriptor.JavaType.ENUM) {
+        valueAdapter = createEnumAdapter(field.getEnumType());
+      } else {
+        @SuppressWarnings("unchecked")
+        TypeAdapter<Object> adapter = (TypeAdapter<Object>) gson.getAdapter(valueClass(field));
+        valueAdapter = adapter;
+      }
+      String name = nameResolver.resolve(field);
+      return field.isRepeated()
+          ? new RepeatedField(field, name, valueAdapter)
+          : new SingularField(field, name, valueAdapter);
+    }
+
+    private Class<?> valueClass(FieldDescriptor field) {
+      switch (field.getJavaType()) {
+        case INT:
+          return Integer.class;
+        case LONG:
+          return Long.class;
+        case FLOAT:
+          return Float.class;
+        case DOUBLE:
+          return Double.class;
+        case BOOLEAN:
+          return Boolean.class;
+        case STRING:
+          return String.class;
+        case BYTE_STRING:
+          // Same as ProtoTypeAdapter, which uses the class of the default value
+          return field.isRepeated() ? ByteString.class : ByteString.EMPTY.getClass();
+        case MESSAGE:
+          return defaultInstance
+              .newBuilderForType()
+              .newBuilderForField(field)
+              .getDefaultInstanceForType()
+              .getClass();
+        default:
+          throw new AssertionError("Unexpected type " + field.getJavaType());
+      }
+    }
+
+    @Override
+    public void write(JsonWriter out, Message value) throws IOException {
+      if (value == null) {
+        out.nullValue();
+        return;
+      }
+
+      out.beginObject();
+      for (BoundField field : fields) {
+        if (field.isPresent(value)) {
+          field.write(out, value);
+        }
+      }
+      out.endObject();
+    }
+
+    @Override
+    public Message read(JsonReader in) throws IOException {
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+        return null;
+      }
+
+      try {
+        Message.Builder builder = defaultInstance.newBuilderForType();
+        in.beginObject();
+        while (in.hasNext()) {
+          BoundField field = nameToField.get(in.nextName());
+          if (field == null) {
+            in.skipValue();
+          } else {
+            field.read(in, builder);
+          }
+        }
+        in.endObject();
+        return builder.build();
+      } catch (JsonParseException e) {
+        throw e;
+      } catch (RuntimeException e) {
+        throw new JsonParseException("Error while parsing proto", e);
+      }
+    }
+  }
+
+  private TypeAdapter<Object> createEnumAdapter(EnumDescriptor enumType) {
+    List<EnumValueDescriptor> values = enumType.getValues();
+    if (enumSerialization == EnumSerialization.NUMBER) {
+      return new TypeAdapter<Object>() {
+        @Override
+        public void write(JsonWriter out, Object value) throws IOException {
+          out.value(((EnumValueDescriptor) value).getNumber());
+        }
+
+        @Override
+        public Object read(JsonReader in) throws IOException {
+          return Utils.findByNumber(enumType, in.nextInt());
+        }
+      };
+    }
+
+    String[] names = new String[values.size()];
+    Map<String, EnumValueDescriptor> nameToValue = new HashMap<>();
+    for (EnumValueDescriptor value : values) {
+      String name = enumResolver.getCustValue(value);
+      names[value.getIndex()] = name;
+      nameToValue.putIfAbsent(name, value);
+    }
+    return new TypeAdapter<Object>() {
+      @Override
+      public void write(JsonWriter out, Object value) throws IOException {
+        EnumValueDescriptor enumValue = (EnumValueDescriptor) value;
+        int index = enumValue.getIndex();
+        // Unknown values of open enums are not part of the enum descriptor values
+        boolean isKnown = index >= 0 && index < names.length && values.get(index) == enumValue;
+        out.value(isKnown ? names[index] : enumResolver.getCustValue(enumValue));
+      }
+
+      @Override
+      public Object read(JsonReader in) throws IOException {
+        String name = in.nextString();
+        EnumValueDescriptor value = nameToValue.get(name);
+        if (value == null) {
+          throw new IllegalArgumentException("Unrecognized enum name: " + name);
+        }
+        return value;
+      }
+    };
+  }
+
+  private abstract static class BoundField {
+    final FieldDescriptor descriptor;
+    final String name;
+
+    BoundField(FieldDescriptor descriptor, String name) {
+      this.descriptor = descriptor;
+      this.name = name;
+    }
+
+    void writeName(JsonWriter out) throws IOException {
+      out.name(name);
+    }
+
+    abstract boolean isPresent(Message message);
+
+    abstract void write(JsonWriter out, Message message) throws IOException;
+
+    /** Reads the value of this field, unless it is JSON null, and sets it on the builder. */
+    abstract void read(JsonReader in, Message.Builder builder) throws IOException;
+  }
+
+  private static final class SingularField extends BoundField {
+    private final TypeAdapter<Object> valueAdapter;
+
+    SingularField(FieldDescriptor descriptor, String name, TypeAdapter<Object> valueAdapter) {
+      super(descriptor, name);
+      this.valueAdapter = valueAdapter;
+    }
+
+    @Override
+    boolean isPresent(Message message) {
+      return message.hasField(descriptor);
+    }
+
+    @Override
+    void write(JsonWriter out, Message message) throws IOException {
+      writeName(out);
+      valueAdapter.write(out, message.getField(descriptor));
+    }
+
+    @Override
+    void read(JsonReader in, Message.Builder builder) throws IOException {
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+        return;
+      }
+      builder.setField(descriptor, valueAdapter.read(in));
+    }
+  }
+
+  /**
+   * Gson's built-in adapters, obtained through the public API. Gson uses the same adapter instances
+   * for all {@code Gson} objects which have the respective default settings.
+   */
+  private static final class BuiltInAdapters {
+    static final TypeAdapter<?> INTEGER;
+    static final TypeAdapter<?> LONG;
+    static final TypeAdapter<?> DOUBLE;
+    static final TypeAdapter<?> FINITE_DOUBLE;
+    static final TypeAdapter<?> BOOLEAN;
+
+    static {
+      Gson gson = new Gson();
+      INTEGER = gson.getAdapter(Integer.class);
+      LONG = gson.getAdapter(Long.class);
+      FINITE_DOUBLE = gson.getAdapter(Double.class);
+      BOOLEAN = gson.getAdapter(Boolean.class);
+      DOUBLE =
+          new GsonBuilder().serializeSpecialFloatingPointValues().create().getAdapter(Double.class);
+    }
+
+    private BuiltInAdapters() {}
+  }
+
+  private static final class RepeatedField extends BoundField {
+    private enum PrimitiveList {
+      NONE,
+      INT,
+      LONG,
+      DOUBLE,
+      FINITE_DOUBLE,
+      BOOLEAN
+    }
+
+    private final TypeAdapter<Object> elementAdapter;
+
+    /**
+     * Which unboxed list type the element adapter supports; only set if the element adapter is
+     * Gson's built-in adapter, whose output can be reproduced without boxing.
+     */
+    private final PrimitiveList primitiveList;
+
+    RepeatedField(FieldDescriptor descriptor, String name, TypeAdapter<Object> elementAdapter) {
+      super(descriptor, name);
+      this.elementAdapter = elementAdapter;
+
+      Object adapter = elementAdapter;
+      PrimitiveList primitiveList = PrimitiveList.NONE;
+      if (adapter == BuiltInAdapters.INTEGER) {
+        primitiveList = PrimitiveList.INT;
+      } else if (adapter == BuiltInAdapters.LONG) {
+        primitiveList = PrimitiveList.LONG;
+      } else if (adapter == BuiltInAdapters.DOUBLE) {
+        primitiveList = PrimitiveList.DOUBLE;
+      } else if (adapter == BuiltInAdapters.FINITE_DOUBLE) {
+        primitiveList = PrimitiveList.FINITE_DOUBLE;
+      } else if (adapter == BuiltInAdapters.BOOLEAN) {
+        primitiveList = PrimitiveList.BOOLEAN;
+      }
+      this.primitiveList = primitiveList;
+    }
+
+    @Override
+    boolean isPresent(Message message) {
+      return message.getRepeatedFieldCount(descriptor) > 0;
+    }
+
+    @Override
+    void write(JsonWriter out, Message message) throws IOException {
+      writeName(out);
+      out.beginArray();
+      Object list = message.getField(descriptor);
+      if (primitiveList == PrimitiveList.INT && list instanceof Internal.IntList) {
+        Internal.IntList intList = (Internal.IntList) list;
+        for (int i = 0, size = intList.size(); i < size; i++) {
+          out.value(intList.getInt(i));
+        }
+      } else if (primitiveList == PrimitiveList.LONG && list instanceof Internal.LongList) {
+        Internal.LongList longList = (Internal.LongList) list;
+        for (int i = 0, size = longList.size(); i < size; i++) {
+          out.value(longList.getLong(i));
+        }
+      } else if ((primitiveList == PrimitiveList.DOUBLE
+              || primitiveList == PrimitiveList.FINITE_DOUBLE)
+          && list instanceof Internal.DoubleList) {
+        Internal.DoubleList doubleList = (Internal.DoubleList) list;
+        for (int i = 0, size = doubleList.size(); i < size; i++) {
+          double value = doubleList.getDouble(i);
+          if (primitiveList == PrimitiveList.FINITE_DOUBLE
+              && (Double.isNaN(value) || Double.isInfinite(value))) {
+            // Let the adapter report the invalid value
+            elementAdapter.write(out, value);
+          } else {
+            out.value(value);
+          }
+        }
+      } else if (primitiveList == PrimitiveList.BOOLEAN && list instanceof Internal.BooleanList) {
+        Internal.BooleanList booleanList = (Internal.BooleanList) list;
+        for (int i = 0, size = booleanList.size(); i < size; i++) {
+          out.value(booleanList.getBoolean(i));
+        }
+      } else {
+        for (Object element : (List<?>) list) {
+          elementAdapter.write(out, element);
+        }
+      }
+      out.endArray();
+    }
+
+    @Override
+    void read(JsonReader in, Message.Builder builder) throws IOException {
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+        return;
+      }
+      // Like for singular fields, a duplicate property replaces the previous values
+      builder.clearField(descriptor);
+      in.beginArray();
+      while (in.hasNext()) {
+        builder.addRepeatedField(descriptor, elementAdapter.read(in));
+      }
+      in.endArray();
+    }
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.protobuf.functional;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.LongSerializationPolicy;
+import com.google.gson.protobuf.ProtoTypeAdapter;
+import com.google.gson.protobuf.ProtoTypeAdapter.EnumSerialization;
+import com.google.gson.protobuf.generated.Annotations;
+import com.google.gson.protobuf.generated.Bag;
+import com.google.gson.protobuf.generated.Bag.OuterMessage;
+import com.google.gson.protobuf.generated.Bag.ProtoWithAnnotations;
+import com.google.gson.protobuf.generated.Bag.ProtoWithAnnotations.InnerMessage;
+import com.google.gson.protobuf.generated.Bag.ProtoWithExtensions;
+import com.google.gson.protobuf.generated.Bag.ProtoWithPackedFields;
+import com.google.gson.protobuf.generated.Bag.ProtoWithRepeatedFields;
+import com.google.gson.protobuf.generated.Bag.SimpleProto;
+import com.google.protobuf.GeneratedMessage;
+import com.google.protobuf.Message;
+import org.junit.Test;
+
+/** Functional tests for {@link ProtoTypeAdapter.Builder#buildTypeAdapterFactory()}. */
+public class ProtoTypeAdapterFactoryTest {
+  private static ProtoTypeAdapter.Builder annotatedBuilder() {
+    return ProtoTypeAdapter.newBuilder()
+        .addSerializedNameExtension(Annotations.serializedName)
+        .addSerializedEnumValueExtension(Annotations.serializedValue);
+  }
+
+  private static Gson streamingGson(ProtoTypeAdapter.Builder builder) {
+    return new GsonBuilder().registerTypeAdapterFactory(builder.buildTypeAdapterFactory()).create();
+  }
+
+  private static Gson treeGson(ProtoTypeAdapter.Builder builder) {
+    return new GsonBuilder()
+        .registerTypeHierarchyAdapter(GeneratedMessage.class, builder.build())
+        .create();
+  }
+
+  private static final ProtoWithAnnotations PROTO =
+      ProtoWithAnnotations.newBuilder()
+          .setId("09f3j20839h032y0329hf30932h0nffn")
+          .setOuterMessage(
+              OuterMessage.newBuilder().setMonth(14).setYear(6650).setLongTimestamp(4684068768L))
+          .setInnerMessage1(
+              InnerMessage.newBuilder()
+                  .setNIdCt(12)
+                  .setContent(InnerMessage.Type.IMAGE)
+                  .addData(InnerMessage.Data.newBuilder().setData("data$$").setWidth(200))
+                  .addData(InnerMessage.Data.newBuilder().setHeight(56)))
+          .build();
+
+  private static void assertSameAsTreeAdapter(ProtoTypeAdapter.Builder builder, Message proto) {
+    Gson streaming = streamingGson(builder);
+    String json = treeGson(builder).toJson(proto);
+    assertThat(streaming.toJson(proto)).isEqualTo(json);
+    assertThat(streaming.fromJson(json, proto.getClass())).isEqualTo(proto);
+  }
+
+  @Test
+  public void testSameJsonAsProtoTypeAdapter() {
+    assertSameAsTreeAdapter(annotatedBuilder(), PROTO);
+    assertSameAsTreeAdapter(
+        annotatedBuilder().setEnumSerialization(EnumSerialization.NUMBER), PROTO);
+    assertSameAsTreeAdapter(ProtoTypeAdapter.newBuilder(), PROTO);
+    assertSameAsTreeAdapter(
+        ProtoTypeAdapter.newBuilder(),
+        ProtoWithRepeatedFields.newBuilder()
+            .addNumbers(2)
+            .addNumbers(3)
+            .addSimples(SimpleProto.newBuilder().setMsg("foo"))
+            .addSimples(SimpleProto.newBuilder().setCount(3))
+            .build());
+    assertSameAsTreeAdapter(ProtoTypeAdapter.newBuilder(), SimpleProto.getDefaultInstance());
+  }
+
+  @Test
+  public void testDeserialize() {
+    Gson gson = streamingGson(annotatedBuilder());
+    String json =
+        "{\"id\":\"abc\",\"unknown\":{\"a\":[1]},\"expiration_date\":{\"month\":\"12\"},"
+            + "\"innerMessage1\":null,"
+            + "\"innerMessage2\":{\"content\":\"text/plain\",\"$binary_data$\":[{\"data\":65}]}}";
+    ProtoWithAnnotations proto = gson.fromJson(json, ProtoWithAnnotations.class);
+    assertThat(proto)
+        .isEqualTo(
+            ProtoWithAnnotations.newBuilder()
+                .setId("abc")
+                .setOuterMessage(OuterMessage.newBuilder().setMonth(12))
+                .setInnerMessage2(
+                    InnerMessage.newBuilder()
+                        .setContent(InnerMessage.Type.TEXT)
+                        .addData(InnerMessage.Data.newBuilder().setData("65")))
+                .build());
+    assertThat(gson.fromJson("null", ProtoWithAnnotations.class)).isNull();
+
+    // A duplicate repeated property replaces the previous elements
+    assertThat(
+            streamingGson(ProtoTypeAdapter.newBuilder())
+                .fromJson("{\"numbers\":[1],\"numbers\":[2,3]}", ProtoWithRepeatedFields.class)
+                .getNumbersList())
+        .containsExactly(2L, 3L)
+        .inOrder();
+  }
+
+  @Test
+  public void testDeserializeUnrecognizedEnumValue() {
+    Gson gson = streamingGson(annotatedBuilder());
+    var e =
+        assertThrows(
+            JsonParseException.class,
+            () -> gson.fromJson("{\"content\":\"UNRECOGNIZED\"}", InnerMessage.class));
+    assertThat(e).hasMessageThat().isEqualTo("Error while parsing proto");
+    assertThat(e).hasCauseThat().hasMessageThat().isEqualTo("Unrecognized enum name: UNRECOGNIZED");
+
+    Gson numberGson =
+        streamingGson(annotatedBuilder().setEnumSerialization(EnumSerialization.NUMBER));
+    e =
+        assertThrows(
+            JsonParseException.class,
+            () -> numberGson.fromJson("{\"content\":\"99\"}", InnerMessage.class));
+    assertThat(e).hasCauseThat().hasMessageThat().isEqualTo("Unrecognized enum value: 99");
+  }
+
+  @Test
+  public void testPackedFields() {
+    ProtoWithPackedFields proto =
+        ProtoWithPackedFields.newBuilder()
+            .addInts(1)
+            .addInts(-2)
+            .addLongs(Long.MAX_VALUE)
+            .addDoubles(1.5)
+            .addFloats(2.5f)
+            .addFlags(true)
+            .addFlags(false)
+            .addChildren(ProtoWithPackedFields.newBuilder().addInts(3))
+            .build();
+    String json =
+        "{\"ints\":[1,-2],\"longs\":[9223372036854775807],\"doubles\":[1.5],\"floats\":[2.5],"
+            + "\"flags\":[true,false],\"children\":[{\"ints\":[3]}]}";
+    Gson gson = streamingGson(ProtoTypeAdapter.newBuilder());
+    assertThat(gson.toJson(proto)).isEqualTo(json);
+    assertThat(gson.fromJson(json, ProtoWithPackedFields.class)).isEqualTo(proto);
+    assertSameAsTreeAdapter(ProtoTypeAdapter.newBuilder(), proto);
+  }
+
+  @Test
+  public void testGsonSettings() {
+    ProtoWithPackedFields proto =
+        ProtoWithPackedFields.newBuilder().addLongs(1).addDoubles(Double.NaN).build();
+
+    Gson gson = streamingGson(ProtoTypeAdapter.newBuilder());
+    var e = assertThrows(IllegalArgumentException.class, () -> gson.toJson(proto));
+    assertThat(e).hasMessageThat().startsWith("NaN is not a valid double value");
+
+    Gson customGson =
+        new GsonBuilder()
+            .registerTypeAdapterFactory(ProtoTypeAdapter.newBuilder().buildTypeAdapterFactory())
+            .serializeSpecialFloatingPointValues()
+            .setLongSerializationPolicy(LongSerializationPolicy.STRING)
+            .create();
+    assertThat(customGson.toJson(proto)).isEqualTo("{\"longs\":[\"1\"],\"doubles\":[NaN]}");
+  }
+
+  /** Extensions could not be read back, so they are not written either. */
+  @Test
+  public void testExtensionsIgnored() {
+    ProtoWithExtensions proto =
+        ProtoWithExtensions.newBuilder().setId("a").setExtension(Bag.note, "b").build();
+    Gson gson = streamingGson(ProtoTypeAdapter.newBuilder());
+    assertThat(gson.toJson(proto)).isEqualTo("{\"id\":\"a\"}");
+    assertThat(gson.fromJson("{\"id\":\"a\",\"note\":\"b\"}", ProtoWithExtensions.class))
+        .isEqualTo(ProtoWithExtensions.newBuilder().setId("a").build());
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2026 Google Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.google.gson.native_test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.codegen.GenerateTypeAdapter;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for type adapters generated by the Gson annotation processor. The classes used here
+ * intentionally have no entries in {@code reflect-config.json}; the generated adapters must not
+ * need reflection.
+ */
+class GeneratedTypeAdapterTest {
+  @GenerateTypeAdapter
+  static class Base {
+    @SerializedName("base")
+    String baseField;
+  }
+
+  @GenerateTypeAdapter
+  static class Point extends Base {
+    int x;
+
+    @SerializedName(value = "y", alternate = "why")
+    long y;
+
+    List<String> names;
+    Map<String, Point> children;
+    transient int ignored = 5;
+  }
+
+  private final Gson gson = new GsonBuilder().registerTypeAdapterFactoryServices().create();
+
+  @Test
+  void testRoundTrip() {
+    Point point =
+        gson.fromJson(
+            "{\"x\":1,\"why\":2,\"base\":\"b\",\"names\":[\"a\"],\"children\":{\"c\":{\"x\":3}},"
+                + "\"ignored\":6,\"unknown\":[{}]}",
+            Point.class);
+    assertThat(point.x).isEqualTo(1);
+    assertThat(point.y).isEqualTo(2);
+    assertThat(point.baseField).isEqualTo("b");
+    assertThat(point.names).containsExactly("a");
+    assertThat(point.children.get("c").x).isEqualTo(3);
+    assertThat(point.ignored).isEqualTo(5);
+
+    assertThat(gson.toJson(point))
+        .isEqualTo(
+            "{\"x\":1,\"y\":2,\"names\":[\"a\"],\"children\":{\"c\":{\"x\":3,\"y\":0}},"
+                + "\"base\":\"b\"}");
+  }
+
+  @Test
+  void testGeneratedAdapterIsUsed() {
+    assertThat(gson.getAdapter(Point.class).getClass().getSimpleName())
+        .isEqualTo("GeneratedTypeAdapterTest_Point_GsonTypeAdapter");
+    assertThat(gson.getAdapter(Base.class).getClass().getSimpleName())
+        .isEqualTo("GeneratedTypeAdapterTest_Base_GsonTypeAdapter");
+  }
+}